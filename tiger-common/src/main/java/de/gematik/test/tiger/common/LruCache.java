@@ -0,0 +1,121 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache with bounded size. Entries are evicted in least-recently-used order. Hits and
+ * misses are counted to allow for monitoring of the cache efficiency.
+ */
+public class LruCache<K, V> {
+  private final LinkedHashMap<K, V> map;
+  private final int maximumSize;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public LruCache(final int maximumSize) {
+    this.maximumSize = maximumSize;
+    this.map =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > LruCache.this.maximumSize;
+          }
+        };
+  }
+
+  /**
+   * Returns the cached value for the given key. If no value is present it is computed using the
+   * given function and stored. Exceptions thrown by the function are propagated and nothing is
+   * cached.
+   */
+  public V computeIfAbsent(K key, Function<K, V> valueFunction) {
+    synchronized (map) {
+      final V cachedValue = map.get(key);
+      if (cachedValue != null) {
+        hits.incrementAndGet();
+        return cachedValue;
+      }
+    }
+    misses.incrementAndGet();
+    // computed outside the lock: concurrent misses for the same key compute twice, which is
+    // cheaper than serializing all callers on a potentially slow computation
+    final V value = valueFunction.apply(key);
+    if (value != null) {
+      synchronized (map) {
+        map.putIfAbsent(key, value);
+      }
+    }
+    return value;
+  }
+
+  public Optional<V> get(K key) {
+    synchronized (map) {
+      return Optional.ofNullable(map.get(key));
+    }
+  }
+
+  public void put(K key, V value) {
+    synchronized (map) {
+      map.put(key, value);
+    }
+  }
+
+  public void remove(K key) {
+    synchronized (map) {
+      map.remove(key);
+    }
+  }
+
+  public void clear() {
+    synchronized (map) {
+      map.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (map) {
+      return map.size();
+    }
+  }
+
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  public void resetStatistics() {
+    hits.set(0);
+    misses.set(0);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.common.data.config.tigerproxy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Netty transport, buffer allocator and socket options used for incoming and outgoing traffic. */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class NettyTransportConfiguration {
+
+  /** Use the native epoll transport on Linux. Falls back to NIO if it is not available. */
+  @Builder.Default private boolean useNativeTransport = false;
+
+  @Builder.Default private AllocatorType allocator = AllocatorType.POOLED;
+  @Builder.Default private boolean tcpNoDelay = true;
+
+  /** SO_REUSEPORT for the server sockets, only supported by the native transport. */
+  @Builder.Default private boolean reusePort = false;
+
+  /** SO_RCVBUF in KB, 0 keeps the operating system default. */
+  @Builder.Default private int receiveBufferSizeInKb = 0;
+
+  /** SO_SNDBUF in KB, 0 keeps the operating system default. */
+  @Builder.Default private int sendBufferSizeInKb = 0;
+
+  public enum AllocatorType {
+    POOLED,
+    UNPOOLED
+  }
+}
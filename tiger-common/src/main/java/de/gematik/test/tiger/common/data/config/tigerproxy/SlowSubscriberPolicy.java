@@ -0,0 +1,34 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.common.data.config.tigerproxy;
+
+/**
+ * Determines what a tiger proxy does when a subscriber of the binary tracing channel can not keep
+ * up and its send queue is full.
+ */
+public enum SlowSubscriberPolicy {
+  /** Wait until the subscriber has room again. This slows down the traffic of the proxy. */
+  BLOCK,
+  /** Skip the message for this subscriber. */
+  DROP,
+  /** Close the binary connection of the subscriber. Tiger proxies then continue via STOMP. */
+  DISCONNECT
+}
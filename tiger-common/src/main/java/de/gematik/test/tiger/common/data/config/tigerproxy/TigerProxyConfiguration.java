@@ -57,10 +57,21 @@ public class TigerProxyConfiguration {
   @Builder.Default private boolean requireHealthyTrafficEndpoints = false;
   private List<String> trafficEndpoints;
   @Builder.Default private boolean enableLegacyTraffic = false;
+
+  /**
+   * Receive the traffic of the traffic endpoints via the binary tracing channel. Endpoints which do
+   * not offer it are still subscribed to via STOMP.
+   */
+  @Builder.Default private boolean enableBinaryTraffic = true;
+
+  /** Ask the traffic endpoints to gzip the frames of the binary tracing channel. */
+  @Builder.Default private boolean compressBinaryTraffic = false;
   @Builder.Default private boolean downloadInitialTrafficFromEndpoints = false;
   @Builder.Default private String trafficEndpointFilterString = "";
   @Builder.Default private int maximumPartialMessageAgeInSeconds = 300;
   @Builder.Default private int connectionTimeoutInSeconds = 10;
+  @Builder.Default private int maxUpstreamConnectionsPerHost = 0;
+  @Builder.Default private int upstreamConnectionIdleTimeoutInSeconds = 300;
   @Builder.Default private float waitForPreviousMessageBeforeParsingInSeconds = 5;
   @Builder.Default private float previousMessageTimeoutDetectionGracePeriodInSeconds = 10;
   @Builder.Default private float previousMessageTimeoutDetectionTimeGapThresholdInSeconds = 30;
@@ -80,8 +91,23 @@ public class TigerProxyConfiguration {
   @Builder.Default private int stompClientBufferSizeInMb = 1;
   @Builder.Default private int perMessageBufferSizeInMb = 100;
   @Builder.Default private int rbelBufferSizeInMb = 1024;
+
+  /**
+   * Messages exceeding {@link #rbelBufferSizeInMb} are moved into local spill files of up to this
+   * size instead of being dropped. 0 deactivates spilling.
+   */
+  @Builder.Default private int rbelSpillFileSizeInMb = 0;
+
+  /** Directory for the spill files. If not set, a temporary directory is used. */
+  private String rbelSpillDirectory;
+
   @Builder.Default private int skipParsingWhenMessageLargerThanKb = 8_000;
+  @Builder.Default private boolean profileRbelConversion = false;
+  @Builder.Default private boolean lazyRbelParsing = false;
   @Builder.Default private int skipDisplayWhenMessageLargerThanKb = 512;
+  @Builder.Default private int streamResponsesLargerThanKb = 0;
+  @Builder.Default private int renderedHtmlCacheSizeInMb = 64;
+  @Builder.Default private boolean compressRenderedHtmlCache = false;
   @Builder.Default private int maximumDefaultExpandedMessageDepth = 3;
   @Builder.Default private boolean activateRbelParsing = true;
   @Builder.Default private List<String> activateRbelParsingFor = new ArrayList<>();
@@ -97,10 +123,20 @@ public class TigerProxyConfiguration {
   private TrafficEndpointConfiguration trafficEndpointConfiguration =
       new TrafficEndpointConfiguration();
 
+  @Builder.Default
+  private NettyTransportConfiguration nettyTransport = new NettyTransportConfiguration();
+
   @Builder.Default private List<RbelModificationDescription> modifications = new ArrayList<>();
   @Builder.Default private boolean localResources = true;
   @Builder.Default private int maximumTrafficDownloadPageSize = 100_000;
   @Builder.Default private int trafficDownloadPageSize = 50;
+
+  /**
+   * Number of parallel requests fetching the contents of large messages while the traffic of a
+   * traffic endpoint is replicated.
+   */
+  @Builder.Default private int trafficReplicationParallelDownloads = 4;
+
   private String name;
 
   @Builder.Default private boolean isStandalone = true;
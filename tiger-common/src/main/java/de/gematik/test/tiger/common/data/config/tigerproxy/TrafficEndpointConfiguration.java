@@ -34,4 +34,21 @@ public class TrafficEndpointConfiguration {
   @Builder.Default private String name = "tigerProxy Tracing Point";
   @Builder.Default private String wsEndpoint = "/tracing";
   @Builder.Default private String stompTopic = "/traces";
+
+  /**
+   * Websocket endpoint of the binary tracing channel. Clients which support it receive the traffic
+   * there in batched, length-prefixed frames instead of JSON via STOMP.
+   */
+  @Builder.Default private String binaryWsEndpoint = "/binaryTracing";
+
+  /** Number of messages queued per binary subscriber before the slow-subscriber policy applies. */
+  @Builder.Default private int binarySubscriberQueueSize = 1000;
+
+  @Builder.Default
+  private SlowSubscriberPolicy slowSubscriberPolicy = SlowSubscriberPolicy.DISCONNECT;
+
+  /** Upper bound for the size of a single binary frame. Larger messages span several frames. */
+  @Builder.Default private int binaryMaxFrameSizeInKb = 1024;
+
+  @Builder.Default private int binaryMaxMessagesPerFrame = 100;
 }
@@ -20,6 +20,7 @@
  */
 package de.gematik.test.tiger.common.jexl;
 
+import de.gematik.test.tiger.common.LruCache;
 import de.gematik.test.tiger.common.exceptions.TigerJexlException;
 import java.util.*;
 import java.util.function.BiFunction;
@@ -38,6 +39,12 @@ public class TigerJexlExecutor {
 
   private static final Map<String, Object> NAMESPACE_MAP = new HashMap<>();
   private static final List<TigerJexlContextDecorator> CONTEXT_DECORATORS = new ArrayList<>();
+  private static final int COMPILED_CACHE_SIZE = 2048;
+  private static final LruCache<CompiledSourceKey, JexlExpression> EXPRESSION_CACHE =
+      new LruCache<>(COMPILED_CACHE_SIZE);
+  private static final LruCache<CompiledSourceKey, JexlScript> SCRIPT_CACHE =
+      new LruCache<>(COMPILED_CACHE_SIZE);
+  private static volatile JexlEngine jexlEngine;
   @Setter @Getter private static boolean activateJexlDebugging = false;
 
   @Setter
@@ -132,13 +139,27 @@ public class TigerJexlExecutor {
   }
 
   private static JexlEngine getJexlEngine() {
+    JexlEngine engine = jexlEngine;
+    if (engine == null) {
+      synchronized (NAMESPACE_MAP) {
+        engine = jexlEngine;
+        if (engine == null) {
+          engine = createJexlEngine();
+          jexlEngine = engine;
+        }
+      }
+    }
+    return engine;
+  }
+
+  private static JexlEngine createJexlEngine() {
     // commons-jexl3 3.7.0 forbids assignments to global (non-local) variables by default;
     // scripts such as the tgrFor loop rely on assigning to a global "t" variable, so this needs
     // to be explicitly re-enabled.
     JexlFeatures features = JexlFeatures.createDefault().sideEffectGlobal(true);
     JexlBuilder jexlBuilder =
         new JexlBuilder()
-            .namespaces(NAMESPACE_MAP)
+            .namespaces(new HashMap<>(NAMESPACE_MAP))
             .permissions(JexlPermissions.UNRESTRICTED)
             .features(features)
             .strict(true);
@@ -147,11 +168,36 @@ public class TigerJexlExecutor {
   }
 
   public static void registerAdditionalNamespace(String namespace, Object value) {
-    NAMESPACE_MAP.put(namespace, value);
+    synchronized (NAMESPACE_MAP) {
+      NAMESPACE_MAP.put(namespace, value);
+      invalidateJexlEngine();
+    }
   }
 
   public static void deregisterNamespace(String namespace) {
-    NAMESPACE_MAP.remove(namespace);
+    synchronized (NAMESPACE_MAP) {
+      NAMESPACE_MAP.remove(namespace);
+      invalidateJexlEngine();
+    }
+  }
+
+  /**
+   * Compiled expressions and scripts are bound to the engine which created them (and thus to its
+   * namespaces), so they have to be discarded together with the engine. Since they are cached per
+   * engine, entries compiled concurrently by a stale engine are never handed out afterwards.
+   */
+  private static void invalidateJexlEngine() {
+    jexlEngine = null;
+    EXPRESSION_CACHE.clear();
+    SCRIPT_CACHE.clear();
+  }
+
+  public static long getCompiledCacheHitCount() {
+    return EXPRESSION_CACHE.getHitCount() + SCRIPT_CACHE.getHitCount();
+  }
+
+  public static long getCompiledCacheMissCount() {
+    return EXPRESSION_CACHE.getMissCount() + SCRIPT_CACHE.getMissCount();
   }
 
   private boolean matchesAsJexlExpressionInternal(Object element, String jexlExpression) {
@@ -179,7 +225,9 @@ public class TigerJexlExecutor {
       final TigerJexlContext contextMap =
           buildJexlMapContext(
               externalContext.getCurrentElement(), Optional.ofNullable(externalContext.getKey()));
-      contextMap.putAll(NAMESPACE_MAP);
+      synchronized (NAMESPACE_MAP) {
+        contextMap.putAll(NAMESPACE_MAP);
+      }
       contextMap.putAll(externalContext);
 
       return buildExpressions(jexlExpression, contextMap).stream()
@@ -211,15 +259,26 @@ public class TigerJexlExecutor {
   private List<JexlExpression> buildExpressions(
       String jexlExpression, TigerJexlContext mapContext) {
     return expressionPreMapper.apply(jexlExpression, mapContext).stream()
-        .map(getJexlEngine()::createExpression)
+        .map(TigerJexlExecutor::getOrCompileExpression)
         .toList();
   }
 
+  private static JexlExpression getOrCompileExpression(String expression) {
+    return EXPRESSION_CACHE.computeIfAbsent(
+        new CompiledSourceKey(getJexlEngine(), expression),
+        key -> key.engine().createExpression(key.source()));
+  }
+
   public JexlScript buildScript(String jexlScript) {
     try {
-      return getJexlEngine().createScript(jexlScript);
+      return SCRIPT_CACHE.computeIfAbsent(
+          new CompiledSourceKey(getJexlEngine(), jexlScript),
+          key -> key.engine().createScript(key.source()));
     } catch (RuntimeException e) {
       throw new TigerJexlException("Error while parsing script '" + jexlScript + "'", e);
     }
   }
+
+  /** Source of an expression or script together with the engine (compared by identity). */
+  private record CompiledSourceKey(JexlEngine engine, String source) {}
 }
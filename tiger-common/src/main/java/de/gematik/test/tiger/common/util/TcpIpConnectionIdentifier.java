@@ -85,6 +85,26 @@ public class TcpIpConnectionIdentifier {
     return Objects.hash(ipBasedHash(sortedAddress1), ipBasedHash(sortedAddress2));
   }
 
+  /**
+   * Returns a key for hash based indexes of connections. Unlike {@link #hashCode()}, the key is
+   * consistent with {@link #equals(Object)} even if one side of a connection was recorded by
+   * hostname and the other by IP: equal identifiers always share a key. Different connections may
+   * share one too, so the candidates found via the key still have to be compared using {@link
+   * #equals(Object)}.
+   */
+  public IndexKey indexKey() {
+    final int port1 = portOf(sortedAddress1);
+    final int port2 = portOf(sortedAddress2);
+    return new IndexKey(Math.min(port1, port2), Math.max(port1, port2));
+  }
+
+  private static int portOf(RbelSocketAddress addr) {
+    return addr == null ? -1 : addr.getPort();
+  }
+
+  /** The ports of both ends of a connection, see {@link #indexKey()}. */
+  public record IndexKey(int lowerPort, int higherPort) {}
+
   private static int ipBasedHash(RbelSocketAddress addr) {
     if (addr == null || addr.getAddress() == null) return 0;
     if (addr.getAddress().getIpAddress() != null) {
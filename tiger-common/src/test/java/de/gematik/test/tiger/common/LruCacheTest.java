@@ -0,0 +1,84 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  private LruCache<String, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new LruCache<>(3);
+  }
+
+  @Test
+  void computeIfAbsent_shouldComputeOnlyOnce() {
+    assertThat(cache.computeIfAbsent("key1", k -> "value1")).isEqualTo("value1");
+    assertThat(cache.computeIfAbsent("key1", k -> "otherValue")).isEqualTo("value1");
+
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void evictionShouldRemoveLeastRecentlyUsedEntry() {
+    cache.put("key1", "value1");
+    cache.put("key2", "value2");
+    cache.put("key3", "value3");
+    cache.get("key1");
+    cache.put("key4", "value4"); // This should evict "key2"
+
+    assertThat(cache.get("key1")).contains("value1");
+    assertThat(cache.get("key2")).isEmpty();
+    assertThat(cache.get("key3")).contains("value3");
+    assertThat(cache.get("key4")).contains("value4");
+    assertThat(cache.size()).isEqualTo(3);
+  }
+
+  @Test
+  void failingComputation_shouldNotBeCached() {
+    assertThatThrownBy(
+            () ->
+                cache.computeIfAbsent(
+                    "key1",
+                    k -> {
+                      throw new IllegalArgumentException("blub");
+                    }))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(cache.get("key1")).isEmpty();
+  }
+
+  @Test
+  void clear_shouldRemoveAllEntries() {
+    cache.put("key1", "value1");
+    cache.clear();
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.get("key1")).isEmpty();
+  }
+}
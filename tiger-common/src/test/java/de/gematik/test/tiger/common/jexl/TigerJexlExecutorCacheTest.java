@@ -0,0 +1,75 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+
+package de.gematik.test.tiger.common.jexl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TigerJexlExecutorCacheTest {
+
+  @AfterEach
+  void tearDown() {
+    TigerJexlExecutor.deregisterNamespace("cacheTest");
+  }
+
+  @Test
+  void repeatedEvaluation_shouldReuseCompiledExpression() {
+    TigerJexlExecutor.evaluateJexlExpression("1 + 41", new TigerJexlContext());
+    final long hitsBefore = TigerJexlExecutor.getCompiledCacheHitCount();
+    final long missesBefore = TigerJexlExecutor.getCompiledCacheMissCount();
+
+    assertThat(TigerJexlExecutor.evaluateJexlExpression("1 + 41", new TigerJexlContext()))
+        .hasValue(42);
+
+    assertThat(TigerJexlExecutor.getCompiledCacheHitCount()).isGreaterThan(hitsBefore);
+    assertThat(TigerJexlExecutor.getCompiledCacheMissCount()).isEqualTo(missesBefore);
+  }
+
+  @Test
+  void registeringNamespace_shouldBeVisibleToPreviouslyEvaluatedExpressions() {
+    TigerJexlExecutor.registerAdditionalNamespace("cacheTest", FirstNamespace.class);
+    assertThat(
+            TigerJexlExecutor.evaluateJexlExpression(
+                "cacheTest:value()", new TigerJexlContext()))
+        .hasValue("first");
+
+    TigerJexlExecutor.registerAdditionalNamespace("cacheTest", SecondNamespace.class);
+    assertThat(
+            TigerJexlExecutor.evaluateJexlExpression(
+                "cacheTest:value()", new TigerJexlContext()))
+        .hasValue("second");
+  }
+
+  public static class FirstNamespace {
+    public static String value() {
+      return "first";
+    }
+  }
+
+  public static class SecondNamespace {
+    public static String value() {
+      return "second";
+    }
+  }
+}
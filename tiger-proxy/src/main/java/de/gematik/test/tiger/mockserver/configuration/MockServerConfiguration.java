@@ -22,6 +22,7 @@ package de.gematik.test.tiger.mockserver.configuration;
 
 import de.gematik.rbellogger.RbelConverter;
 import de.gematik.test.tiger.common.data.config.tigerproxy.AlpnProtocol;
+import de.gematik.test.tiger.common.data.config.tigerproxy.NettyTransportConfiguration;
 import de.gematik.test.tiger.mockserver.model.HttpRequest;
 import de.gematik.test.tiger.mockserver.proxyconfiguration.ProxyConfiguration;
 import de.gematik.test.tiger.mockserver.socket.tls.KeyAlgorithmPreference;
@@ -59,6 +60,7 @@ public class MockServerConfiguration {
   private RbelConverter rbelConverter = null;
 
   // scalability
+  private NettyTransportConfiguration transportConfiguration = new NettyTransportConfiguration();
   private Integer nioEventLoopThreadCount = 5;
   private Integer actionHandlerThreadCount =
       Math.max(5, Runtime.getRuntime().availableProcessors());
@@ -72,11 +74,21 @@ public class MockServerConfiguration {
   private Integer tcpIdleTimeoutInMillis = null;
   private boolean alwaysCloseSocketConnections = false;
 
+  // upstream connection pool
+  /** Requests in flight per remote address, further requests wait for one to complete. 0: none */
+  private int maxConnectionsPerHost = 0;
+
+  /** Pooled upstream connections unused for longer are closed, 0 uses the default of 5 minutes */
+  private long connectionPoolIdleTimeoutInMillis = TimeUnit.MINUTES.toMillis(5);
+
   // http request parsing
   private Integer maxInitialLineLength = Integer.MAX_VALUE;
   private Integer maxHeaderSize = Integer.MAX_VALUE;
   private Integer maxChunkSize = Integer.MAX_VALUE;
 
+  /** Forwarded responses with larger bodies are streamed to the client, 0 disables streaming */
+  private long streamResponsesLargerThanBytes = 0;
+
   // non http proxying
   private BinaryExchangeHandler binaryProxyListener = null;
 
@@ -29,16 +29,14 @@ import static de.gematik.test.tiger.mockserver.httpclient.NettyHttpClient.SECURE
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
 import de.gematik.test.tiger.mockserver.httpclient.ReusableChannelMap.ChannelId;
 import de.gematik.test.tiger.mockserver.model.Message;
+import de.gematik.test.tiger.mockserver.netty.NettyTransport;
 import io.netty.bootstrap.Bootstrap;
-import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioChannelOption;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.resolver.DefaultAddressResolverGroup;
 import io.netty.resolver.NoopAddressResolverGroup;
 import io.netty.util.AttributeKey;
@@ -46,11 +44,9 @@ import java.net.InetSocketAddress;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
-import jdk.net.ExtendedSocketOptions;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -62,26 +58,33 @@ public class ClientBootstrapFactory {
   public static final AttributeKey<Integer> LOOP_COUNTER = AttributeKey.valueOf("loopCounter");
   private final MockServerConfiguration configuration;
   private final EventLoopGroup eventLoop;
-  @Getter private final ReusableChannelMap channelMap = new ReusableChannelMap();
-  private final ScheduledExecutorService cleanupScheduler =
-      new ScheduledThreadPoolExecutor(
-          1,
-          r -> {
-            var t = new Thread(r, "TGR-CONNECTION-POOL-CLEANUP");
-            t.setDaemon(true);
-            return t;
-          });
+  private final NettyTransport transport;
+  @Getter private final ReusableChannelMap channelMap;
+  @Nullable private final ScheduledFuture<?> cleanupTask;
 
   public void shutdown() {
-    cleanupScheduler.shutdownNow();
+    if (cleanupTask != null) {
+      cleanupTask.cancel(false);
+    }
   }
 
   public ClientBootstrapFactory(MockServerConfiguration configuration, EventLoopGroup eventLoop) {
     this.configuration = configuration;
     this.eventLoop = eventLoop;
-    // Start periodic cleanup task: run every minute
-    cleanupScheduler.scheduleAtFixedRate(
-        channelMap::cleanupExpiredChannels, 1, 1, TimeUnit.MINUTES);
+    this.transport = NettyTransport.from(configuration.transportConfiguration());
+    this.channelMap =
+        new ReusableChannelMap(
+            configuration.maxConnectionsPerHost(),
+            configuration.connectionPoolIdleTimeoutInMillis());
+    // Evict idle channels on the event loop: at least every minute, more often for short timeouts
+    val cleanupPeriodMillis =
+        Math.max(1_000, Math.min(channelMap.getIdleTimeoutMillis(), 60_000));
+    this.cleanupTask =
+        eventLoop.scheduleAtFixedRate(
+            channelMap::cleanupExpiredChannels,
+            cleanupPeriodMillis,
+            cleanupPeriodMillis,
+            TimeUnit.MILLISECONDS);
   }
 
   /** Groups channel configuration parameters to reduce method parameter count. */
@@ -125,7 +128,8 @@ public class ClientBootstrapFactory {
           explicitOutgoingChannel.newSucceededFuture(),
           resolvedParams.incomingChannel(),
           responseFuture,
-          onReuseListener);
+          onReuseListener,
+          false);
     }
 
     val channelToReuse =
@@ -136,7 +140,7 @@ public class ClientBootstrapFactory {
                 .orElse(null);
     if (channelToReuse != null) {
       return reuseExistingChannel(
-          channelToReuse, resolvedParams.incomingChannel(), responseFuture, onReuseListener);
+          channelToReuse, resolvedParams.incomingChannel(), responseFuture, onReuseListener, true);
     }
 
     val config =
@@ -180,7 +184,8 @@ public class ClientBootstrapFactory {
       ChannelFuture existingChannel,
       Channel incomingChannel,
       @Nullable CompletableFuture<Message> responseFuture,
-      @Nullable ChannelFutureListener onReuseListener) {
+      @Nullable ChannelFutureListener onReuseListener,
+      boolean claimedFromPool) {
     log.trace("reusing already existing channel");
 
     existingChannel.addListener(
@@ -203,6 +208,10 @@ public class ClientBootstrapFactory {
                 future.channel().attr(INCOMING_CHANNEL).set(incomingChannel);
                 incomingChannel.attr(BinaryBridgeHandler.OUTGOING_CHANNEL).set(future.channel());
               }
+              // without a newly installed response future the claim would never end
+              if (claimedFromPool && (!future.isSuccess() || responseFuture == null)) {
+                channelMap.releaseClaim(future.channel());
+              }
             });
 
     if (onReuseListener != null) {
@@ -257,11 +266,10 @@ public class ClientBootstrapFactory {
         incomingChannel.hasAttr(LOOP_COUNTER) ? incomingChannel.attr(LOOP_COUNTER).get() + 1 : 0;
 
     var bootstrap =
-        new Bootstrap()
+        transport
+            .configure(new Bootstrap())
             .group(effectiveEventLoopGroup)
-            .channel(NioSocketChannel.class)
             .option(ChannelOption.AUTO_READ, true)
-            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(
                 ChannelOption.WRITE_BUFFER_WATER_MARK,
                 new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -286,10 +294,7 @@ public class ClientBootstrapFactory {
         .ifPresent(
             timeoutMillis -> {
               if (timeoutMillis > 0) {
-                bootstrap
-                    .option(ChannelOption.SO_KEEPALIVE, true)
-                    .option(
-                        NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), timeoutMillis);
+                transport.configureKeepAlive(bootstrap, timeoutMillis);
               }
             });
     return bootstrap;
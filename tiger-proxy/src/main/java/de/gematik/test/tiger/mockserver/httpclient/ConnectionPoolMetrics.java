@@ -0,0 +1,91 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.httpclient;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Usage of the upstream connections pooled by a {@link ReusableChannelMap}. */
+public class ConnectionPoolMetrics {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder queuedRequests = new LongAdder();
+  private final LongAdder waitingRequests = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  void recordLookup(boolean hit) {
+    if (hit) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+  }
+
+  void recordRequestQueued() {
+    queuedRequests.increment();
+    waitingRequests.increment();
+  }
+
+  void recordRequestDequeued() {
+    waitingRequests.decrement();
+  }
+
+  void recordEviction() {
+    evictions.increment();
+  }
+
+  /** Lookups that found an idle pooled connection. */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /** Lookups that had to open a new connection. */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Requests that had to wait because their destination was at its connection limit. */
+  public long getQueuedRequestCount() {
+    return queuedRequests.sum();
+  }
+
+  /** Requests currently waiting for a connection to their destination. */
+  public long getWaitingRequestCount() {
+    return waitingRequests.sum();
+  }
+
+  /** Connections closed and dropped from the pool because they were idle or already closed. */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public double getHitRatio() {
+    final long lookups = getHitCount() + getMissCount();
+    return lookups == 0 ? 0 : (double) getHitCount() / lookups;
+  }
+
+  public void reset() {
+    hits.reset();
+    misses.reset();
+    queuedRequests.reset();
+    evictions.reset();
+  }
+}
@@ -178,6 +178,11 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
   private void configureHttp1Pipeline(ChannelPipeline pipeline) {
     pipeline.addLast(new HttpClientCodec());
+    if (mockServerConfiguration.streamResponsesLargerThanBytes() > 0) {
+      pipeline.addLast(
+          new StreamingResponseRelayHandler(
+              mockServerConfiguration.streamResponsesLargerThanBytes()));
+    }
     // TODO: make max content length configurable instead of Integer.MAX_VALUE
     pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
     pipeline.addLast(new MockServerHttpClientCodec(proxyConfiguration));
@@ -26,6 +26,7 @@ import static de.gematik.test.tiger.mockserver.httpclient.BinaryBridgeHandler.OU
 import static de.gematik.test.tiger.mockserver.model.HttpResponse.response;
 
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
+import de.gematik.test.tiger.mockserver.httpclient.ReusableChannelMap.ChannelId;
 import de.gematik.test.tiger.mockserver.model.*;
 import de.gematik.test.tiger.mockserver.model.BinaryMessage;
 import de.gematik.test.tiger.mockserver.model.HttpProtocol;
@@ -62,6 +63,19 @@ public class NettyHttpClient {
       AttributeKey.valueOf("RESPONSE_FUTURE");
   public static final AttributeKey<Boolean> ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE =
       AttributeKey.valueOf("ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE");
+
+  /**
+   * A request that could not be written never gets a response, so its response future is failed
+   * instead. Otherwise the channel would count as busy forever and could not be reused.
+   */
+  private static final ChannelFutureListener FAIL_RESPONSE_ON_WRITE_FAILURE =
+      write -> {
+        if (!write.isSuccess()) {
+          Optional.ofNullable(write.channel().attr(RESPONSE_FUTURE).get())
+              .ifPresent(responseFuture -> responseFuture.completeExceptionally(write.cause()));
+        }
+      };
+
   private final MockServerConfiguration configuration;
   private final EventLoopGroup eventLoopGroup;
   private final ProxyConfiguration proxyConfiguration;
@@ -99,7 +113,21 @@ public class NettyHttpClient {
     }
 
     final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
-    doSendRequest(requestInfo, customTimeout, false, httpResponseFuture);
+    final ReusableChannelMap connectionPool = clientBootstrapFactory.getChannelMap();
+    final ChannelId channelId = ChannelId.from(requestInfo);
+    httpResponseFuture.whenComplete(
+        (response, throwable) -> connectionPool.releaseConnection(channelId));
+    connectionPool.runWhenConnectionAvailable(
+        channelId,
+        () -> {
+          try {
+            doSendRequest(requestInfo, customTimeout, false, httpResponseFuture);
+          } catch (RuntimeException e) {
+            httpResponseFuture.completeExceptionally(e);
+            throw e;
+          }
+        },
+        eventLoopGroup);
     return httpResponseFuture;
   }
 
@@ -172,7 +200,10 @@ public class NettyHttpClient {
               // send the HTTP request
               log.trace(
                   "sending request: {}", requestInfo.getDataToSend().printLogLineDescription());
-              future.channel().writeAndFlush(requestInfo.getDataToSend());
+              future
+                  .channel()
+                  .writeAndFlush(requestInfo.getDataToSend())
+                  .addListener(FAIL_RESPONSE_ON_WRITE_FAILURE);
             }
           });
     } else {
@@ -188,7 +219,10 @@ public class NettyHttpClient {
       requestInfo.getIncomingChannel().attr(HTTP_CLIENT).set(this);
       // send the HTTP request
       log.trace("sending request: {}", requestInfo.getDataToSend().printLogLineDescription());
-      future.channel().writeAndFlush(requestInfo.getDataToSend());
+      future
+          .channel()
+          .writeAndFlush(requestInfo.getDataToSend())
+          .addListener(FAIL_RESPONSE_ON_WRITE_FAILURE);
     } else {
       httpResponseFuture.completeExceptionally(future.cause());
     }
@@ -24,8 +24,10 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +37,7 @@ import lombok.extern.slf4j.Slf4j;
  * It wraps a ChannelFuture that can be reused if the corresponding response future is already done.
  */
 @Getter
-@EqualsAndHashCode(exclude = {"lastUsedAt", "boundIncomingChannel"})
+@EqualsAndHashCode(exclude = {"lastUsedAt", "boundIncomingChannel", "claimedWith"})
 @RequiredArgsConstructor
 @Slf4j
 public class ReusableChannel {
@@ -49,7 +51,11 @@ public class ReusableChannel {
    */
   @Nullable private final Channel boundIncomingChannel;
 
-  private long lastUsedAt = System.currentTimeMillis();
+  private volatile long lastUsedAt = System.currentTimeMillis();
+
+  /** The response future that was installed on the channel when it was last claimed. */
+  @Getter(AccessLevel.NONE)
+  private final AtomicReference<Object> claimedWith = new AtomicReference<>();
 
   public boolean canBeReusedBy(@Nullable Channel requestingIncomingChannel) {
     return canBeReusedBy(requestingIncomingChannel, false);
@@ -74,7 +80,7 @@ public class ReusableChannel {
   }
 
   public boolean canBeReused() {
-    if (futureOutgoingChannel.isDone() && !futureOutgoingChannel.channel().isActive()) {
+    if (isClosed()) {
       return false;
     }
 
@@ -83,6 +89,42 @@ public class ReusableChannel {
     return !shouldWait || isDone;
   }
 
+  /**
+   * Reserves this channel for a single request. A channel that waits for its response before being
+   * reused stays reserved until the claiming request has installed its own response future, so two
+   * concurrent lookups can never hand out the same channel while the reuse listener has not yet run
+   * on the event loop. Channels that do not wait for a response can always be claimed.
+   */
+  public boolean tryClaim() {
+    if (!SHOULD_I_WAIT_FOR_A_RESPONSE_BEFORE_REUSING.test(futureOutgoingChannel)) {
+      return true;
+    }
+    final Object currentResponseFuture = getCurrentResponseFuture();
+    final Object previousClaim = claimedWith.get();
+    return previousClaim != currentResponseFuture
+        && claimedWith.compareAndSet(previousClaim, currentResponseFuture);
+  }
+
+  /**
+   * Gives up a claim whose holder will not install a response future, e.g. because the channel
+   * could not be used after all. Without it the channel would stay reserved forever. Must only be
+   * called by the holder of the claim, and only if it has not installed a response future.
+   */
+  public void releaseClaim() {
+    claimedWith.compareAndSet(getCurrentResponseFuture(), null);
+  }
+
+  private Object getCurrentResponseFuture() {
+    return Optional.<Object>ofNullable(
+            futureOutgoingChannel.channel().attr(NettyHttpClient.RESPONSE_FUTURE).get())
+        .orElse(NO_RESPONSE_FUTURE);
+  }
+
+  /** True if the channel is neither connecting nor open anymore. */
+  public boolean isClosed() {
+    return futureOutgoingChannel.isDone() && !futureOutgoingChannel.channel().isActive();
+  }
+
   public void markAsUsed() {
     lastUsedAt = System.currentTimeMillis();
   }
@@ -92,6 +134,8 @@ public class ReusableChannel {
     return idleMillis > ttlMillis;
   }
 
+  private static final Object NO_RESPONSE_FUTURE = new Object();
+
   private static final Predicate<ChannelFuture> IS_RESPONSE_DONE =
       f ->
           Optional.ofNullable(f.channel().attr(NettyHttpClient.RESPONSE_FUTURE).get())
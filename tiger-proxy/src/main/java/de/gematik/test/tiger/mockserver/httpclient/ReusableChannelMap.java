@@ -20,101 +20,263 @@
  */
 package de.gematik.test.tiger.mockserver.httpclient;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.util.AttributeKey;
 import java.net.InetSocketAddress;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Deque;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
+import lombok.Getter;
 import lombok.val;
 
+/**
+ * Pool of outgoing channels, kept per remote address. Lookups are lock-free: each destination has
+ * its own queue of channels (least recently used first) and a channel is handed out only after it
+ * has been claimed via {@link ReusableChannel#tryClaim()}.
+ *
+ * <p>Optionally, the number of requests in flight per destination is limited. Requests above the
+ * limit are queued and started once an earlier request to the same destination has completed.
+ */
 public class ReusableChannelMap {
-  private final Multimap<ChannelId, ReusableChannel> channelMap =
-      Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
-  private static final long DEFAULT_CHANNEL_POOL_TTL_MILLIS = 5L * 60 * 1000;
+  static final long DEFAULT_CHANNEL_POOL_TTL_MILLIS = 5L * 60 * 1000;
+
+  /** The pool entry wrapping an outgoing channel, so it can be found without scanning the pools. */
+  private static final AttributeKey<PoolEntry> POOL_ENTRY =
+      AttributeKey.valueOf(ReusableChannelMap.class, "POOL_ENTRY");
+
+  private final ConcurrentMap<ChannelId, DestinationPool> pools = new ConcurrentHashMap<>();
+  private final int maxConnectionsPerDestination;
+  @Getter private final long idleTimeoutMillis;
+  @Getter private final ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+
+  public ReusableChannelMap() {
+    this(0, DEFAULT_CHANNEL_POOL_TTL_MILLIS);
+  }
 
-  public synchronized ChannelFuture getChannelToReuse(RequestInfo<?> requestInfo) {
+  /**
+   * @param maxConnectionsPerDestination upper bound for the requests in flight to one remote
+   *     address, 0 or less for no limit
+   * @param idleTimeoutMillis channels unused for longer are closed by {@link
+   *     #cleanupExpiredChannels()}, 0 or less for the default of five minutes
+   */
+  public ReusableChannelMap(int maxConnectionsPerDestination, long idleTimeoutMillis) {
+    this.maxConnectionsPerDestination = Math.max(0, maxConnectionsPerDestination);
+    this.idleTimeoutMillis =
+        idleTimeoutMillis > 0 ? idleTimeoutMillis : DEFAULT_CHANNEL_POOL_TTL_MILLIS;
+  }
+
+  public ChannelFuture getChannelToReuse(RequestInfo<?> requestInfo) {
     return getChannelToReuse(requestInfo, false);
   }
 
   /**
+   * Claims an idle channel to the remote address of the request. The returned channel is
+   * reserved for the caller until it has installed its own response future.
+   *
    * @param requireBoundChannel if true, only a channel bound to the requesting incoming channel is
    *     eligible (see {@link ReusableChannel#canBeReusedBy(Channel, boolean)}).
    */
-  public synchronized ChannelFuture getChannelToReuse(
-      RequestInfo<?> requestInfo, boolean requireBoundChannel) {
-    val channelId = ChannelId.from(requestInfo);
-    val pooledChannels = channelMap.get(channelId);
+  public ChannelFuture getChannelToReuse(RequestInfo<?> requestInfo, boolean requireBoundChannel) {
+    val pool = pools.get(ChannelId.from(requestInfo));
     val requestingIncoming = requestInfo.getIncomingChannel();
-
-    val reuseableChannel =
-        pooledChannels.stream()
-            .filter(rc -> rc.canBeReusedBy(requestingIncoming, requireBoundChannel))
-            .findFirst()
-            .orElse(null);
-
-    if (reuseableChannel != null) {
-      reuseableChannel.markAsUsed();
-      // Re-insert at end to maintain sorted order (oldest first)
-      channelMap.remove(channelId, reuseableChannel);
-      channelMap.put(channelId, reuseableChannel);
-      return reuseableChannel.getFutureOutgoingChannel();
+    if (pool != null) {
+      for (ReusableChannel channel : pool.channels) {
+        if (channel.canBeReusedBy(requestingIncoming, requireBoundChannel) && channel.tryClaim()) {
+          channel.markAsUsed();
+          // Re-insert at end to maintain sorted order (least recently used first)
+          if (pool.channels.remove(channel)) {
+            pool.channels.addLast(channel);
+          }
+          metrics.recordLookup(true);
+          return channel.getFutureOutgoingChannel();
+        }
+      }
     }
+    metrics.recordLookup(false);
     return null;
   }
 
-  /** Periodically clean up expired channels from the pool. */
-  public synchronized void cleanupExpiredChannels() {
-    var expired = new ArrayList<Map.Entry<ChannelId, ReusableChannel>>();
-    for (ChannelId key : channelMap.keySet()) {
-      channelMap.get(key).stream()
-          .takeWhile(channel -> channel.isExpired(DEFAULT_CHANNEL_POOL_TTL_MILLIS))
-          .forEach(channel -> expired.add(new AbstractMap.SimpleEntry<>(key, channel)));
+  /**
+   * Runs {@code request} once it may use a connection to the given destination. Without a limit,
+   * or while the destination is below it, the request runs right away on the calling thread.
+   * Otherwise it is queued and later handed to {@code executor}. Every call has to be paired with
+   * exactly one {@link #releaseConnection(ChannelId)} once the request has completed.
+   */
+  public void runWhenConnectionAvailable(
+      ChannelId channelId, Runnable request, Executor executor) {
+    if (maxConnectionsPerDestination == 0) {
+      request.run();
+      return;
+    }
+    val acquired = new AtomicBoolean();
+    // acquiring or enqueueing inside compute keeps cleanupExpiredChannels() from dropping the pool
+    val pool =
+        pools.compute(
+            channelId,
+            (id, existing) -> {
+              val destinationPool = existing != null ? existing : new DestinationPool();
+              if (tryAcquireConnection(destinationPool)) {
+                acquired.set(true);
+              } else {
+                destinationPool.pendingRequests.add(new PendingRequest(request, executor));
+              }
+              return destinationPool;
+            });
+    if (acquired.get()) {
+      request.run();
+      return;
+    }
+    metrics.recordRequestQueued();
+    // a connection might have been released between the failed attempt and the enqueueing
+    dispatchPendingRequests(pool);
+  }
+
+  public void releaseConnection(ChannelId channelId) {
+    if (maxConnectionsPerDestination == 0) {
+      return;
+    }
+    // the pool cannot have been dropped, this request is still counted as in flight
+    val pool = pools.get(channelId);
+    if (pool == null) {
+      return;
+    }
+    pool.requestsInFlight.decrementAndGet();
+    dispatchPendingRequests(pool);
+  }
+
+  private boolean tryAcquireConnection(DestinationPool pool) {
+    return pool.requestsInFlight.getAndUpdate(
+            inFlight -> inFlight < maxConnectionsPerDestination ? inFlight + 1 : inFlight)
+        < maxConnectionsPerDestination;
+  }
+
+  private void dispatchPendingRequests(DestinationPool pool) {
+    while (!pool.pendingRequests.isEmpty() && tryAcquireConnection(pool)) {
+      val pending = pool.pendingRequests.poll();
+      if (pending == null) {
+        // another thread took the last pending request, give the connection back and re-check
+        pool.requestsInFlight.decrementAndGet();
+      } else {
+        metrics.recordRequestDequeued();
+        try {
+          pending.executor().execute(pending.request());
+        } catch (RejectedExecutionException e) {
+          pending.request().run();
+        }
+      }
     }
-    removeChannels(expired);
   }
 
-  private void removeChannels(List<Map.Entry<ChannelId, ReusableChannel>> toRemove) {
-    toRemove.forEach(
-        entry -> {
-          entry.getValue().getFutureOutgoingChannel().channel().close();
-          channelMap.remove(entry.getKey(), entry.getValue());
+  /**
+   * Closes and removes channels that have been idle for too long or are already closed. Pools of
+   * destinations without channels and without requests in flight or waiting are dropped.
+   */
+  public void cleanupExpiredChannels() {
+    pools.forEach(
+        (channelId, pool) -> {
+          pool.channels.removeIf(
+              channel -> {
+                if (channel.isClosed()
+                    || (channel.isExpired(idleTimeoutMillis) && channel.canBeReused())) {
+                  closeAndCountEviction(channel);
+                  return true;
+                }
+                return false;
+              });
+          if (pool.isUnused()) {
+            pools.computeIfPresent(
+                channelId, (id, current) -> current == pool && pool.isUnused() ? null : current);
+          }
         });
   }
 
+  private void closeAndCountEviction(ReusableChannel channel) {
+    channel.getFutureOutgoingChannel().channel().close();
+    metrics.recordEviction();
+  }
+
   public Collection<Map.Entry<ChannelId, ReusableChannel>> getEntries() {
-    return new ArrayList<>(channelMap.entries());
+    val entries = new ArrayList<Map.Entry<ChannelId, ReusableChannel>>();
+    pools.forEach(
+        (channelId, pool) ->
+            pool.channels.forEach(
+                channel -> entries.add(new AbstractMap.SimpleEntry<>(channelId, channel))));
+    return entries;
   }
 
-  public synchronized void addChannel(ChannelId channelId, ChannelFuture channelFuture) {
+  /** Number of destinations currently holding a pool. */
+  int getDestinationCount() {
+    return pools.size();
+  }
+
+  public void addChannel(ChannelId channelId, ChannelFuture channelFuture) {
     addChannel(channelId, channelFuture, null);
   }
 
-  public synchronized void addChannel(
+  public void addChannel(
       ChannelId channelId, ChannelFuture channelFuture, @Nullable Channel boundIncomingChannel) {
-    channelMap.put(channelId, new ReusableChannel(channelFuture, boundIncomingChannel));
+    val channel = new ReusableChannel(channelFuture, boundIncomingChannel);
+    // adding inside compute keeps cleanupExpiredChannels() from dropping the pool meanwhile
+    pools.compute(
+        channelId,
+        (id, existing) -> {
+          val pool = existing != null ? existing : new DestinationPool();
+          pool.channels.addLast(channel);
+          channelFuture.channel().attr(POOL_ENTRY).set(new PoolEntry(pool, channel));
+          return pool;
+        });
   }
 
   /**
-   * Removes the pool entry wrapping exactly this outgoing channel (identity match) and closes it.
-   * Matching on the {@link Channel} rather than on the {@link ChannelFuture} is deliberate: callers
-   * generally only hold the channel, and a freshly derived future would never be {@code equal} to
-   * the one stored in the pool.
+   * Removes the pool entry wrapping exactly this outgoing channel and closes it. The entry is
+   * looked up via a channel attribute: callers generally only hold the channel, and a freshly
+   * derived future would never be {@code equal} to the one stored in the pool.
    */
-  public synchronized void remove(Channel outgoingChannel) {
-    channelMap.entries().stream()
-        .filter(
-            entry -> entry.getValue().getFutureOutgoingChannel().channel().equals(outgoingChannel))
-        .findFirst()
-        .ifPresent(entry -> removeChannels(List.of(entry)));
+  public void remove(Channel outgoingChannel) {
+    val entry = outgoingChannel.attr(POOL_ENTRY).getAndSet(null);
+    if (entry != null && entry.pool().channels.remove(entry.channel())) {
+      outgoingChannel.close();
+    }
   }
 
+  /**
+   * Releases the claim on the pool entry wrapping this outgoing channel, see {@link
+   * ReusableChannel#releaseClaim()}.
+   */
+  public void releaseClaim(Channel outgoingChannel) {
+    val entry = outgoingChannel.attr(POOL_ENTRY).get();
+    if (entry != null) {
+      entry.channel().releaseClaim();
+    }
+  }
+
+  private static final class DestinationPool {
+    private final Deque<ReusableChannel> channels = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+
+    private boolean isUnused() {
+      return channels.isEmpty() && requestsInFlight.get() == 0 && pendingRequests.isEmpty();
+    }
+  }
+
+  private record PendingRequest(Runnable request, Executor executor) {}
+
+  private record PoolEntry(DestinationPool pool, ReusableChannel channel) {}
+
   public record ChannelId(InetSocketAddress remoteAddress) {
     public static ChannelId from(RequestInfo<?> info) {
       return new ChannelId(info.retrieveActualRemoteAddress());
@@ -0,0 +1,282 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.httpclient;
+
+import static de.gematik.test.tiger.mockserver.httpclient.BinaryBridgeHandler.INCOMING_CHANNEL;
+
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.rbellogger.util.RbelContentOutputStream;
+import de.gematik.test.tiger.mockserver.mappers.FullHttpResponseToMockServerHttpResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Relays large HTTP/1.1 responses chunk by chunk to the incoming (client) channel instead of
+ * aggregating them in memory first. The handler sits between the {@code HttpClientCodec} and the
+ * {@link HttpObjectAggregator} of the outgoing channel.
+ *
+ * <p>Responses announcing a Content-Length up to the threshold are passed on unchanged and follow
+ * the regular route (modifications, location rewriting, ...). Chunked responses are buffered until
+ * either the last chunk arrives (then they are aggregated as usual) or the threshold is exceeded
+ * (then the buffered chunks are relayed and the rest of the body is streamed).
+ *
+ * <p>Streamed bodies are copied into a chunked {@link RbelContent}, which is attached to the
+ * resulting {@link de.gematik.test.tiger.mockserver.model.HttpResponse} once the last chunk has
+ * been relayed. The response therefore still completes the response future, gets logged and
+ * parsed, but is not written to the client a second time.
+ */
+@Slf4j
+public class StreamingResponseRelayHandler extends ChannelInboundHandlerAdapter {
+
+  private enum State {
+    IDLE,
+    AGGREGATING,
+    BUFFERING,
+    STREAMING
+  }
+
+  private static final List<AsciiString> HOP_BY_HOP_HEADERS =
+      List.of(
+          HttpHeaderNames.CONNECTION,
+          HttpHeaderNames.KEEP_ALIVE,
+          HttpHeaderNames.PROXY_CONNECTION,
+          HttpHeaderNames.TRANSFER_ENCODING,
+          HttpHeaderNames.TE,
+          HttpHeaderNames.TRAILER,
+          HttpHeaderNames.UPGRADE);
+
+  private final long thresholdInBytes;
+  private final FullHttpResponseToMockServerHttpResponse responseMapper =
+      new FullHttpResponseToMockServerHttpResponse();
+  private final List<HttpContent> bufferedContent = new ArrayList<>();
+  private State state = State.IDLE;
+  private HttpResponse responseHead;
+  private long bufferedBytes;
+  private Channel incomingChannel;
+  private RbelContentOutputStream streamedBody;
+  private de.gematik.test.tiger.mockserver.model.HttpResponse streamedResponse;
+
+  StreamingResponseRelayHandler(long thresholdInBytes) {
+    this.thresholdInBytes = thresholdInBytes;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (state == State.IDLE) {
+      if (msg instanceof HttpResponse head && !(msg instanceof FullHttpResponse)) {
+        startResponse(ctx, head);
+      } else {
+        ctx.fireChannelRead(msg);
+      }
+    } else if (!(msg instanceof HttpContent content)) {
+      ctx.fireChannelRead(msg);
+    } else if (state == State.AGGREGATING) {
+      if (content instanceof LastHttpContent) {
+        state = State.IDLE;
+      }
+      ctx.fireChannelRead(content);
+    } else if (state == State.BUFFERING) {
+      bufferContent(ctx, content);
+    } else {
+      relayContent(ctx, content);
+    }
+  }
+
+  private void startResponse(ChannelHandlerContext ctx, HttpResponse head) {
+    final long contentLength = HttpUtil.getContentLength(head, -1L);
+    if (!isStreamable(ctx, head) || (contentLength >= 0 && contentLength <= thresholdInBytes)) {
+      state = State.AGGREGATING;
+      ctx.fireChannelRead(head);
+      return;
+    }
+    responseHead = head;
+    incomingChannel = ctx.channel().attr(INCOMING_CHANNEL).get();
+    if (contentLength > thresholdInBytes) {
+      startStreaming(ctx);
+    } else {
+      state = State.BUFFERING;
+      bufferedBytes = 0;
+    }
+  }
+
+  /**
+   * Only final responses which can be relayed to a plain HTTP/1.1 client are streamed. Redirects
+   * are always aggregated so the location header can still be rewritten.
+   */
+  private static boolean isStreamable(ChannelHandlerContext ctx, HttpResponse head) {
+    final HttpStatusClass statusClass = head.status().codeClass();
+    if (statusClass == HttpStatusClass.INFORMATIONAL
+        || statusClass == HttpStatusClass.REDIRECTION) {
+      return false;
+    }
+    final Channel incoming = ctx.channel().attr(INCOMING_CHANNEL).get();
+    return incoming != null
+        && incoming.isActive()
+        && incoming.pipeline().get(HttpServerCodec.class) != null;
+  }
+
+  private void bufferContent(ChannelHandlerContext ctx, HttpContent content) {
+    bufferedContent.add(content);
+    bufferedBytes += content.content().readableBytes();
+    if (content instanceof LastHttpContent) {
+      log.trace("Chunked response stayed below streaming threshold, aggregating it");
+      state = State.IDLE;
+      ctx.fireChannelRead(responseHead);
+      bufferedContent.forEach(ctx::fireChannelRead);
+      resetResponseState();
+    } else if (bufferedBytes > thresholdInBytes) {
+      startStreaming(ctx);
+    }
+  }
+
+  private void startStreaming(ChannelHandlerContext ctx) {
+    log.atDebug()
+        .addArgument(responseHead::status)
+        .addArgument(incomingChannel)
+        .log("Streaming response with status {} directly to {}");
+    state = State.STREAMING;
+    streamedBody = new RbelContentOutputStream();
+    streamedResponse =
+        responseMapper.mapFullHttpResponseToMockServerResponse(
+            new DefaultFullHttpResponse(
+                responseHead.protocolVersion(),
+                responseHead.status(),
+                Unpooled.EMPTY_BUFFER,
+                responseHead.headers().copy(),
+                EmptyHttpHeaders.INSTANCE));
+    incomingChannel.writeAndFlush(createRelayedHead(responseHead));
+    final List<HttpContent> alreadyReceived = new ArrayList<>(bufferedContent);
+    bufferedContent.clear();
+    alreadyReceived.forEach(content -> relayContent(ctx, content));
+  }
+
+  /**
+   * The head is relayed on the client connection, so the hop-by-hop headers of the upstream
+   * connection (including the ones named in its Connection header) are dropped. Whether the client
+   * connection stays open is decided by the proxy. The body keeps the upstream Content-Length or is
+   * relayed in chunks.
+   */
+  private static HttpResponse createRelayedHead(HttpResponse upstreamHead) {
+    final HttpHeaders headers = upstreamHead.headers().copy();
+    upstreamHead.headers().getAll(HttpHeaderNames.CONNECTION).stream()
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .forEach(headers::remove);
+    HOP_BY_HOP_HEADERS.forEach(headers::remove);
+    final HttpResponse relayedHead =
+        new DefaultHttpResponse(upstreamHead.protocolVersion(), upstreamHead.status(), headers);
+    if (HttpUtil.isTransferEncodingChunked(upstreamHead)
+        || !HttpUtil.isContentLengthSet(upstreamHead)) {
+      HttpUtil.setTransferEncodingChunked(relayedHead, true);
+    }
+    return relayedHead;
+  }
+
+  private void relayContent(ChannelHandlerContext ctx, HttpContent content) {
+    final ByteBuf data = content.content();
+    try {
+      data.getBytes(data.readerIndex(), streamedBody, data.readableBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final boolean isLast = content instanceof LastHttpContent;
+    final Channel outgoingChannel = ctx.channel();
+    final ChannelFuture writeFuture = incomingChannel.writeAndFlush(content);
+    writeFuture.addListener(
+        future -> {
+          if (!future.isSuccess()) {
+            log.debug("Relaying streamed response failed, closing upstream connection");
+            outgoingChannel.close();
+          }
+        });
+    if (!isLast && !incomingChannel.isWritable()) {
+      // back-pressure: stop reading from the server until the client has caught up
+      outgoingChannel.config().setAutoRead(false);
+      writeFuture.addListener(future -> outgoingChannel.config().setAutoRead(true));
+    }
+    if (isLast) {
+      finishStreaming(ctx);
+    }
+  }
+
+  private void finishStreaming(ChannelHandlerContext ctx) {
+    final RbelContent body = streamedBody.getContent();
+    // mirror the HttpObjectAggregator: the logged message carries the de-chunked body
+    final de.gematik.test.tiger.mockserver.model.HttpResponse response =
+        streamedResponse
+            .removeHeader(HttpHeaderNames.TRANSFER_ENCODING.toString())
+            .withStreamedBody(body);
+    if (StringUtils.isBlank(response.getFirstHeader(HttpHeaderNames.CONTENT_LENGTH.toString()))) {
+      response.withHeader(HttpHeaderNames.CONTENT_LENGTH.toString(), String.valueOf(body.size()));
+    }
+    state = State.IDLE;
+    resetResponseState();
+    ctx.fireChannelRead(response);
+  }
+
+  private void resetResponseState() {
+    bufferedContent.clear();
+    bufferedBytes = 0;
+    responseHead = null;
+    incomingChannel = null;
+    streamedBody = null;
+    streamedResponse = null;
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (state == State.STREAMING && incomingChannel != null) {
+      log.debug("Upstream connection closed while streaming a response, closing client connection");
+      incomingChannel.close();
+    }
+    bufferedContent.forEach(ReferenceCountUtil::release);
+    resetResponseState();
+    state = State.IDLE;
+    super.channelInactive(ctx);
+  }
+}
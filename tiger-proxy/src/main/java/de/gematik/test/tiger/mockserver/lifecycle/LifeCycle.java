@@ -28,10 +28,11 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
 import de.gematik.test.tiger.mockserver.mock.HttpState;
+import de.gematik.test.tiger.mockserver.netty.NettyTransport;
+import de.gematik.test.tiger.mockserver.netty.NettyTransportMetrics;
 import de.gematik.test.tiger.mockserver.scheduler.Scheduler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +49,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public abstract class LifeCycle {
 
+  protected final NettyTransport transport;
   protected final EventLoopGroup bossGroup;
   protected final EventLoopGroup workerGroup;
   protected final HttpState httpState;
@@ -61,11 +63,12 @@ public abstract class LifeCycle {
   protected LifeCycle(MockServerConfiguration configuration) {
     clearPort();
     this.configuration = configuration != null ? configuration : configuration();
+    this.transport = NettyTransport.from(this.configuration.transportConfiguration());
     this.bossGroup =
-        new NioEventLoopGroup(
+        transport.newEventLoopGroup(
             5, new Scheduler.SchedulerThreadFactory(getMockServerName() + "-bossGroup"));
     this.workerGroup =
-        new NioEventLoopGroup(
+        transport.newEventLoopGroup(
             this.configuration.nioEventLoopThreadCount(),
             new Scheduler.SchedulerThreadFactory(getMockServerName() + "-workerEventLoop"));
     this.scheduler = new Scheduler(this.configuration);
@@ -154,6 +157,10 @@ public abstract class LifeCycle {
     return workerGroup;
   }
 
+  public NettyTransportMetrics getTransportMetrics() {
+    return new NettyTransportMetrics(transport, List.of(bossGroup, workerGroup));
+  }
+
   public Scheduler getScheduler() {
     return scheduler;
   }
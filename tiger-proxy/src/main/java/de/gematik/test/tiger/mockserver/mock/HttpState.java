@@ -28,6 +28,7 @@ import de.gematik.test.tiger.mockserver.model.*;
 import de.gematik.test.tiger.mockserver.scheduler.Scheduler;
 import de.gematik.test.tiger.mockserver.uuid.UUIDService;
 import java.util.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +43,11 @@ public class HttpState {
   private final Scheduler scheduler;
   private final MockServerConfiguration configuration;
   private final List<Expectation> expectations = new ArrayList<>();
+  private final RouteLookupMetrics routeLookupMetrics = new RouteLookupMetrics();
+
+  /** Rebuilt whenever the expectations change, read without locking for every request. */
+  @Getter(AccessLevel.NONE)
+  private volatile RouteIndex routeIndex = RouteIndex.EMPTY;
 
   public static void setPort(final HttpRequest request) {
     if (request != null && request.getReceiverAddress() != null) {
@@ -80,7 +86,10 @@ public class HttpState {
   }
 
   public void add(Expectation expectation) {
-    this.expectations.add(expectation);
+    synchronized (expectations) {
+      this.expectations.add(expectation);
+      this.routeIndex = new RouteIndex(expectations);
+    }
 
     final String hostHeader = expectation.getRequestPattern().getFirstHeader(HOST.toString());
     if (isNotBlank(hostHeader)) {
@@ -91,14 +100,19 @@ public class HttpState {
   public Expectation firstMatchingExpectation(HttpRequest request) {
     log.atTrace().addArgument(request::printLogLineDescription).log("Trying to find route for {}");
     var oldCorrespondingMessage = request.getCorrespondingRbelMessage();
+    final long lookupStart = System.nanoTime();
+    int evaluatedCandidates = 0;
+    Expectation result = null;
     try {
       request.setCorrespondingRbelMessage(null);
-      for (Expectation expectation : expectations.stream().sorted().toList()) {
+      for (Expectation expectation : routeIndex.findCandidates(request)) {
+        evaluatedCandidates++;
         if (expectation.matches(request)) {
           log.atDebug()
               .addArgument(expectation::createShortDescription)
               .addArgument(request::printLogLineDescription)
               .log("Route {} matched request {}");
+          result = expectation;
           return expectation;
         }
       }
@@ -108,6 +122,8 @@ public class HttpState {
       return null;
     } finally {
       request.setCorrespondingRbelMessage(oldCorrespondingMessage);
+      routeLookupMetrics.record(
+          System.nanoTime() - lookupStart, evaluatedCandidates, result != null);
     }
   }
 
@@ -119,12 +135,17 @@ public class HttpState {
   }
 
   public List<Expectation> retrieveActiveExpectations() {
-    return expectations.stream().toList();
+    synchronized (expectations) {
+      return expectations.stream().toList();
+    }
   }
 
   public void clear(String expectationId) {
-    boolean foundRoute =
-        expectations.removeIf(expectation -> expectation.getId().equals(expectationId));
+    final boolean foundRoute;
+    synchronized (expectations) {
+      foundRoute = expectations.removeIf(expectation -> expectation.getId().equals(expectationId));
+      routeIndex = new RouteIndex(expectations);
+    }
     log.info("removed expectation with id [{}]: {}", expectationId, foundRoute);
   }
 }
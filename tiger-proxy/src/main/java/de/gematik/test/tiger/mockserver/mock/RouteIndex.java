@@ -0,0 +1,180 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.mock;
+
+import de.gematik.rbellogger.util.RbelInternetAddress;
+import de.gematik.rbellogger.util.RbelInternetAddressParser;
+import de.gematik.test.tiger.mockserver.model.HttpRequest;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable snapshot of the expectations of a {@link HttpState}, sorted in matching order. The
+ * index narrows a request down to the expectations whose host and path constraints can match it,
+ * the full check is still done by {@link Expectation#matches(HttpRequest)}.
+ *
+ * <p>Expectations are referenced by their position in the sorted list, so the candidates of a
+ * request are a {@link BitSet} which is iterated in matching order.
+ */
+class RouteIndex {
+
+  static final RouteIndex EMPTY = new RouteIndex(List.of());
+
+  private final List<Expectation> sortedExpectations;
+  private final BitSet matchingAnyHost = new BitSet();
+  private final Map<String, BitSet> byHost = new HashMap<>();
+  private final BitSet matchingAnyPath = new BitSet();
+  private final PathPrefixNode pathPrefixRoot = new PathPrefixNode();
+  private volatile Map<RbelInternetAddress, BitSet> byResolvedHost;
+
+  RouteIndex(List<Expectation> expectations) {
+    this.sortedExpectations = expectations.stream().sorted().toList();
+    for (int i = 0; i < sortedExpectations.size(); i++) {
+      indexHost(i, sortedExpectations.get(i));
+      indexPath(i, sortedExpectations.get(i));
+    }
+  }
+
+  List<Expectation> getSortedExpectations() {
+    return sortedExpectations;
+  }
+
+  /** The expectations which can match the given request, in matching order. */
+  List<Expectation> findCandidates(HttpRequest request) {
+    val candidates = findHostCandidates(request);
+    candidates.and(findPathCandidates(request));
+    return candidates.stream().mapToObj(sortedExpectations::get).toList();
+  }
+
+  /**
+   * Mirrors the host check of {@link Expectation}: routes with host regexes or without a Host
+   * header can match any host, all others only match their Host header (without port) either
+   * literally or after resolving both names.
+   */
+  private void indexHost(int position, Expectation expectation) {
+    val pattern = expectation.getRequestPattern();
+    if (!expectation.getHostRegexes().isEmpty() || !pattern.getHeaders().containsEntry("Host")) {
+      matchingAnyHost.set(position);
+    } else {
+      byHost
+          .computeIfAbsent(withoutPort(pattern.getFirstHeader("Host")), host -> new BitSet())
+          .set(position);
+    }
+  }
+
+  private BitSet findHostCandidates(HttpRequest request) {
+    val result = (BitSet) matchingAnyHost.clone();
+    if (byHost.isEmpty()) {
+      return result;
+    }
+    val host = withoutPort(request.getFirstHeader("Host").trim());
+    val literalMatches = byHost.get(host);
+    if (literalMatches != null) {
+      result.or(literalMatches);
+    }
+    if (StringUtils.isNotEmpty(host)) {
+      val resolvedMatches =
+          getByResolvedHost().get(RbelInternetAddressParser.parseInetAddress(host));
+      if (resolvedMatches != null) {
+        result.or(resolvedMatches);
+      }
+    }
+    return result;
+  }
+
+  /** Resolved lazily, so adding routes never waits for name resolution. */
+  private Map<RbelInternetAddress, BitSet> getByResolvedHost() {
+    var result = byResolvedHost;
+    if (result == null) {
+      result = new HashMap<>();
+      for (Map.Entry<String, BitSet> entry : byHost.entrySet()) {
+        if (StringUtils.isNotEmpty(entry.getKey())) {
+          result
+              .computeIfAbsent(
+                  RbelInternetAddressParser.parseInetAddress(entry.getKey()), a -> new BitSet())
+              .or(entry.getValue());
+        }
+      }
+      byResolvedHost = result;
+    }
+    return result;
+  }
+
+  /**
+   * Mirrors the path check of {@link Expectation}: the request path (with trailing slash) has to
+   * start with the path of the route. Route paths ending with a slash go into the prefix trie,
+   * all others are checked for every request.
+   */
+  private void indexPath(int position, Expectation expectation) {
+    val path = expectation.getRequestPattern().getPath();
+    if (StringUtils.isBlank(path) || !path.endsWith("/")) {
+      matchingAnyPath.set(position);
+    } else {
+      var node = pathPrefixRoot;
+      for (String segment : splitIntoSegments(path)) {
+        node = node.children.computeIfAbsent(segment, s -> new PathPrefixNode());
+      }
+      node.expectations.set(position);
+    }
+  }
+
+  private BitSet findPathCandidates(HttpRequest request) {
+    val path = request.getPath();
+    if (path == null) {
+      val all = new BitSet();
+      all.set(0, sortedExpectations.size());
+      return all;
+    }
+    val result = (BitSet) matchingAnyPath.clone();
+    var node = pathPrefixRoot;
+    for (String segment : splitIntoSegments(path.endsWith("/") ? path : path + "/")) {
+      node = node.children.get(segment);
+      if (node == null) {
+        break;
+      }
+      result.or(node.expectations);
+    }
+    return result;
+  }
+
+  /** Splits "/a/b/" into "/", "a/" and "b/". */
+  private static List<String> splitIntoSegments(String path) {
+    val boundaries =
+        IntStream.range(0, path.length()).filter(i -> path.charAt(i) == '/').toArray();
+    return IntStream.range(0, boundaries.length)
+        .mapToObj(i -> path.substring(i == 0 ? 0 : boundaries[i - 1] + 1, boundaries[i] + 1))
+        .toList();
+  }
+
+  private static String withoutPort(String host) {
+    return host.split(":")[0];
+  }
+
+  private static class PathPrefixNode {
+    private final Map<String, PathPrefixNode> children = new HashMap<>();
+    private final BitSet expectations = new BitSet();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.mock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency of the route lookups done by a {@link HttpState}. */
+public class RouteLookupMetrics {
+
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder unmatchedLookups = new LongAdder();
+  private final LongAdder evaluatedCandidates = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+  void record(long nanos, int candidatesEvaluated, boolean matched) {
+    lookups.increment();
+    if (!matched) {
+      unmatchedLookups.increment();
+    }
+    evaluatedCandidates.add(candidatesEvaluated);
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+  }
+
+  public long getLookupCount() {
+    return lookups.sum();
+  }
+
+  public long getUnmatchedLookupCount() {
+    return unmatchedLookups.sum();
+  }
+
+  /** Number of routes that had to be checked in full, summed over all lookups. */
+  public long getEvaluatedCandidateCount() {
+    return evaluatedCandidates.sum();
+  }
+
+  public long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public double getAverageMillis() {
+    final long count = getLookupCount();
+    return count == 0 ? 0 : (double) getTotalNanos() / count / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public void reset() {
+    lookups.reset();
+    unmatchedLookups.reset();
+    evaluatedCandidates.reset();
+    totalNanos.reset();
+    maxNanos.reset();
+  }
+}
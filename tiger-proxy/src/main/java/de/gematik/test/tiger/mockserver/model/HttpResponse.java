@@ -24,6 +24,7 @@ import static de.gematik.test.tiger.mockserver.model.HttpStatusCode.NOT_FOUND_40
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.Multimap;
+import de.gematik.rbellogger.util.RbelContent;
 import de.gematik.test.tiger.mockserver.netty.responsewriter.NettyResponseWriter;
 import java.util.Collections;
 import java.util.List;
@@ -43,6 +44,12 @@ public class HttpResponse extends HttpMessage<HttpResponse> implements Action {
   private Integer streamId = null;
   private String expectationId;
 
+  /**
+   * Body of a response which has already been streamed to the client. The (empty) regular body is
+   * not written again, the streamed body is only kept for logging and parsing.
+   */
+  @JsonIgnore private RbelContent streamedBody;
+
   /** Static builder to create a response. */
   public static HttpResponse response() {
     return new HttpResponse();
@@ -191,6 +198,23 @@ public class HttpResponse extends HttpMessage<HttpResponse> implements Action {
     }
   }
 
+  public HttpResponse withStreamedBody(RbelContent streamedBody) {
+    this.streamedBody = streamedBody;
+    this.hashCode = 0;
+    return this;
+  }
+
+  @JsonIgnore
+  public boolean isStreamed() {
+    return streamedBody != null;
+  }
+
+  /** The body as it was transmitted, regardless of whether it was streamed or aggregated. */
+  @JsonIgnore
+  public RbelContent getTransmittedBody() {
+    return isStreamed() ? streamedBody : RbelContent.of(getBody());
+  }
+
   public HttpResponse withStreamId(Integer streamId) {
     this.streamId = streamId;
     this.hashCode = 0;
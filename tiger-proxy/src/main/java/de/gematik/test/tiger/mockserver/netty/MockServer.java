@@ -37,12 +37,10 @@ import de.gematik.test.tiger.mockserver.socket.tls.NettySslContextFactory;
 import de.gematik.test.tiger.proxy.data.TigerConnectionStatus;
 import de.gematik.test.tiger.proxy.handler.BinaryExchangeHandler;
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.internal.SocketUtils;
@@ -118,13 +116,12 @@ public class MockServer extends LifeCycle {
 
     actionHandler = new HttpActionHandler(configuration, httpState, httpClient);
     serverServerBootstrap =
-        new ServerBootstrap()
+        transport
+            .configure(new ServerBootstrap())
             .group(bossGroup, workerGroup)
             .option(ChannelOption.SO_BACKLOG, 1 * KB)
-            .channel(NioServerSocketChannel.class)
             .handler(new LoggingHandler(LogLevel.DEBUG))
             .childOption(ChannelOption.AUTO_READ, true)
-            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
             .option(
                 ChannelOption.WRITE_BUFFER_WATER_MARK,
                 new WriteBufferWaterMark(8 * 1024, 32 * 1024))
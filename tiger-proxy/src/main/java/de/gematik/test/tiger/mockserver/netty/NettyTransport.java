@@ -0,0 +1,168 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.netty;
+
+import de.gematik.test.tiger.common.data.config.tigerproxy.NettyTransportConfiguration;
+import de.gematik.test.tiger.common.data.config.tigerproxy.NettyTransportConfiguration.AllocatorType;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioChannelOption;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import jdk.net.ExtendedSocketOptions;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Netty transport (native epoll or NIO), buffer allocator and socket options selected by a
+ * {@link NettyTransportConfiguration}. Event loop groups and bootstraps are created through this
+ * class so that channels always match the transport of the event loop they are registered with.
+ */
+@Slf4j
+@Getter
+public class NettyTransport {
+
+  private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean(false);
+
+  private final boolean nativeTransport;
+  private final ByteBufAllocator allocator;
+
+  @Getter(AccessLevel.NONE)
+  private final NettyTransportConfiguration configuration;
+
+  private NettyTransport(NettyTransportConfiguration configuration, boolean nativeTransport) {
+    this.configuration = configuration;
+    this.nativeTransport = nativeTransport;
+    this.allocator =
+        configuration.getAllocator() == AllocatorType.UNPOOLED
+            ? UnpooledByteBufAllocator.DEFAULT
+            : PooledByteBufAllocator.DEFAULT;
+  }
+
+  public static NettyTransport from(@Nullable NettyTransportConfiguration configuration) {
+    final NettyTransportConfiguration effectiveConfiguration =
+        configuration != null ? configuration : new NettyTransportConfiguration();
+    return new NettyTransport(
+        effectiveConfiguration,
+        effectiveConfiguration.isUseNativeTransport() && isNativeTransportAvailable());
+  }
+
+  private static boolean isNativeTransportAvailable() {
+    if (Epoll.isAvailable()) {
+      return true;
+    }
+    if (FALLBACK_LOGGED.compareAndSet(false, true)) {
+      log.warn(
+          "Native epoll transport is not available, falling back to NIO: {}",
+          String.valueOf(Epoll.unavailabilityCause()));
+    }
+    return false;
+  }
+
+  public String getName() {
+    return nativeTransport ? "epoll" : "nio";
+  }
+
+  public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+    return new MultiThreadIoEventLoopGroup(
+        threads,
+        threadFactory,
+        nativeTransport ? EpollIoHandler.newFactory() : NioIoHandler.newFactory());
+  }
+
+  public Class<? extends ServerSocketChannel> getServerChannelClass() {
+    return nativeTransport ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+  }
+
+  public Class<? extends SocketChannel> getSocketChannelClass() {
+    return nativeTransport ? EpollSocketChannel.class : NioSocketChannel.class;
+  }
+
+  /** Sets channel type, allocator and socket options for the server and its accepted channels. */
+  public ServerBootstrap configure(ServerBootstrap bootstrap) {
+    bootstrap
+        .channel(getServerChannelClass())
+        .childOption(ChannelOption.ALLOCATOR, allocator)
+        .childOption(ChannelOption.TCP_NODELAY, configuration.isTcpNoDelay());
+    if (configuration.getReceiveBufferSizeInKb() > 0) {
+      // set on the server socket as well, so that the TCP window is negotiated accordingly
+      bootstrap
+          .option(ChannelOption.SO_RCVBUF, configuration.getReceiveBufferSizeInKb() * 1024)
+          .childOption(ChannelOption.SO_RCVBUF, configuration.getReceiveBufferSizeInKb() * 1024);
+    }
+    if (configuration.getSendBufferSizeInKb() > 0) {
+      bootstrap.childOption(ChannelOption.SO_SNDBUF, configuration.getSendBufferSizeInKb() * 1024);
+    }
+    if (configuration.isReusePort()) {
+      if (nativeTransport) {
+        bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+      } else {
+        log.warn("SO_REUSEPORT is only supported by the native transport, ignoring it");
+      }
+    }
+    return bootstrap;
+  }
+
+  /** Sets channel type, allocator and socket options for an outgoing channel. */
+  public Bootstrap configure(Bootstrap bootstrap) {
+    bootstrap
+        .channel(getSocketChannelClass())
+        .option(ChannelOption.ALLOCATOR, allocator)
+        .option(ChannelOption.TCP_NODELAY, configuration.isTcpNoDelay());
+    if (configuration.getReceiveBufferSizeInKb() > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, configuration.getReceiveBufferSizeInKb() * 1024);
+    }
+    if (configuration.getSendBufferSizeInKb() > 0) {
+      bootstrap.option(ChannelOption.SO_SNDBUF, configuration.getSendBufferSizeInKb() * 1024);
+    }
+    return bootstrap;
+  }
+
+  /** Enables TCP keep-alive with the given probe interval on an outgoing channel. */
+  public Bootstrap configureKeepAlive(Bootstrap bootstrap, int keepAliveInterval) {
+    bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
+    if (nativeTransport) {
+      bootstrap.option(EpollChannelOption.TCP_KEEPINTVL, keepAliveInterval);
+    } else {
+      bootstrap.option(
+          NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), keepAliveInterval);
+    }
+    return bootstrap;
+  }
+}
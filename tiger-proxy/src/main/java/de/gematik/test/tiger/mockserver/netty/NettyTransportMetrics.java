@@ -0,0 +1,77 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.netty;
+
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/** Event loop and buffer allocator usage of the event loop groups of one server. */
+@RequiredArgsConstructor
+public class NettyTransportMetrics {
+
+  private final NettyTransport transport;
+  private final List<EventLoopGroup> eventLoopGroups;
+
+  public String getTransportName() {
+    return transport.getName();
+  }
+
+  public int getEventLoopCount() {
+    int count = 0;
+    for (EventLoopGroup group : eventLoopGroups) {
+      for (EventExecutor ignored : group) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Tasks queued on all event loops, a steadily growing value indicates overloaded loops. */
+  public int getPendingTaskCount() {
+    int pendingTasks = 0;
+    for (EventLoopGroup group : eventLoopGroups) {
+      for (EventExecutor executor : group) {
+        if (executor instanceof SingleThreadEventExecutor singleThreadExecutor) {
+          pendingTasks += singleThreadExecutor.pendingTasks();
+        }
+      }
+    }
+    return pendingTasks;
+  }
+
+  /** Heap memory held by the allocator, -1 if the allocator does not report it. */
+  public long getUsedHeapMemory() {
+    return transport.getAllocator() instanceof ByteBufAllocatorMetricProvider metricProvider
+        ? metricProvider.metric().usedHeapMemory()
+        : -1;
+  }
+
+  /** Direct memory held by the allocator, -1 if the allocator does not report it. */
+  public long getUsedDirectMemory() {
+    return transport.getAllocator() instanceof ByteBufAllocatorMetricProvider metricProvider
+        ? metricProvider.metric().usedDirectMemory()
+        : -1;
+  }
+}
@@ -28,13 +28,13 @@ import static de.gematik.test.tiger.mockserver.netty.unification.PortUnification
 
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
 import de.gematik.test.tiger.mockserver.netty.MockServer;
+import de.gematik.test.tiger.mockserver.netty.NettyTransport;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 import io.netty.channel.ChannelHandler.Sharable;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import lombok.Getter;
@@ -83,9 +83,9 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
     InetSocketAddress targetSocket = InetSocketAddress.createUnresolved(host, port);
     proxyClientCtx.channel().attr(REMOTE_SOCKET).set(targetSocket);
 
-    new Bootstrap()
+    NettyTransport.from(configuration.transportConfiguration())
+        .configure(new Bootstrap())
         .group(proxyClientCtx.channel().eventLoop())
-        .channel(NioSocketChannel.class)
         .handler(createForwardProxyHandler(proxyClientCtx, request))
         .connect(forwardProxy)
         .addListener(
@@ -25,6 +25,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
 import de.gematik.test.tiger.mockserver.model.*;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -87,7 +88,9 @@ public class NettyResponseWriter {
       final ChannelHandlerContext ctx, final HttpRequest request, HttpResponse response) {
     boolean closeChannel = !(request.getKeepAlive() != null && request.getKeepAlive());
 
-    ChannelFuture channelFuture = ctx.writeAndFlush(response);
+    // a streamed response has already been relayed, only the connection handling is left
+    ChannelFuture channelFuture =
+        ctx.writeAndFlush(response.isStreamed() ? Unpooled.EMPTY_BUFFER : response);
     if (closeChannel || configuration.alwaysCloseSocketConnections()) {
       channelFuture.addListener((ChannelFutureListener) this::disconnectAndCloseChannel);
     }
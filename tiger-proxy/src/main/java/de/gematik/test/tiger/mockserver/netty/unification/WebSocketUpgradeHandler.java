@@ -31,6 +31,7 @@ import de.gematik.test.tiger.mockserver.codec.MockServerHttpServerCodec;
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
 import de.gematik.test.tiger.mockserver.httpclient.BinaryBridgeHandler;
 import de.gematik.test.tiger.mockserver.httpclient.HttpClientHandler;
+import de.gematik.test.tiger.mockserver.httpclient.StreamingResponseRelayHandler;
 import de.gematik.test.tiger.mockserver.model.HttpResponse;
 import de.gematik.test.tiger.mockserver.netty.HttpRequestHandler;
 import de.gematik.test.tiger.mockserver.netty.proxy.BinaryHandler;
@@ -89,7 +90,8 @@ public class WebSocketUpgradeHandler extends ChannelInboundHandlerAdapter {
           HttpRequestHandler.class,
           HttpServerCodec.class,
           MockServerHttpClientCodec.class,
-          MockServerHttpServerCodec.class);
+          MockServerHttpServerCodec.class,
+          StreamingResponseRelayHandler.class);
   private final MockServerConfiguration configuration;
   private final BinaryModifierApplier binaryModifierApplier;
   private boolean isUpgrading = false;
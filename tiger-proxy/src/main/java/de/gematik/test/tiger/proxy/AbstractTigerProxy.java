@@ -27,6 +27,8 @@ import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
 import de.gematik.rbellogger.file.RbelFileReader;
 import de.gematik.rbellogger.file.RbelFileWriter;
+import de.gematik.rbellogger.file.TgrArchive;
+import de.gematik.rbellogger.file.TgrArchiveWriter;
 import de.gematik.rbellogger.initializers.RbelKeyFolderInitializer;
 import de.gematik.rbellogger.key.RbelKey;
 import de.gematik.rbellogger.util.IRbelMessageListener;
@@ -46,6 +48,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.Key;
 import java.security.KeyPair;
 import java.time.LocalDateTime;
@@ -212,12 +215,28 @@ public abstract class AbstractTigerProxy implements ITigerProxy, AutoCloseable {
   }
 
   public synchronized List<RbelElement> readTraffic(File tgrFileContent) throws IOException {
-    return rbelFileReader.convertFromRbelFile(
-        new FileReader(tgrFileContent),
+    final Optional<String> readFilter =
         Optional.ofNullable(getTigerProxyConfiguration().getFileSaveInfo())
             .map(TigerFileSaveInfo::getReadFilter)
-            .filter(StringUtils::isNotBlank),
-        null);
+            .filter(StringUtils::isNotBlank);
+    if (TgrArchive.isArchive(tgrFileContent.toPath())) {
+      try (val archive = TgrArchive.open(tgrFileContent.toPath())) {
+        return rbelFileReader.convertFromTgrArchive(archive, readFilter);
+      }
+    }
+    return rbelFileReader.convertFromRbelFile(new FileReader(tgrFileContent), readFilter, null);
+  }
+
+  /**
+   * Writes all messages of the history into the given binary .tgr archive, which allows reading
+   * single messages without parsing the whole file (see {@link TgrArchive}).
+   */
+  public void saveTrafficToArchive(Path target) throws IOException {
+    try (val archiveWriter = new TgrArchiveWriter(target, rbelFileWriter)) {
+      for (RbelElement message : getRbelLogger().getMessages()) {
+        archiveWriter.write(message);
+      }
+    }
   }
 
   private void addFixVauKey() {
@@ -254,8 +273,12 @@ public abstract class AbstractTigerProxy implements ITigerProxy, AutoCloseable {
     }
     initializeFileSaver(configuration);
     rbelConfiguration.setRbelBufferSizeInMb(configuration.getRbelBufferSizeInMb());
+    rbelConfiguration.setRbelSpillFileSizeInMb(configuration.getRbelSpillFileSizeInMb());
+    rbelConfiguration.setRbelSpillDirectory(configuration.getRbelSpillDirectory());
     rbelConfiguration.setSkipParsingWhenMessageLargerThanKb(
         configuration.getSkipParsingWhenMessageLargerThanKb());
+    rbelConfiguration.setProfileConversion(configuration.isProfileRbelConversion());
+    rbelConfiguration.setLazyParsing(configuration.isLazyRbelParsing());
     rbelConfiguration.setManageBuffer(true);
     return rbelConfiguration;
   }
@@ -0,0 +1,74 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import de.gematik.test.tiger.mockserver.httpclient.ConnectionPoolMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Publishes the {@link ConnectionPoolMetrics} of the pooled upstream connections of the proxy. */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMeterBinder implements MeterBinder {
+
+  static final String LOOKUP_COUNTER = "tiger.upstream.connection.lookups";
+  static final String QUEUED_COUNTER = "tiger.upstream.connection.queued";
+  static final String WAITING_GAUGE = "tiger.upstream.connection.waiting";
+  static final String EVICTION_COUNTER = "tiger.upstream.connection.evictions";
+
+  private final TigerProxy tigerProxy;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            LOOKUP_COUNTER, tigerProxy, proxy -> proxy.getConnectionPoolMetrics().getHitCount())
+        .description("Lookups for an upstream connection")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder(
+            LOOKUP_COUNTER, tigerProxy, proxy -> proxy.getConnectionPoolMetrics().getMissCount())
+        .description("Lookups for an upstream connection")
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder(
+            QUEUED_COUNTER,
+            tigerProxy,
+            proxy -> proxy.getConnectionPoolMetrics().getQueuedRequestCount())
+        .description("Requests which had to wait for a connection to their upstream server")
+        .register(registry);
+    Gauge.builder(
+            WAITING_GAUGE,
+            tigerProxy,
+            proxy -> proxy.getConnectionPoolMetrics().getWaitingRequestCount())
+        .description("Requests currently waiting for a connection to their upstream server")
+        .register(registry);
+    FunctionCounter.builder(
+            EVICTION_COUNTER,
+            tigerProxy,
+            proxy -> proxy.getConnectionPoolMetrics().getEvictionCount())
+        .description("Idle or closed upstream connections dropped from the pool")
+        .register(registry);
+  }
+}
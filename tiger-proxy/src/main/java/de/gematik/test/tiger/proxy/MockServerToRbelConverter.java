@@ -23,6 +23,7 @@ package de.gematik.test.tiger.proxy;
 import de.gematik.rbellogger.RbelConverter;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.util.RbelContent;
 import de.gematik.rbellogger.util.RbelSocketAddress;
 import de.gematik.test.tiger.mockserver.model.Header;
 import de.gematik.test.tiger.mockserver.model.HttpProtocol;
@@ -132,21 +133,21 @@ public class MockServerToRbelConverter {
   }
 
   public RbelElement responseToRbelMessage(final HttpResponse response, final HttpRequest request) {
-    final byte[] httpMessage =
+    final RbelContent httpMessage =
         responseToRawMessage(response, request != null ? request.getProtocol() : null);
-    final RbelElement result = RbelElement.builder().rawContent(httpMessage).build();
+    final RbelElement result = RbelElement.builder().content(httpMessage).build();
     result.addFacet(new MockServerResponseFacet(request, response));
     return result;
   }
 
   public RbelElement requestToRbelMessage(final HttpRequest request) {
-    final byte[] httpMessage = requestToRawMessage(request);
-    final RbelElement result = RbelElement.builder().rawContent(httpMessage).build();
+    final RbelContent httpMessage = requestToRawMessage(request);
+    final RbelElement result = RbelElement.builder().content(httpMessage).build();
     result.addFacet(new MockServerRequestFacet(request));
     return result;
   }
 
-  private byte[] requestToRawMessage(HttpRequest request) {
+  private RbelContent requestToRawMessage(HttpRequest request) {
     String httpVersion = request.getProtocol() == HttpProtocol.HTTP_2 ? "HTTP/2.0" : "HTTP/1.1";
     byte[] httpRequestHeader =
         (request.getMethod()
@@ -159,10 +160,10 @@ public class MockServerToRbelConverter {
                 + "\r\n\r\n")
             .getBytes();
 
-    return Arrays.concatenate(httpRequestHeader, request.getBody());
+    return concatenate(httpRequestHeader, request.getBody());
   }
 
-  private byte[] responseToRawMessage(HttpResponse response, HttpProtocol protocol) {
+  private RbelContent responseToRawMessage(HttpResponse response, HttpProtocol protocol) {
     String httpVersion = protocol == HttpProtocol.HTTP_2 ? "HTTP/2.0" : "HTTP/1.1";
     byte[] httpResponseHeader =
         (httpVersion
@@ -175,7 +176,20 @@ public class MockServerToRbelConverter {
                 + "\r\n\r\n")
             .getBytes(StandardCharsets.US_ASCII);
 
-    return Arrays.concatenate(httpResponseHeader, response.getBody());
+    if (response.isStreamed()) {
+      // keep the chunks of a streamed body instead of copying it into one large array
+      return RbelContent.of(
+          List.of(RbelContent.of(httpResponseHeader), response.getStreamedBody()));
+    }
+    return concatenate(httpResponseHeader, response.getBody());
+  }
+
+  /**
+   * Copies header and body once into an array of the exact size and hands it over without a
+   * further copy (instead of splitting it into the default chunks).
+   */
+  private static RbelContent concatenate(byte[] header, byte[] body) {
+    return RbelContent.wrap(Arrays.concatenate(header, body));
   }
 
   private String formatHeaderList(List<Header> headerList) {
@@ -0,0 +1,73 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import de.gematik.test.tiger.mockserver.netty.NettyTransportMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link NettyTransportMetrics} of the proxy. Memory gauges are reported as NaN if
+ * the buffer allocator does not provide the value.
+ */
+@Component
+@RequiredArgsConstructor
+public class NettyTransportMeterBinder implements MeterBinder {
+
+  static final String PENDING_TASKS_GAUGE = "tiger.netty.eventloop.pending.tasks";
+  static final String USED_MEMORY_GAUGE = "tiger.netty.allocator.memory.used";
+
+  private final TigerProxy tigerProxy;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(
+            PENDING_TASKS_GAUGE,
+            tigerProxy,
+            proxy -> proxy.getTransportMetrics().getPendingTaskCount())
+        .description("Tasks queued on the event loops, steadily growing under overload")
+        .baseUnit("tasks")
+        .register(registry);
+    Gauge.builder(
+            USED_MEMORY_GAUGE,
+            tigerProxy,
+            proxy -> knownOrNaN(proxy.getTransportMetrics().getUsedHeapMemory()))
+        .description("Memory held by the buffer allocator")
+        .tag("area", "heap")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder(
+            USED_MEMORY_GAUGE,
+            tigerProxy,
+            proxy -> knownOrNaN(proxy.getTransportMetrics().getUsedDirectMemory()))
+        .description("Memory held by the buffer allocator")
+        .tag("area", "direct")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  private static double knownOrNaN(long value) {
+    return value < 0 ? Double.NaN : value;
+  }
+}
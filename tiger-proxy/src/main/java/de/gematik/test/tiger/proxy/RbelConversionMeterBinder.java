@@ -0,0 +1,177 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import de.gematik.rbellogger.RbelConversionPhase;
+import de.gematik.rbellogger.RbelConversionPhaseMetrics;
+import de.gematik.rbellogger.RbelConversionProfiler;
+import de.gematik.rbellogger.RbelConversionThreadPool;
+import de.gematik.rbellogger.RbelConversionThreadPool.SaturationPolicy;
+import de.gematik.rbellogger.RbelConverter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes how the proxy converts messages: the load of the {@link RbelConversionThreadPool}, the
+ * time spent in each {@link RbelConversionPhase} and the measurements of the {@link
+ * RbelConversionProfiler}. The profiler timers are only recorded if conversion profiling is enabled
+ * via {@code profileRbelConversion}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RbelConversionMeterBinder implements MeterBinder {
+
+  static final String PLUGIN_TIMER = "tiger.rbel.plugin.conversion";
+  static final String MESSAGE_TIMER = "tiger.rbel.message.conversion";
+  static final String QUEUE_DEPTH_GAUGE = "tiger.rbel.conversion.queue.depth";
+  static final String ACTIVE_WORKERS_GAUGE = "tiger.rbel.conversion.workers.active";
+  static final String SATURATION_COUNTER = "tiger.rbel.conversion.saturated";
+  static final String PHASE_TIMER = "tiger.rbel.conversion.phase";
+  static final String PLUGIN_DISPATCH_COUNTER = "tiger.rbel.plugin.dispatch";
+  static final String DEFERRED_COUNTER = "tiger.rbel.lazy.deferred";
+  static final String MATERIALIZED_COUNTER = "tiger.rbel.lazy.materialized";
+  static final String AVOIDED_ELEMENTS_GAUGE = "tiger.rbel.lazy.avoided.elements";
+  static final String AVOIDED_BYTES_GAUGE = "tiger.rbel.lazy.avoided.bytes";
+
+  private final TigerProxy tigerProxy;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    final RbelConverter converter = tigerProxy.getRbelLogger().getRbelConverter();
+    bindThreadPool(converter.getConversionThreadPool(), registry);
+    bindPhaseMetrics(converter.getPhaseMetrics(), registry);
+    converter.getConversionProfiler().addListener(new TimerRecordingListener(registry));
+  }
+
+  private static void bindThreadPool(RbelConversionThreadPool pool, MeterRegistry registry) {
+    Gauge.builder(QUEUE_DEPTH_GAUGE, pool, RbelConversionThreadPool::getQueueDepth)
+        .description("Messages waiting for a conversion worker")
+        .baseUnit("messages")
+        .register(registry);
+    Gauge.builder(ACTIVE_WORKERS_GAUGE, pool, RbelConversionThreadPool::getActiveWorkers)
+        .description("Conversion workers currently converting a message")
+        .baseUnit("threads")
+        .register(registry);
+    FunctionCounter.builder(SATURATION_COUNTER, pool, RbelConversionThreadPool::getCallerRunsCount)
+        .description("Conversions which could not be queued because the queue was full")
+        .tag("policy", SaturationPolicy.CALLER_RUNS.name())
+        .register(registry);
+    FunctionCounter.builder(SATURATION_COUNTER, pool, RbelConversionThreadPool::getRejectedCount)
+        .description("Conversions which could not be queued because the queue was full")
+        .tag("policy", SaturationPolicy.ABORT.name())
+        .register(registry);
+  }
+
+  private static void bindPhaseMetrics(RbelConversionPhaseMetrics metrics, MeterRegistry registry) {
+    for (RbelConversionPhase phase : RbelConversionPhase.values()) {
+      if (phase == RbelConversionPhase.UNPARSED || phase.isFinished()) {
+        continue;
+      }
+      FunctionTimer.builder(
+              PHASE_TIMER,
+              metrics,
+              m -> m.getLatency(phase).count(),
+              m -> m.getLatency(phase).totalNanos(),
+              TimeUnit.NANOSECONDS)
+          .description("Time messages spent in a conversion phase")
+          .tag("phase", phase.name())
+          .register(registry);
+    }
+    FunctionCounter.builder(
+            PLUGIN_DISPATCH_COUNTER, metrics, RbelConversionPhaseMetrics::getPluginInvocationCount)
+        .description("Plugin dispatches to an element, by whether the plugin was invoked")
+        .tag("result", "invoked")
+        .register(registry);
+    FunctionCounter.builder(
+            PLUGIN_DISPATCH_COUNTER,
+            metrics,
+            RbelConversionPhaseMetrics::getSkippedPluginInvocationCount)
+        .description("Plugin dispatches to an element, by whether the plugin was invoked")
+        .tag("result", "skipped")
+        .register(registry);
+    FunctionCounter.builder(
+            DEFERRED_COUNTER, metrics, RbelConversionPhaseMetrics::getDeferredConversionCount)
+        .description("Nested elements whose conversion was deferred by lazy parsing")
+        .register(registry);
+    FunctionCounter.builder(
+            MATERIALIZED_COUNTER,
+            metrics,
+            RbelConversionPhaseMetrics::getMaterializedConversionCount)
+        .description("Deferred elements which were converted because they were accessed")
+        .register(registry);
+    Gauge.builder(
+            AVOIDED_ELEMENTS_GAUGE, metrics, RbelConversionPhaseMetrics::getAvoidedConversionCount)
+        .description("Deferred elements which have not been converted so far")
+        .baseUnit("elements")
+        .register(registry);
+    Gauge.builder(
+            AVOIDED_BYTES_GAUGE, metrics, RbelConversionPhaseMetrics::getAvoidedConversionBytes)
+        .description("Content of the deferred elements which has not been converted so far")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  @RequiredArgsConstructor
+  static class TimerRecordingListener implements RbelConversionProfiler.Listener {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> pluginTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> messageTimers = new ConcurrentHashMap<>();
+
+    @Override
+    public void pluginInvoked(String plugin, RbelConversionPhase phase, long selfNanos) {
+      pluginTimers
+          .computeIfAbsent(
+              plugin + "/" + phase,
+              key ->
+                  Timer.builder(PLUGIN_TIMER)
+                      .description("Self time of a converter plugin invocation")
+                      .tag("plugin", plugin)
+                      .tag("phase", phase.name())
+                      .publishPercentileHistogram()
+                      .register(registry))
+          .record(selfNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void messageConverted(String messageType, long nanos) {
+      messageTimers
+          .computeIfAbsent(
+              messageType,
+              key ->
+                  Timer.builder(MESSAGE_TIMER)
+                      .description("Conversion time of a message")
+                      .tag("type", messageType)
+                      .publishPercentileHistogram()
+                      .register(registry))
+          .record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
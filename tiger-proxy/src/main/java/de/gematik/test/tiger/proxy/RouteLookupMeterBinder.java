@@ -0,0 +1,76 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import de.gematik.test.tiger.mockserver.mock.RouteLookupMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Publishes the {@link RouteLookupMetrics} of the proxy, i.e. how long finding a route takes. */
+@Component
+@RequiredArgsConstructor
+public class RouteLookupMeterBinder implements MeterBinder {
+
+  static final String LOOKUP_TIMER = "tiger.route.lookup";
+  static final String LOOKUP_MAX_GAUGE = "tiger.route.lookup.max";
+  static final String UNMATCHED_COUNTER = "tiger.route.lookup.unmatched";
+  static final String CANDIDATES_COUNTER = "tiger.route.lookup.candidates";
+
+  private final TigerProxy tigerProxy;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionTimer.builder(
+            LOOKUP_TIMER,
+            tigerProxy,
+            proxy -> proxy.getRouteLookupMetrics().getLookupCount(),
+            proxy -> proxy.getRouteLookupMetrics().getTotalNanos(),
+            TimeUnit.NANOSECONDS)
+        .description("Time spent finding the route of a request")
+        .register(registry);
+    TimeGauge.builder(
+            LOOKUP_MAX_GAUGE,
+            tigerProxy,
+            TimeUnit.NANOSECONDS,
+            proxy -> proxy.getRouteLookupMetrics().getMaxNanos())
+        .description("Longest route lookup")
+        .register(registry);
+    FunctionCounter.builder(
+            UNMATCHED_COUNTER,
+            tigerProxy,
+            proxy -> proxy.getRouteLookupMetrics().getUnmatchedLookupCount())
+        .description("Route lookups which did not find a matching route")
+        .register(registry);
+    FunctionCounter.builder(
+            CANDIDATES_COUNTER,
+            tigerProxy,
+            proxy -> proxy.getRouteLookupMetrics().getEvaluatedCandidateCount())
+        .description("Routes which had to be checked in full during route lookups")
+        .baseUnit("routes")
+        .register(registry);
+  }
+}
@@ -20,6 +20,7 @@
  */
 package de.gematik.test.tiger.proxy;
 
+import static de.gematik.rbellogger.util.MemoryConstants.KB;
 import static de.gematik.test.tiger.mockserver.mock.Expectation.buildForwardProxyRoute;
 import static de.gematik.test.tiger.mockserver.mock.Expectation.buildReverseProxyRoute;
 import static de.gematik.test.tiger.mockserver.model.HttpRequest.request;
@@ -35,8 +36,11 @@ import de.gematik.test.tiger.common.data.config.tigerproxy.TigerProxyConfigurati
 import de.gematik.test.tiger.common.data.config.tigerproxy.TigerTlsConfiguration;
 import de.gematik.test.tiger.common.pki.TigerPkiIdentity;
 import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
+import de.gematik.test.tiger.mockserver.httpclient.ConnectionPoolMetrics;
 import de.gematik.test.tiger.mockserver.mock.Expectation;
+import de.gematik.test.tiger.mockserver.mock.RouteLookupMetrics;
 import de.gematik.test.tiger.mockserver.netty.MockServer;
+import de.gematik.test.tiger.mockserver.netty.NettyTransportMetrics;
 import de.gematik.test.tiger.mockserver.proxyconfiguration.ProxyConfiguration;
 import de.gematik.test.tiger.mockserver.socket.tls.KeyAndCertificateFactory;
 import de.gematik.test.tiger.proxy.client.TigerRemoteProxyClient;
@@ -61,6 +65,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -221,6 +226,15 @@ public class TigerProxy extends AbstractTigerProxy implements AutoCloseable, Rbe
                       new AtomicReference<>(null)));
     }
     mockServerConfiguration.binaryProxyListener(new BinaryExchangeHandler(this));
+    mockServerConfiguration.streamResponsesLargerThanBytes(
+        (long) getTigerProxyConfiguration().getStreamResponsesLargerThanKb() * KB);
+    mockServerConfiguration.transportConfiguration(
+        getTigerProxyConfiguration().getNettyTransport());
+    mockServerConfiguration.maxConnectionsPerHost(
+        getTigerProxyConfiguration().getMaxUpstreamConnectionsPerHost());
+    mockServerConfiguration.connectionPoolIdleTimeoutInMillis(
+        TimeUnit.SECONDS.toMillis(
+            getTigerProxyConfiguration().getUpstreamConnectionIdleTimeoutInSeconds()));
     mockServerConfiguration.http2FrameParsingActive(
         getTigerProxyConfiguration().getActivateRbelParsingFor() != null
             && getTigerProxyConfiguration().getActivateRbelParsingFor().contains("http2frames"));
@@ -332,6 +346,11 @@ public class TigerProxy extends AbstractTigerProxy implements AutoCloseable, Rbe
                         .requireHealthyTrafficEndpoints(
                             getTigerProxyConfiguration().isRequireHealthyTrafficEndpoints())
                         .enableLegacyTraffic(getTigerProxyConfiguration().isEnableLegacyTraffic())
+                        .enableBinaryTraffic(getTigerProxyConfiguration().isEnableBinaryTraffic())
+                        .compressBinaryTraffic(
+                            getTigerProxyConfiguration().isCompressBinaryTraffic())
+                        .trafficReplicationParallelDownloads(
+                            getTigerProxyConfiguration().getTrafficReplicationParallelDownloads())
                         .build(),
                     this))
         .forEach(remoteProxyClients::add);
@@ -343,6 +362,37 @@ public class TigerProxy extends AbstractTigerProxy implements AutoCloseable, Rbe
     return remoteProxyClients.stream().allMatch(TigerRemoteProxyClient::isConnected);
   }
 
+  /**
+   * The largest number of messages any remote endpoint registered that have not been replicated
+   * to this proxy yet (0 if there are no remote endpoints).
+   */
+  public long getMaxReplicationLag() {
+    return remoteProxyClients.stream()
+        .mapToLong(TigerRemoteProxyClient::getReplicationLag)
+        .max()
+        .orElse(0);
+  }
+
+  /** Latency of the route lookups of the embedded server. */
+  public RouteLookupMetrics getRouteLookupMetrics() {
+    return mockServer.getHttpState().getRouteLookupMetrics();
+  }
+
+  /** Usage of the pooled upstream connections of the embedded server. */
+  public ConnectionPoolMetrics getConnectionPoolMetrics() {
+    return mockServer
+        .getActionHandler()
+        .getHttpClient()
+        .getClientBootstrapFactory()
+        .getChannelMap()
+        .getMetrics();
+  }
+
+  /** Event loop and buffer allocator usage of the embedded server. */
+  public NettyTransportMetrics getTransportMetrics() {
+    return mockServer.getTransportMetrics();
+  }
+
   @Override
   public String getBaseUrl() {
     return "http://localhost:" + mockServer.getLocalPort();
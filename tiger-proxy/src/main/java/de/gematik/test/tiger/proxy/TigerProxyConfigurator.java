@@ -23,6 +23,7 @@ package de.gematik.test.tiger.proxy;
 import de.gematik.test.tiger.common.data.config.tigerproxy.TigerProxyConfiguration;
 import de.gematik.test.tiger.proxy.controller.TigerWebUiController;
 import de.gematik.test.tiger.proxy.data.TigerProxyRoute;
+import de.gematik.test.tiger.proxy.tracing.BinaryTracingWebSocketHandler;
 import de.gematik.test.tiger.proxy.tracing.TracingPushService;
 import de.gematik.test.tiger.server.TigerBuildPropertiesService;
 import lombok.RequiredArgsConstructor;
@@ -49,13 +50,16 @@ public class TigerProxyConfigurator
   private final TigerProxyConfiguration tigerProxyConfiguration;
   private final TigerWebUiController tigerWebUiController;
   private final TigerBuildPropertiesService buildPropertiesService;
+  private final BinaryTracingWebSocketHandler binaryTracingWebSocketHandler;
 
   @Bean
   public TigerProxy tigerProxy() {
     var shouldSubscribeAfterStart = !tigerProxyConfiguration.isSkipTrafficEndpointsSubscription();
     tigerProxyConfiguration.setSkipTrafficEndpointsSubscription(false);
     tigerProxy = new TigerProxy(tigerProxyConfiguration);
-    tracingPushService = new TracingPushService(template, buildPropertiesService, tigerProxy);
+    tracingPushService =
+        new TracingPushService(
+            template, buildPropertiesService, tigerProxy, binaryTracingWebSocketHandler);
     tracingPushService.addWebSocketListener();
     tigerWebUiController.setTigerProxy(tigerProxy);
     if (shouldSubscribeAfterStart) {
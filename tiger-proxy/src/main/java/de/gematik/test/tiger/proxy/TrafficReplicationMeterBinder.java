@@ -0,0 +1,48 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes how far this proxy lags behind its remote endpoints, measured in messages the remotes
+ * registered but which have not been received here yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrafficReplicationMeterBinder implements MeterBinder {
+
+  static final String REPLICATION_LAG_GAUGE = "tiger.mesh.replication.lag";
+
+  private final TigerProxy tigerProxy;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(REPLICATION_LAG_GAUGE, tigerProxy, TigerProxy::getMaxReplicationLag)
+        .description("Messages of remote endpoints which have not been replicated yet")
+        .baseUnit("messages")
+        .register(registry);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire format of the binary tracing channel. Every binary websocket message is one frame:
+ *
+ * <pre>
+ * frame = magic "TGRB" | version (byte) | flags (byte) | body
+ * body  = number of entries (int) | entries          (gzip-compressed if FLAG_GZIP is set)
+ * entry = type (byte) | payload length (int) | payload
+ * </pre>
+ *
+ * <p>A metadata entry carries a {@link TigerTracingDto} as JSON. A data entry carries one content
+ * part of a message: uuid length (short) | uuid | index (int) | number of parts (int) | raw bytes.
+ * Contrary to a {@link TracingMessagePart} sent via STOMP, the content is not base64-encoded.
+ */
+public class BinaryTracingFrameCodec {
+
+  public static final int VERSION = 1;
+  private static final int MAGIC = 0x54475242;
+  private static final byte FLAG_GZIP = 1;
+  private static final byte METADATA_ENTRY = 1;
+  private static final byte DATA_ENTRY = 2;
+  private static final int ENTRY_HEADER_SIZE = 5;
+
+  private BinaryTracingFrameCodec() {}
+
+  public static byte[] encodeMetadataEntry(byte[] tracingDtoJson) {
+    return ByteBuffer.allocate(ENTRY_HEADER_SIZE + tracingDtoJson.length)
+        .put(METADATA_ENTRY)
+        .putInt(tracingDtoJson.length)
+        .put(tracingDtoJson)
+        .array();
+  }
+
+  public static byte[] encodeDataEntry(TracingMessagePart part) {
+    final byte[] uuid = part.getUuid().getBytes(UTF_8);
+    final int payloadLength = Short.BYTES + uuid.length + 2 * Integer.BYTES + part.getData().length;
+    return ByteBuffer.allocate(ENTRY_HEADER_SIZE + payloadLength)
+        .put(DATA_ENTRY)
+        .putInt(payloadLength)
+        .putShort((short) uuid.length)
+        .put(uuid)
+        .putInt(part.getIndex())
+        .putInt(part.getNumberOfMessages())
+        .put(part.getData())
+        .array();
+  }
+
+  /** Joins entries created by the {@code encode...Entry} methods to a frame. */
+  public static byte[] encodeFrame(List<byte[]> entries, boolean compress) {
+    final ByteArrayOutputStream frame =
+        new ByteArrayOutputStream(entries.stream().mapToInt(entry -> entry.length).sum() + 10);
+    try {
+      new DataOutputStream(frame).writeInt(MAGIC);
+      frame.write(VERSION);
+      frame.write(compress ? FLAG_GZIP : 0);
+      try (OutputStream bodyStream = compress ? new GZIPOutputStream(frame) : frame;
+          DataOutputStream body = new DataOutputStream(bodyStream)) {
+        body.writeInt(entries.size());
+        for (byte[] entry : entries) {
+          body.write(entry);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return frame.toByteArray();
+  }
+
+  /** Decodes a frame and hands its entries in order to the given consumer. */
+  public static void decodeFrame(byte[] frame, FrameEntryConsumer consumer) {
+    final ByteBuffer header = ByteBuffer.wrap(frame);
+    if (frame.length < Integer.BYTES + 2 || header.getInt() != MAGIC) {
+      throw new TigerRemoteProxyClientException("Received invalid binary tracing frame");
+    }
+    final byte version = header.get();
+    if (version != VERSION) {
+      throw new TigerRemoteProxyClientException(
+          "Unsupported binary tracing frame version " + version);
+    }
+    final boolean compressed = (header.get() & FLAG_GZIP) != 0;
+    try (InputStream bodyStream =
+            compressed
+                ? new GZIPInputStream(
+                    new ByteArrayInputStream(frame, header.position(), header.remaining()))
+                : new ByteArrayInputStream(frame, header.position(), header.remaining());
+        DataInputStream body = new DataInputStream(bodyStream)) {
+      final int numberOfEntries = body.readInt();
+      for (int i = 0; i < numberOfEntries; i++) {
+        final byte type = body.readByte();
+        final int length = body.readInt();
+        final byte[] payload = body.readNBytes(length);
+        if (payload.length != length) {
+          throw new EOFException("Binary tracing frame ended within entry " + i);
+        }
+        if (type == METADATA_ENTRY) {
+          consumer.onMetadata(payload);
+        } else if (type == DATA_ENTRY) {
+          consumer.onDataPart(decodeDataEntry(payload));
+        }
+        // unknown entry types stem from newer peers and are skipped
+      }
+    } catch (IOException e) {
+      throw new TigerRemoteProxyClientException("Unable to decode binary tracing frame", e);
+    }
+  }
+
+  private static TracingMessagePart decodeDataEntry(byte[] payload) {
+    final ByteBuffer buffer = ByteBuffer.wrap(payload);
+    final byte[] uuid = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(uuid);
+    final int index = buffer.getInt();
+    final int numberOfParts = buffer.getInt();
+    final byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    return TracingMessagePart.builder()
+        .uuid(new String(uuid, UTF_8))
+        .index(index)
+        .numberOfMessages(numberOfParts)
+        .data(data)
+        .build();
+  }
+
+  /** Receives the entries of a decoded frame. */
+  public interface FrameEntryConsumer {
+
+    void onMetadata(byte[] tracingDtoJson);
+
+    void onDataPart(TracingMessagePart part);
+  }
+}
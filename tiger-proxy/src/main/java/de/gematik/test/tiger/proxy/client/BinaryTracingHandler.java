@@ -0,0 +1,87 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.client;
+
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec.FrameEntryConsumer;
+import de.gematik.test.tiger.proxy.exceptions.TigerProxyException;
+import java.nio.ByteBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+/**
+ * Receives the frames of the binary tracing channel and hands their entries to the same handlers
+ * which process the STOMP tracing. If the channel is closed by the remote (e.g. because this client
+ * was too slow), the fallback is called, which subscribes to the STOMP tracing instead.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class BinaryTracingHandler extends BinaryWebSocketHandler implements FrameEntryConsumer {
+
+  private final TigerRemoteProxyClient remoteProxyClient;
+  private final TracingStompHandler tracingStompHandler;
+  private final DataStompHandler dataStompHandler;
+  private final Runnable fallback;
+  private final JacksonJsonMessageConverter messageConverter = new JacksonJsonMessageConverter();
+
+  @Override
+  protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+    final ByteBuffer payload = message.getPayload();
+    final byte[] frame = new byte[payload.remaining()];
+    payload.get(frame);
+    try {
+      BinaryTracingFrameCodec.decodeFrame(frame, this);
+    } catch (RuntimeException e) {
+      remoteProxyClient.propagateException(
+          new TigerProxyException("Error while handling binary tracing frame", e));
+    }
+  }
+
+  @Override
+  public void onMetadata(byte[] tracingDtoJson) {
+    tracingStompHandler.handleFrame(
+        null,
+        messageConverter.fromMessage(
+            MessageBuilder.withPayload(tracingDtoJson).build(), TigerTracingDto.class));
+  }
+
+  @Override
+  public void onDataPart(TracingMessagePart part) {
+    dataStompHandler.handleFrame(null, part);
+  }
+
+  @Override
+  public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+    if (remoteProxyClient.isShuttingDown() || CloseStatus.NORMAL.equals(status)) {
+      return;
+    }
+    log.warn(
+        "Binary tracing connection to {} closed ({}), continuing via STOMP",
+        remoteProxyClient.getRemoteProxyUrl(),
+        status);
+    fallback.run();
+  }
+}
@@ -46,6 +46,7 @@ import de.gematik.test.tiger.proxy.handler.MultipleBinaryConnectionParser;
 import de.gematik.test.tiger.proxy.handler.SingleConnectionParser;
 import jakarta.websocket.ContainerProvider;
 import jakarta.websocket.WebSocketContainer;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -54,6 +55,7 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -69,6 +71,8 @@ import org.springframework.http.MediaType;
 import org.springframework.messaging.converter.JacksonJsonMessageConverter;
 import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.util.Assert;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 import org.springframework.web.socket.sockjs.client.SockJsClient;
@@ -85,6 +89,7 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
   public static final String WS_TRACING = "/topic/traces";
   public static final String WS_DATA = "/topic/data";
   public static final String WS_ERRORS = "/topic/errors";
+  public static final String WS_BINARY_TRACING = "/binaryTracing";
   @Getter private final String remoteProxyUrl;
   @Getter private String connectedRemoteProxyUrl;
   private final String remoteProxyControlUrl;
@@ -104,6 +109,8 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
   private final AtomicReference<StompSession> stompSession = new AtomicReference<>();
   @Getter private final AtomicReference<String> lastMessageUuid = new AtomicReference<>();
   private final SockJsClient webSocketClient;
+  private final StandardWebSocketClient binaryWebSocketClient;
+  private final AtomicReference<WebSocketSession> binaryTracingSession = new AtomicReference<>();
   private final int connectionTimeoutInSeconds;
 
   @Getter
@@ -144,8 +151,8 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
 
     final JacksonJsonMessageConverter messageConverter = new JacksonJsonMessageConverter();
 
-    StandardWebSocketClient wsClient = new StandardWebSocketClient(container);
-    webSocketClient = new SockJsClient(List.of(new WebSocketTransport(wsClient)));
+    binaryWebSocketClient = new StandardWebSocketClient(container);
+    webSocketClient = new SockJsClient(List.of(new WebSocketTransport(binaryWebSocketClient)));
     tigerProxyStompClient = new WebSocketStompClient(webSocketClient);
     tigerProxyStompClient.setMessageConverter(messageConverter);
     tigerProxyStompClient.setInboundMessageSizeLimit(
@@ -181,6 +188,58 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
     return remoteProxyUrl.replaceFirst("http", "ws") + "/tracing";
   }
 
+  private URI getBinaryTracingWebSocketUrl(String remoteProxyUrl) {
+    return URI.create(
+        remoteProxyUrl.replaceFirst("http", "ws")
+            + WS_BINARY_TRACING
+            + "?version="
+            + BinaryTracingFrameCodec.VERSION
+            + "&compress="
+            + getTigerProxyConfiguration().isCompressBinaryTraffic());
+  }
+
+  /**
+   * Opens the binary tracing channel to the remote proxy. Returns false if it is deactivated or not
+   * offered by the remote (older versions), in which case the traffic is received via STOMP.
+   */
+  boolean connectBinaryTracing(BinaryTracingHandler binaryTracingHandler) {
+    closeBinaryTracingSession();
+    if (!getTigerProxyConfiguration().isEnableBinaryTraffic()
+        || getTigerProxyConfiguration().isEnableLegacyTraffic()) {
+      return false;
+    }
+    final URI binaryTracingUrl = getBinaryTracingWebSocketUrl(connectedRemoteProxyUrl);
+    try {
+      binaryTracingSession.set(
+          binaryWebSocketClient
+              .execute(binaryTracingHandler, null, binaryTracingUrl)
+              .get(connectionTimeoutInSeconds, TimeUnit.SECONDS));
+      log.info("Receiving traffic via binary tracing from {}", binaryTracingUrl);
+      return true;
+    } catch (ExecutionException | TimeoutException e) {
+      log.info(
+          "Binary tracing not available at {}, falling back to STOMP: {}",
+          binaryTracingUrl,
+          e.getMessage());
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void closeBinaryTracingSession() {
+    final WebSocketSession session = binaryTracingSession.getAndSet(null);
+    if (session == null || !session.isOpen()) {
+      return;
+    }
+    try {
+      session.close(CloseStatus.NORMAL);
+    } catch (IOException e) {
+      log.debug("Error while closing binary tracing session to {}", remoteProxyUrl, e);
+    }
+  }
+
   static String normalizeLoopbackRemoteProxyUrl(String remoteProxyUrl) {
     try {
       URI uri = new URI(remoteProxyUrl);
@@ -229,6 +288,12 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
           .removeIf(
               entry -> {
                 if (!entry.getValue().isComplete()) {
+                  Optional.ofNullable(entry.getValue().getTracingDto())
+                      .map(TigerTracingDto::getSequenceNumber)
+                      .ifPresent(
+                          sequenceNumber ->
+                              replicationStartSequenceNumber.accumulateAndGet(
+                                  sequenceNumber - 1, Math::min));
                   log.atDebug()
                       .addArgument(entry::getKey)
                       .log("Discarding incomplete partial message {} before traffic download");
@@ -247,6 +312,7 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
     if (isShuttingDown()) {
       return;
     }
+    replicationStartSequenceNumber.set(receivedSequenceNumber.get());
     connectedRemoteProxyUrl = waitForRemoteTigerProxyToBeOnline(remoteProxyControlUrl);
     if (isShuttingDown()) {
       return;
@@ -477,6 +543,7 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
     if (stompSession.get() != null && stompSession.get().isConnected()) {
       stompSession.get().disconnect();
     }
+    closeBinaryTracingSession();
     tigerProxyStompClient.stop();
     webSocketClient.stop();
     meshHandlerPool.shutdownNow();
@@ -615,6 +682,52 @@ public class TigerRemoteProxyClient extends AbstractTigerProxy implements AutoCl
    */
   @Getter private volatile Duration remoteClockOffset = Duration.ZERO;
 
+  /** Highest sequence number of the remote proxy whose message was received or replicated. */
+  private final AtomicLong receivedSequenceNumber = new AtomicLong(-1);
+
+  /** Highest sequence number the remote proxy is known to have handed out. */
+  private final AtomicLong remoteSequenceNumber = new AtomicLong(-1);
+
+  /**
+   * Sequence number of the remote proxy after which the next replication resumes. It is captured
+   * when (re)connecting, before messages of the new connection arrive, and lowered for messages
+   * which were still incomplete.
+   */
+  @Getter private final AtomicLong replicationStartSequenceNumber = new AtomicLong(-1);
+
+  /**
+   * Instance id the remote proxy reported with the last replication. A different id means that the
+   * remote was restarted and its sequence numbers started over.
+   */
+  @Getter private final AtomicReference<String> remoteInstanceId = new AtomicReference<>();
+
+  /**
+   * Forgets all sequence numbers of the remote proxy. Called when the remote was restarted, so that
+   * the replication starts from its first message again.
+   */
+  void resetSequenceNumbers() {
+    receivedSequenceNumber.set(-1);
+    remoteSequenceNumber.set(-1);
+    replicationStartSequenceNumber.set(-1);
+  }
+
+  void registerReceivedSequenceNumber(@Nullable Long sequenceNumber) {
+    if (sequenceNumber == null) {
+      return;
+    }
+    receivedSequenceNumber.accumulateAndGet(sequenceNumber, Math::max);
+    registerRemoteSequenceNumber(sequenceNumber);
+  }
+
+  void registerRemoteSequenceNumber(long sequenceNumber) {
+    remoteSequenceNumber.accumulateAndGet(sequenceNumber, Math::max);
+  }
+
+  /** Number of messages handed out by the remote proxy which have not been received here yet. */
+  public long getReplicationLag() {
+    return Math.max(0, remoteSequenceNumber.get() - receivedSequenceNumber.get());
+  }
+
   private void handleMessageRemovalFromHistory(RbelElement element) {
     if (!element.hasFacet(NextMessageParsedFacet.class)) {
       removedMessageUuids.add(element.getUuid());
@@ -20,6 +20,7 @@
  */
 package de.gematik.test.tiger.proxy.client;
 
+import com.google.common.collect.Lists;
 import de.gematik.rbellogger.RbelLogger;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
@@ -27,6 +28,7 @@ import de.gematik.rbellogger.util.RbelContent;
 import de.gematik.test.tiger.proxy.controller.TigerWebUiController;
 import de.gematik.test.tiger.proxy.data.TigerDownloadedMessageFacet;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -34,19 +36,31 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import kong.unirest.core.HttpResponse;
 import kong.unirest.core.RawResponse;
 import kong.unirest.core.Unirest;
 import lombok.*;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 
 @RequiredArgsConstructor
 public class TigerRemoteTrafficDownloader {
 
+  /** Number of .tgr entries whose missing contents are fetched together during replication. */
+  private static final int REPLICATION_WINDOW_SIZE = 100;
+
+  private static final int CONTENT_BATCH_SIZE = 16;
+
+  private static final String INSTANCE_ID_HEADER = TigerWebUiController.INSTANCE_ID_HEADER;
+
   private final TigerRemoteProxyClient tigerRemoteProxyClient;
   private Logger log = LoggerFactory.getLogger(TigerRemoteTrafficDownloader.class);
 
@@ -58,7 +72,9 @@ public class TigerRemoteTrafficDownloader {
                 + tigerRemoteProxyClient.proxyName()
                 + ")");
 
-    downloadAllTrafficFromRemote();
+    if (!replicateTrafficFromRemote()) {
+      downloadAllTrafficFromRemote();
+    }
 
     log.info(
         "Successfully downloaded & parsed missed traffic from '{}'. Now {} message(s)"
@@ -150,6 +166,171 @@ public class TigerRemoteTrafficDownloader {
     ClockSkewEstimator.applyCompensation(element, tigerRemoteProxyClient.getRemoteClockOffset());
   }
 
+  /**
+   * Replicates all messages the remote proxy registered after the sequence number at which the
+   * last connection ended in a single response. Contents of large messages are not inlined but
+   * fetched in parallel batches. Returns false if the remote does not support this (older
+   * versions).
+   */
+  private boolean replicateTrafficFromRemote() {
+    final String replicationUrl = getRemoteProxyUrl() + "/webui/trafficReplication.tgr";
+    long afterSequenceNumber = tigerRemoteProxyClient.getReplicationStartSequenceNumber().get();
+    HttpResponse<InputStream> response = requestReplication(replicationUrl, afterSequenceNumber);
+    if (isRemoteRestarted(response, afterSequenceNumber)) {
+      log.info(
+          "Remote '{}' was restarted, replicating its traffic from the beginning",
+          getRemoteProxyUrl());
+      IOUtils.closeQuietly(response.getBody());
+      tigerRemoteProxyClient.resetSequenceNumbers();
+      afterSequenceNumber = -1;
+      response = requestReplication(replicationUrl, afterSequenceNumber);
+    }
+    Optional.ofNullable(response.getHeaders().getFirst(INSTANCE_ID_HEADER))
+        .filter(StringUtils::isNotEmpty)
+        .ifPresent(tigerRemoteProxyClient.getRemoteInstanceId()::set);
+    final Optional<Long> lastSequenceNumber =
+        convertHeaderFieldToLong(response, "last-sequence-number");
+    if (response.getStatus() == 404 || lastSequenceNumber.isEmpty()) {
+      log.info(
+          "Remote '{}' does not support replication by sequence number, downloading page-wise",
+          getRemoteProxyUrl());
+      return false;
+    }
+    if (response.getStatus() != 200) {
+      throw new TigerRemoteProxyClientException(
+          "Error while replicating traffic from remote '"
+              + replicationUrl
+              + "': "
+              + response.getStatus());
+    }
+    final long replicatedAfter = afterSequenceNumber;
+    convertHeaderFieldToLong(response, "next-sequence-number")
+        .ifPresent(next -> tigerRemoteProxyClient.registerRemoteSequenceNumber(next - 1));
+    convertHeaderFieldToLong(response, "first-sequence-number")
+        .filter(first -> replicatedAfter >= 0 && first > replicatedAfter + 1)
+        .ifPresent(
+            first ->
+                log.warn(
+                    "{} message(s) were removed from the history of '{}' before they could be"
+                        + " replicated",
+                    first - replicatedAfter - 1,
+                    getRemoteProxyUrl()));
+
+    final ExecutorService contentDownloadPool =
+        Executors.newFixedThreadPool(
+            Math.max(
+                1,
+                tigerRemoteProxyClient
+                    .getTigerProxyConfiguration()
+                    .getTrafficReplicationParallelDownloads()),
+            r -> {
+              Thread t = Executors.defaultThreadFactory().newThread(r);
+              t.setName("TigerTrafficReplication-%d".formatted(t.getId()));
+              t.setDaemon(true);
+              return t;
+            });
+    try (var lines = new BufferedReader(new InputStreamReader(response.getBody())).lines()) {
+      tigerRemoteProxyClient
+          .getRbelFileReader()
+          .convertRbelFileEntriesInWindows(
+              lines,
+              REPLICATION_WINDOW_SIZE,
+              uuids -> downloadMessageContents(uuids, contentDownloadPool),
+              this::doMessageBatchPostProcessing);
+    } finally {
+      contentDownloadPool.shutdownNow();
+    }
+    tigerRemoteProxyClient.registerReceivedSequenceNumber(lastSequenceNumber.get());
+    return true;
+  }
+
+  private HttpResponse<InputStream> requestReplication(
+      String replicationUrl, long afterSequenceNumber) {
+    log.debug(
+        "Replicating traffic from '{}' after sequence number {}",
+        replicationUrl,
+        afterSequenceNumber);
+    return Unirest.get(replicationUrl)
+        .queryString("afterSequenceNumber", afterSequenceNumber)
+        .queryString("inlineContentThreshold", TigerWebUiController.SKIP_CONTENT_THRESHOLD)
+        .asObject(RawResponse::getContent);
+  }
+
+  /**
+   * Sequence numbers of a remote start over when it is restarted. This is detected by a changed
+   * instance id or, for remotes which do not send one, by a next sequence number which is not
+   * beyond the one the replication should resume after.
+   */
+  private boolean isRemoteRestarted(HttpResponse<?> response, long afterSequenceNumber) {
+    if (afterSequenceNumber < 0 || response.getStatus() != 200) {
+      return false;
+    }
+    final String knownInstanceId = tigerRemoteProxyClient.getRemoteInstanceId().get();
+    final String instanceId = response.getHeaders().getFirst(INSTANCE_ID_HEADER);
+    if (StringUtils.isNoneEmpty(knownInstanceId, instanceId)) {
+      return !knownInstanceId.equals(instanceId);
+    }
+    return convertHeaderFieldToLong(response, "next-sequence-number")
+        .filter(next -> next <= afterSequenceNumber)
+        .isPresent();
+  }
+
+  private Map<String, RbelContent> downloadMessageContents(
+      List<String> uuids, ExecutorService contentDownloadPool) {
+    final List<CompletableFuture<Map<String, RbelContent>>> batches =
+        Lists.partition(uuids, CONTENT_BATCH_SIZE).stream()
+            .map(
+                batch ->
+                    CompletableFuture.supplyAsync(
+                        () -> downloadMessageContentBatch(batch), contentDownloadPool))
+            .toList();
+    final Map<String, RbelContent> contents = new HashMap<>();
+    batches.forEach(batch -> contents.putAll(batch.join()));
+    return contents;
+  }
+
+  /**
+   * Downloads the contents of the given messages in one request. On failure, the messages are
+   * skipped, just like messages whose content can not be downloaded individually.
+   */
+  private Map<String, RbelContent> downloadMessageContentBatch(List<String> uuids) {
+    final String downloadUrl = getRemoteProxyUrl() + "/webui/messageContents";
+    log.trace("Downloading content of {} messages from '{}'", uuids.size(), downloadUrl);
+    try {
+      final HttpResponse<InputStream> response =
+          Unirest.post(downloadUrl)
+              .contentType(MediaType.APPLICATION_JSON_VALUE)
+              .body(uuids)
+              .asObject(RawResponse::getContent);
+      if (response.getStatus() != 200) {
+        throw new TigerRemoteProxyClientException(
+            "Error while downloading message contents from remote '"
+                + downloadUrl
+                + "': "
+                + response.getStatus());
+      }
+      final Map<String, RbelContent> contents = new HashMap<>();
+      try (DataInputStream in = new DataInputStream(response.getBody())) {
+        for (String uuid : uuids) {
+          final long length = in.readLong();
+          if (length >= 0) {
+            contents.put(uuid, RbelContent.of(in.readNBytes((int) length)));
+          }
+        }
+      }
+      return contents;
+    } catch (IOException | RuntimeException e) {
+      log.error("Error while downloading message contents from remote '{}'", downloadUrl, e);
+      return Map.of();
+    }
+  }
+
+  private static Optional<Long> convertHeaderFieldToLong(HttpResponse<?> response, String key) {
+    return Optional.ofNullable(response.getHeaders().getFirst(key))
+        .filter(StringUtils::isNotEmpty)
+        .map(Long::parseLong);
+  }
+
   private void downloadAllTrafficFromRemote() {
     PaginationInfo paginationInfo;
     int pageNumber = 0;
@@ -43,9 +43,16 @@ class TigerStompSessionHandler extends StompSessionHandlerAdapter {
     log.info("Connecting to tracing point {}", remoteProxyClient.getRemoteProxyUrl());
 
     tracingStompHandler = new TracingStompHandler(remoteProxyClient);
-    stompSession.subscribe(TigerRemoteProxyClient.WS_TRACING, tracingStompHandler);
     dataStompHandler = new DataStompHandler(remoteProxyClient);
-    stompSession.subscribe(TigerRemoteProxyClient.WS_DATA, dataStompHandler);
+    final var binaryTracingHandler =
+        new BinaryTracingHandler(
+            remoteProxyClient,
+            tracingStompHandler,
+            dataStompHandler,
+            () -> subscribeToStompTracing(stompSession));
+    if (!remoteProxyClient.connectBinaryTracing(binaryTracingHandler)) {
+      subscribeToStompTracing(stompSession);
+    }
     errorStompHandler = new ErrorsStompHandler(remoteProxyClient);
     stompSession.subscribe(TigerRemoteProxyClient.WS_ERRORS, errorStompHandler);
 
@@ -55,6 +62,14 @@ class TigerStompSessionHandler extends StompSessionHandlerAdapter {
     }
   }
 
+  private void subscribeToStompTracing(StompSession stompSession) {
+    if (!stompSession.isConnected()) {
+      return;
+    }
+    stompSession.subscribe(TigerRemoteProxyClient.WS_TRACING, tracingStompHandler);
+    stompSession.subscribe(TigerRemoteProxyClient.WS_DATA, dataStompHandler);
+  }
+
   @Override
   public void handleException(
       final StompSession stompSession,
@@ -96,6 +96,7 @@ class TracingStompHandler implements StompFrameHandler {
   }
 
   private void registerNewMessage(TigerTracingDto tigerTracingDto) {
+    remoteProxyClient.registerReceivedSequenceNumber(tigerTracingDto.getSequenceNumber());
     var messageFrame = new TracingMessageFrame(remoteProxyClient);
     messageFrame.setMessage(
         PartialTracingMessage.builder()
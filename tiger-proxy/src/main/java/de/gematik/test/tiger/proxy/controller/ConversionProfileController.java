@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.controller;
+
+import de.gematik.rbellogger.RbelConversionProfiler;
+import de.gematik.rbellogger.RbelConversionProfiler.MessageTypeProfile;
+import de.gematik.rbellogger.RbelConversionProfiler.PluginProfile;
+import de.gematik.test.tiger.proxy.TigerProxy;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/** Shows which converter plugins and message types take the most time to convert. */
+@RequiredArgsConstructor
+@RestController
+@Slf4j
+public class ConversionProfileController {
+
+  private final TigerProxy tigerProxy;
+
+  @GetMapping(value = "/conversionProfile", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ConversionProfile getConversionProfile(
+      @RequestParam(name = "top", defaultValue = "10") int top) {
+    final RbelConversionProfiler profiler = getProfiler();
+    return new ConversionProfile(
+        profiler.isEnabled(),
+        profiler.getTopPlugins(Math.max(0, top)),
+        profiler.getTopMessageTypes(Math.max(0, top)));
+  }
+
+  @PutMapping(value = "/conversionProfile")
+  public void setConversionProfilingEnabled(@RequestParam(name = "enabled") boolean enabled) {
+    log.info("{} conversion profiling", enabled ? "Enabling" : "Disabling");
+    getProfiler().setEnabled(enabled);
+  }
+
+  @DeleteMapping(value = "/conversionProfile")
+  public void resetConversionProfile() {
+    getProfiler().reset();
+  }
+
+  private RbelConversionProfiler getProfiler() {
+    return tigerProxy.getRbelLogger().getRbelConverter().getConversionProfiler();
+  }
+
+  public record ConversionProfile(
+      boolean enabled, List<PluginProfile> plugins, List<MessageTypeProfile> messageTypes) {}
+}
@@ -0,0 +1,126 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.controller;
+
+import de.gematik.rbellogger.MessageSortOrder;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.core.TracingMessagePairFacet;
+import de.gematik.test.tiger.common.LruCache;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Caches the messages matching a WebUI filter, per filter expression and sort order. When the
+ * history revision has not changed, the cached result is returned directly. Otherwise the filter is
+ * only evaluated for messages that are new or whose facets (or those of their partners) changed
+ * since the last evaluation. Evaluations of messages no longer in the history are dropped.
+ */
+class MessageFilterCache {
+
+  private static final int MAXIMUM_CACHED_FILTERS = 32;
+  private static final long NOT_CACHEABLE = -1;
+
+  private final LruCache<CacheKey, FilterResult> cache = new LruCache<>(MAXIMUM_CACHED_FILTERS);
+
+  private record CacheKey(String filter, MessageSortOrder sortOrder) {}
+
+  private record Evaluation(long stamp, boolean matches) {}
+
+  private static class FilterResult {
+    private long revision = -1;
+    private List<RbelElement> matchingMessages = List.of();
+    private Map<String, Evaluation> evaluations = new HashMap<>();
+  }
+
+  /**
+   * Returns the messages matching the given filter.
+   *
+   * @param messages all messages in the given sort order, read at the given history revision
+   * @param filter the filter as entered by the user (used as cache key)
+   * @param predicate evaluates the filter for one message
+   */
+  List<RbelElement> filter(
+      List<RbelElement> messages,
+      long historyRevision,
+      String filter,
+      MessageSortOrder sortOrder,
+      Predicate<RbelElement> predicate) {
+    final FilterResult result =
+        cache.computeIfAbsent(new CacheKey(filter, sortOrder), key -> new FilterResult());
+    synchronized (result) {
+      if (result.revision == historyRevision) {
+        return result.matchingMessages;
+      }
+      final Map<String, Evaluation> evaluations = new HashMap<>(messages.size() * 2);
+      final List<RbelElement> matchingMessages = new ArrayList<>();
+      for (RbelElement message : messages) {
+        final long stamp = computeStamp(message);
+        final Evaluation previous = result.evaluations.get(message.getUuid());
+        final Evaluation evaluation =
+            previous != null && previous.stamp() == stamp && stamp != NOT_CACHEABLE
+                ? previous
+                : new Evaluation(stamp, predicate.test(message));
+        evaluations.put(message.getUuid(), evaluation);
+        if (evaluation.matches()) {
+          matchingMessages.add(message);
+        }
+      }
+      result.evaluations = evaluations;
+      result.matchingMessages = Collections.unmodifiableList(matchingMessages);
+      result.revision = historyRevision;
+      return result.matchingMessages;
+    }
+  }
+
+  /** Returns the cached result if it is still up to date, without evaluating the filter. */
+  Optional<List<RbelElement>> getUpToDate(
+      long historyRevision, String filter, MessageSortOrder sortOrder) {
+    return cache
+        .get(new CacheKey(filter, sortOrder))
+        .filter(result -> result.revision == historyRevision)
+        .map(result -> result.matchingMessages);
+  }
+
+  void clear() {
+    cache.clear();
+  }
+
+  /**
+   * The filter also looks at the partners of a message, so the stamp covers the facet versions of
+   * the message and of all its partners. Results for messages with partners still in conversion are
+   * not reused.
+   */
+  private static long computeStamp(RbelElement message) {
+    long stamp = message.getFacetMetadataVersion();
+    final List<RbelElement> partners =
+        message
+            .getFacet(TracingMessagePairFacet.class)
+            .map(pair -> pair.getOtherMessages(message))
+            .orElseGet(List::of);
+    for (RbelElement partner : partners) {
+      if (!partner.getConversionPhase().isFinished()) {
+        return NOT_CACHEABLE;
+      }
+      stamp += partner.getFacetMetadataVersion();
+    }
+    return stamp;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.controller;
+
+import de.gematik.rbellogger.data.RbelElement;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the rendered HTML of fully converted messages for the WebUI. The cache is bounded by the
+ * size of the stored fragments (not by the number of entries), the least recently used fragments
+ * are evicted first. Fragments can optionally be stored gzip-compressed.
+ *
+ * <p>Entries are keyed by message uuid, facet metadata version and rendering variant, so a message
+ * which changes after rendering (e.g. by a late pairing) is rendered again. Outdated fragments are
+ * dropped eagerly via {@link RbelElement#addFacetMetadataUpdateListener(Runnable)} and when the
+ * message is removed from the history.
+ */
+class RenderedHtmlCache {
+
+  /** Rough per-entry overhead of keys, map nodes and bookkeeping. */
+  private static final int ENTRY_OVERHEAD_IN_BYTES = 128;
+
+  private final long maximumSizeInBytes;
+  private final boolean compress;
+  private final LinkedHashMap<CacheKey, byte[]> fragments = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Set<CacheKey>> keysByUuid = new HashMap<>();
+  private final Map<String, InvalidationListener> listenersByUuid = new HashMap<>();
+  private long currentSizeInBytes = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  private record CacheKey(String uuid, long facetMetadataVersion, String variant) {}
+
+  private record InvalidationListener(RbelElement message, Runnable listener) {}
+
+  RenderedHtmlCache(long maximumSizeInBytes, boolean compress) {
+    this.maximumSizeInBytes = maximumSizeInBytes;
+    this.compress = compress;
+  }
+
+  /**
+   * Returns the rendered HTML of the given message, rendering it if necessary.
+   *
+   * @param variant distinguishes different renderings of the same message (e.g. truncated or full)
+   */
+  String getOrRender(RbelElement message, String variant, Function<RbelElement, String> renderer) {
+    if (maximumSizeInBytes <= 0 || !message.getConversionPhase().isFinished()) {
+      return renderer.apply(message);
+    }
+    final CacheKey key =
+        new CacheKey(message.getUuid(), message.getFacetMetadataVersion(), variant);
+    final byte[] cached;
+    synchronized (this) {
+      cached = fragments.get(key);
+      if (cached != null) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+    }
+    if (cached != null) {
+      return decode(cached);
+    }
+
+    final String html = renderer.apply(message);
+    if (message.getFacetMetadataVersion() == key.facetMetadataVersion()) {
+      store(message, key, encode(html));
+    }
+    return html;
+  }
+
+  private synchronized void store(RbelElement message, CacheKey key, byte[] fragment) {
+    final long fragmentSize = sizeOf(fragment);
+    if (fragmentSize > maximumSizeInBytes || fragments.containsKey(key)) {
+      return;
+    }
+    fragments.put(key, fragment);
+    keysByUuid.computeIfAbsent(key.uuid(), uuid -> new HashSet<>()).add(key);
+    currentSizeInBytes += fragmentSize;
+    listenersByUuid.computeIfAbsent(
+        key.uuid(),
+        uuid -> {
+          final Runnable listener = () -> invalidate(uuid);
+          message.addFacetMetadataUpdateListener(listener);
+          return new InvalidationListener(message, listener);
+        });
+    evictIfNecessary();
+  }
+
+  private void evictIfNecessary() {
+    final Iterator<Map.Entry<CacheKey, byte[]>> iterator = fragments.entrySet().iterator();
+    while (currentSizeInBytes > maximumSizeInBytes && iterator.hasNext()) {
+      final Map.Entry<CacheKey, byte[]> eldest = iterator.next();
+      iterator.remove();
+      currentSizeInBytes -= sizeOf(eldest.getValue());
+      final Set<CacheKey> keysOfMessage = keysByUuid.get(eldest.getKey().uuid());
+      if (keysOfMessage != null) {
+        keysOfMessage.remove(eldest.getKey());
+        if (keysOfMessage.isEmpty()) {
+          keysByUuid.remove(eldest.getKey().uuid());
+          removeListener(eldest.getKey().uuid());
+        }
+      }
+    }
+  }
+
+  /** Drops all fragments of the message with the given uuid. */
+  synchronized void invalidate(String uuid) {
+    final Set<CacheKey> keys = keysByUuid.remove(uuid);
+    if (keys != null) {
+      for (CacheKey key : keys) {
+        final byte[] fragment = fragments.remove(key);
+        if (fragment != null) {
+          currentSizeInBytes -= sizeOf(fragment);
+        }
+      }
+    }
+    removeListener(uuid);
+  }
+
+  void onMessageRemoved(RbelElement message) {
+    invalidate(message.getUuid());
+  }
+
+  synchronized void clear() {
+    new ArrayList<>(listenersByUuid.keySet()).forEach(this::removeListener);
+    fragments.clear();
+    keysByUuid.clear();
+    currentSizeInBytes = 0;
+  }
+
+  private void removeListener(String uuid) {
+    final InvalidationListener listener = listenersByUuid.remove(uuid);
+    if (listener != null) {
+      listener.message().removeFacetMetadataUpdateListener(listener.listener());
+    }
+  }
+
+  synchronized long getCurrentSizeInBytes() {
+    return currentSizeInBytes;
+  }
+
+  synchronized int size() {
+    return fragments.size();
+  }
+
+  synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  synchronized long getMissCount() {
+    return missCount;
+  }
+
+  private static long sizeOf(byte[] fragment) {
+    return (long) fragment.length + ENTRY_OVERHEAD_IN_BYTES;
+  }
+
+  private byte[] encode(String html) {
+    final byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+    if (!compress) {
+      return bytes;
+    }
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 16);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+
+  private String decode(byte[] fragment) {
+    if (!compress) {
+      return new String(fragment, StandardCharsets.UTF_8);
+    }
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(fragment))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
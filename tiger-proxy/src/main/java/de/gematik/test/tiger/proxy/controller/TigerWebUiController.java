@@ -22,11 +22,14 @@ package de.gematik.test.tiger.proxy.controller;
 
 import static de.gematik.rbellogger.renderer.MessageMetaDataDto.getElementSequenceNumber;
 import static de.gematik.rbellogger.util.MemoryConstants.KB;
+import static de.gematik.rbellogger.util.MemoryConstants.MB;
 
 import de.gematik.rbellogger.MessageSortOrder;
+import de.gematik.rbellogger.RbelConverter;
 import de.gematik.rbellogger.RbelLogger;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.TracingMessagePairFacet;
+import de.gematik.rbellogger.data.facet.RbelSpilledMessageViewFacet;
 import de.gematik.rbellogger.data.util.RbelElementTreePrinter;
 import de.gematik.rbellogger.exceptions.RbelPathException;
 import de.gematik.rbellogger.file.RbelFileWriter;
@@ -45,6 +48,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.ObjLongConsumer;
@@ -55,6 +65,7 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.jexl3.JexlException;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.BeansException;
@@ -75,6 +86,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.node.ObjectNode;
@@ -97,6 +109,14 @@ public class TigerWebUiController implements ApplicationContextAware {
   public static final String REGEX_STATUSCODE_TOKEN = ".*:\\d* ";
 
   public static final int SKIP_CONTENT_THRESHOLD = 100 * KB;
+
+  /**
+   * Header of the traffic replication which identifies this proxy instance. Sequence numbers start
+   * over when the proxy is restarted, which replicating clients detect by a changed id.
+   */
+  public static final String INSTANCE_ID_HEADER = "instance-id";
+
+  private final String instanceId = UUID.randomUUID().toString();
   private final TigerBuildPropertiesService versionService;
 
   private TigerProxy tigerProxy;
@@ -105,6 +125,8 @@ public class TigerWebUiController implements ApplicationContextAware {
       new RbelHtmlRenderer().withNoMaximumEntitySize();
 
   private final TigerProxyConfiguration proxyConfiguration;
+  private final MessageFilterCache messageFilterCache = new MessageFilterCache();
+  private RenderedHtmlCache renderedHtmlCache = new RenderedHtmlCache(0, false);
 
   // Because lombok does not copy the @Qualifier to the constructor, constructor
   // injection does not work here.
@@ -116,6 +138,18 @@ public class TigerWebUiController implements ApplicationContextAware {
 
   public final SimpMessagingTemplate template;
 
+  public void setTigerProxy(TigerProxy tigerProxy) {
+    this.tigerProxy = tigerProxy;
+    final RenderedHtmlCache cache =
+        new RenderedHtmlCache(
+            (long) proxyConfiguration.getRenderedHtmlCacheSizeInMb() * MB,
+            proxyConfiguration.isCompressRenderedHtmlCache());
+    final RbelConverter converter = tigerProxy.getRbelLogger().getRbelConverter();
+    converter.addMessageRemovedFromHistoryCallback(cache::onMessageRemoved);
+    converter.addClearHistoryCallback(cache::clear);
+    this.renderedHtmlCache = cache;
+  }
+
   @Override
   public void setApplicationContext(final ApplicationContext appContext) throws BeansException {
     this.applicationContext = appContext;
@@ -304,13 +338,34 @@ public class TigerWebUiController implements ApplicationContextAware {
         : "$." + key;
   }
 
-  /** Returns the global revision token for the current message history. */
-  private String messageHash() {
-    return String.valueOf(getTigerProxy().getRbelLogger().getMessageHistory().getHistoryRevision());
+  /** Returns the global revision of the current message history. */
+  private long historyRevision() {
+    return getTigerProxy().getRbelLogger().getMessageHistory().getHistoryRevision();
+  }
+
+  /** Returns the global revision token for the given message history revision. */
+  private static String messageHash(long historyRevision) {
+    return String.valueOf(historyRevision);
   }
 
+  /**
+   * Returns the messages for listing and filtering. Messages spilled to disk are only represented
+   * by their metadata, see {@link #resolveFullMessage(RbelElement)}.
+   */
   private List<RbelElement> resolveMessages(MessageSortOrder sortOrder) {
-    return getTigerProxy().getRbelLogger().getMessageHistory().getMessages(sortOrder);
+    return getTigerProxy().getRbelLogger().getMessageListing().getMessages(sortOrder);
+  }
+
+  /** Replaces the listing view of a spilled message by the fully parsed message. */
+  private RbelElement resolveFullMessage(RbelElement message) {
+    if (!message.hasFacet(RbelSpilledMessageViewFacet.class)) {
+      return message;
+    }
+    return getTigerProxy()
+        .getRbelLogger()
+        .getRbelConverter()
+        .findMessageByUuid(message.getUuid())
+        .orElse(message);
   }
 
   private <T> void addOffsetToMessages(
@@ -332,6 +387,7 @@ public class TigerWebUiController implements ApplicationContextAware {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST, "`toOffsetExcluding` must be greater or equal than `fromOffset`");
 
+    final long revision = historyRevision();
     final var parsedMessages = resolveMessages(sortOrder);
     var total = parsedMessages.size();
 
@@ -342,20 +398,34 @@ public class TigerWebUiController implements ApplicationContextAware {
 
     result.setTotal(total);
 
-    result.setHash(messageHash());
+    result.setHash(messageHash(revision));
 
-    var messageStream = parsedMessages.stream();
-    messageStream = filterMessages(messageStream, filterRbelPath);
+    final Stream<RbelElement> messagePage;
+    if (normalizeFilter(filterRbelPath) == null) {
+      messagePage =
+          parsedMessages
+              .subList(Math.min(fromOffset, total), Math.min(toOffsetExcluding, total))
+              .stream();
+    } else {
+      messagePage =
+          filterMessages(parsedMessages, revision, filterRbelPath, sortOrder)
+              .skip(fromOffset)
+              .limit((long) toOffsetExcluding - fromOffset);
+    }
 
     val renderingToolkit = new RbelHtmlRenderingToolkit(renderer);
+    // only the messages of the requested page are parsed again if they were spilled to disk
     result.setMessages(
-        messageStream
-            .skip(fromOffset)
-            .limit((long) toOffsetExcluding - fromOffset)
+        messagePage
+            .map(this::resolveFullMessage)
             .map(
                 msg ->
                     HtmlMessageScrollableDto.builder()
-                        .content(renderingToolkit.convertMessage(msg).render())
+                        .content(
+                            renderedHtmlCache.getOrRender(
+                                msg,
+                                "default",
+                                m -> renderingToolkit.convertMessage(m).render()))
                         .uuid(msg.getUuid())
                         .sequenceNumber(getElementSequenceNumber(msg))
                         .build())
@@ -373,17 +443,17 @@ public class TigerWebUiController implements ApplicationContextAware {
       @RequestParam(name = "filterRbelPath", required = false) String filterRbelPath,
       @RequestParam(name = "sortOrder", required = false, defaultValue = "TIMESTAMP")
           MessageSortOrder sortOrder) {
+    final long revision = historyRevision();
     final var parsedMessages = resolveMessages(sortOrder);
     var total = parsedMessages.size();
 
     var result = new GetMessagesWithMetaScrollableDto();
 
     result.setTotal(total);
-    result.setHash(messageHash());
+    result.setHash(messageHash(revision));
     result.setFilter(GetMessagesFilterScrollableDto.builder().rbelPath(filterRbelPath).build());
 
-    var messageStream = parsedMessages.stream();
-    messageStream = filterMessages(messageStream, filterRbelPath);
+    var messageStream = filterMessages(parsedMessages, revision, filterRbelPath, sortOrder);
 
     result.setMessages(messageStream.map(MetaMessageScrollableDto::createFrom).toList());
 
@@ -399,20 +469,25 @@ public class TigerWebUiController implements ApplicationContextAware {
       @RequestParam(name = "filterRbelPath", required = false) String filterRbelPath,
       @RequestParam(name = "sortOrder", required = false, defaultValue = "TIMESTAMP")
           MessageSortOrder sortOrder) {
+    final long revision = historyRevision();
     final var parsedMessages = resolveMessages(sortOrder);
     var total = parsedMessages.size();
 
     var result = new SearchMessagesScrollableDto();
 
     result.setTotal(total);
-    result.setHash(messageHash());
+    result.setHash(messageHash(revision));
     result.setFilter(GetMessagesFilterScrollableDto.builder().rbelPath(filterRbelPath).build());
 
-    var messageStream = parsedMessages.stream();
     try {
-      // Retrieve one more message to check for additional data; trim the extra later.
-      messageStream =
-          filterMessages(messageStream, filterRbelPath).limit(MAX_MESSAGES_PER_FILTER_REQUEST + 1);
+      // Filters are tested while being typed, so the result is only counted up to the limit
+      // (unless it is already cached). Retrieve one more message to check for additional data.
+      var messageStream =
+          Optional.ofNullable(normalizeFilter(filterRbelPath))
+              .flatMap(filter -> messageFilterCache.getUpToDate(revision, filter, sortOrder))
+              .map(List::stream)
+              .orElseGet(() -> filterMessages(parsedMessages.stream(), filterRbelPath))
+              .limit(MAX_MESSAGES_PER_FILTER_REQUEST + 1);
 
       final var totalFilteredMessages = messageStream.count();
       if (totalFilteredMessages > MAX_MESSAGES_PER_FILTER_REQUEST) {
@@ -435,20 +510,20 @@ public class TigerWebUiController implements ApplicationContextAware {
       @RequestParam(name = "sortOrder", required = false, defaultValue = "TIMESTAMP")
           MessageSortOrder sortOrder) {
 
+    final long revision = historyRevision();
     var parsedMessages = resolveMessages(sortOrder);
     var total = parsedMessages.size();
 
     var result = new SearchMessagesScrollableDto();
 
     result.setTotal(total);
-    result.setHash(messageHash());
+    result.setHash(messageHash(revision));
     result.setFilter(GetMessagesFilterScrollableDto.builder().rbelPath(filterRbelPath).build());
     result.setSearchFilter(
         GetMessagesFilterScrollableDto.builder().rbelPath(searchRbelPath).build());
 
-    var messageStream = parsedMessages.stream();
     try {
-      messageStream = filterMessages(messageStream, filterRbelPath);
+      var messageStream = filterMessages(parsedMessages, revision, filterRbelPath, sortOrder);
       messageStream = filterMessages(messageStream, searchRbelPath);
 
       result.setMessages(
@@ -473,14 +548,37 @@ public class TigerWebUiController implements ApplicationContextAware {
   }
 
   private Stream<RbelElement> filterMessages(Stream<RbelElement> stream, String filterRbelPath) {
-    var actualFilterRbelPath =
-        filterRbelPath != null && filterRbelPath.isBlank() ? null : filterRbelPath;
+    var actualFilterRbelPath = normalizeFilter(filterRbelPath);
 
     return actualFilterRbelPath != null
         ? stream.filter(matchesFilter(actualFilterRbelPath))
         : stream;
   }
 
+  /** Filters the messages, reusing the results of earlier requests with the same filter. */
+  private Stream<RbelElement> filterMessages(
+      List<RbelElement> messages,
+      long historyRevision,
+      String filterRbelPath,
+      MessageSortOrder sortOrder) {
+    var actualFilterRbelPath = normalizeFilter(filterRbelPath);
+
+    return actualFilterRbelPath != null
+        ? messageFilterCache
+            .filter(
+                messages,
+                historyRevision,
+                actualFilterRbelPath,
+                sortOrder,
+                matchesFilter(actualFilterRbelPath))
+            .stream()
+        : messages.stream();
+  }
+
+  private static String normalizeFilter(String filterRbelPath) {
+    return filterRbelPath != null && filterRbelPath.isBlank() ? null : filterRbelPath;
+  }
+
   private static List<RbelElement> findAllPartners(RbelElement msg) {
     return msg.getFacet(TracingMessagePairFacet.class)
         .map(f -> f.getOtherMessages(msg))
@@ -537,6 +635,35 @@ public class TigerWebUiController implements ApplicationContextAware {
         .body(new InputStreamResource(inputStream));
   }
 
+  @Operation(summary = "Download recorded traffic as an indexed binary .tgr archive")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Binary .tgr archive with an index for random access to single messages",
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+              schema = @Schema(type = "string", format = "binary")))
+  @GetMapping(value = "/trafficArchive.tgra", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<InputStreamResource> downloadTrafficArchive() {
+    Path archiveFile = null;
+    try {
+      archiveFile = Files.createTempFile("tiger-export", ".tgra");
+      getTigerProxy().saveTrafficToArchive(archiveFile);
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_OCTET_STREAM)
+          .contentLength(Files.size(archiveFile))
+          .body(
+              new InputStreamResource(
+                  Files.newInputStream(archiveFile, StandardOpenOption.DELETE_ON_CLOSE)));
+    } catch (IOException e) {
+      if (archiveFile != null) {
+        FileUtils.deleteQuietly(archiveFile.toFile());
+      }
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error while exporting traffic: " + e.getMessage(), e);
+    }
+  }
+
   private @NotNull MatchingMessages loadMessagesMatchingFilter(
       String lastMsgUuid, String filterCriterion, int maxCount) {
     val candidates = getMessagesAfterUuid(lastMsgUuid, getTigerProxy().getRbelLogger());
@@ -568,11 +695,103 @@ public class TigerWebUiController implements ApplicationContextAware {
     return getMessageByUuid(uuid).getContent();
   }
 
+  @Operation(summary = "Download the raw byte contents of several messages in one response")
+  @ApiResponse(
+      responseCode = "200",
+      description =
+          "For every requested UUID (in request order) the length of its content as 8-byte integer"
+              + " (-1 if the message is unknown), followed by the content",
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+              schema = @Schema(type = "string", format = "binary")))
+  @PostMapping(
+      value = "/messageContents",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<StreamingResponseBody> downloadMessageContents(
+      @RequestBody final List<String> uuids) {
+    log.trace("Downloading content of {} messages", uuids.size());
+    final RbelConverter converter = getTigerProxy().getRbelLogger().getRbelConverter();
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(
+            outputStream -> {
+              final DataOutputStream out = new DataOutputStream(outputStream);
+              for (String uuid : uuids) {
+                final Optional<RbelContent> content =
+                    converter.findMessageByUuid(uuid).map(RbelElement::getContent);
+                out.writeLong(content.map(RbelContent::size).orElse(-1));
+                if (content.isPresent()) {
+                  try (InputStream in = content.get().toInputStream()) {
+                    in.transferTo(out);
+                  }
+                }
+              }
+              out.flush();
+            });
+  }
+
+  @Operation(summary = "Replicate the traffic following a sequence number as .tgr stream")
+  @ApiResponse(
+      responseCode = "200",
+      description =
+          "All messages after the given sequence number in one response. The headers report the"
+              + " sequence numbers of the first available, the last returned and the next message"
+              + " as well as the id of this proxy instance",
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+              schema = @Schema(type = "string", format = "binary")))
+  @GetMapping(
+      value = "/trafficReplication.tgr",
+      produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<InputStreamResource> replicateTraffic(
+      @RequestParam(name = "afterSequenceNumber", required = false, defaultValue = "-1")
+          final long afterSequenceNumber,
+      @RequestParam(name = "inlineContentThreshold", required = false, defaultValue = "-1")
+          final int inlineContentThreshold) {
+    final RbelConverter converter = getTigerProxy().getRbelLogger().getRbelConverter();
+    final long nextSequenceNumber = converter.getMessageHistory().getMessageSequenceNumber();
+    final List<RbelElement> backlog = converter.getMessagesAfterSequenceNumber(afterSequenceNumber);
+    final long lastSequenceNumber =
+        backlog.isEmpty()
+            ? afterSequenceNumber
+            : backlog.get(backlog.size() - 1).getSequenceNumber().orElse(afterSequenceNumber);
+
+    val headers = new HttpHeaders();
+    converter
+        .getFirstAvailableSequenceNumber()
+        .ifPresent(first -> headers.add("first-sequence-number", String.valueOf(first)));
+    headers.add("last-sequence-number", String.valueOf(lastSequenceNumber));
+    headers.add("next-sequence-number", String.valueOf(nextSequenceNumber));
+    headers.add("returned-messages", String.valueOf(backlog.size()));
+    headers.add(INSTANCE_ID_HEADER, instanceId);
+
+    val writer = new RbelFileWriter().setWriteVersionHeader(false);
+    val finalInlineContentThreshold =
+        inlineContentThreshold >= 0 ? inlineContentThreshold : Integer.MAX_VALUE;
+
+    return ResponseEntity.ok()
+        .headers(headers)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(
+            new InputStreamResource(
+                RbelStringUtils.mapAndJoinAsInputStream(
+                    backlog,
+                    el -> writer.convertToRbelFileString(el, finalInlineContentThreshold),
+                    "\n\n")));
+  }
+
   @GetMapping(value = "/fullyRenderedMessage/{uuid}", produces = MediaType.APPLICATION_JSON_VALUE)
   public HtmlMessageScrollableDto getFullHtmlMessage(@PathVariable(name = "uuid") String uuid) {
     var msg = getMessageByUuid(uuid);
     return HtmlMessageScrollableDto.builder()
-        .content(new RbelHtmlRenderingToolkit(fullRbelHtmlRenderer).convertMessage(msg).render())
+        .content(
+            renderedHtmlCache.getOrRender(
+                msg,
+                "full",
+                m -> new RbelHtmlRenderingToolkit(fullRbelHtmlRenderer).convertMessage(m).render()))
         .uuid(msg.getUuid())
         .sequenceNumber(getElementSequenceNumber(msg))
         .build();
@@ -622,6 +841,7 @@ public class TigerWebUiController implements ApplicationContextAware {
     ResetMessagesDto result = new ResetMessagesDto();
     result.setNumMsgs(size);
     getTigerProxy().getRbelLogger().clearAllMessages();
+    messageFilterCache.clear();
     return result;
   }
 
@@ -645,6 +865,24 @@ public class TigerWebUiController implements ApplicationContextAware {
     tigerProxy.readTrafficFromString(rawTraffic);
   }
 
+  @Operation(summary = "Import traffic from a binary .tgr archive or a .tgr file")
+  @PostMapping(value = "/importTraffic", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public void importTrafficFile(InputStream rawTraffic) {
+    Path trafficFile = null;
+    try {
+      trafficFile = Files.createTempFile("tiger-import", ".tgr");
+      Files.copy(rawTraffic, trafficFile, StandardCopyOption.REPLACE_EXISTING);
+      tigerProxy.readTraffic(trafficFile.toFile());
+    } catch (IOException e) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Error while importing traffic: " + e.getMessage(), e);
+    } finally {
+      if (trafficFile != null) {
+        FileUtils.deleteQuietly(trafficFile.toFile());
+      }
+    }
+  }
+
   // Serve index.html for single message view routes to enable frontend routing
   @Operation(summary = "Forwards single-message view routes to the Web UI index page (SPA routing)")
   @ApiResponse(
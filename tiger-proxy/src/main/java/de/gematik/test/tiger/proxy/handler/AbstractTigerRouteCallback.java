@@ -230,8 +230,15 @@ public abstract class AbstractTigerRouteCallback implements ExpectationCallback
 
   private HttpResponse handleResponse(
       HttpRequest req, HttpResponse resp, HttpRequest originalRequest) {
-    rewriteLocationHeaderIfApplicable(resp);
-    applyModifications(originalRequest, resp);
+    if (resp.isStreamed()) {
+      // already relayed to the client, modifications can only be applied to aggregated responses
+      log.atDebug()
+          .addArgument(() -> getMessageSize(resp.getStreamedBody().size()))
+          .log("Response was streamed ({}), skipping modifications");
+    } else {
+      rewriteLocationHeaderIfApplicable(resp);
+      applyModifications(originalRequest, resp);
+    }
     if (shouldLogTraffic()) {
       parseMessages(req, resp);
     }
@@ -358,12 +365,12 @@ public abstract class AbstractTigerRouteCallback implements ExpectationCallback
           "Returning HTTP "
               + resp.getStatusCode()
               + " Response-Length: "
-              + getMessageSize(resp.getBody()));
+              + getMessageSize(resp.getTransmittedBody().size()));
     }
   }
 
-  private static String getMessageSize(byte[] body) {
-    return FileUtils.byteCountToDisplaySize(body.length);
+  private static String getMessageSize(long size) {
+    return FileUtils.byteCountToDisplaySize(size);
   }
 
   public void doIncomingRequestLogging(HttpRequest req) {
@@ -34,6 +34,7 @@ import de.gematik.rbellogger.util.RbelSocketAddress;
 import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier;
 import de.gematik.test.tiger.proxy.AbstractTigerProxy;
 import de.gematik.test.tiger.proxy.data.TcpConnectionEntry;
+import de.gematik.test.tiger.proxy.handler.framing.IncrementalMessageFramer;
 import de.gematik.test.tiger.util.AsyncByteQueue;
 import de.gematik.test.tiger.util.DeterministicUuidGenerator;
 import io.micrometer.common.util.StringUtils;
@@ -51,6 +52,7 @@ public class SingleConnectionParser {
       new RbelMetadataValue<>("propagatedMessageChunk", Boolean.class);
 
   private final BundledServerNamesAdder bundledServerNamesAdder = new BundledServerNamesAdder();
+  private final IncrementalMessageFramer messageFramer = new IncrementalMessageFramer();
 
   private final ExecutorService executor;
   private final BinaryExchangeHandler binaryExchangeHandler;
@@ -62,6 +64,12 @@ public class SingleConnectionParser {
   private String lastMessageUuid = null;
   private java.time.ZonedDateTime lastMessageTimestamp = null;
 
+  /**
+   * Number of bytes (in the direction of the buffer head) the framing stage asked for before the
+   * next conversion attempt. 0 if the next attempt should not be deferred.
+   */
+  private long bytesRequiredForNextMessage = 0;
+
   public SingleConnectionParser(
       TcpIpConnectionIdentifier connectionIdentifier,
       AbstractTigerProxy tigerProxy,
@@ -81,6 +89,7 @@ public class SingleConnectionParser {
         () -> {
           lastMessageUuid = null;
           lastMessageTimestamp = null;
+          messageFramer.reset();
         });
     this.rbelConverter.addMessageRemovedFromHistoryCallback(
         element -> {
@@ -196,6 +205,9 @@ public class SingleConnectionParser {
         .addArgument(bufferedParts::availableBytes)
         .log("Starting to parse all available messages for connection parser, buffered parts: {}");
     while (!bufferedParts.isEmpty()) {
+      if (nextMessageIsStillIncomplete()) {
+        break;
+      }
       val message = tryToConvertMessage();
       if (message.isPresent()) {
         lastMessageUuid = message.get().getUuid();
@@ -206,6 +218,8 @@ public class SingleConnectionParser {
                 .flatMap(RbelMessageMetadata::getTransmissionTime)
                 .orElse(null);
         bufferedParts.consume(message.get().getSize());
+        bytesRequiredForNextMessage = 0;
+        messageFramer.onMessageParsed(message.get());
         result.add(message.get());
       } else {
         break;
@@ -214,12 +228,39 @@ public class SingleConnectionParser {
     return result;
   }
 
+  private boolean nextMessageIsStillIncomplete() {
+    if (bytesRequiredForNextMessage <= 0 || !rbelConverter.isActivateRbelParsing()) {
+      return false;
+    }
+    val availableBytes = bufferedParts.availableBytes();
+    if (availableBytes >= bytesRequiredForNextMessage) {
+      return false;
+    }
+    log.atTrace()
+        .addArgument(availableBytes)
+        .addArgument(bytesRequiredForNextMessage)
+        .log("Skipping conversion, only {} of {} bytes of the next message are buffered");
+    return true;
+  }
+
   private Optional<RbelElement> tryToConvertMessage() {
     if (bufferedParts.isEmpty()) {
       return Optional.empty();
     }
     val bufferedContent = bufferedParts.peek();
 
+    if (rbelConverter.isActivateRbelParsing()) {
+      bytesRequiredForNextMessage =
+          messageFramer.requiredBytesForNextMessage(bufferedContent.getData());
+      if (bytesRequiredForNextMessage > 0) {
+        log.atTrace()
+            .addArgument(bufferedContent.getData()::size)
+            .addArgument(bytesRequiredForNextMessage)
+            .log("Incomplete frame with {} bytes buffered, waiting for {} bytes");
+        return Optional.empty();
+      }
+    }
+
     setBundledServerName(bufferedContent);
 
     val originalSize = bufferedContent.getData().size();
@@ -0,0 +1,48 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import static de.gematik.rbellogger.facets.cetp.RbelCetpConverter.MIN_CETP_MESSAGE_LENGTH;
+
+import de.gematik.rbellogger.util.RbelContent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import lombok.val;
+
+/** Frames CETP messages: the "CETP" marker followed by a four byte big-endian body length. */
+public class CetpFrameLengthDetector implements FrameLengthDetector {
+
+  private static final byte[] CETP_INTRO_MARKER = "CETP".getBytes(StandardCharsets.US_ASCII);
+
+  @Override
+  public FrameStatus detect(RbelContent content) {
+    if (content.size() < MIN_CETP_MESSAGE_LENGTH || !content.startsWith(CETP_INTRO_MARKER)) {
+      return FrameStatus.unknown();
+    }
+    val bodyLength =
+        ByteBuffer.wrap(content.toByteArray(CETP_INTRO_MARKER.length, MIN_CETP_MESSAGE_LENGTH))
+            .getInt();
+    if (bodyLength < 0) {
+      return FrameStatus.unknown();
+    }
+    return FrameStatus.forFrameLength((long) MIN_CETP_MESSAGE_LENGTH + bodyLength, content.size());
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import de.gematik.rbellogger.util.RbelContent;
+
+/**
+ * Cheap, protocol-specific check on the beginning of a connection buffer. Implementations only
+ * look at the framing information of the protocol (length prefixes, header fields) and never
+ * parse the payload. They have to mirror the completeness rules of the corresponding converter:
+ * whenever they report {@link FrameStatus.Kind#INCOMPLETE} the converter must be guaranteed to
+ * fail on the same buffer.
+ */
+public interface FrameLengthDetector {
+
+  /**
+   * @param content the buffered bytes, starting at the first byte of the next message
+   * @return the framing status, {@link FrameStatus#unknown()} if the protocol is not recognized
+   */
+  FrameStatus detect(RbelContent content);
+}
@@ -0,0 +1,80 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Result of looking at the beginning of a connection buffer with a {@link FrameLengthDetector}.
+ * Only {@link Kind#INCOMPLETE} allows the caller to skip the full conversion: in that case the
+ * detector is certain that the protocol converter would reject the buffer until at least {@link
+ * #getRequiredBytes()} bytes are available.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FrameStatus {
+
+  private static final FrameStatus UNKNOWN = new FrameStatus(Kind.UNKNOWN, 0);
+
+  Kind kind;
+  long requiredBytes;
+
+  public static FrameStatus unknown() {
+    return UNKNOWN;
+  }
+
+  public static FrameStatus complete(long frameLength) {
+    return new FrameStatus(Kind.COMPLETE, frameLength);
+  }
+
+  public static FrameStatus incomplete(long requiredBytes) {
+    return new FrameStatus(Kind.INCOMPLETE, requiredBytes);
+  }
+
+  /**
+   * Complete if the frame fits into the available bytes, incomplete otherwise.
+   *
+   * @param frameLength total length of the frame, including its header
+   * @param availableBytes number of bytes currently buffered
+   */
+  public static FrameStatus forFrameLength(long frameLength, long availableBytes) {
+    return frameLength <= availableBytes ? complete(frameLength) : incomplete(frameLength);
+  }
+
+  public boolean isKnown() {
+    return kind != Kind.UNKNOWN;
+  }
+
+  public boolean isIncomplete() {
+    return kind == Kind.INCOMPLETE;
+  }
+
+  public enum Kind {
+    /** The detector does not recognize the protocol or cannot decide. Conversion must run. */
+    UNKNOWN,
+    /** A complete frame of {@link #getRequiredBytes()} bytes is available. */
+    COMPLETE,
+    /** The frame needs at least {@link #getRequiredBytes()} bytes, which are not yet there. */
+    INCOMPLETE
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import lombok.val;
+
+/**
+ * Frames HTTP/1.x messages using the same rules as the HTTP request and response converters: a
+ * Content-Length header takes precedence, then any Transfer-Encoding is treated as chunked,
+ * otherwise the message ends with its header.
+ */
+public class HttpFrameLengthDetector implements FrameLengthDetector {
+
+  private static final String CRLF = "\r\n";
+  private static final byte[] CRLF_BYTES = CRLF.getBytes(US_ASCII);
+  private static final byte[] HTTP_PREFIX_BYTES = "HTTP/".getBytes(US_ASCII);
+  private static final Set<String> HTTP_METHODS =
+      Set.of("GET", "POST", "PUT", "HEAD", "OPTIONS", "PATCH", "DELETE", "TRACE", "CONNECT");
+  private static final int MINIMAL_LAST_CHUNK_LENGTH = "0\r\n\r\n".length();
+
+  public boolean looksLikeHttp(RbelContent content) {
+    return content.startsWith(HTTP_PREFIX_BYTES) || startsWithHttpVerb(content);
+  }
+
+  @Override
+  public FrameStatus detect(RbelContent content) {
+    if (!looksLikeHttp(content)) {
+      return FrameStatus.unknown();
+    }
+    final String eol;
+    if (content.indexOf(CRLF_BYTES) >= 0) {
+      eol = CRLF;
+    } else if (content.indexOf((byte) '\n') >= 0) {
+      eol = "\n";
+    } else {
+      return FrameStatus.unknown();
+    }
+    val endOfHeader = content.indexOf((eol + eol).getBytes(US_ASCII));
+    if (endOfHeader < 0) {
+      // lenient parsing accepts messages without a header terminator, let the converter decide
+      return FrameStatus.unknown();
+    }
+    val bodyStart = endOfHeader + 2 * eol.length();
+    if (bodyStart >= content.size()) {
+      // responses to HEAD requests carry a Content-Length without a body
+      return FrameStatus.unknown();
+    }
+    val header = new String(content.toByteArray(0, endOfHeader), ISO_8859_1);
+    val contentLength = findHeaderValue(header, eol, "Content-Length");
+    if (contentLength.isPresent()) {
+      return detectContentLengthFrame(contentLength.get(), bodyStart, content.size());
+    } else if (findHeaderValue(header, eol, "Transfer-Encoding").isPresent()) {
+      return detectChunkedFrame(content, bodyStart, eol);
+    } else {
+      return FrameStatus.complete(bodyStart);
+    }
+  }
+
+  private static FrameStatus detectContentLengthFrame(
+      String contentLength, int bodyStart, int availableBytes) {
+    try {
+      val bodyLength = Integer.parseInt(contentLength);
+      if (bodyLength < 0) {
+        return FrameStatus.unknown();
+      }
+      return FrameStatus.forFrameLength((long) bodyStart + bodyLength, availableBytes);
+    } catch (NumberFormatException e) {
+      return FrameStatus.unknown();
+    }
+  }
+
+  /**
+   * Walks the chunk-size lines without touching the chunk data. The arithmetic follows the
+   * converter, which always accounts two bytes for the line breaks around the chunk data.
+   */
+  private static FrameStatus detectChunkedFrame(RbelContent content, int bodyStart, String eol) {
+    val eolBytes = eol.getBytes(US_ASCII);
+    long position = bodyStart;
+    while (position < content.size()) {
+      val endOfSizeLine = content.indexOf(eolBytes, (int) position);
+      if (endOfSizeLine < 0) {
+        return FrameStatus.incomplete(content.size() + 1L);
+      }
+      final int chunkSize;
+      try {
+        chunkSize =
+            HexFormat.fromHexDigits(
+                new String(content.toByteArray((int) position, endOfSizeLine), ISO_8859_1));
+      } catch (IllegalArgumentException e) {
+        return FrameStatus.unknown();
+      }
+      if (chunkSize < 0) {
+        return FrameStatus.unknown();
+      }
+      position = endOfSizeLine + 2L + chunkSize + 2L;
+      if (chunkSize == 0) {
+        return FrameStatus.forFrameLength(position, content.size());
+      }
+    }
+    return FrameStatus.incomplete(position + MINIMAL_LAST_CHUNK_LENGTH);
+  }
+
+  private static Optional<String> findHeaderValue(String header, String eol, String name) {
+    for (String line : header.split(eol)) {
+      val colon = line.indexOf(':');
+      if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase(name)) {
+        return Optional.of(line.substring(colon + 1).trim());
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static boolean startsWithHttpVerb(RbelContent content) {
+    if (content.isEmpty()) {
+      return false;
+    }
+    val firstBytes = new String(content.toByteArray(0, Math.min(8, content.size())), US_ASCII);
+    val method = firstBytes.split(" ", 2)[0];
+    return HTTP_METHODS.contains(method)
+        && content.size() > method.length()
+        && content.get(method.length()) == ' ';
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.facets.http.RbelHttpResponseFacet;
+import de.gematik.rbellogger.facets.websocket.RbelWebsocketHandshakeFacet;
+import de.gematik.rbellogger.facets.websocket.RbelWebsocketMessageFacet;
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.List;
+import lombok.val;
+
+/**
+ * Framing stage in front of the full conversion of a connection buffer. Before the converter
+ * pipeline runs on the buffered bytes, the protocol detectors check whether the next message can
+ * be complete at all. If it cannot, the buffer owner can wait for the reported number of bytes
+ * instead of converting (and discarding) a growing prefix of the message for every network chunk.
+ */
+public class IncrementalMessageFramer {
+
+  private final HttpFrameLengthDetector httpDetector = new HttpFrameLengthDetector();
+  private final WebsocketFrameLengthDetector websocketDetector =
+      new WebsocketFrameLengthDetector();
+  private final List<FrameLengthDetector> prefixedDetectors =
+      List.of(new CetpFrameLengthDetector(), new LdapFrameLengthDetector());
+
+  private volatile boolean websocketSessionActive = false;
+
+  public FrameStatus detect(RbelContent content) {
+    if (httpDetector.looksLikeHttp(content)) {
+      return httpDetector.detect(content);
+    }
+    if (websocketSessionActive) {
+      return websocketDetector.detect(content);
+    }
+    for (FrameLengthDetector detector : prefixedDetectors) {
+      val status = detector.detect(content);
+      if (status.isKnown()) {
+        return status;
+      }
+    }
+    return FrameStatus.unknown();
+  }
+
+  /**
+   * @return the number of bytes that have to be buffered before a conversion can succeed, or 0 if
+   *     the conversion should be attempted right away
+   */
+  public long requiredBytesForNextMessage(RbelContent content) {
+    val status = detect(content);
+    return status.isIncomplete() ? status.getRequiredBytes() : 0;
+  }
+
+  /** Tracks the protocol state of the connection. Websocket frames follow a 101 handshake. */
+  public void onMessageParsed(RbelElement message) {
+    websocketSessionActive =
+        message.hasFacet(RbelWebsocketMessageFacet.class)
+            || (message.hasFacet(RbelWebsocketHandshakeFacet.class)
+                && message.hasFacet(RbelHttpResponseFacet.class));
+  }
+
+  public void reset() {
+    websocketSessionActive = false;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import de.gematik.rbellogger.util.RbelContent;
+import lombok.val;
+
+/**
+ * Frames LDAP messages by the definite length of their outer BER SEQUENCE. To avoid claiming
+ * arbitrary binary data starting with 0x30, the first element of the sequence has to be the
+ * INTEGER message id mandated by RFC 4511.
+ */
+public class LdapFrameLengthDetector implements FrameLengthDetector {
+
+  private static final int SEQUENCE_TAG = 0x30;
+  private static final int INTEGER_TAG = 0x02;
+  private static final int MAX_LENGTH_OCTETS = 4;
+
+  @Override
+  public FrameStatus detect(RbelContent content) {
+    if (content.size() < 2 || (content.get(0) & 0xFF) != SEQUENCE_TAG) {
+      return FrameStatus.unknown();
+    }
+    val firstLengthOctet = content.get(1) & 0xFF;
+    final int headerLength;
+    final long bodyLength;
+    if (firstLengthOctet < 0x80) {
+      headerLength = 2;
+      bodyLength = firstLengthOctet;
+    } else {
+      val lengthOctets = firstLengthOctet & 0x7F;
+      if (lengthOctets == 0 || lengthOctets > MAX_LENGTH_OCTETS) {
+        // indefinite length or absurdly large: not framed here
+        return FrameStatus.unknown();
+      }
+      headerLength = 2 + lengthOctets;
+      if (content.size() <= headerLength) {
+        return FrameStatus.unknown();
+      }
+      long length = 0;
+      for (int i = 0; i < lengthOctets; i++) {
+        length = (length << 8) | (content.get(2 + i) & 0xFF);
+      }
+      bodyLength = length;
+    }
+    if (content.size() <= headerLength || (content.get(headerLength) & 0xFF) != INTEGER_TAG) {
+      return FrameStatus.unknown();
+    }
+    return FrameStatus.forFrameLength(headerLength + bodyLength, content.size());
+  }
+}
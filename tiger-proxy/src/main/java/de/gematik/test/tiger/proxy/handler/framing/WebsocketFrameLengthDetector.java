@@ -0,0 +1,72 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import de.gematik.rbellogger.util.RbelContent;
+import lombok.val;
+
+/**
+ * Frames RFC 6455 websocket frames. Websocket frames have no recognizable prefix, so this
+ * detector must only be consulted for connections that already completed a websocket handshake.
+ */
+public class WebsocketFrameLengthDetector implements FrameLengthDetector {
+
+  private static final int MASKING_KEY_LENGTH = 4;
+
+  @Override
+  public FrameStatus detect(RbelContent content) {
+    if (content.size() < 2) {
+      return FrameStatus.unknown();
+    }
+    val firstByte = content.get(0);
+    val secondByte = content.get(1);
+    if ((firstByte & 0x0F) >= 0xB || (firstByte == 0 && secondByte == 0)) {
+      // reserved control opcodes, rejected by the websocket converter
+      return FrameStatus.unknown();
+    }
+    val masked = (secondByte & 0x80) != 0;
+    val payloadLength = secondByte & 0x7F;
+    final int extendedLengthBytes;
+    if (payloadLength == 126) {
+      extendedLengthBytes = 2;
+    } else if (payloadLength == 127) {
+      extendedLengthBytes = 8;
+    } else {
+      extendedLengthBytes = 0;
+    }
+    if (content.size() < 2 + extendedLengthBytes) {
+      return FrameStatus.unknown();
+    }
+    long actualPayloadLength = payloadLength;
+    if (extendedLengthBytes > 0) {
+      actualPayloadLength = 0;
+      for (int i = 0; i < extendedLengthBytes; i++) {
+        actualPayloadLength = (actualPayloadLength << 8) | (content.get(2 + i) & 0xFF);
+      }
+      if (actualPayloadLength < 0 || actualPayloadLength > Integer.MAX_VALUE) {
+        return FrameStatus.unknown();
+      }
+    }
+    val frameLength =
+        2L + extendedLengthBytes + (masked ? MASKING_KEY_LENGTH : 0) + actualPayloadLength;
+    return FrameStatus.forFrameLength(frameLength, content.size());
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.tracing;
+
+import de.gematik.test.tiger.common.data.config.tigerproxy.SlowSubscriberPolicy;
+import de.gematik.test.tiger.common.data.config.tigerproxy.TrafficEndpointConfiguration;
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * A single subscriber of the binary tracing channel. Messages are queued per subscriber and sent
+ * by a dedicated thread, which joins all queued messages (up to the configured limits) to one
+ * frame. A subscriber which can not keep up is therefore not slowing down the others; what happens
+ * when its queue is full is determined by the {@link SlowSubscriberPolicy}.
+ */
+@Slf4j
+class BinaryTracingSubscriber {
+
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final WebSocketSession session;
+  private final boolean compress;
+  private final SlowSubscriberPolicy slowSubscriberPolicy;
+  private final int maxFrameSize;
+  private final int maxMessagesPerFrame;
+  private final BlockingQueue<List<byte[]>> queue;
+  private final AtomicLong droppedMessages = new AtomicLong();
+  private volatile boolean running = true;
+  private volatile CloseStatus closeStatus = CloseStatus.GOING_AWAY;
+
+  BinaryTracingSubscriber(
+      WebSocketSession session, boolean compress, TrafficEndpointConfiguration configuration) {
+    this.session = session;
+    this.compress = compress;
+    this.slowSubscriberPolicy = configuration.getSlowSubscriberPolicy();
+    this.maxFrameSize = configuration.getBinaryMaxFrameSizeInKb() * 1024;
+    this.maxMessagesPerFrame = Math.max(1, configuration.getBinaryMaxMessagesPerFrame());
+    this.queue =
+        new ArrayBlockingQueue<>(Math.max(1, configuration.getBinarySubscriberQueueSize()));
+  }
+
+  /** Queues the encoded entries of one message. */
+  void enqueue(List<byte[]> messageEntries) {
+    if (!running) {
+      return;
+    }
+    if (slowSubscriberPolicy == SlowSubscriberPolicy.BLOCK) {
+      enqueueBlocking(messageEntries);
+    } else if (!queue.offer(messageEntries)) {
+      if (slowSubscriberPolicy == SlowSubscriberPolicy.DROP) {
+        final long dropped = droppedMessages.incrementAndGet();
+        if (Long.bitCount(dropped) == 1) {
+          log.warn(
+              "Binary tracing subscriber {} is too slow, dropped {} messages so far",
+              session.getRemoteAddress(),
+              dropped);
+        }
+      } else {
+        log.warn(
+            "Binary tracing subscriber {} is too slow, disconnecting", session.getRemoteAddress());
+        stop(CloseStatus.SESSION_NOT_RELIABLE.withReason("Subscriber too slow"));
+      }
+    }
+  }
+
+  private void enqueueBlocking(List<byte[]> messageEntries) {
+    try {
+      while (running && !queue.offer(messageEntries, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+        log.trace("Waiting for binary tracing subscriber {}", session.getRemoteAddress());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Stops the sender. The session is closed by the sender thread once its current frame is out. */
+  void stop(CloseStatus status) {
+    closeStatus = status;
+    running = false;
+  }
+
+  void sendQueuedMessages() {
+    try {
+      while (running) {
+        final List<byte[]> message = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (message != null) {
+          sendBatch(message);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      log.warn(
+          "Error while sending to binary tracing subscriber {}: {}",
+          session.getRemoteAddress(),
+          e.getMessage());
+      closeStatus = CloseStatus.SERVER_ERROR;
+    } finally {
+      running = false;
+      queue.clear();
+      closeSession();
+    }
+  }
+
+  private void sendBatch(List<byte[]> firstMessage) throws IOException {
+    List<byte[]> frameEntries = new ArrayList<>();
+    int frameSize = 0;
+    int batchedMessages = 0;
+    for (List<byte[]> message = firstMessage; message != null; ) {
+      for (byte[] entry : message) {
+        // large messages are split across frames, the receiver reassembles them by uuid
+        if (!frameEntries.isEmpty() && frameSize + entry.length > maxFrameSize) {
+          sendFrame(frameEntries);
+          frameEntries = new ArrayList<>();
+          frameSize = 0;
+        }
+        frameEntries.add(entry);
+        frameSize += entry.length;
+      }
+      message = ++batchedMessages < maxMessagesPerFrame && running ? queue.poll() : null;
+    }
+    sendFrame(frameEntries);
+  }
+
+  private void sendFrame(List<byte[]> frameEntries) throws IOException {
+    session.sendMessage(
+        new BinaryMessage(BinaryTracingFrameCodec.encodeFrame(frameEntries, compress)));
+  }
+
+  private void closeSession() {
+    if (!session.isOpen()) {
+      return;
+    }
+    try {
+      session.close(closeStatus);
+    } catch (IOException e) {
+      log.debug("Error while closing binary tracing session {}", session.getId(), e);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.tracing;
+
+import de.gematik.test.tiger.common.data.config.tigerproxy.TrafficEndpointConfiguration;
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Server side of the binary tracing channel. Clients negotiate the frame version and the
+ * compression via the query of the handshake ({@code ?version=1&compress=true}). Peers which do
+ * not know this endpoint keep using the STOMP tracing.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class BinaryTracingWebSocketHandler extends BinaryWebSocketHandler {
+
+  private final TrafficEndpointConfiguration trafficEndpointConfiguration;
+  private final Map<String, BinaryTracingSubscriber> subscribers = new ConcurrentHashMap<>();
+
+  private final ExecutorService senderPool =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread t = Executors.defaultThreadFactory().newThread(r);
+            t.setName("TigerBinaryTracing-%d".formatted(t.getId()));
+            t.setDaemon(true);
+            return t;
+          });
+
+  public boolean hasSubscribers() {
+    return !subscribers.isEmpty();
+  }
+
+  /** Queues the encoded entries of one message for every subscriber. */
+  public void broadcast(List<byte[]> messageEntries) {
+    subscribers.values().forEach(subscriber -> subscriber.enqueue(messageEntries));
+  }
+
+  @Override
+  public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+    final MultiValueMap<String, String> parameters =
+        UriComponentsBuilder.fromUri(Objects.requireNonNull(session.getUri()))
+            .build()
+            .getQueryParams();
+    final String version = parameters.getFirst("version");
+    if (!String.valueOf(BinaryTracingFrameCodec.VERSION).equals(version)) {
+      log.info("Rejecting binary tracing subscriber with unsupported version {}", version);
+      session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Unsupported version " + version));
+      return;
+    }
+    final var subscriber =
+        new BinaryTracingSubscriber(
+            session,
+            Boolean.parseBoolean(parameters.getFirst("compress")),
+            trafficEndpointConfiguration);
+    subscribers.put(session.getId(), subscriber);
+    senderPool.execute(subscriber::sendQueuedMessages);
+    log.info("New binary tracing subscriber {}", session.getRemoteAddress());
+  }
+
+  @Override
+  public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+    Optional.ofNullable(subscribers.remove(session.getId()))
+        .ifPresent(subscriber -> subscriber.stop(status));
+  }
+
+  public void close() {
+    subscribers.values().forEach(subscriber -> subscriber.stop(CloseStatus.GOING_AWAY));
+    subscribers.clear();
+    senderPool.shutdown();
+  }
+}
@@ -28,23 +28,30 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextStoppedEvent;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@EnableWebSocket
 @RequiredArgsConstructor
 @Slf4j
 public class TracingEndpointConfiguration
-    implements WebSocketMessageBrokerConfigurer, ApplicationListener<ContextStoppedEvent> {
+    implements WebSocketMessageBrokerConfigurer,
+        WebSocketConfigurer,
+        ApplicationListener<ContextStoppedEvent> {
 
   private final TigerProxyConfiguration tigerProxyConfiguration;
   private final List<ThreadPoolTaskExecutor> taskExecutors = new ArrayList<>();
@@ -98,6 +105,21 @@ public class TracingEndpointConfiguration
         .setTaskScheduler(getThreadPoolTaskScheduler());
   }
 
+  @Bean
+  public BinaryTracingWebSocketHandler binaryTracingWebSocketHandler() {
+    return new BinaryTracingWebSocketHandler(
+        tigerProxyConfiguration.getTrafficEndpointConfiguration());
+  }
+
+  @Override
+  public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+    registry
+        .addHandler(
+            binaryTracingWebSocketHandler(),
+            tigerProxyConfiguration.getTrafficEndpointConfiguration().getBinaryWsEndpoint())
+        .setAllowedOriginPatterns("*");
+  }
+
   @Override
   public void configureClientOutboundChannel(ChannelRegistration registration) {
     registration.taskExecutor(getThreadPoolTaskExecutor());
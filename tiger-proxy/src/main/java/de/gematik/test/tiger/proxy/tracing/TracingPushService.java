@@ -21,6 +21,7 @@
 package de.gematik.test.tiger.proxy.tracing;
 
 import static de.gematik.rbellogger.util.MemoryConstants.KB;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
@@ -32,25 +33,33 @@ import de.gematik.rbellogger.util.RbelContent;
 import de.gematik.rbellogger.util.RbelSocketAddress;
 import de.gematik.test.tiger.proxy.TigerProxy;
 import de.gematik.test.tiger.proxy.client.*;
+import de.gematik.test.tiger.proxy.exceptions.TigerProxyException;
 import de.gematik.test.tiger.server.TigerBuildPropertiesService;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 @RequiredArgsConstructor
 public class TracingPushService {
 
   public static final int MAX_MESSAGE_SIZE = 512 * KB;
+  private static final int MAX_PART_SIZE = 8 * KB;
+  private static final int MAX_BINARY_PART_SIZE = 64 * KB;
   private final SimpMessagingTemplate template;
   private final TigerBuildPropertiesService buildPropertiesService;
   private final TigerProxy tigerProxy;
+  private final BinaryTracingWebSocketHandler binaryTracing;
   private Logger log = LoggerFactory.getLogger(TracingPushService.class);
 
   public void addWebSocketListener() {
@@ -147,6 +156,7 @@ public class TracingPushService {
                   msg.hasFacet(RbelRequestFacet.class) || !msg.hasFacet(RbelResponseFacet.class))
               .build();
 
+      sendMessageToBinarySubscribers(msg, tracingDto);
       template.convertAndSend(TigerRemoteProxyClient.WS_TRACING, tracingDto, versionHeader());
 
       mapRbelMessageAndSent(msg);
@@ -157,6 +167,31 @@ public class TracingPushService {
     }
   }
 
+  private void sendMessageToBinarySubscribers(RbelElement msg, TigerTracingDto tracingDto) {
+    if (!binaryTracing.hasSubscribers()) {
+      return;
+    }
+    final List<byte[]> entries = new ArrayList<>();
+    entries.add(BinaryTracingFrameCodec.encodeMetadataEntry(toJson(tracingDto)));
+    forEachContentPart(
+        msg,
+        MAX_BINARY_PART_SIZE,
+        part -> entries.add(BinaryTracingFrameCodec.encodeDataEntry(part)));
+    binaryTracing.broadcast(entries);
+  }
+
+  /** Serializes like the STOMP broker does, so both channels deliver identical metadata. */
+  private byte[] toJson(TigerTracingDto tracingDto) {
+    final Message<?> message = template.getMessageConverter().toMessage(tracingDto, null);
+    if (message == null) {
+      throw new TigerProxyException(
+          "Unable to serialize tracing information of message " + tracingDto.getMessageUuid());
+    }
+    return message.getPayload() instanceof String json
+        ? json.getBytes(UTF_8)
+        : (byte[]) message.getPayload();
+  }
+
   private Map<String, Object> gatherAdditionalInformation(RbelMessageMetadata metadata) {
     val result = new HashMap<String, Object>();
     metadata.forEach(result::put);
@@ -175,6 +210,21 @@ public class TracingPushService {
   }
 
   private void mapRbelMessageAndSent(RbelElement rbelMessage) {
+    forEachContentPart(
+        rbelMessage,
+        MAX_PART_SIZE,
+        part -> {
+          log.atTrace()
+              .addArgument(part.getIndex() + 1)
+              .addArgument(part.getNumberOfMessages())
+              .addArgument(part.getUuid())
+              .log("sending part {} of {} for UUID {}...");
+          template.convertAndSend(TigerRemoteProxyClient.WS_DATA, part, versionHeader());
+        });
+  }
+
+  private static void forEachContentPart(
+      RbelElement rbelMessage, int maxPartSize, Consumer<TracingMessagePart> partConsumer) {
     if (rbelMessage == null) {
       return;
     }
@@ -185,26 +235,19 @@ public class TracingPushService {
     }
 
     final int size = content.size();
-    final int chunkSize = content.getChunkSize();
+    // wrapped messages consist of one (possibly huge) chunk, so the part size is capped
+    final int chunkSize = Math.min(content.getChunkSize(), maxPartSize);
     final int numberOfParts = (size + chunkSize - 1) / chunkSize;
     for (int i = 0, nextPartIndex = 0; nextPartIndex < size; i++) {
       byte[] partContent =
           content.toByteArray(nextPartIndex, Math.min(nextPartIndex + chunkSize, size));
-
-      log.atTrace()
-          .addArgument(i + 1)
-          .addArgument(numberOfParts)
-          .addArgument(rbelMessage.getUuid())
-          .log("sending part {} of {} for UUID {}...");
-      template.convertAndSend(
-          TigerRemoteProxyClient.WS_DATA,
+      partConsumer.accept(
           TracingMessagePart.builder()
               .data(partContent)
               .index(i)
               .uuid(rbelMessage.getUuid())
               .numberOfMessages(numberOfParts)
-              .build(),
-          versionHeader());
+              .build());
       nextPartIndex += partContent.length;
     }
   }
@@ -0,0 +1,178 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.httpclient;
+
+import static de.gematik.test.tiger.mockserver.httpclient.NettyHttpClient.ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE;
+import static de.gematik.test.tiger.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.test.tiger.mockserver.httpclient.ReusableChannelMap.ChannelId;
+import de.gematik.test.tiger.mockserver.model.Message;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ReusableChannelMapPoolTest {
+
+  private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("localhost", 8080);
+
+  @Test
+  void claimedChannelShouldNotBeHandedOutTwiceBeforeTheNextResponseFutureIsInstalled() {
+    var channelMap = new ReusableChannelMap();
+    var outgoingChannel = pooledChannel(channelMap);
+    var request = new HttpRequestInfo(new EmbeddedChannel(), null, REMOTE_ADDRESS);
+
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+    assertThat(channelMap.getChannelToReuse(request)).isNull();
+
+    // the claiming request installs its response future and completes it
+    outgoingChannel.attr(RESPONSE_FUTURE).set(CompletableFuture.completedFuture(null));
+
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+    assertThat(channelMap.getMetrics().getHitCount()).isEqualTo(2);
+    assertThat(channelMap.getMetrics().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void releasedClaimShouldMakeTheChannelAvailableAgain() {
+    var channelMap = new ReusableChannelMap();
+    var outgoingChannel = pooledChannel(channelMap);
+    var request = new HttpRequestInfo(new EmbeddedChannel(), null, REMOTE_ADDRESS);
+
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+    // the claiming request gives up before installing its response future
+    channelMap.releaseClaim(outgoingChannel);
+
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+  }
+
+  @Test
+  void requestsAboveTheConnectionLimitShouldWaitForARelease() {
+    var channelMap = new ReusableChannelMap(1, 0);
+    var channelId = ChannelId.from(REMOTE_ADDRESS);
+    var started = new ArrayList<String>();
+
+    channelMap.runWhenConnectionAvailable(channelId, () -> started.add("first"), Runnable::run);
+    channelMap.runWhenConnectionAvailable(channelId, () -> started.add("second"), Runnable::run);
+    channelMap.runWhenConnectionAvailable(
+        ChannelId.from(new InetSocketAddress("otherhost", 8080)),
+        () -> started.add("other host"),
+        Runnable::run);
+
+    assertThat(started).containsExactly("first", "other host");
+    assertThat(channelMap.getMetrics().getWaitingRequestCount()).isEqualTo(1);
+
+    channelMap.releaseConnection(channelId);
+
+    assertThat(started).containsExactly("first", "other host", "second");
+    assertThat(channelMap.getMetrics().getWaitingRequestCount()).isZero();
+    assertThat(channelMap.getMetrics().getQueuedRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void withoutLimitRequestsShouldRunImmediately() {
+    var channelMap = new ReusableChannelMap();
+    var channelId = ChannelId.from(REMOTE_ADDRESS);
+    var started = new ArrayList<Integer>();
+
+    for (int i = 0; i < 10; i++) {
+      final int request = i;
+      channelMap.runWhenConnectionAvailable(channelId, () -> started.add(request), Runnable::run);
+    }
+
+    assertThat(started).hasSize(10);
+    assertThat(channelMap.getMetrics().getQueuedRequestCount()).isZero();
+  }
+
+  @Test
+  void cleanupShouldEvictClosedChannelsAndKeepActiveOnes() {
+    var channelMap = new ReusableChannelMap();
+    var closedChannel = pooledChannel(channelMap);
+    pooledChannel(channelMap);
+
+    closedChannel.close();
+    channelMap.cleanupExpiredChannels();
+
+    assertThat(channelMap.getEntries()).hasSize(1);
+    assertThat(channelMap.getMetrics().getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void cleanupShouldEvictIdleChannels() throws InterruptedException {
+    var channelMap = new ReusableChannelMap(0, 1);
+    var idleChannel = pooledChannel(channelMap);
+
+    Thread.sleep(5);
+    channelMap.cleanupExpiredChannels();
+
+    assertThat(channelMap.getEntries()).isEmpty();
+    assertThat(idleChannel.isActive()).isFalse();
+  }
+
+  @Test
+  void removeShouldCloseOnlyTheGivenChannel() {
+    var channelMap = new ReusableChannelMap();
+    var removedChannel = pooledChannel(channelMap);
+    var keptChannel = pooledChannel(channelMap);
+
+    channelMap.remove(removedChannel);
+
+    assertThat(channelMap.getEntries())
+        .extracting(entry -> entry.getValue().getFutureOutgoingChannel().channel())
+        .containsExactly(keptChannel);
+    assertThat(removedChannel.isActive()).isFalse();
+    assertThat(keptChannel.isActive()).isTrue();
+  }
+
+  @Test
+  void cleanupShouldDropPoolsOfDestinationsWithoutChannels() {
+    var channelMap = new ReusableChannelMap();
+    pooledChannel(channelMap).close();
+
+    channelMap.cleanupExpiredChannels();
+
+    assertThat(channelMap.getDestinationCount()).isZero();
+  }
+
+  @Test
+  void cleanupShouldKeepPoolsWithRequestsInFlight() {
+    var channelMap = new ReusableChannelMap(1, 0);
+    var channelId = ChannelId.from(REMOTE_ADDRESS);
+    channelMap.runWhenConnectionAvailable(channelId, () -> {}, Runnable::run);
+
+    channelMap.cleanupExpiredChannels();
+    assertThat(channelMap.getDestinationCount()).isEqualTo(1);
+
+    channelMap.releaseConnection(channelId);
+    channelMap.cleanupExpiredChannels();
+    assertThat(channelMap.getDestinationCount()).isZero();
+  }
+
+  private static EmbeddedChannel pooledChannel(ReusableChannelMap channelMap) {
+    var outgoingChannel = new EmbeddedChannel();
+    outgoingChannel.attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE).set(true);
+    outgoingChannel.attr(RESPONSE_FUTURE).set(CompletableFuture.<Message>completedFuture(null));
+    channelMap.addChannel(ChannelId.from(REMOTE_ADDRESS), outgoingChannel.newSucceededFuture());
+    return outgoingChannel;
+  }
+}
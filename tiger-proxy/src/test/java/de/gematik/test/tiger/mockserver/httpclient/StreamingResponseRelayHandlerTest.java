@@ -0,0 +1,200 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.httpclient;
+
+import static de.gematik.test.tiger.mockserver.httpclient.BinaryBridgeHandler.INCOMING_CHANNEL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.test.tiger.mockserver.model.HttpResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StreamingResponseRelayHandlerTest {
+
+  private static final int THRESHOLD = 10;
+
+  private EmbeddedChannel incomingChannel;
+  private EmbeddedChannel outgoingChannel;
+
+  @BeforeEach
+  void setUp() {
+    incomingChannel = new EmbeddedChannel(new HttpServerCodec());
+    incomingChannel.writeInbound(
+        Unpooled.copiedBuffer("GET / HTTP/1.1\r\nHost: foo\r\n\r\n", StandardCharsets.US_ASCII));
+    incomingChannel.inboundMessages().clear();
+
+    outgoingChannel = new EmbeddedChannel(new StreamingResponseRelayHandler(THRESHOLD));
+    outgoingChannel.attr(INCOMING_CHANNEL).set(incomingChannel);
+  }
+
+  private static DefaultHttpResponse responseHead(HttpResponseStatus status) {
+    return new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+  }
+
+  private static DefaultHttpContent content(String content) {
+    return new DefaultHttpContent(Unpooled.copiedBuffer(content, StandardCharsets.UTF_8));
+  }
+
+  private static DefaultLastHttpContent lastContent(String content) {
+    return new DefaultLastHttpContent(Unpooled.copiedBuffer(content, StandardCharsets.UTF_8));
+  }
+
+  private String readWrittenToClient() {
+    final StringBuilder result = new StringBuilder();
+    ByteBuf written;
+    while ((written = incomingChannel.readOutbound()) != null) {
+      result.append(written.toString(StandardCharsets.UTF_8));
+      written.release();
+    }
+    return result.toString();
+  }
+
+  @Test
+  void smallResponse_shouldBePassedOnForAggregation() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers().set(HttpHeaderNames.CONTENT_LENGTH, 5);
+
+    outgoingChannel.writeInbound(head, lastContent("hello"));
+
+    assertThat((Object) outgoingChannel.readInbound()).isSameAs(head);
+    assertThat((Object) outgoingChannel.readInbound()).isInstanceOf(DefaultLastHttpContent.class);
+    assertThat(readWrittenToClient()).isEmpty();
+  }
+
+  @Test
+  void largeResponse_shouldBeRelayedWhileArriving() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers().set(HttpHeaderNames.CONTENT_LENGTH, 20);
+
+    outgoingChannel.writeInbound(head, content("0123456789"));
+
+    assertThat((Object) outgoingChannel.readInbound()).isNull();
+    assertThat(readWrittenToClient()).startsWith("HTTP/1.1 200 OK").endsWith("0123456789");
+
+    outgoingChannel.writeInbound(lastContent("abcdefghij"));
+
+    assertThat(readWrittenToClient()).isEqualTo("abcdefghij");
+    final HttpResponse response = outgoingChannel.readInbound();
+    assertThat(response.isStreamed()).isTrue();
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getStreamedBody().toByteArray())
+        .asString()
+        .isEqualTo("0123456789abcdefghij");
+  }
+
+  @Test
+  void smallChunkedResponse_shouldBeBufferedAndPassedOnForAggregation() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+
+    outgoingChannel.writeInbound(head, content("abc"));
+    assertThat((Object) outgoingChannel.readInbound()).isNull();
+
+    outgoingChannel.writeInbound(lastContent("def"));
+
+    assertThat((Object) outgoingChannel.readInbound()).isSameAs(head);
+    assertThat((Object) outgoingChannel.readInbound()).isInstanceOf(DefaultHttpContent.class);
+    assertThat((Object) outgoingChannel.readInbound()).isInstanceOf(DefaultLastHttpContent.class);
+    assertThat(readWrittenToClient()).isEmpty();
+  }
+
+  @Test
+  void largeChunkedResponse_shouldSwitchToStreamingWhenExceedingThreshold() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+
+    outgoingChannel.writeInbound(head, content("0123456"), content("789abc"));
+    assertThat(readWrittenToClient()).contains("0123456").contains("789abc");
+
+    outgoingChannel.writeInbound(lastContent("def"));
+
+    final HttpResponse response = outgoingChannel.readInbound();
+    assertThat(response.getStreamedBody().size()).isEqualTo(16);
+    assertThat(response.getFirstHeader(HttpHeaderNames.CONTENT_LENGTH.toString())).isEqualTo("16");
+    assertThat(response.getHeader(HttpHeaderNames.TRANSFER_ENCODING.toString())).isEmpty();
+  }
+
+  @Test
+  void streamedResponse_shouldNotRelayHopByHopHeadersOfTheUpstreamConnection() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers()
+        .set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED)
+        .set(HttpHeaderNames.CONNECTION, "close, x-upstream-hop")
+        .set(HttpHeaderNames.KEEP_ALIVE, "timeout=5")
+        .set("x-upstream-hop", "1")
+        .set("x-end-to-end", "1");
+
+    outgoingChannel.writeInbound(head, content("0123456789abc"));
+
+    final String relayedHead = readWrittenToClient();
+    assertThat(relayedHead)
+        .startsWith("HTTP/1.1 200 OK")
+        .containsIgnoringCase("transfer-encoding: chunked")
+        .containsIgnoringCase("x-end-to-end: 1")
+        .doesNotContainIgnoringCase("connection:")
+        .doesNotContainIgnoringCase("keep-alive:")
+        .doesNotContainIgnoringCase("x-upstream-hop:");
+
+    outgoingChannel.writeInbound(lastContent("def"));
+
+    assertThat(readWrittenToClient()).endsWith("0\r\n\r\n");
+    final HttpResponse response = outgoingChannel.readInbound();
+    assertThat(response.getStreamedBody().toByteArray()).asString().isEqualTo("0123456789abcdef");
+  }
+
+  @Test
+  void streamedResponseWithContentLength_shouldKeepTheContentLength() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.OK);
+    head.headers()
+        .set(HttpHeaderNames.CONTENT_LENGTH, 20)
+        .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+
+    outgoingChannel.writeInbound(head, content("0123456789"));
+
+    assertThat(readWrittenToClient())
+        .containsIgnoringCase("content-length: 20")
+        .doesNotContainIgnoringCase("transfer-encoding:")
+        .doesNotContainIgnoringCase("connection:");
+  }
+
+  @Test
+  void redirect_shouldNeverBeStreamed() {
+    final DefaultHttpResponse head = responseHead(HttpResponseStatus.FOUND);
+    head.headers().set(HttpHeaderNames.CONTENT_LENGTH, 20);
+
+    outgoingChannel.writeInbound(head, lastContent("01234567890123456789"));
+
+    assertThat((Object) outgoingChannel.readInbound()).isSameAs(head);
+    assertThat(readWrittenToClient()).isEmpty();
+  }
+}
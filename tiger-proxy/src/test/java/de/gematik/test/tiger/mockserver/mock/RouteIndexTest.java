@@ -0,0 +1,123 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.mock;
+
+import static de.gematik.test.tiger.mockserver.model.HttpRequest.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
+import de.gematik.test.tiger.mockserver.model.HttpRequest;
+import de.gematik.test.tiger.mockserver.scheduler.Scheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RouteIndexTest {
+
+  private static Expectation route(String id, String host, String path) {
+    final HttpRequest pattern = request().setPath(path);
+    if (host != null) {
+      pattern.withHeader("Host", host);
+    }
+    return Expectation.builder().id(id).requestPattern(pattern).build();
+  }
+
+  private static List<String> candidateIds(RouteIndex index, String host, String path) {
+    return index
+        .findCandidates(request().withHeader("Host", host).setPath(path))
+        .stream()
+        .map(Expectation::getId)
+        .toList();
+  }
+
+  @Test
+  void candidates_shouldBeRestrictedByHostAndPathPrefix() {
+    final RouteIndex index =
+        new RouteIndex(
+            List.of(
+                route("a-root", "10.0.0.1", "/"),
+                route("a-api", "10.0.0.1:8080", "/api/"),
+                route("b-api", "10.0.0.2", "/api/"),
+                route("any-api", null, "/api/v1/"),
+                route("any-other", null, "/other/")));
+
+    assertThat(candidateIds(index, "10.0.0.1:443", "/api/v1/foo"))
+        .containsExactlyInAnyOrder("any-api", "a-api", "a-root");
+    assertThat(candidateIds(index, "10.0.0.2", "/api")).containsExactly("b-api");
+    assertThat(candidateIds(index, "10.0.0.3", "/api/v1/")).containsExactly("any-api");
+  }
+
+  @Test
+  void pathsWithoutTrailingSlash_shouldBeCandidatesForEveryPath() {
+    final RouteIndex index =
+        new RouteIndex(List.of(route("prefix", null, "/api"), route("exact", null, "/api/")));
+
+    assertThat(candidateIds(index, "", "/apiv2/")).containsExactly("prefix");
+  }
+
+  @Test
+  void hostRegexRoutes_shouldBeCandidatesForEveryHost() {
+    final Expectation regexRoute =
+        Expectation.builder()
+            .id("regex")
+            .requestPattern(request().setPath("/"))
+            .hostRegexes(List.of("10\\.0\\..*"))
+            .build();
+    final RouteIndex index = new RouteIndex(List.of(regexRoute, route("a", "10.0.0.1", "/")));
+
+    assertThat(candidateIds(index, "10.0.0.9", "/")).containsExactly("regex");
+  }
+
+  @Test
+  void candidates_shouldKeepMatchingOrder() {
+    final List<Expectation> routes =
+        List.of(
+            route("short", null, "/a/"),
+            route("long", null, "/a/b/"),
+            route("forward", null, "/a/").toBuilder().priority(1_000_000).build());
+
+    assertThat(candidateIds(new RouteIndex(routes), "", "/a/b/c"))
+        .containsExactlyElementsOf(routes.stream().sorted().map(Expectation::getId).toList());
+  }
+
+  @Test
+  void lookup_shouldOnlyEvaluateCandidatesAndRecordMetrics() {
+    final HttpState httpState =
+        new HttpState(mock(MockServerConfiguration.class), mock(Scheduler.class));
+    final List<Expectation> tenantRoutes = new ArrayList<>();
+    IntStream.range(0, 300)
+        .forEach(
+            i ->
+                tenantRoutes.add(route("tenant-" + i, "10.0.1." + (i % 250), "/tenant" + i + "/")));
+    tenantRoutes.forEach(httpState::add);
+
+    final Expectation match =
+        httpState.firstMatchingExpectation(
+            request().withHeader("Host", "10.0.1.42").setPath("/tenant42/fhir/Patient"));
+
+    assertThat(match.getId()).isEqualTo("tenant-42");
+    assertThat(httpState.getRouteLookupMetrics().getLookupCount()).isEqualTo(1);
+    assertThat(httpState.getRouteLookupMetrics().getEvaluatedCandidateCount()).isEqualTo(1);
+    assertThat(httpState.getRouteLookupMetrics().getUnmatchedLookupCount()).isZero();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.mockserver.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.test.tiger.common.data.config.tigerproxy.NettyTransportConfiguration;
+import de.gematik.test.tiger.common.data.config.tigerproxy.NettyTransportConfiguration.AllocatorType;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class NettyTransportTest {
+
+  @Test
+  void defaultConfigurationShouldUseNioAndThePooledAllocator() {
+    var transport = NettyTransport.from(null);
+
+    assertThat(transport.isNativeTransport()).isFalse();
+    assertThat(transport.getName()).isEqualTo("nio");
+    assertThat(transport.getSocketChannelClass()).isEqualTo(NioSocketChannel.class);
+    assertThat(transport.getServerChannelClass()).isEqualTo(NioServerSocketChannel.class);
+    assertThat(transport.getAllocator()).isSameAs(PooledByteBufAllocator.DEFAULT);
+  }
+
+  @Test
+  void unpooledAllocatorShouldBeConfigurable() {
+    var transport =
+        NettyTransport.from(
+            NettyTransportConfiguration.builder().allocator(AllocatorType.UNPOOLED).build());
+
+    assertThat(transport.getAllocator()).isSameAs(UnpooledByteBufAllocator.DEFAULT);
+  }
+
+  @Test
+  void nativeTransportShouldFallBackToNioIfUnavailable() {
+    var transport =
+        NettyTransport.from(NettyTransportConfiguration.builder().useNativeTransport(true).build());
+
+    assertThat(transport.isNativeTransport()).isEqualTo(Epoll.isAvailable());
+    assertThat(transport.getSocketChannelClass())
+        .isEqualTo(Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class);
+  }
+
+  @Test
+  void metricsShouldReportEventLoopsAndAllocatorUsage() {
+    var transport = NettyTransport.from(null);
+    var eventLoopGroup = transport.newEventLoopGroup(2, Executors.defaultThreadFactory());
+    try {
+      var metrics = new NettyTransportMetrics(transport, List.of(eventLoopGroup));
+
+      assertThat(metrics.getTransportName()).isEqualTo("nio");
+      assertThat(metrics.getEventLoopCount()).isEqualTo(2);
+      assertThat(metrics.getPendingTaskCount()).isNotNegative();
+      assertThat(metrics.getUsedHeapMemory()).isNotNegative();
+      assertThat(metrics.getUsedDirectMemory()).isNotNegative();
+    } finally {
+      eventLoopGroup.shutdownGracefully();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import static de.gematik.test.tiger.mockserver.httpclient.NettyHttpClient.ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE;
+import static de.gematik.test.tiger.mockserver.httpclient.NettyHttpClient.RESPONSE_FUTURE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.test.tiger.mockserver.httpclient.HttpRequestInfo;
+import de.gematik.test.tiger.mockserver.httpclient.ReusableChannelMap;
+import de.gematik.test.tiger.mockserver.httpclient.ReusableChannelMap.ChannelId;
+import de.gematik.test.tiger.mockserver.model.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolMeterBinderTest {
+
+  private static final InetSocketAddress REMOTE_ADDRESS = new InetSocketAddress("localhost", 8080);
+
+  @Test
+  void poolUsage_shouldBeReportedAsCountersAndGauge() {
+    final ReusableChannelMap channelMap = new ReusableChannelMap(1, 0);
+    final TigerProxy tigerProxy = mock(TigerProxy.class);
+    when(tigerProxy.getConnectionPoolMetrics()).thenReturn(channelMap.getMetrics());
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new ConnectionPoolMeterBinder(tigerProxy).bindTo(registry);
+
+    final ChannelId channelId = ChannelId.from(REMOTE_ADDRESS);
+    final EmbeddedChannel outgoingChannel = new EmbeddedChannel();
+    outgoingChannel.attr(ERROR_IF_CHANNEL_CLOSED_WITHOUT_RESPONSE).set(true);
+    outgoingChannel.attr(RESPONSE_FUTURE).set(CompletableFuture.<Message>completedFuture(null));
+    channelMap.addChannel(channelId, outgoingChannel.newSucceededFuture());
+    final HttpRequestInfo request =
+        new HttpRequestInfo(new EmbeddedChannel(), null, REMOTE_ADDRESS);
+
+    // claim, find the channel claimed, release the claim and claim it again
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+    assertThat(channelMap.getChannelToReuse(request)).isNull();
+    channelMap.releaseClaim(outgoingChannel);
+    assertThat(channelMap.getChannelToReuse(request)).isNotNull();
+
+    // a second request to the same destination has to wait for the first one
+    channelMap.runWhenConnectionAvailable(channelId, () -> {}, Runnable::run);
+    channelMap.runWhenConnectionAvailable(channelId, () -> {}, Runnable::run);
+    assertThat(registry.get(ConnectionPoolMeterBinder.WAITING_GAUGE).gauge().value()).isEqualTo(1);
+    channelMap.releaseConnection(channelId);
+    assertThat(registry.get(ConnectionPoolMeterBinder.WAITING_GAUGE).gauge().value()).isZero();
+    channelMap.releaseConnection(channelId);
+
+    outgoingChannel.close();
+    channelMap.cleanupExpiredChannels();
+
+    assertThat(
+            registry
+                .get(ConnectionPoolMeterBinder.LOOKUP_COUNTER)
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(2);
+    assertThat(
+            registry
+                .get(ConnectionPoolMeterBinder.LOOKUP_COUNTER)
+                .tag("result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(1);
+    assertThat(registry.get(ConnectionPoolMeterBinder.QUEUED_COUNTER).functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get(ConnectionPoolMeterBinder.EVICTION_COUNTER).functionCounter().count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.test.tiger.mockserver.netty.NettyTransport;
+import de.gematik.test.tiger.mockserver.netty.NettyTransportMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoopGroup;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class NettyTransportMeterBinderTest {
+
+  @Test
+  void transportUsage_shouldBeReportedAsGauges() throws InterruptedException {
+    final NettyTransport transport = NettyTransport.from(null);
+    final EventLoopGroup eventLoopGroup =
+        transport.newEventLoopGroup(1, Executors.defaultThreadFactory());
+    final CountDownLatch eventLoopBlocked = new CountDownLatch(1);
+    final CountDownLatch releaseEventLoop = new CountDownLatch(1);
+    final ByteBuf heapBuffer = transport.getAllocator().heapBuffer(64 * 1024);
+    try {
+      final TigerProxy tigerProxy = mock(TigerProxy.class);
+      when(tigerProxy.getTransportMetrics())
+          .thenReturn(new NettyTransportMetrics(transport, List.of(eventLoopGroup)));
+      final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      new NettyTransportMeterBinder(tigerProxy).bindTo(registry);
+      final Gauge pendingTasks =
+          registry.get(NettyTransportMeterBinder.PENDING_TASKS_GAUGE).gauge();
+
+      eventLoopGroup.execute(
+          () -> {
+            eventLoopBlocked.countDown();
+            awaitUninterruptibly(releaseEventLoop);
+          });
+      assertThat(eventLoopBlocked.await(2, TimeUnit.SECONDS)).isTrue();
+      for (int i = 0; i < 3; i++) {
+        eventLoopGroup.execute(() -> {});
+      }
+
+      assertThat(pendingTasks.value()).isEqualTo(3);
+      releaseEventLoop.countDown();
+      await().atMost(2, TimeUnit.SECONDS).until(() -> pendingTasks.value() == 0);
+
+      assertThat(
+              registry
+                  .get(NettyTransportMeterBinder.USED_MEMORY_GAUGE)
+                  .tag("area", "heap")
+                  .gauge()
+                  .value())
+          .isPositive();
+      assertThat(
+              registry
+                  .get(NettyTransportMeterBinder.USED_MEMORY_GAUGE)
+                  .tag("area", "direct")
+                  .gauge()
+                  .value())
+          .isNotNegative();
+    } finally {
+      releaseEventLoop.countDown();
+      heapBuffer.release();
+      eventLoopGroup.shutdownGracefully();
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.rbellogger.RbelConversionPhase;
+import de.gematik.rbellogger.RbelConversionProfiler.PluginProfile;
+import de.gematik.rbellogger.RbelConverter;
+import de.gematik.rbellogger.RbelConverterPlugin;
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RbelConversionMeterBinderTest {
+
+  private static final byte[] HTTP_REQUEST =
+      "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes();
+
+  private static RbelConverter bindConverter(
+      SimpleMeterRegistry registry, RbelConfiguration configuration) {
+    final RbelLogger rbelLogger = RbelLogger.build(configuration);
+    final TigerProxy tigerProxy = mock(TigerProxy.class);
+    when(tigerProxy.getRbelLogger()).thenReturn(rbelLogger);
+    new RbelConversionMeterBinder(tigerProxy).bindTo(registry);
+    return rbelLogger.getRbelConverter();
+  }
+
+  @Test
+  void convertedMessages_shouldBeRecordedAsPhaseTimers() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final RbelConverter converter = bindConverter(registry, new RbelConfiguration());
+
+    converter.parseMessage(HTTP_REQUEST, new RbelMessageMetadata());
+    converter.parseMessage(HTTP_REQUEST, new RbelMessageMetadata());
+
+    final FunctionTimer protocolParsing =
+        registry
+            .get(RbelConversionMeterBinder.PHASE_TIMER)
+            .tag("phase", RbelConversionPhase.PROTOCOL_PARSING.name())
+            .functionTimer();
+    assertThat(protocolParsing.count()).isEqualTo(2);
+    assertThat(protocolParsing.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    assertThat(
+            registry
+                .get(RbelConversionMeterBinder.PLUGIN_DISPATCH_COUNTER)
+                .tag("result", "invoked")
+                .functionCounter()
+                .count())
+        .isEqualTo(converter.getPhaseMetrics().getPluginInvocationCount())
+        .isPositive();
+    assertThat(
+            registry
+                .get(RbelConversionMeterBinder.PLUGIN_DISPATCH_COUNTER)
+                .tag("result", "skipped")
+                .functionCounter()
+                .count())
+        .isEqualTo(converter.getPhaseMetrics().getSkippedPluginInvocationCount());
+    assertThat(
+            registry
+                .find(RbelConversionMeterBinder.PHASE_TIMER)
+                .tag("phase", RbelConversionPhase.COMPLETED.name())
+                .functionTimer())
+        .isNull();
+  }
+
+  @Test
+  void lazyParsing_shouldPublishHowMuchConversionWasAvoided() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final RbelConverter converter =
+        bindConverter(registry, new RbelConfiguration().setLazyParsing(true));
+
+    final RbelElement message =
+        converter.parseMessage(
+            ("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 35\r\n\r\n"
+                    + "{\"a\":{\"b\":\"c\"},\"inner\":\"{\\\"x\\\":1}\"}")
+                .getBytes(),
+            new RbelMessageMetadata());
+
+    final double deferred =
+        registry.get(RbelConversionMeterBinder.DEFERRED_COUNTER).functionCounter().count();
+    assertThat(deferred).isPositive();
+    assertThat(registry.get(RbelConversionMeterBinder.AVOIDED_ELEMENTS_GAUGE).gauge().value())
+        .isEqualTo(deferred);
+    assertThat(registry.get(RbelConversionMeterBinder.AVOIDED_BYTES_GAUGE).gauge().value())
+        .isPositive();
+
+    message.findElement("$.body.inner.x");
+
+    assertThat(
+            registry.get(RbelConversionMeterBinder.MATERIALIZED_COUNTER).functionCounter().count())
+        .isPositive();
+    assertThat(registry.get(RbelConversionMeterBinder.AVOIDED_ELEMENTS_GAUGE).gauge().value())
+        .isLessThan(deferred);
+  }
+
+  @Test
+  void runningConversion_shouldBeVisibleInThePoolGauges() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final RbelConverter converter = bindConverter(registry, new RbelConfiguration());
+    final CountDownLatch release = new CountDownLatch(1);
+    converter.addConverter(
+        RbelConverterPlugin.createPlugin(
+            (element, executor) -> {
+              if (element.getParentNode() == null) {
+                try {
+                  release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            }));
+
+    final CompletableFuture<RbelElement> conversion =
+        converter.parseMessageAsync(new RbelElement(HTTP_REQUEST, null), new RbelMessageMetadata());
+
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(
+            () ->
+                registry.get(RbelConversionMeterBinder.ACTIVE_WORKERS_GAUGE).gauge().value()
+                    == 1);
+    assertThat(registry.get(RbelConversionMeterBinder.QUEUE_DEPTH_GAUGE).gauge().value()).isZero();
+
+    release.countDown();
+    conversion.join();
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(
+            () ->
+                registry.get(RbelConversionMeterBinder.ACTIVE_WORKERS_GAUGE).gauge().value()
+                    == 0);
+    assertThat(
+            registry
+                .get(RbelConversionMeterBinder.SATURATION_COUNTER)
+                .tag("policy", "ABORT")
+                .functionCounter()
+                .count())
+        .isZero();
+  }
+
+  @Test
+  void profiledConversion_shouldBeRecordedAsTaggedTimers() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final RbelConverter converter =
+        bindConverter(registry, new RbelConfiguration().setProfileConversion(true));
+
+    converter.parseMessage(HTTP_REQUEST, new RbelMessageMetadata());
+
+    final List<PluginProfile> pluginProfiles =
+        converter.getConversionProfiler().getTopPlugins(Integer.MAX_VALUE);
+    assertThat(pluginProfiles).isNotEmpty();
+    for (PluginProfile profile : pluginProfiles) {
+      final Timer pluginTimer =
+          registry
+              .get(RbelConversionMeterBinder.PLUGIN_TIMER)
+              .tag("plugin", profile.plugin())
+              .tag("phase", profile.phase().name())
+              .timer();
+      assertThat(pluginTimer.count()).isEqualTo(profile.latency().count());
+      assertThat(pluginTimer.totalTime(TimeUnit.NANOSECONDS))
+          .isEqualTo(profile.latency().totalNanos());
+    }
+    assertThat(
+            registry
+                .get(RbelConversionMeterBinder.MESSAGE_TIMER)
+                .tag("type", "RbelHttpRequestFacet")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import static de.gematik.test.tiger.mockserver.model.HttpRequest.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.test.tiger.mockserver.configuration.MockServerConfiguration;
+import de.gematik.test.tiger.mockserver.mock.Expectation;
+import de.gematik.test.tiger.mockserver.mock.HttpState;
+import de.gematik.test.tiger.mockserver.mock.RouteLookupMetrics;
+import de.gematik.test.tiger.mockserver.scheduler.Scheduler;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RouteLookupMeterBinderTest {
+
+  @Test
+  void routeLookups_shouldBeReportedAsTimerAndCounters() {
+    final HttpState httpState =
+        new HttpState(mock(MockServerConfiguration.class), mock(Scheduler.class));
+    httpState.add(
+        Expectation.builder()
+            .id("api")
+            .requestPattern(request().setPath("/api/").withHeader("Host", "10.0.0.1"))
+            .build());
+    final TigerProxy tigerProxy = mock(TigerProxy.class);
+    when(tigerProxy.getRouteLookupMetrics()).thenReturn(httpState.getRouteLookupMetrics());
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new RouteLookupMeterBinder(tigerProxy).bindTo(registry);
+
+    assertThat(
+            httpState.firstMatchingExpectation(
+                request().withHeader("Host", "10.0.0.1").setPath("/api/patients")))
+        .isNotNull();
+    assertThat(
+            httpState.firstMatchingExpectation(
+                request().withHeader("Host", "10.0.0.1").setPath("/other")))
+        .isNull();
+
+    final RouteLookupMetrics metrics = httpState.getRouteLookupMetrics();
+    final FunctionTimer timer = registry.get(RouteLookupMeterBinder.LOOKUP_TIMER).functionTimer();
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(metrics.getTotalNanos());
+    assertThat(
+            registry
+                .get(RouteLookupMeterBinder.LOOKUP_MAX_GAUGE)
+                .timeGauge()
+                .value(TimeUnit.NANOSECONDS))
+        .isEqualTo(metrics.getMaxNanos())
+        .isLessThanOrEqualTo(metrics.getTotalNanos());
+    assertThat(registry.get(RouteLookupMeterBinder.UNMATCHED_COUNTER).functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get(RouteLookupMeterBinder.CANDIDATES_COUNTER).functionCounter().count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.file.RbelFileWriter;
+import de.gematik.test.tiger.common.data.config.tigerproxy.TigerProxyConfiguration;
+import de.gematik.test.tiger.proxy.client.TigerRemoteProxyClient;
+import de.gematik.test.tiger.proxy.client.TigerRemoteTrafficDownloader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+class TrafficReplicationMeterBinderTest {
+
+  @Test
+  void replicationLag_shouldBeReportedAsGauge(WireMockRuntimeInfo runtimeInfo) {
+    final RbelElement replicatedMessage =
+        RbelLogger.build(new RbelConfiguration())
+            .getRbelConverter()
+            .parseMessage(
+                "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(),
+                new RbelMessageMetadata());
+    // the remote has handed out messages up to 5, the replication only reaches up to 2
+    runtimeInfo
+        .getWireMock()
+        .register(
+            get(urlPathEqualTo("/webui/trafficReplication.tgr"))
+                .withQueryParam("afterSequenceNumber", equalTo("-1"))
+                .willReturn(
+                    aResponse()
+                        .withStatus(200)
+                        .withHeader("last-sequence-number", "2")
+                        .withHeader("next-sequence-number", "6")
+                        .withBody(
+                            new RbelFileWriter()
+                                .setWriteVersionHeader(false)
+                                .convertToRbelFileString(replicatedMessage))));
+
+    try (TigerRemoteProxyClient client =
+        new TigerRemoteProxyClient(
+            runtimeInfo.getHttpBaseUrl(),
+            TigerProxyConfiguration.builder()
+                .downloadInitialTrafficFromEndpoints(false)
+                .proxyLogLevel("WARN")
+                .build())) {
+      final TigerProxy tigerProxy = mock(TigerProxy.class);
+      when(tigerProxy.getMaxReplicationLag()).thenAnswer(invocation -> client.getReplicationLag());
+      final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      new TrafficReplicationMeterBinder(tigerProxy).bindTo(registry);
+      final Gauge replicationLag =
+          registry.get(TrafficReplicationMeterBinder.REPLICATION_LAG_GAUGE).gauge();
+      assertThat(replicationLag.value()).isZero();
+
+      new TigerRemoteTrafficDownloader(client).execute();
+
+      await()
+          .atMost(5, TimeUnit.SECONDS)
+          .until(() -> client.getRbelMessagesList().size() == 1);
+      assertThat(client.getRbelMessagesList().get(0).getUuid())
+          .isEqualTo(replicatedMessage.getUuid());
+      assertThat(replicationLag.value()).isEqualTo(3);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec.FrameEntryConsumer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BinaryTracingFrameCodecTest {
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void encodedFrame_shouldDecodeToSameEntriesInOrder(boolean compress) {
+    final byte[] content = new byte[256];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    final byte[] frame =
+        BinaryTracingFrameCodec.encodeFrame(
+            List.of(
+                BinaryTracingFrameCodec.encodeMetadataEntry(
+                    "{\"messageUuid\":\"1\"}".getBytes(UTF_8)),
+                BinaryTracingFrameCodec.encodeDataEntry(part("1", 0, 2, content)),
+                BinaryTracingFrameCodec.encodeDataEntry(part("1", 1, 2, new byte[0])),
+                BinaryTracingFrameCodec.encodeMetadataEntry(
+                    "{\"messageUuid\":\"2\"}".getBytes(UTF_8))),
+            compress);
+
+    final List<Object> decoded = decode(frame);
+
+    assertThat(decoded)
+        .containsExactly(
+            "{\"messageUuid\":\"1\"}",
+            part("1", 0, 2, content),
+            part("1", 1, 2, new byte[0]),
+            "{\"messageUuid\":\"2\"}");
+  }
+
+  @Test
+  void binaryContent_shouldNotBeBase64Encoded() {
+    final byte[] content = new byte[64 * 1024];
+
+    final byte[] frame =
+        BinaryTracingFrameCodec.encodeFrame(
+            List.of(BinaryTracingFrameCodec.encodeDataEntry(part("uuid", 0, 1, content))), false);
+
+    assertThat(frame.length).isLessThan(content.length + 64);
+  }
+
+  @Test
+  void compression_shouldShrinkRepetitiveContent() {
+    final byte[] content = "GET /foo HTTP/1.1\r\n".repeat(1000).getBytes(UTF_8);
+    final var entries = List.of(BinaryTracingFrameCodec.encodeDataEntry(part("a", 0, 1, content)));
+
+    assertThat(BinaryTracingFrameCodec.encodeFrame(entries, true))
+        .hasSizeLessThan(BinaryTracingFrameCodec.encodeFrame(entries, false).length / 10);
+  }
+
+  @Test
+  void invalidFrame_shouldBeRejected() {
+    final byte[] noFrame = "{\"uuid\":\"foo\"}".getBytes(UTF_8);
+
+    assertThatThrownBy(() -> decode(noFrame))
+        .isInstanceOf(TigerRemoteProxyClientException.class);
+  }
+
+  private static TracingMessagePart part(String uuid, int index, int count, byte[] data) {
+    return TracingMessagePart.builder()
+        .uuid(uuid)
+        .index(index)
+        .numberOfMessages(count)
+        .data(data)
+        .build();
+  }
+
+  private static List<Object> decode(byte[] frame) {
+    final List<Object> decoded = new ArrayList<>();
+    BinaryTracingFrameCodec.decodeFrame(
+        frame,
+        new FrameEntryConsumer() {
+          @Override
+          public void onMetadata(byte[] tracingDtoJson) {
+            decoded.add(new String(tracingDtoJson, UTF_8));
+          }
+
+          @Override
+          public void onDataPart(TracingMessagePart part) {
+            decoded.add(part);
+          }
+        });
+    return decoded;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ *
+ * Copyright 2021-2026 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import de.gematik.test.tiger.common.data.config.tigerproxy.TigerProxyConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+class TigerRemoteTrafficDownloaderTest {
+
+  private static final String REPLICATION_PATH = "/webui/trafficReplication.tgr";
+
+  private TigerRemoteProxyClient client;
+  private WireMock wireMock;
+
+  @BeforeEach
+  void setUp(WireMockRuntimeInfo runtimeInfo) {
+    wireMock = runtimeInfo.getWireMock();
+    client =
+        new TigerRemoteProxyClient(
+            runtimeInfo.getHttpBaseUrl(),
+            TigerProxyConfiguration.builder()
+                .downloadInitialTrafficFromEndpoints(false)
+                .proxyLogLevel("WARN")
+                .build());
+    client.registerReceivedSequenceNumber(41L);
+    client.getReplicationStartSequenceNumber().set(41);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  private void stubReplication(
+      long afterSequenceNumber, long lastSequenceNumber, long nextSequenceNumber, String id) {
+    var response =
+        aResponse()
+            .withStatus(200)
+            .withHeader("last-sequence-number", String.valueOf(lastSequenceNumber))
+            .withHeader("next-sequence-number", String.valueOf(nextSequenceNumber))
+            .withBody("");
+    if (id != null) {
+      response = response.withHeader("instance-id", id);
+    }
+    wireMock.register(
+        get(urlPathEqualTo(REPLICATION_PATH))
+            .withQueryParam("afterSequenceNumber", equalTo(String.valueOf(afterSequenceNumber)))
+            .willReturn(response));
+  }
+
+  private void verifyReplicationRequests(long afterSequenceNumber, int count) {
+    wireMock.verifyThat(
+        count,
+        getRequestedFor(urlPathEqualTo(REPLICATION_PATH))
+            .withQueryParam("afterSequenceNumber", equalTo(String.valueOf(afterSequenceNumber))));
+  }
+
+  @Test
+  void remoteWithNewInstanceId_shouldBeReplicatedFromTheBeginning() {
+    client.getRemoteInstanceId().set("before-restart");
+    stubReplication(41, 41, 50, "after-restart");
+    stubReplication(-1, 2, 3, "after-restart");
+
+    new TigerRemoteTrafficDownloader(client).execute();
+
+    verifyReplicationRequests(-1, 1);
+    assertThat(client.getRemoteInstanceId()).hasValue("after-restart");
+    assertThat(client.getReplicationLag()).isZero();
+
+    client.registerRemoteSequenceNumber(5);
+    assertThat(client.getReplicationLag()).isEqualTo(3);
+  }
+
+  @Test
+  void remoteWithLowerNextSequenceNumber_shouldBeReplicatedFromTheBeginning() {
+    stubReplication(41, 41, 3, null);
+    stubReplication(-1, 2, 3, null);
+
+    new TigerRemoteTrafficDownloader(client).execute();
+
+    verifyReplicationRequests(-1, 1);
+    client.registerRemoteSequenceNumber(5);
+    assertThat(client.getReplicationLag()).isEqualTo(3);
+  }
+
+  @Test
+  void remoteWithSameInstanceId_shouldResumeAfterLastReceivedMessage() {
+    client.getRemoteInstanceId().set("same");
+    stubReplication(41, 41, 42, "same");
+
+    new TigerRemoteTrafficDownloader(client).execute();
+
+    verifyReplicationRequests(41, 1);
+    verifyReplicationRequests(-1, 0);
+    assertThat(client.getReplicationLag()).isZero();
+  }
+}
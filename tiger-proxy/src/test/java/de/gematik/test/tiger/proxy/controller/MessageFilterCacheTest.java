@@ -0,0 +1,106 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.MessageSortOrder;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.core.RbelNoteFacet;
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MessageFilterCacheTest {
+
+  private final MessageFilterCache cache = new MessageFilterCache();
+  private final AtomicInteger evaluations = new AtomicInteger();
+  private final Predicate<RbelElement> endsWithEvenDigit =
+      msg -> {
+        evaluations.incrementAndGet();
+        final String content = msg.getRawStringContent();
+        return Character.getNumericValue(content.charAt(content.length() - 1)) % 2 == 0;
+      };
+
+  private static List<RbelElement> createMessages(int count) {
+    return new ArrayList<>(
+        IntStream.range(0, count)
+            .mapToObj(
+                i ->
+                    RbelElement.builder()
+                        .content(RbelContent.of(("message " + i).getBytes()))
+                        .build())
+            .toList());
+  }
+
+  private List<RbelElement> filter(List<RbelElement> messages, long revision) {
+    return cache.filter(messages, revision, "even", MessageSortOrder.SEQUENCE, endsWithEvenDigit);
+  }
+
+  @Test
+  void unchangedRevision_shouldNotEvaluateFilterAgain() {
+    final List<RbelElement> messages = createMessages(10);
+
+    assertThat(filter(messages, 1)).hasSize(5);
+    assertThat(filter(messages, 1)).hasSize(5);
+
+    assertThat(evaluations).hasValue(10);
+  }
+
+  @Test
+  void newMessages_shouldBeEvaluatedIncrementally() {
+    final List<RbelElement> messages = createMessages(12);
+
+    assertThat(filter(messages.subList(0, 10), 1)).hasSize(5);
+    assertThat(filter(messages, 2)).hasSize(6);
+
+    assertThat(evaluations).hasValue(12);
+  }
+
+  @Test
+  void changedMessage_shouldBeEvaluatedAgain() {
+    final List<RbelElement> messages = createMessages(10);
+    filter(messages, 1);
+
+    messages.get(3).addFacet(new RbelNoteFacet("changed"));
+    filter(messages, 2);
+
+    assertThat(evaluations).hasValue(11);
+  }
+
+  @Test
+  void evictedMessages_shouldBeDropped() {
+    final List<RbelElement> messages = createMessages(10);
+    filter(messages, 1);
+
+    assertThat(filter(messages.subList(5, 10), 2))
+        .containsExactly(messages.get(6), messages.get(8));
+    assertThat(evaluations).hasValue(10);
+    assertThat(cache.getUpToDate(2, "even", MessageSortOrder.SEQUENCE))
+        .get()
+        .asList()
+        .hasSize(2);
+  }
+}
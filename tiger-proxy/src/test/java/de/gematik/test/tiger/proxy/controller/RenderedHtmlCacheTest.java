@@ -0,0 +1,137 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.RbelConversionPhase;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.core.RbelNoteFacet;
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class RenderedHtmlCacheTest {
+
+  private final AtomicInteger renderings = new AtomicInteger();
+  private final Function<RbelElement, String> renderer =
+      msg -> {
+        renderings.incrementAndGet();
+        return "<div>" + msg.getRawStringContent() + "</div>";
+      };
+
+  private static RbelElement createMessage(String content) {
+    final RbelElement message =
+        RbelElement.builder().content(RbelContent.of(content.getBytes())).build();
+    message.setConversionPhase(RbelConversionPhase.COMPLETED);
+    return message;
+  }
+
+  @Test
+  void repeatedRendering_shouldBeServedFromCache() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, false);
+    final RbelElement message = createMessage("hello");
+
+    assertThat(cache.getOrRender(message, "default", renderer)).isEqualTo("<div>hello</div>");
+    assertThat(cache.getOrRender(message, "default", renderer)).isEqualTo("<div>hello</div>");
+
+    assertThat(renderings).hasValue(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void differentVariants_shouldBeCachedSeparately() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, false);
+    final RbelElement message = createMessage("hello");
+
+    cache.getOrRender(message, "default", renderer);
+    cache.getOrRender(message, "full", renderer);
+
+    assertThat(renderings).hasValue(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void facetUpdate_shouldInvalidateRenderedHtml() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, false);
+    final RbelElement message = createMessage("hello");
+    cache.getOrRender(message, "default", renderer);
+
+    message.addFacet(new RbelNoteFacet("changed"));
+
+    assertThat(cache.size()).isZero();
+    cache.getOrRender(message, "default", renderer);
+    assertThat(renderings).hasValue(2);
+  }
+
+  @Test
+  void unfinishedMessages_shouldNotBeCached() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, false);
+    final RbelElement message = createMessage("hello");
+    message.setConversionPhase(RbelConversionPhase.CONTENT_PARSING);
+
+    cache.getOrRender(message, "default", renderer);
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void removedMessage_shouldBeDroppedFromCache() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, false);
+    final RbelElement message = createMessage("hello");
+    cache.getOrRender(message, "default", renderer);
+
+    cache.onMessageRemoved(message);
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getCurrentSizeInBytes()).isZero();
+  }
+
+  @Test
+  void exceedingTheSizeLimit_shouldEvictLeastRecentlyUsedEntries() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1000, false);
+    final RbelElement first = createMessage("a".repeat(300));
+    final RbelElement second = createMessage("b".repeat(300));
+    final RbelElement third = createMessage("c".repeat(300));
+
+    cache.getOrRender(first, "default", renderer);
+    cache.getOrRender(second, "default", renderer);
+    cache.getOrRender(first, "default", renderer);
+    cache.getOrRender(third, "default", renderer);
+
+    assertThat(cache.getCurrentSizeInBytes()).isLessThanOrEqualTo(1000);
+    assertThat(cache.size()).isEqualTo(2);
+    cache.getOrRender(first, "default", renderer);
+    assertThat(renderings).hasValue(3);
+  }
+
+  @Test
+  void compressedCache_shouldReturnOriginalHtml() {
+    final RenderedHtmlCache cache = new RenderedHtmlCache(1024 * 1024, true);
+    final RbelElement message = createMessage("x".repeat(10_000));
+
+    final String rendered = cache.getOrRender(message, "default", renderer);
+
+    assertThat(cache.getOrRender(message, "default", renderer)).isEqualTo(rendered);
+    assertThat(cache.getCurrentSizeInBytes()).isLessThan(rendered.length());
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageKind;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.rbellogger.util.RbelSocketAddress;
+import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier;
+import de.gematik.test.tiger.proxy.TigerProxy;
+import de.gematik.test.tiger.proxy.data.TcpConnectionEntry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestSingleConnectionParser {
+
+  private static final RbelSocketAddress CLIENT = RbelSocketAddress.create("localhost", 8080);
+  private static final RbelSocketAddress SERVER = RbelSocketAddress.create("localhost", 9090);
+
+  private final AtomicInteger conversionAttempts = new AtomicInteger();
+  private ExecutorService executor;
+  private SingleConnectionParser parser;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    val binaryExchangeHandler = mock(BinaryExchangeHandler.class);
+    when(binaryExchangeHandler.getTigerProxy()).thenReturn(mock(TigerProxy.class));
+    parser =
+        new SingleConnectionParser(
+            new TcpIpConnectionIdentifier(SERVER, CLIENT),
+            executor,
+            RbelLogger.build().getRbelConverter(),
+            binaryExchangeHandler) {
+          @Override
+          public RbelElement triggerActualMessageParsing(
+              RbelElement messageElement, RbelMessageMetadata messageMetadata) {
+            conversionAttempts.incrementAndGet();
+            return super.triggerActualMessageParsing(messageElement, messageMetadata);
+          }
+        };
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private List<RbelElement> sendInParts(byte[] data, int partSize) {
+    val result = new ArrayList<RbelElement>();
+    for (int offset = 0; offset < data.length; offset += partSize) {
+      val part = Arrays.copyOfRange(data, offset, Math.min(data.length, offset + partSize));
+      result.addAll(
+          parser
+              .bufferNewPart(
+                  TcpConnectionEntry.builder()
+                      .uuid(UUID.randomUUID().toString())
+                      .data(RbelContent.of(part))
+                      .connectionIdentifier(new TcpIpConnectionIdentifier(SERVER, CLIENT))
+                      .messageKind(RbelMessageKind.RESPONSE)
+                      .build()
+                      .addAdditionalData(
+                          RbelMessageMetadata.MESSAGE_TRANSMISSION_TIME.getKey(),
+                          ZonedDateTime.now()))
+              .join());
+    }
+    return result;
+  }
+
+  private static byte[] httpResponse(int bodySize) {
+    val header = "HTTP/1.1 200 OK\r\nContent-Length: " + bodySize + "\r\n\r\n";
+    val message = Arrays.copyOf(header.getBytes(US_ASCII), header.length() + bodySize);
+    Arrays.fill(message, header.length(), message.length, (byte) 'a');
+    return message;
+  }
+
+  @Test
+  void largeMessageInSmallParts_shouldOnlyBeConvertedOnceComplete() {
+    val message = httpResponse(256 * 1024);
+
+    val parsedMessages = sendInParts(message, 1024);
+
+    assertThat(parsedMessages).hasSize(1);
+    assertThat(parsedMessages.get(0).getSize()).isEqualTo(message.length);
+    assertThat(conversionAttempts).hasValue(1);
+  }
+
+  @Test
+  void conversionAttempts_shouldNotGrowWithMessageSize() {
+    sendInParts(httpResponse(16 * 1024), 512);
+    val attemptsForSmallMessage = conversionAttempts.getAndSet(0);
+
+    sendInParts(httpResponse(512 * 1024), 512);
+
+    assertThat(conversionAttempts).hasValue(attemptsForSmallMessage);
+  }
+
+  @Test
+  void pipelinedMessages_shouldBeSplitAtFrameBoundaries() {
+    val first = httpResponse(10);
+    val second = httpResponse(20);
+    val both = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, both, first.length, second.length);
+
+    val parsedMessages = sendInParts(both, first.length + 5);
+
+    assertThat(parsedMessages)
+        .extracting(RbelElement::getSize)
+        .containsExactly((long) first.length, (long) second.length);
+  }
+}
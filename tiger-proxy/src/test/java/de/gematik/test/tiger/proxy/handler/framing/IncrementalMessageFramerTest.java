@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.handler.framing;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.test.tiger.proxy.handler.framing.FrameStatus.Kind;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class IncrementalMessageFramerTest {
+
+  private final IncrementalMessageFramer framer = new IncrementalMessageFramer();
+
+  private static RbelContent content(String value) {
+    return RbelContent.of(value.getBytes(US_ASCII));
+  }
+
+  @Test
+  void httpWithContentLength_shouldReportMissingBody() {
+    final String header = "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n";
+
+    assertThat(framer.detect(content(header + "01234")))
+        .isEqualTo(FrameStatus.incomplete(header.length() + 10));
+    assertThat(framer.detect(content(header + "0123456789NEXT")))
+        .isEqualTo(FrameStatus.complete(header.length() + 10));
+  }
+
+  @Test
+  void httpRequestWithoutBody_shouldBeCompleteAfterHeader() {
+    final String request = "GET /foo HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+    assertThat(framer.detect(content(request + "GET /bar HTTP/1.1\r\n")))
+        .isEqualTo(FrameStatus.complete(request.length()));
+  }
+
+  @Test
+  void httpHeaderWithoutBody_shouldBeLeftToConverter() {
+    assertThat(framer.detect(content("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n")).getKind())
+        .isEqualTo(Kind.UNKNOWN);
+    assertThat(framer.detect(content("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n")).getKind())
+        .isEqualTo(Kind.UNKNOWN);
+  }
+
+  @Test
+  void httpChunked_shouldWaitForLastChunk() {
+    final String header = "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n";
+    final String fullBody = "5\r\nhello\r\n6\r\n world\r\n0\r\n\r\n";
+
+    assertThat(framer.detect(content(header + "5\r\nhel")))
+        .isEqualTo(FrameStatus.incomplete(header.length() + "5\r\nhello\r\n".length() + 5));
+    assertThat(framer.detect(content(header + "5\r\nhello\r\n6")).getKind())
+        .isEqualTo(Kind.INCOMPLETE);
+    assertThat(framer.detect(content(header + fullBody)))
+        .isEqualTo(FrameStatus.complete(header.length() + fullBody.length()));
+  }
+
+  @Test
+  void cetp_shouldUseLengthPrefix() {
+    final byte[] frame =
+        ByteBuffer.allocate(12).put("CETP".getBytes(US_ASCII)).putInt(4).put(new byte[4]).array();
+
+    assertThat(framer.detect(RbelContent.of(frame)).getKind()).isEqualTo(Kind.COMPLETE);
+    assertThat(framer.detect(RbelContent.of(frame).subArray(0, 10)))
+        .isEqualTo(FrameStatus.incomplete(12));
+  }
+
+  @Test
+  void ldap_shouldUseBerLength() {
+    final byte[] start = {0x30, (byte) 0x82, 0x01, 0x00, 0x02, 0x01, 0x01};
+
+    assertThat(framer.detect(RbelContent.of(start))).isEqualTo(FrameStatus.incomplete(4 + 256));
+  }
+
+  @Test
+  void berSequenceWithoutMessageId_shouldNotBeFramed() {
+    final byte[] start = {0x30, (byte) 0x82, 0x01, 0x00, 0x04, 0x01, 0x01};
+
+    assertThat(framer.detect(RbelContent.of(start)).getKind()).isEqualTo(Kind.UNKNOWN);
+  }
+
+  @Test
+  void websocketFrameOutsideOfSession_shouldNotBeFramed() {
+    final byte[] maskedTextFrame = {(byte) 0x81, (byte) 0xFE, 0x01, 0x00, 1, 2, 3, 4};
+
+    assertThat(framer.detect(RbelContent.of(maskedTextFrame)).getKind())
+        .isEqualTo(Kind.UNKNOWN);
+    assertThat(new WebsocketFrameLengthDetector().detect(RbelContent.of(maskedTextFrame)))
+        .isEqualTo(FrameStatus.incomplete(2 + 2 + 4 + 256));
+  }
+
+  @Test
+  void unknownBinaryData_shouldNotBeFramed() {
+    assertThat(framer.requiredBytesForNextMessage(content("{\"foo\":"))).isZero();
+  }
+}
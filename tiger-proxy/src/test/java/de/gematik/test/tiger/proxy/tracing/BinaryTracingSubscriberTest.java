@@ -0,0 +1,141 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.test.tiger.proxy.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.gematik.test.tiger.common.data.config.tigerproxy.SlowSubscriberPolicy;
+import de.gematik.test.tiger.common.data.config.tigerproxy.TrafficEndpointConfiguration;
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec;
+import de.gematik.test.tiger.proxy.client.BinaryTracingFrameCodec.FrameEntryConsumer;
+import de.gematik.test.tiger.proxy.client.TracingMessagePart;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+class BinaryTracingSubscriberTest {
+
+  private final WebSocketSession session = mock(WebSocketSession.class);
+
+  @Test
+  void queuedMessages_shouldBeBatchedIntoOneFrame() throws IOException {
+    when(session.isOpen()).thenReturn(true);
+    final var subscriber = subscriber(SlowSubscriberPolicy.BLOCK, 10);
+    subscriber.enqueue(message("1"));
+    subscriber.enqueue(message("2"));
+    subscriber.enqueue(message("3"));
+
+    final var sender = CompletableFuture.runAsync(subscriber::sendQueuedMessages);
+    final ArgumentCaptor<BinaryMessage> frames = ArgumentCaptor.forClass(BinaryMessage.class);
+    await().untilAsserted(() -> verify(session).sendMessage(frames.capture()));
+    subscriber.stop(CloseStatus.NORMAL);
+    sender.join();
+
+    assertThat(decodeUuids(frames.getValue())).containsExactly("1", "2", "3");
+  }
+
+  @Test
+  void dropPolicy_shouldSkipMessagesExceedingTheQueue() throws IOException {
+    when(session.isOpen()).thenReturn(true);
+    final var subscriber = subscriber(SlowSubscriberPolicy.DROP, 2);
+    subscriber.enqueue(message("1"));
+    subscriber.enqueue(message("2"));
+    subscriber.enqueue(message("3"));
+
+    final var sender = CompletableFuture.runAsync(subscriber::sendQueuedMessages);
+    final ArgumentCaptor<BinaryMessage> frames = ArgumentCaptor.forClass(BinaryMessage.class);
+    await().untilAsserted(() -> verify(session).sendMessage(frames.capture()));
+    subscriber.stop(CloseStatus.NORMAL);
+    sender.join();
+
+    assertThat(decodeUuids(frames.getValue())).containsExactly("1", "2");
+  }
+
+  @Test
+  void disconnectPolicy_shouldCloseTheSessionOfASlowSubscriber() throws IOException {
+    when(session.isOpen()).thenReturn(true);
+    final var subscriber = subscriber(SlowSubscriberPolicy.DISCONNECT, 1);
+    subscriber.enqueue(message("1"));
+    subscriber.enqueue(message("2"));
+
+    subscriber.sendQueuedMessages();
+
+    verify(session, never()).sendMessage(any());
+    final ArgumentCaptor<CloseStatus> status = ArgumentCaptor.forClass(CloseStatus.class);
+    verify(session).close(status.capture());
+    assertThat(status.getValue().getCode()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE.getCode());
+  }
+
+  private BinaryTracingSubscriber subscriber(SlowSubscriberPolicy policy, int queueSize) {
+    return new BinaryTracingSubscriber(
+        session,
+        false,
+        TrafficEndpointConfiguration.builder()
+            .slowSubscriberPolicy(policy)
+            .binarySubscriberQueueSize(queueSize)
+            .build());
+  }
+
+  private static List<byte[]> message(String uuid) {
+    return List.of(
+        BinaryTracingFrameCodec.encodeDataEntry(
+            TracingMessagePart.builder()
+                .uuid(uuid)
+                .index(0)
+                .numberOfMessages(1)
+                .data(new byte[] {1, 2, 3})
+                .build()));
+  }
+
+  private static List<String> decodeUuids(BinaryMessage frame) {
+    final ByteBuffer payload = frame.getPayload();
+    final byte[] bytes = new byte[payload.remaining()];
+    payload.get(bytes);
+    final List<String> uuids = new ArrayList<>();
+    BinaryTracingFrameCodec.decodeFrame(
+        bytes,
+        new FrameEntryConsumer() {
+          @Override
+          public void onMetadata(byte[] tracingDtoJson) {
+            // not part of these messages
+          }
+
+          @Override
+          public void onDataPart(TracingMessagePart part) {
+            uuids.add(part.getUuid());
+          }
+        });
+    return uuids;
+  }
+}
@@ -22,6 +22,7 @@ package de.gematik.rbellogger;
 
 import static de.gematik.rbellogger.RbelConversionPhase.*;
 
+import de.gematik.rbellogger.data.RbelDeferredConversion;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.*;
 import de.gematik.rbellogger.exceptions.RbelConversionException;
@@ -48,6 +49,7 @@ public class RbelConversionExecutor {
   @Getter private RbelConversionPhase conversionPhase;
   private final List<RbelConversionPhase> toBeConsideredPhases;
   private boolean messageWasDeleted = false;
+  private int facetCountBeforeProtocolParsing = 0;
 
   public RbelElement execute() {
     long timeBeforeConversion = System.nanoTime();
@@ -57,12 +59,15 @@ public class RbelConversionExecutor {
           rootElement.setConversionPhase(phase);
         }
         conversionPhase = phase;
+        if (phase == PROTOCOL_PARSING) {
+          facetCountBeforeProtocolParsing = rootElement.getFacets().size();
+        }
 
-        executeConversionPhase(phase);
+        executeAndMeasureConversionPhase(phase);
 
         if (messageWasDeleted) {
           rootElement.setConversionPhase(DELETION);
-          executeConversionPhase(DELETION);
+          executeAndMeasureConversionPhase(DELETION);
           rootElement.setConversionPhase(DELETED);
           converter.signalMessageParsingIsComplete(rootElement);
           return rootElement;
@@ -80,36 +85,85 @@ public class RbelConversionExecutor {
       if (!messageWasDeleted) {
         long timeAfterConversion = System.nanoTime();
         rootElement.setConversionTimeInNanos(timeAfterConversion - timeBeforeConversion);
+        recordMessageProfile(timeAfterConversion - timeBeforeConversion);
       }
     }
   }
 
+  private void recordMessageProfile(long conversionTimeInNanos) {
+    val profiler = converter.getConversionProfiler();
+    if (profiler.isEnabled() && rootElement.getParentNode() == null) {
+      profiler.recordMessage(
+          RbelConversionProfiler.messageTypeOf(rootElement, facetCountBeforeProtocolParsing),
+          conversionTimeInNanos);
+    }
+  }
+
   public RbelElement convertElement(final RbelElement convertedInput) {
     return converter.convertElement(convertedInput);
   }
 
+  private void executeAndMeasureConversionPhase(RbelConversionPhase phase) {
+    if (rootElement.getParentNode() != null) {
+      executeConversionPhase(phase);
+      return;
+    }
+    long timeBeforePhase = System.nanoTime();
+    try {
+      executeConversionPhase(phase);
+    } finally {
+      converter.getPhaseMetrics().record(phase, System.nanoTime() - timeBeforePhase);
+    }
+  }
+
   /** Triggers conversion FOR THE GIVEN PHASE ONLY for the root element. */
   private void executeConversionPhase(RbelConversionPhase conversionPhase) {
     boolean elementIsOversized =
         skipParsingWhenMessageLargerThanKb > -1
             && (rootElement.getSize() > skipParsingWhenMessageLargerThanKb * 1024L);
-    for (RbelConverterPlugin plugin : converter.getConverterPlugins().get(conversionPhase)) {
-      if (conversionPhase == RbelConversionPhase.CONTENT_PARSING
-          && elementIsOversized
-          && plugin.skipParsingOversizedContent()) {
-        continue;
-      }
-      try {
-        plugin.doConversionIfActive(rootElement, this);
-      } catch (RuntimeException e) {
-        val conversionException =
-            RbelConversionException.wrapIfNotAConversionException(e, plugin, rootElement);
-        conversionException.printDetailsToLog(log);
-        conversionException.addErrorNoteFacetToElement();
-      }
-      if (messageWasDeleted && conversionPhase != RbelConversionPhase.DELETION) {
-        return;
+    val plugins = converter.getConverterPlugins().get(conversionPhase);
+    val content = rootElement.getContent();
+    int invokedPlugins = 0;
+    // while plugins run, deferred elements of this message are read without converting them
+    RbelDeferredConversion.enterConversion(rootElement);
+    try {
+      for (RbelConverterPlugin plugin : plugins.candidatesFor(content)) {
+        if (content.size() < plugin.getApplicability().getMinimumSize()) {
+          continue;
+        }
+        if (conversionPhase == RbelConversionPhase.CONTENT_PARSING
+            && elementIsOversized
+            && plugin.skipParsingOversizedContent()) {
+          continue;
+        }
+        invokedPlugins++;
+        try {
+          invokePlugin(plugin, conversionPhase);
+        } catch (RuntimeException e) {
+          val conversionException =
+              RbelConversionException.wrapIfNotAConversionException(e, plugin, rootElement);
+          conversionException.printDetailsToLog(log);
+          conversionException.addErrorNoteFacetToElement();
+        }
+        if (messageWasDeleted && conversionPhase != RbelConversionPhase.DELETION) {
+          return;
+        }
       }
+    } finally {
+      RbelDeferredConversion.exitConversion();
+      converter
+          .getPhaseMetrics()
+          .recordPluginDispatch(invokedPlugins, plugins.pluginCount() - invokedPlugins);
+    }
+  }
+
+  private void invokePlugin(RbelConverterPlugin plugin, RbelConversionPhase conversionPhase) {
+    val profiler = converter.getConversionProfiler();
+    if (profiler.isEnabled()) {
+      profiler.profilePlugin(
+          plugin, conversionPhase, () -> plugin.doConversionIfActive(rootElement, this));
+    } else {
+      plugin.doConversionIfActive(rootElement, this);
     }
   }
 
@@ -122,15 +176,30 @@ public class RbelConversionExecutor {
   }
 
   public RbelElement convertElement(final String input, RbelElement parentNode) {
-    return convertElement(
-        RbelElement.builder()
-            .parentNode(parentNode)
-            .rawContent(
-                input.getBytes(
-                    Optional.ofNullable(parentNode)
-                        .map(RbelElement::getElementCharset)
-                        .orElse(StandardCharsets.UTF_8)))
-            .build());
+    return convertElement(buildElement(input, parentNode));
+  }
+
+  /**
+   * Converts a nested element whose facets the calling plugin does not inspect. The conversion may
+   * be deferred until the element is accessed, see {@link RbelConverter#convertElementLazily}.
+   */
+  public RbelElement convertElementLazily(final RbelElement input) {
+    return converter.convertElementLazily(input);
+  }
+
+  public RbelElement convertElementLazily(final String input, RbelElement parentNode) {
+    return convertElementLazily(buildElement(input, parentNode));
+  }
+
+  private static RbelElement buildElement(String input, RbelElement parentNode) {
+    return RbelElement.builder()
+        .parentNode(parentNode)
+        .rawContent(
+            input.getBytes(
+                Optional.ofNullable(parentNode)
+                    .map(RbelElement::getElementCharset)
+                    .orElse(StandardCharsets.UTF_8)))
+        .build();
   }
 
   public void waitForAllElementsBeforeGivenToBeParsed(RbelElement rootElement) {
@@ -164,11 +233,8 @@ public class RbelConversionExecutor {
 
   public Optional<RbelElement> findPreviousMessageInSameConnectionAs(
       @NonNull RbelElement targetElement, @NonNull Predicate<RbelElement> additionalFilter) {
-    return findPreviousMessage(
-        targetElement,
-        msg ->
-            RbelTcpIpMessageFacet.haveSameConnection(msg, targetElement)
-                && additionalFilter.test(msg));
+    waitForAllElementsBeforeGivenToBeParsed(targetElement.findRootElement());
+    return converter.findPreviousMessageInSameConnection(targetElement, additionalFilter);
   }
 
   public Optional<RbelElement> findPreviousMessageInSameConnectionAs(RbelElement rbelElement) {
@@ -176,8 +242,7 @@ public class RbelConversionExecutor {
   }
 
   private Stream<RbelElement> getPreviousMessagesInSameConnectionAs(RbelElement targetElement) {
-    return converter.getPreviousMessages(
-        targetElement, msg -> RbelTcpIpMessageFacet.haveSameConnection(msg, targetElement));
+    return converter.getPreviousMessagesInSameConnection(targetElement, msg -> true);
   }
 
   public Optional<RbelElement> findAndPairMatchingRequest(
@@ -185,14 +250,12 @@ public class RbelConversionExecutor {
     if (response.hasFacet(TracingMessagePairFacet.class)) {
       return Optional.of(response.getFacetOrFail(TracingMessagePairFacet.class).getRequest());
     }
-    List<RbelElement> lastMessages;
-    synchronized (getConverter().getHistory()) {
-      lastMessages =
-          getPreviousMessagesInSameConnectionAs(response)
-              .filter(msg -> msg.hasFacet(requestFacetClass))
-              .takeWhile(msg -> !msg.hasFacet(TracingMessagePairFacet.class))
-              .toList();
-    }
+    // the connection index of the history is concurrent, so the history lock is not needed here
+    final List<RbelElement> lastMessages =
+        getPreviousMessagesInSameConnectionAs(response)
+            .filter(msg -> msg.hasFacet(requestFacetClass))
+            .takeWhile(msg -> !msg.hasFacet(TracingMessagePairFacet.class))
+            .toList();
     if (lastMessages.isEmpty()) {
       return Optional.empty();
     }
@@ -0,0 +1,158 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Time spent by a {@link RbelConverter} in the individual conversion phases of messages. */
+public class RbelConversionPhaseMetrics {
+
+  private final Map<RbelConversionPhase, PhaseStatistics> statistics =
+      new EnumMap<>(RbelConversionPhase.class);
+  private final LongAdder pluginInvocations = new LongAdder();
+  private final LongAdder skippedPluginInvocations = new LongAdder();
+  private final LongAdder deferredConversions = new LongAdder();
+  private final LongAdder deferredBytes = new LongAdder();
+  private final LongAdder materializedConversions = new LongAdder();
+  private final LongAdder materializedBytes = new LongAdder();
+
+  /**
+   * Latency of one phase.
+   *
+   * @param count number of messages which went through the phase
+   * @param totalNanos accumulated time spent in the phase
+   * @param maxNanos longest time a single message spent in the phase
+   */
+  public record PhaseLatency(long count, long totalNanos, long maxNanos) {
+
+    public double getAverageMillis() {
+      return count == 0 ? 0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+  }
+
+  public RbelConversionPhaseMetrics() {
+    for (RbelConversionPhase phase : RbelConversionPhase.values()) {
+      statistics.put(phase, new PhaseStatistics());
+    }
+  }
+
+  void record(RbelConversionPhase phase, long nanos) {
+    statistics.get(phase).record(nanos);
+  }
+
+  void recordPluginDispatch(int invoked, int skipped) {
+    pluginInvocations.add(invoked);
+    skippedPluginInvocations.add(skipped);
+  }
+
+  /** Number of times a plugin has been invoked on an element, over all phases and elements. */
+  public long getPluginInvocationCount() {
+    return pluginInvocations.sum();
+  }
+
+  /** Number of registered plugins that were not invoked on an element, over all phases. */
+  public long getSkippedPluginInvocationCount() {
+    return skippedPluginInvocations.sum();
+  }
+
+  void recordDeferredConversion(long size) {
+    deferredConversions.increment();
+    deferredBytes.add(size);
+  }
+
+  void recordMaterializedConversion(long size) {
+    materializedConversions.increment();
+    materializedBytes.add(size);
+  }
+
+  /** Number of nested elements whose conversion has been deferred by lazy parsing. */
+  public long getDeferredConversionCount() {
+    return deferredConversions.sum();
+  }
+
+  /** Number of deferred elements that have been converted because they were accessed. */
+  public long getMaterializedConversionCount() {
+    return materializedConversions.sum();
+  }
+
+  /** Number of deferred elements that have not been converted (so far). */
+  public long getAvoidedConversionCount() {
+    return deferredConversions.sum() - materializedConversions.sum();
+  }
+
+  /** Content size of the deferred elements that have not been converted (so far). */
+  public long getAvoidedConversionBytes() {
+    return deferredBytes.sum() - materializedBytes.sum();
+  }
+
+  public PhaseLatency getLatency(RbelConversionPhase phase) {
+    return statistics.get(phase).toLatency();
+  }
+
+  /** Returns the latencies of all phases that have been executed at least once. */
+  public Map<RbelConversionPhase, PhaseLatency> getLatencies() {
+    final Map<RbelConversionPhase, PhaseLatency> result = new EnumMap<>(RbelConversionPhase.class);
+    statistics.forEach(
+        (phase, phaseStatistics) -> {
+          final PhaseLatency latency = phaseStatistics.toLatency();
+          if (latency.count() > 0) {
+            result.put(phase, latency);
+          }
+        });
+    return result;
+  }
+
+  public void reset() {
+    statistics.values().forEach(PhaseStatistics::reset);
+    pluginInvocations.reset();
+    skippedPluginInvocations.reset();
+    deferredConversions.reset();
+    deferredBytes.reset();
+    materializedConversions.reset();
+    materializedBytes.reset();
+  }
+
+  private static class PhaseStatistics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+    }
+
+    PhaseLatency toLatency() {
+      return new PhaseLatency(count.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    void reset() {
+      count.reset();
+      totalNanos.reset();
+      maxNanos.reset();
+    }
+  }
+}
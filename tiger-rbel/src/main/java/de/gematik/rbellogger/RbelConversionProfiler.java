@@ -0,0 +1,226 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.core.RbelFacet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Time spent by the individual {@link RbelConverterPlugin}s of a {@link RbelConverter} per
+ * conversion phase, and the conversion time of messages per message type. Profiling is disabled by
+ * default, in which case single plugin invocations are not measured at all.
+ *
+ * <p>Plugin times are self times: the time a plugin spends waiting for the conversion of nested
+ * elements is attributed to the plugins converting these elements.
+ */
+public class RbelConversionProfiler {
+
+  /** Inclusive upper bounds of the histogram buckets. A last, unbounded bucket follows. */
+  public static final List<Long> HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS =
+      List.of(
+          TimeUnit.MICROSECONDS.toNanos(10),
+          TimeUnit.MICROSECONDS.toNanos(100),
+          TimeUnit.MILLISECONDS.toNanos(1),
+          TimeUnit.MILLISECONDS.toNanos(10),
+          TimeUnit.MILLISECONDS.toNanos(100),
+          TimeUnit.SECONDS.toNanos(1));
+
+  static final String UNPARSED_MESSAGE_TYPE = "unparsed";
+  private static final String GENERIC_FACET_PACKAGE = "de.gematik.rbellogger.data";
+
+  private static final ClassValue<String> PLUGIN_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+          return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        }
+      };
+
+  @Getter @Setter private volatile boolean enabled = false;
+
+  private final Map<PluginKey, Statistics> pluginStatistics = new ConcurrentHashMap<>();
+  private final Map<String, Statistics> messageTypeStatistics = new ConcurrentHashMap<>();
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  // nanos measured so far on this thread, used to subtract the time spent in nested plugins
+  private final ThreadLocal<long[]> measuredNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+  /** Receives every measurement taken while profiling is enabled, e.g. to export it. */
+  public interface Listener {
+
+    void pluginInvoked(String plugin, RbelConversionPhase phase, long selfNanos);
+
+    void messageConverted(String messageType, long nanos);
+  }
+
+  /**
+   * Latency distribution of one plugin or message type.
+   *
+   * @param bucketCounts number of measurements per bucket of {@link
+   *     #HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS}, plus one for the unbounded bucket
+   */
+  public record Latency(long count, long totalNanos, long maxNanos, List<Long> bucketCounts) {
+
+    public double getAverageMillis() {
+      return count == 0 ? 0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+  }
+
+  public record PluginProfile(String plugin, RbelConversionPhase phase, Latency latency) {}
+
+  public record MessageTypeProfile(String messageType, Latency latency) {}
+
+  private record PluginKey(String plugin, RbelConversionPhase phase) {}
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /** Runs the given plugin invocation and records its self time. Only call when enabled. */
+  void profilePlugin(RbelConverterPlugin plugin, RbelConversionPhase phase, Runnable invocation) {
+    final long[] measured = measuredNanos.get();
+    final long measuredBefore = measured[0];
+    final long start = System.nanoTime();
+    try {
+      invocation.run();
+    } finally {
+      final long elapsed = System.nanoTime() - start;
+      final long nested = measured[0] - measuredBefore;
+      measured[0] = measuredBefore + elapsed;
+      recordPlugin(PLUGIN_NAMES.get(plugin.getClass()), phase, Math.max(0, elapsed - nested));
+    }
+  }
+
+  void recordPlugin(String plugin, RbelConversionPhase phase, long selfNanos) {
+    pluginStatistics
+        .computeIfAbsent(new PluginKey(plugin, phase), key -> new Statistics())
+        .record(selfNanos);
+    for (Listener listener : listeners) {
+      listener.pluginInvoked(plugin, phase, selfNanos);
+    }
+  }
+
+  void recordMessage(String messageType, long nanos) {
+    messageTypeStatistics.computeIfAbsent(messageType, key -> new Statistics()).record(nanos);
+    for (Listener listener : listeners) {
+      listener.messageConverted(messageType, nanos);
+    }
+  }
+
+  /**
+   * The type of a message is the first protocol specific facet its protocol parsing added, e.g.
+   * {@code RbelHttpRequestFacet}. Generic facets like the request or note facets are skipped.
+   */
+  static String messageTypeOf(RbelElement message, int facetCountBeforeProtocolParsing) {
+    return message.getFacets().stream()
+        .skip(facetCountBeforeProtocolParsing)
+        .map(RbelFacet::getClass)
+        .filter(facetClass -> !facetClass.getPackageName().startsWith(GENERIC_FACET_PACKAGE))
+        .findFirst()
+        .map(Class::getSimpleName)
+        .orElse(UNPARSED_MESSAGE_TYPE);
+  }
+
+  /** The plugin invocations with the highest accumulated self time, most expensive first. */
+  public List<PluginProfile> getTopPlugins(int limit) {
+    final List<PluginProfile> result = new ArrayList<>();
+    pluginStatistics.forEach(
+        (key, statistics) ->
+            result.add(new PluginProfile(key.plugin(), key.phase(), statistics.toLatency())));
+    return result.stream()
+        .sorted(
+            Comparator.comparingLong((PluginProfile profile) -> profile.latency().totalNanos())
+                .reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /** The message types with the highest accumulated conversion time, most expensive first. */
+  public List<MessageTypeProfile> getTopMessageTypes(int limit) {
+    final List<MessageTypeProfile> result = new ArrayList<>();
+    messageTypeStatistics.forEach(
+        (type, statistics) -> result.add(new MessageTypeProfile(type, statistics.toLatency())));
+    return result.stream()
+        .sorted(
+            Comparator.comparingLong(
+                    (MessageTypeProfile profile) -> profile.latency().totalNanos())
+                .reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  public void reset() {
+    pluginStatistics.clear();
+    messageTypeStatistics.clear();
+  }
+
+  private static class Statistics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder[] buckets =
+        new LongAdder[HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS.size() + 1];
+
+    Statistics() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      buckets[bucketIndex(nanos)].increment();
+    }
+
+    private static int bucketIndex(long nanos) {
+      for (int i = 0; i < HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS.size(); i++) {
+        if (nanos <= HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS.get(i)) {
+          return i;
+        }
+      }
+      return HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS.size();
+    }
+
+    Latency toLatency() {
+      final List<Long> bucketCounts = new ArrayList<>(buckets.length);
+      for (LongAdder bucket : buckets) {
+        bucketCounts.add(bucket.sum());
+      }
+      return new Latency(count.sum(), totalNanos.sum(), maxNanos.get(), bucketCounts);
+    }
+  }
+}
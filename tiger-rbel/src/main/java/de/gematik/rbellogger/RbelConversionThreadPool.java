@@ -0,0 +1,235 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.gematik.rbellogger.exceptions.RbelConversionException;
+import de.gematik.test.tiger.common.config.TigerTypedConfigurationKey;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The threads converting the messages of one {@link RbelConverter}. Two execution modes are
+ * available:
+ *
+ * <ul>
+ *   <li>{@link ExecutionMode#BOUNDED} (default): a fixed number of worker threads with a bounded
+ *       queue. When the queue is full the {@link SaturationPolicy} decides what happens.
+ *   <li>{@link ExecutionMode#UNBOUNDED}: one thread per message in conversion (the behaviour of
+ *       previous versions).
+ * </ul>
+ *
+ * Conversions wait for the conversion of preceding messages. Tasks are therefore handed to the
+ * workers in the order in which the messages were added to the history, see {@link
+ * #submit(Runnable, Supplier)}.
+ */
+@Slf4j
+public class RbelConversionThreadPool {
+
+  public static final TigerTypedConfigurationKey<String> EXECUTION_MODE =
+      new TigerTypedConfigurationKey<>(
+          "tiger.rbel.converter.executionMode", String.class, ExecutionMode.BOUNDED.name());
+  public static final TigerTypedConfigurationKey<Integer> WORKER_THREADS =
+      new TigerTypedConfigurationKey<>(
+          "tiger.rbel.converter.workerThreads",
+          Integer.class,
+          Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+  public static final TigerTypedConfigurationKey<Integer> QUEUE_CAPACITY =
+      new TigerTypedConfigurationKey<>("tiger.rbel.converter.queueCapacity", Integer.class, 10_000);
+  /**
+   * Defaults to {@link SaturationPolicy#BLOCK}: messages are usually submitted from the network
+   * threads of the proxy, and a conversion run there may wait for preceding messages (e.g. while
+   * pairing) for a long time. Blocking only until there is room in the queue applies backpressure
+   * without converting on these threads.
+   */
+  public static final TigerTypedConfigurationKey<String> SATURATION_POLICY =
+      new TigerTypedConfigurationKey<>(
+          "tiger.rbel.converter.saturationPolicy", String.class, SaturationPolicy.BLOCK.name());
+
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  public enum ExecutionMode {
+    BOUNDED,
+    UNBOUNDED
+  }
+
+  public enum SaturationPolicy {
+    /**
+     * The thread submitting the message converts it itself. Not suited for submitters which must
+     * not block, like network event loops.
+     */
+    CALLER_RUNS,
+    /** The thread submitting the message waits until there is room in the queue. */
+    BLOCK,
+    /** The message is not converted, the returned future fails. */
+    ABORT
+  }
+
+  private final ExecutionMode executionMode;
+  private final SaturationPolicy saturationPolicy;
+  private final ThreadPoolExecutor executor;
+  private final Object submissionLock = new Object();
+  private final LongAdder callerRunsCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+
+  public RbelConversionThreadPool() {
+    this(
+        parse(ExecutionMode.class, EXECUTION_MODE),
+        WORKER_THREADS.getValueOrDefault(),
+        QUEUE_CAPACITY.getValueOrDefault(),
+        parse(SaturationPolicy.class, SATURATION_POLICY));
+  }
+
+  public RbelConversionThreadPool(
+      ExecutionMode executionMode,
+      int workerThreads,
+      int queueCapacity,
+      SaturationPolicy saturationPolicy) {
+    this.executionMode = executionMode;
+    this.saturationPolicy = saturationPolicy;
+    final ThreadFactory threadFactory =
+        new ThreadFactoryBuilder().setNameFormat("rbel-converter-thread-%d").build();
+    if (executionMode == ExecutionMode.UNBOUNDED) {
+      executor =
+          new ThreadPoolExecutor(
+              0,
+              Integer.MAX_VALUE,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new SynchronousQueue<>(),
+              threadFactory);
+    } else {
+      if (workerThreads < 1 || queueCapacity < 1) {
+        throw new IllegalArgumentException(
+            "Worker threads and queue capacity must be positive, got "
+                + workerThreads
+                + " and "
+                + queueCapacity);
+      }
+      executor =
+          new ThreadPoolExecutor(
+              workerThreads,
+              workerThreads,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(queueCapacity),
+              threadFactory);
+      executor.allowCoreThreadTimeOut(true);
+    }
+  }
+
+  private static <E extends Enum<E>> E parse(
+      Class<E> type, TigerTypedConfigurationKey<String> configurationKey) {
+    final String value = configurationKey.getValueOrDefault();
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new RbelConversionException(
+          "Invalid value '" + value + "' for " + configurationKey.getKey().downsampleKey(), e);
+    }
+  }
+
+  /**
+   * Registers and schedules a conversion. {@code registration} (adding the message to the history)
+   * and the scheduling happen atomically, so workers pick up the conversions in history order. This
+   * guarantees progress when conversions wait for preceding messages.
+   */
+  public <T> CompletableFuture<T> submit(Runnable registration, Supplier<T> conversion) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Runnable task = () -> complete(result, conversion);
+    synchronized (submissionLock) {
+      registration.run();
+      if (trySchedule(task)) {
+        return result;
+      }
+    }
+    // saturated: the remaining policies run outside the lock, so other submitters can proceed
+    if (saturationPolicy == SaturationPolicy.CALLER_RUNS) {
+      callerRunsCount.increment();
+      task.run();
+    } else {
+      rejectedCount.increment();
+      result.completeExceptionally(
+          new RbelConversionException(
+              "Conversion queue is full ("
+                  + executor.getQueue().size()
+                  + " messages waiting), message is not converted"));
+    }
+    return result;
+  }
+
+  private boolean trySchedule(Runnable task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      if (saturationPolicy != SaturationPolicy.BLOCK) {
+        return false;
+      }
+    }
+    try {
+      // the queue is full, so all workers are busy and will pick up the task eventually
+      executor.getQueue().put(task);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RbelConversionException(e);
+    }
+  }
+
+  private static <T> void complete(CompletableFuture<T> result, Supplier<T> conversion) {
+    try {
+      result.complete(conversion.get());
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+    }
+  }
+
+  /** Number of conversions waiting for a worker. */
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /** Number of workers currently converting a message. */
+  public int getActiveWorkers() {
+    return executor.getActiveCount();
+  }
+
+  public int getPoolSize() {
+    return executor.getPoolSize();
+  }
+
+  /** Number of conversions executed by the submitting thread because the queue was full. */
+  public long getCallerRunsCount() {
+    return callerRunsCount.sum();
+  }
+
+  /** Number of conversions dropped because the queue was full. */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+}
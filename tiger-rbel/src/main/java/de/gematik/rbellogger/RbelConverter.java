@@ -23,13 +23,16 @@ package de.gematik.rbellogger;
 import static de.gematik.rbellogger.RbelConversionPhase.*;
 import static de.gematik.rbellogger.data.core.RbelSocketAddressFacet.buildRbelSocketAddressFacet;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.gematik.rbellogger.configuration.RbelConfiguration;
 import de.gematik.rbellogger.converter.brainpool.BrainpoolCurves;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
 import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
+import de.gematik.rbellogger.data.facet.RbelNonTransmissionMarkerFacet;
+import de.gematik.rbellogger.data.facet.RbelSpilledMessageViewFacet;
 import de.gematik.rbellogger.exceptions.RbelConversionException;
+import de.gematik.rbellogger.facets.timing.RbelMessageTimingFacet;
+import de.gematik.rbellogger.file.RbelMessageSpillStore.SpilledMessage;
 import de.gematik.rbellogger.key.RbelKeyManager;
 import de.gematik.rbellogger.util.ConverterPluginMap;
 import de.gematik.rbellogger.util.RbelValueShader;
@@ -60,18 +63,18 @@ public class RbelConverter implements RbelConverterInterface {
   @Getter private final RbelKeyManager rbelKeyManager;
   @Getter private final RbelValueShader rbelValueShader = new RbelValueShader();
   @Getter private final ConverterPluginMap converterPlugins = new ConverterPluginMap();
-  private final ExecutorService executorService =
-      new ThreadPoolExecutor(
-          0,
-          Integer.MAX_VALUE,
-          60L,
-          TimeUnit.SECONDS,
-          new SynchronousQueue<>(),
-          new ThreadFactoryBuilder().setNameFormat("rbel-converter-thread-%d").build());
+  @Getter
+  private final RbelConversionThreadPool conversionThreadPool = new RbelConversionThreadPool();
+
+  @Getter private final RbelConversionPhaseMetrics phaseMetrics = new RbelConversionPhaseMetrics();
+  @Getter private final RbelConversionProfiler conversionProfiler = new RbelConversionProfiler();
 
   @Builder.Default int rbelBufferSizeInMb = 1024;
   @Builder.Default boolean manageBuffer = false;
+  @Builder.Default int rbelSpillFileSizeInMb = 0;
+  String rbelSpillDirectory;
   @Builder.Default int skipParsingWhenMessageLargerThanKb = -1;
+  @Builder.Default boolean lazyParsing = false;
   @Builder.Default List<String> activateRbelParsingFor = List.of();
   @Builder.Default private volatile boolean shallInitializeConverters = true;
   @Builder.Default @Getter boolean isActivateRbelParsing = true;
@@ -113,6 +116,23 @@ public class RbelConverter implements RbelConverterInterface {
         .execute();
   }
 
+  /**
+   * Converts a nested element whose facets the caller does not inspect itself. With lazy parsing
+   * the conversion is deferred until the facets of the element are read for the first time.
+   */
+  public RbelElement convertElementLazily(RbelElement rbelElement) {
+    if (!lazyParsing) {
+      return convertElement(rbelElement);
+    }
+    phaseMetrics.recordDeferredConversion(rbelElement.getSize());
+    rbelElement.deferConversion(
+        () -> {
+          phaseMetrics.recordMaterializedConversion(rbelElement.getSize());
+          convertElement(rbelElement);
+        });
+    return rbelElement;
+  }
+
   public RbelElement convertElement(final byte[] input, RbelElement parentNode) {
     return convertElement(RbelElement.builder().parentNode(parentNode).rawContent(input).build());
   }
@@ -165,6 +185,30 @@ public class RbelConverter implements RbelConverterInterface {
   public CompletableFuture<RbelElement> parseMessageAsync(
       @NonNull final RbelElement messageElement,
       @NonNull final RbelMessageMetadata conversionMetadata) {
+    if (isAlreadyConverted(messageElement)) {
+      return CompletableFuture.failedFuture(new RbelConversionException("UUID is already known"));
+    }
+    return conversionThreadPool.submit(
+        () -> registerMessage(messageElement, conversionMetadata),
+        () -> convertElement(messageElement));
+  }
+
+  /**
+   * Adds the message to the history (in the calling thread, so the history order is the order of
+   * the calls) and converts it using the given executor.
+   */
+  public CompletableFuture<RbelElement> parseMessageAsync(
+      @NonNull final RbelElement messageElement,
+      @NonNull final RbelMessageMetadata conversionMetadata,
+      @NonNull final Executor conversionExecutor) {
+    if (isAlreadyConverted(messageElement)) {
+      return CompletableFuture.failedFuture(new RbelConversionException("UUID is already known"));
+    }
+    registerMessage(messageElement, conversionMetadata);
+    return CompletableFuture.supplyAsync(() -> convertElement(messageElement), conversionExecutor);
+  }
+
+  private boolean isAlreadyConverted(RbelElement messageElement) {
     if (messageElement.getContent().isNull()) {
       throw new RbelConversionException("content is empty");
     }
@@ -173,13 +217,14 @@ public class RbelConverter implements RbelConverterInterface {
           .addArgument(this::getName)
           .addArgument(messageElement::getUuid)
           .log("{} skipping parsing of message with UUID {}: UUID already known");
-      return CompletableFuture.failedFuture(new RbelConversionException("UUID is already known"));
+      return true;
     }
-    addMessageToHistory(messageElement, conversionMetadata);
+    return false;
+  }
 
+  private void registerMessage(RbelElement messageElement, RbelMessageMetadata conversionMetadata) {
+    addMessageToHistory(messageElement, conversionMetadata);
     messageElement.addFacet(conversionMetadata);
-
-    return CompletableFuture.supplyAsync(() -> convertElement(messageElement), executorService);
   }
 
   public void addMessageToHistory(RbelElement rbelElement, RbelMessageMetadata conversionMetadata) {
@@ -195,6 +240,53 @@ public class RbelConverter implements RbelConverterInterface {
     addMessageToHistory(rbelElement, null);
   }
 
+  /**
+   * Parses a message which was read back from the spill store of the history. The message is not
+   * added to the history again and the transmission phase is skipped, so listeners are not notified
+   * a second time.
+   */
+  RbelElement reparseSpilledMessage(
+      RbelElement message,
+      RbelMessageMetadata conversionMetadata,
+      long sequenceNumber,
+      ZonedDateTime transmissionTime) {
+    message.setSequenceNumber(sequenceNumber);
+    addTcpIpFacet(message, conversionMetadata);
+    message.addFacet(conversionMetadata);
+    if (transmissionTime != null) {
+      message.addOrReplaceFacet(
+          RbelMessageTimingFacet.builder().transmissionTime(transmissionTime).build());
+    }
+    return convertElement(
+        message, conversionPhases.stream().filter(phase -> phase != TRANSMISSION).toList());
+  }
+
+  /**
+   * Creates a view of a spilled message for listing and filtering. Only the metadata kept in
+   * memory is used, the content is neither read from disk nor parsed. The view is marked with a
+   * {@link RbelSpilledMessageViewFacet}.
+   */
+  RbelElement createSpilledMessageView(SpilledMessage spilled) {
+    final RbelElement view =
+        new RbelElement(spilled.getUuid(), new byte[0], null, Optional.empty());
+    view.setSequenceNumber(spilled.getSequenceNumber());
+    addTcpIpFacet(view, spilled.getMetadata());
+    view.addFacet(spilled.getMetadata());
+    if (spilled.getTransmissionTime() != null) {
+      view.addFacet(
+          RbelMessageTimingFacet.builder().transmissionTime(spilled.getTransmissionTime()).build());
+    }
+    if (spilled.getInfoFacet() != null) {
+      view.addFacet(spilled.getInfoFacet());
+    }
+    if (spilled.isNonTransmission()) {
+      view.addFacet(new RbelNonTransmissionMarkerFacet());
+    }
+    view.addFacet(new RbelSpilledMessageViewFacet());
+    view.setConversionPhase(COMPLETED);
+    return view;
+  }
+
   private void addTcpIpFacet(RbelElement rbelElement, RbelMessageMetadata conversionMetadata) {
     // Use the builder pattern as in RbelConverter
     RbelTcpIpMessageFacet.RbelTcpIpMessageFacetBuilder facetBuilder =
@@ -21,6 +21,7 @@
 package de.gematik.rbellogger;
 
 import de.gematik.rbellogger.converter.ConverterInfo;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.*;
 import java.util.HashSet;
@@ -61,6 +62,15 @@ public abstract class RbelConverterPlugin {
     return false;
   }
 
+  /**
+   * Preconditions on the content of the elements this plugin can convert. Plugins that cannot
+   * apply are not invoked, so this has to be cheap to evaluate and must not depend on state that
+   * changes after the plugin has been registered.
+   */
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.ANY_CONTENT;
+  }
+
   public boolean isParserFor(List<String> pluginIds) {
     return pluginIds.stream().anyMatch(getParserIdentifiers()::contains);
   }
@@ -56,12 +56,16 @@ public class RbelLogger {
             .rbelKeyManager(new RbelKeyManager())
             .manageBuffer(configuration.isManageBuffer())
             .rbelBufferSizeInMb(configuration.getRbelBufferSizeInMb())
+            .rbelSpillFileSizeInMb(configuration.getRbelSpillFileSizeInMb())
+            .rbelSpillDirectory(configuration.getRbelSpillDirectory())
             .skipParsingWhenMessageLargerThanKb(
                 configuration.getSkipParsingWhenMessageLargerThanKb())
             .activateRbelParsingFor(configuration.getActivateRbelParsingFor())
+            .lazyParsing(configuration.isLazyParsing())
             .build();
 
     rbelConverter.initializeConverters(configuration);
+    rbelConverter.getConversionProfiler().setEnabled(configuration.isProfileConversion());
 
     configuration.getPostConversionListener().forEach(rbelConverter::addConverter);
     rbelConverter.addConverter(rbelConverter.getRbelValueShader().getPostConversionListener());
@@ -112,6 +116,16 @@ public class RbelLogger {
     return rbelConverter.getMessageHistory();
   }
 
+  /**
+   * Returns a {@link RbelMessageHistory.MessageHistory} view for listing and filtering messages.
+   * Messages spilled to disk are represented by their metadata only.
+   *
+   * @see RbelMessageHistory#getMessageListing()
+   */
+  public RbelMessageHistory.MessageHistory getMessageListing() {
+    return rbelConverter.getMessageListing();
+  }
+
   /**
    * Convenience for {@code getMessageHistory().getMessagesByTimestamp()} – returns the parsed
    * messages in ascending order of transmission timestamps.
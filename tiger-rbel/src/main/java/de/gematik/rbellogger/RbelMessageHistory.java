@@ -21,14 +21,26 @@
 package de.gematik.rbellogger;
 
 import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
 import de.gematik.rbellogger.data.RbelMultiMap;
+import de.gematik.rbellogger.data.core.RbelRequestFacet;
+import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
+import de.gematik.rbellogger.data.core.TracingMessagePairFacet;
 import de.gematik.rbellogger.data.facet.RbelNonTransmissionMarkerFacet;
+import de.gematik.rbellogger.data.facet.RbelSpilledMessageViewFacet;
 import de.gematik.rbellogger.facets.timing.RbelMessageTimingFacet;
+import de.gematik.rbellogger.file.RbelMessageSpillStore;
+import de.gematik.rbellogger.file.RbelMessageSpillStore.SpilledMessage;
+import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier;
+import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier.IndexKey;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
@@ -40,11 +52,20 @@ import org.apache.commons.lang3.tuple.Pair;
 @Slf4j
 public class RbelMessageHistory {
 
+  private static final int RELOADED_MESSAGE_CACHE_SIZE = 64;
+
+  private final RbelConverter converter;
   private final boolean manageBuffer;
   private final int rbelBufferSizeInMb;
-  private final NavigableMap<Long, RbelElement> messageHistory = new TreeMap<>();
-  private final Map<String, RbelElement> messageByUuid = new HashMap<>();
-  private final NavigableMap<Long, RbelElement> unfinishedMessages = new TreeMap<>();
+  private final ConcurrentNavigableMap<Long, RbelElement> messageHistory =
+      new ConcurrentSkipListMap<>();
+  private final Map<String, RbelElement> messageByUuid = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, RbelElement> unfinishedMessages =
+      new ConcurrentSkipListMap<>();
+  private final Map<IndexKey, ConcurrentNavigableMap<Long, RbelElement>> messagesByConnection =
+      new ConcurrentHashMap<>();
+  private final Map<String, TcpIpConnectionIdentifier> connectionByUuid =
+      new ConcurrentHashMap<>();
   public static final Comparator<RbelElement> TIMESTAMP_SEQ_COMPARATOR =
       Comparator.<RbelElement, ZonedDateTime>comparing(
               el ->
@@ -54,24 +75,68 @@ public class RbelMessageHistory {
               Comparator.nullsLast(Comparator.naturalOrder()))
           .thenComparingLong(el -> el.getSequenceNumber().orElse(Long.MAX_VALUE));
 
-  private final TreeSet<RbelElement> timestampSortedMessages =
-      new TreeSet<>(TIMESTAMP_SEQ_COMPARATOR);
+  private final NavigableSet<RbelElement> timestampSortedMessages =
+      new ConcurrentSkipListSet<>(TIMESTAMP_SEQ_COMPARATOR);
+
+  /**
+   * Messages exceeding the in-memory buffer are moved into the spill store (if configured). Only
+   * their handles are kept in memory; the messages are parsed again when they are accessed.
+   */
+  private final RbelMessageSpillStore spillStore;
+
+  private static final Comparator<SpilledMessage> SPILLED_TIMESTAMP_SEQ_COMPARATOR =
+      Comparator.<SpilledMessage, ZonedDateTime>comparing(
+              SpilledMessage::getTransmissionTime,
+              Comparator.nullsLast(Comparator.<ZonedDateTime>naturalOrder()))
+          .thenComparingLong(SpilledMessage::getSequenceNumber);
+
+  private final ConcurrentNavigableMap<Long, SpilledMessage> spilledMessages =
+      new ConcurrentSkipListMap<>();
+  private final Map<String, SpilledMessage> spilledMessageByUuid = new ConcurrentHashMap<>();
+  private final NavigableSet<SpilledMessage> timestampSortedSpilledMessages =
+      new ConcurrentSkipListSet<>(SPILLED_TIMESTAMP_SEQ_COMPARATOR);
+  private final Map<String, RbelElement> reloadedMessages =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RbelElement> eldest) {
+          return size() > RELOADED_MESSAGE_CACHE_SIZE;
+        }
+      };
   @Getter private final KnownUuidsContainer knownMessageUuids;
   private final RbelMultiMap<CompletableFuture<RbelElement>> messagesWaitingForCompletion =
       new RbelMultiMap<>();
 
-  private final List<Runnable> historyClearCallbacks = new LinkedList<>();
-  private final List<Consumer<RbelElement>> messageRemovedFromHistoryCallbacks = new LinkedList<>();
+  private final List<Runnable> historyClearCallbacks = new CopyOnWriteArrayList<>();
+  private final List<Consumer<RbelElement>> messageRemovedFromHistoryCallbacks =
+      new CopyOnWriteArrayList<>();
 
-  private long messageSequenceNumber = 0;
+  private volatile long messageSequenceNumber = 0;
   private final AtomicLong historyRevision = new AtomicLong(0);
 
-  @Getter private long currentBufferSize = 0;
+  @Getter private volatile long currentBufferSize = 0;
 
   public RbelMessageHistory(RbelConverter converter) {
+    this.converter = converter;
     this.manageBuffer = converter.manageBuffer;
     this.rbelBufferSizeInMb = converter.rbelBufferSizeInMb;
     this.knownMessageUuids = new KnownUuidsContainer(this);
+    this.spillStore = createSpillStore(converter);
+  }
+
+  private static RbelMessageSpillStore createSpillStore(RbelConverter converter) {
+    if (!converter.manageBuffer
+        || converter.rbelBufferSizeInMb <= 0
+        || converter.rbelSpillFileSizeInMb <= 0) {
+      return null;
+    }
+    try {
+      return new RbelMessageSpillStore(
+          Optional.ofNullable(converter.rbelSpillDirectory).map(Path::of).orElse(null),
+          converter.rbelSpillFileSizeInMb * 1024L * 1024);
+    } catch (IOException e) {
+      log.warn("Unable to create spill store, messages exceeding the buffer will be dropped", e);
+      return null;
+    }
   }
 
   /**
@@ -79,11 +144,21 @@ public class RbelMessageHistory {
    * of sequence numbers.
    */
   public MessageHistory getMessageHistory() {
-    return new MessageHistoryImpl(false);
+    return new MessageHistoryImpl(false, false);
   }
 
   public MessageHistory getMessageHistoryAsync() {
-    return new MessageHistoryImpl(true);
+    return new MessageHistoryImpl(true, false);
+  }
+
+  /**
+   * Returns a view of the parsed messages for listing and filtering them. Messages which were
+   * spilled to disk are neither read nor parsed again. They are represented by a view which only
+   * carries their metadata and is marked with a {@link RbelSpilledMessageViewFacet}. The fully
+   * parsed message is obtained via {@link #findMessageByUuid(String)}.
+   */
+  public MessageHistory getMessageListing() {
+    return new MessageHistoryImpl(false, true);
   }
 
   public void addClearHistoryCallback(Runnable runnable) {
@@ -100,6 +175,7 @@ public class RbelMessageHistory {
     knownMessageUuids.markAsConverted(rbelElement.getUuid());
     messageHistory.put(seqNumber, rbelElement);
     messageByUuid.put(rbelElement.getUuid(), rbelElement);
+    addToConnectionIndex(seqNumber, rbelElement);
 
     rbelElement.addOrReplaceFacet(
         RbelMessageTimingFacet.builder().transmissionTime(transmissionTime).build());
@@ -145,6 +221,7 @@ public class RbelMessageHistory {
         messageByUuid.clear();
         unfinishedMessages.clear();
         timestampSortedMessages.clear();
+        clearConnectionIndex();
         bumpHistoryRevision();
       }
       if (rbelBufferSizeInMb > 0) {
@@ -157,16 +234,21 @@ public class RbelMessageHistory {
         }
         boolean removedMessages = false;
         while (exceedingLimit > 0 && !messageHistory.isEmpty()) {
-          log.trace("Exceeded buffer size, dropping oldest message in history");
           final RbelElement messageToDrop = messageHistory.pollFirstEntry().getValue();
-          messageRemovedFromHistoryCallbacks.forEach(h -> h.accept(messageToDrop));
           exceedingLimit -= messageToDrop.getSize();
           currentBufferSize -= messageToDrop.getSize();
-          knownMessageUuids.remove(messageToDrop.getUuid());
           messageByUuid.remove(messageToDrop.getUuid());
+          removeFromConnectionIndex(messageToDrop);
           messageToDrop.getSequenceNumber().ifPresent(unfinishedMessages::remove);
           timestampSortedMessages.remove(messageToDrop);
           messageToDrop.removeFacetMetadataUpdateListener(this::bumpHistoryRevision);
+          if (spillMessage(messageToDrop)) {
+            log.trace("Exceeded buffer size, spilled oldest message in history to disk");
+          } else {
+            log.trace("Exceeded buffer size, dropping oldest message in history");
+            messageRemovedFromHistoryCallbacks.forEach(h -> h.accept(messageToDrop));
+            knownMessageUuids.remove(messageToDrop.getUuid());
+          }
           removedMessages = true;
         }
         if (removedMessages) {
@@ -176,12 +258,197 @@ public class RbelMessageHistory {
     }
   }
 
+  /**
+   * Moves the given message into the spill store. Returns false if no spill store is configured or
+   * the message could not be written, in which case the message is dropped.
+   */
+  private boolean spillMessage(RbelElement message) {
+    if (spillStore == null || message.getSequenceNumber().isEmpty()) {
+      return false;
+    }
+    final ZonedDateTime transmissionTime =
+        message
+            .getFacet(RbelMessageTimingFacet.class)
+            .map(RbelMessageTimingFacet::getTransmissionTime)
+            .orElse(null);
+    final Optional<SpilledMessage> spilledMessage;
+    try {
+      spilledMessage =
+          spillStore.spill(
+              message, transmissionTime, message.hasFacet(RbelNonTransmissionMarkerFacet.class));
+    } catch (IOException e) {
+      log.warn("Unable to spill message {} to disk, dropping it", message.getUuid(), e);
+      return false;
+    }
+    spilledMessage.ifPresent(
+        spilled -> {
+          spilledMessages.put(spilled.getSequenceNumber(), spilled);
+          spilledMessageByUuid.put(spilled.getUuid(), spilled);
+          timestampSortedSpilledMessages.add(spilled);
+          dropUnavailableSpilledMessages();
+        });
+    return spilledMessage.isPresent();
+  }
+
+  /** Removes the messages whose segment was deleted because the spill store exceeded its size. */
+  private void dropUnavailableSpilledMessages() {
+    Map.Entry<Long, SpilledMessage> oldest;
+    while ((oldest = spilledMessages.firstEntry()) != null && !oldest.getValue().isAvailable()) {
+      final SpilledMessage spilled = oldest.getValue();
+      removeSpilledMessage(spilled);
+      // the parsed message is gone, the callbacks only get to see its uuid and sequence number
+      final RbelElement placeholder = createPlaceholder(spilled);
+      messageRemovedFromHistoryCallbacks.forEach(h -> h.accept(placeholder));
+      knownMessageUuids.remove(spilled.getUuid());
+    }
+  }
+
+  private void removeSpilledMessage(SpilledMessage spilled) {
+    spilledMessages.remove(spilled.getSequenceNumber());
+    spilledMessageByUuid.remove(spilled.getUuid());
+    timestampSortedSpilledMessages.remove(spilled);
+    synchronized (reloadedMessages) {
+      reloadedMessages.remove(spilled.getUuid());
+    }
+  }
+
+  private static RbelElement createPlaceholder(SpilledMessage spilled) {
+    final RbelElement placeholder =
+        new RbelElement(spilled.getUuid(), new byte[0], null, Optional.empty());
+    placeholder.setSequenceNumber(spilled.getSequenceNumber());
+    placeholder.setConversionPhase(RbelConversionPhase.DELETED);
+    return placeholder;
+  }
+
+  /**
+   * Reads a spilled message from disk and parses it again. Recently reloaded messages are cached,
+   * so repeated lookups return the same element.
+   */
+  private Optional<RbelElement> reloadSpilledMessage(SpilledMessage spilled) {
+    synchronized (reloadedMessages) {
+      final RbelElement cached = reloadedMessages.get(spilled.getUuid());
+      if (cached != null) {
+        return Optional.of(cached);
+      }
+    }
+    final Optional<RbelElement> reloaded =
+        spillStore
+            .readMessage(spilled)
+            .map(
+                read ->
+                    converter.reparseSpilledMessage(
+                        read.message(),
+                        read.metadata(),
+                        spilled.getSequenceNumber(),
+                        spilled.getTransmissionTime()));
+    if (reloaded.isEmpty()) {
+      return Optional.empty();
+    }
+    final RbelElement concurrentlyReloaded;
+    synchronized (reloadedMessages) {
+      concurrentlyReloaded = reloadedMessages.putIfAbsent(spilled.getUuid(), reloaded.get());
+    }
+    if (concurrentlyReloaded != null) {
+      return Optional.of(concurrentlyReloaded);
+    }
+    restorePairing(reloaded.get());
+    return reloaded;
+  }
+
+  private RbelElement reloadSpilledMessageOrPlaceholder(SpilledMessage spilled) {
+    return reloadSpilledMessage(spilled).orElseGet(() -> createPlaceholder(spilled));
+  }
+
+  /**
+   * The partner of a message is stored in its metadata. Since the partner is looked up via {@link
+   * #findMessageByUuid(String)}, a spilled partner is reloaded as well and pairs itself with the
+   * (already cached) message.
+   */
+  private void restorePairing(RbelElement message) {
+    message
+        .getFacet(RbelMessageMetadata.class)
+        .flatMap(RbelMessageMetadata::getPairedMessage)
+        .flatMap(this::findMessageByUuid)
+        .ifPresent(
+            partner -> {
+              final boolean messageIsRequest =
+                  message.hasFacet(RbelRequestFacet.class)
+                      || (!partner.hasFacet(RbelRequestFacet.class)
+                          && message.getSequenceNumber().orElse(Long.MAX_VALUE)
+                              < partner.getSequenceNumber().orElse(Long.MAX_VALUE));
+              message.addOrReplaceFacet(
+                  messageIsRequest
+                      ? new TracingMessagePairFacet(partner, message)
+                      : new TracingMessagePairFacet(message, partner));
+            });
+  }
+
+  private Stream<RbelElement> reloadSpilledMessages(Collection<SpilledMessage> spilled) {
+    return spilled.stream().map(this::reloadSpilledMessage).flatMap(Optional::stream);
+  }
+
+  /** Returns the number of messages which are currently held in the spill store. */
+  public int getSpilledMessageCount() {
+    return spilledMessageByUuid.size();
+  }
+
+  private void addToConnectionIndex(long seqNumber, RbelElement rbelElement) {
+    findConnectionIdentifier(rbelElement)
+        .ifPresent(
+            connection -> {
+              connectionByUuid.put(rbelElement.getUuid(), connection);
+              messagesByConnection.compute(
+                  connection.indexKey(),
+                  (key, connectionMessages) -> {
+                    final ConcurrentNavigableMap<Long, RbelElement> messages =
+                        connectionMessages != null
+                            ? connectionMessages
+                            : new ConcurrentSkipListMap<>();
+                    messages.put(seqNumber, rbelElement);
+                    return messages;
+                  });
+            });
+  }
+
+  private void removeFromConnectionIndex(RbelElement rbelElement) {
+    final TcpIpConnectionIdentifier connection = connectionByUuid.remove(rbelElement.getUuid());
+    if (connection == null) {
+      return;
+    }
+    messagesByConnection.computeIfPresent(
+        connection.indexKey(),
+        (key, connectionMessages) -> {
+          rbelElement.getSequenceNumber().ifPresent(connectionMessages::remove);
+          return connectionMessages.isEmpty() ? null : connectionMessages;
+        });
+  }
+
+  private void clearConnectionIndex() {
+    messagesByConnection.clear();
+    connectionByUuid.clear();
+  }
+
+  private static Optional<TcpIpConnectionIdentifier> findConnectionIdentifier(
+      RbelElement rbelElement) {
+    return rbelElement
+        .getFacet(RbelTcpIpMessageFacet.class)
+        .map(RbelTcpIpMessageFacet::getTcpIpConnectionIdentifier);
+  }
+
   public Stream<RbelElement> messagesStreamLatestFirst() {
-    return messageHistory.descendingMap().values().stream();
+    return Stream.concat(
+        messageHistory.descendingMap().values().stream(),
+        reloadSpilledMessages(spilledMessages.descendingMap().values()));
   }
 
-  public synchronized Optional<RbelElement> findMessageByUuid(String uuid) {
-    return Optional.ofNullable(messageByUuid.get(uuid));
+  /** Finds a message in the history. Messages which were spilled to disk are parsed again. */
+  public Optional<RbelElement> findMessageByUuid(String uuid) {
+    final RbelElement message = messageByUuid.get(uuid);
+    if (message != null || spilledMessageByUuid.isEmpty()) {
+      return Optional.ofNullable(message);
+    }
+    return Optional.ofNullable(spilledMessageByUuid.get(uuid))
+        .flatMap(this::reloadSpilledMessage);
   }
 
   public Collection<RbelElement> getMessagesNewerThan(String lastMsgUuid) {
@@ -197,10 +464,36 @@ public class RbelMessageHistory {
         .orElseGet(getMessageHistory()::getMessages);
   }
 
+  /**
+   * Returns the messages with a sequence number greater than the given one, in sequence order.
+   * Messages which were spilled to disk are included.
+   */
+  public List<RbelElement> getMessagesAfterSequenceNumber(long sequenceNumber) {
+    final RbelElement anchor = new RbelElement();
+    anchor.setSequenceNumber(sequenceNumber);
+    final Collection<RbelElement> messages =
+        getMessageHistory().getMessagesAfter(anchor, false, MessageSortOrder.SEQUENCE);
+    return messages instanceof List<RbelElement> list ? list : List.copyOf(messages);
+  }
+
+  /**
+   * Returns the lowest sequence number still available in the history (including spilled
+   * messages), or empty if the history is empty.
+   */
+  public Optional<Long> getFirstAvailableSequenceNumber() {
+    final Optional<Long> firstSpilled =
+        Optional.ofNullable(spilledMessages.firstEntry()).map(Map.Entry::getKey);
+    if (firstSpilled.isPresent()) {
+      return firstSpilled;
+    }
+    return Optional.ofNullable(messageHistory.firstEntry()).map(Map.Entry::getKey);
+  }
+
   public synchronized void clearAllMessages() {
-    if (messageHistory.isEmpty()) {
+    if (messageHistory.isEmpty() && spilledMessages.isEmpty()) {
       return;
     }
+    clearSpilledMessages();
     messageHistory
         .values()
         .forEach(msg -> msg.removeFacetMetadataUpdateListener(this::bumpHistoryRevision));
@@ -210,21 +503,46 @@ public class RbelMessageHistory {
     messageByUuid.clear();
     unfinishedMessages.clear();
     timestampSortedMessages.clear();
+    clearConnectionIndex();
     historyClearCallbacks.forEach(Runnable::run);
     bumpHistoryRevision();
   }
 
+  private void clearSpilledMessages() {
+    if (spillStore == null) {
+      return;
+    }
+    spilledMessages.clear();
+    spilledMessageByUuid.clear();
+    timestampSortedSpilledMessages.clear();
+    synchronized (reloadedMessages) {
+      reloadedMessages.clear();
+    }
+    try {
+      spillStore.clear();
+    } catch (IOException e) {
+      log.warn("Unable to delete the spill files in {}", spillStore.getDirectory(), e);
+    }
+  }
+
   public synchronized void removeMessage(RbelElement rbelMessage) {
     log.trace("Removing message {}", rbelMessage.getUuid());
     rbelMessage
         .getSequenceNumber()
         .ifPresent(
             seq -> {
-              if (messageHistory.remove(seq) != null) {
+              final SpilledMessage spilled = spilledMessages.get(seq);
+              if (spilled != null) {
+                removeSpilledMessage(spilled);
+                messageRemovedFromHistoryCallbacks.forEach(r -> r.accept(rbelMessage));
+                knownMessageUuids.remove(rbelMessage.getUuid());
+                bumpHistoryRevision();
+              } else if (messageHistory.remove(seq) != null) {
                 messageRemovedFromHistoryCallbacks.forEach(r -> r.accept(rbelMessage));
                 currentBufferSize -= rbelMessage.getSize();
                 knownMessageUuids.remove(rbelMessage.getUuid());
                 messageByUuid.remove(rbelMessage.getUuid());
+                removeFromConnectionIndex(rbelMessage);
                 unfinishedMessages.remove(seq);
                 timestampSortedMessages.remove(rbelMessage);
                 rbelMessage.removeFacetMetadataUpdateListener(this::bumpHistoryRevision);
@@ -248,13 +566,9 @@ public class RbelMessageHistory {
                     Optional.ofNullable(element.getUuid())
                         .flatMap(this::findMessageByUuid)
                         .flatMap(RbelElement::getSequenceNumber));
-    List<RbelElement> messagesToWaitFor;
-    synchronized (this) {
-      SortedMap<Long, RbelElement> precedingMessages =
-          seqNumber.map(unfinishedMessages::headMap).orElse(unfinishedMessages);
-      messagesToWaitFor = new ArrayList<>(precedingMessages.values());
-    }
-    waitForGivenMessagesToBeParsed(messagesToWaitFor);
+    SortedMap<Long, RbelElement> precedingMessages =
+        seqNumber.map(unfinishedMessages::headMap).orElse(unfinishedMessages);
+    waitForGivenMessagesToBeParsed(new ArrayList<>(precedingMessages.values()));
   }
 
   public void waitForAllCurrentMessagesToBeParsed() {
@@ -326,7 +640,7 @@ public class RbelMessageHistory {
     }
   }
 
-  public synchronized Stream<RbelElement> getPreviousMessages(
+  public Stream<RbelElement> getPreviousMessages(
       RbelElement targetElement, Predicate<RbelElement> additionalFilter) {
     NavigableMap<Long, RbelElement> reverseHistory = messageHistory.descendingMap();
     return targetElement
@@ -339,11 +653,54 @@ public class RbelMessageHistory {
         .filter(additionalFilter);
   }
 
-  public synchronized Optional<RbelElement> findPreviousMessage(
+  public Optional<RbelElement> findPreviousMessage(
       RbelElement targetElement, Predicate<RbelElement> additionalFilter) {
     return getPreviousMessages(targetElement, additionalFilter).findFirst();
   }
 
+  /**
+   * Returns the messages preceding the given element which were exchanged over the same TCP/IP
+   * connection, latest first. Only the messages of connections between the same ports are visited,
+   * so the cost does not depend on the overall size of the history. The index is keyed by ports
+   * only, since the addresses of the same connection may be recorded by hostname or by IP.
+   *
+   * <p>If the connection of the target element has been rewritten after it was added to the
+   * history (e.g. by normalizing the addresses of a websocket session), the lookup falls back to
+   * scanning the complete history.
+   */
+  public Stream<RbelElement> getPreviousMessagesInSameConnection(
+      RbelElement targetElement, Predicate<RbelElement> additionalFilter) {
+    final Optional<TcpIpConnectionIdentifier> connection = findConnectionIdentifier(targetElement);
+    if (connection.isEmpty()) {
+      return Stream.empty();
+    }
+    final Predicate<RbelElement> sameConnectionFilter =
+        msg -> RbelTcpIpMessageFacet.haveSameConnection(msg, targetElement);
+    if (!connection.get().equals(connectionByUuid.get(targetElement.getUuid()))) {
+      return getPreviousMessages(targetElement, sameConnectionFilter.and(additionalFilter));
+    }
+    final NavigableMap<Long, RbelElement> connectionHistory =
+        messagesByConnection.get(connection.get().indexKey());
+    if (connectionHistory == null) {
+      return Stream.empty();
+    }
+    final NavigableMap<Long, RbelElement> reverseConnectionHistory =
+        connectionHistory.descendingMap();
+    return targetElement
+        .getSequenceNumber()
+        .map(seq -> reverseConnectionHistory.tailMap(seq, false))
+        .orElse(reverseConnectionHistory)
+        .values()
+        .stream()
+        .filter(sameConnectionFilter)
+        .filter(additionalFilter);
+  }
+
+  public Optional<RbelElement> findPreviousMessageInSameConnection(
+      RbelElement targetElement, Predicate<RbelElement> additionalFilter) {
+    return getPreviousMessagesInSameConnection(targetElement, additionalFilter).findFirst();
+  }
+
   public static List<RbelElement> getLongestFinishedMessagesPrefix(Stream<RbelElement> elements) {
     return elements.takeWhile(e -> e.getConversionPhase().isFinished()).toList();
   }
@@ -433,10 +790,13 @@ public class RbelMessageHistory {
   @AllArgsConstructor
   public class MessageHistoryImpl implements MessageHistory {
     private final boolean allowUnparsedMessagesToAppearInFacade;
+    private final boolean listSpilledMessagesAsViews;
 
     @Override
     public RbelElement getFirst() {
-      return messageHistory.firstEntry().getValue();
+      return loadSpilledMessages(spilledMessages.values())
+          .findFirst()
+          .orElseGet(() -> messageHistory.firstEntry().getValue());
     }
 
     @Override
@@ -458,55 +818,103 @@ public class RbelMessageHistory {
     public boolean contains(Object o) {
       if (o instanceof RbelElement element) {
         waitForGivenElementToBeParsed(element);
-        synchronized (RbelMessageHistory.this) {
-          return element.getSequenceNumber().map(messageHistory::containsKey).orElse(false);
-        }
+        return element
+            .getSequenceNumber()
+            .map(seq -> messageHistory.containsKey(seq) || spilledMessages.containsKey(seq))
+            .orElse(false);
       }
       return false;
     }
 
     @Override
     public boolean containsAll(@NonNull Collection<?> c) {
-      synchronized (RbelMessageHistory.this) {
-        return c.stream().allMatch(this::contains);
-      }
+      return c.stream().allMatch(this::contains);
     }
 
     @Override
     public int size() {
-      return messageHistory.size();
+      // ConcurrentSkipListMap.size() traverses the whole map, the hash maps keep a counter
+      return messageByUuid.size() + spilledMessageByUuid.size();
     }
 
     @Override
     public boolean isEmpty() {
-      return messageHistory.isEmpty();
+      return messageHistory.isEmpty() && spilledMessages.isEmpty();
     }
 
     @Override
     public @NonNull Iterator<RbelElement> iterator() {
+      if (spilledMessages.isEmpty()) {
+        return new ImmutableIteratorFacade(
+            allowUnparsedMessagesToAppearInFacade, messageHistory.values().iterator());
+      }
+      // spilled messages are only loaded when the iterator reaches them
       return new ImmutableIteratorFacade(
-          allowUnparsedMessagesToAppearInFacade, messageHistory.values().iterator());
+          allowUnparsedMessagesToAppearInFacade,
+          Stream.concat(
+                  loadSpilledMessages(spilledMessages.values()), messageHistory.values().stream())
+              .iterator());
     }
 
     @Override
     public @NonNull Iterator<RbelElement> descendingIterator() {
       return new ImmutableIteratorFacade(
-          allowUnparsedMessagesToAppearInFacade,
-          messageHistory.descendingMap().values().iterator());
+          allowUnparsedMessagesToAppearInFacade, streamLatestFirst().iterator());
+    }
+
+    private Stream<RbelElement> streamLatestFirst() {
+      return Stream.concat(
+          messageHistory.descendingMap().values().stream(),
+          loadSpilledMessages(spilledMessages.descendingMap().values()));
+    }
+
+    private Stream<RbelElement> loadSpilledMessages(Collection<SpilledMessage> spilled) {
+      return listSpilledMessagesAsViews
+          ? spilled.stream()
+              .filter(SpilledMessage::isAvailable)
+              .map(converter::createSpilledMessageView)
+          : reloadSpilledMessages(spilled);
+    }
+
+    private RbelElement loadSpilledMessage(SpilledMessage spilled) {
+      return listSpilledMessagesAsViews
+          ? converter.createSpilledMessageView(spilled)
+          : reloadSpilledMessageOrPlaceholder(spilled);
+    }
+
+    private List<RbelElement> withSpilledMessages(
+        List<SpilledMessage> spilled, List<RbelElement> residentMessages) {
+      return spilled.isEmpty()
+          ? residentMessages
+          : new SpilledAndResidentMessages(spilled, residentMessages, this::loadSpilledMessage);
+    }
+
+    private Collection<RbelElement> withSpilledMessages(
+        List<SpilledMessage> spilled, Collection<RbelElement> residentMessages) {
+      return spilled.isEmpty()
+          ? residentMessages
+          : new SpilledAndResidentMessages(
+              spilled, List.copyOf(residentMessages), this::loadSpilledMessage);
     }
 
     @Override
     public Object[] toArray() {
-      synchronized (RbelMessageHistory.this) {
-        return messageHistory.values().toArray();
-      }
+      return getAllMessages().toArray();
     }
 
     @Override
     public Object[] toArray(Object[] a) {
-      synchronized (RbelMessageHistory.this) {
-        return messageHistory.values().toArray(a);
+      return getAllMessages().toArray(a);
+    }
+
+    private Collection<RbelElement> getAllMessages() {
+      if (spilledMessages.isEmpty()) {
+        return messageHistory.values();
       }
+      return new SpilledAndResidentMessages(
+          List.copyOf(spilledMessages.values()),
+          List.copyOf(messageHistory.values()),
+          this::loadSpilledMessage);
     }
 
     @Override
@@ -523,26 +931,36 @@ public class RbelMessageHistory {
     public Collection<RbelElement> getMessagesAfter(
         RbelElement element, boolean includeElement, MessageSortOrder sortOrder) {
       if (sortOrder != MessageSortOrder.TIMESTAMP) {
-        synchronized (RbelMessageHistory.this) {
-          var candidates =
-              element
-                  .getSequenceNumber()
-                  .map(seqNr -> messageHistory.tailMap(seqNr, includeElement).values())
-                  .orElseGet(messageHistory::values);
-          if (!allowUnparsedMessagesToAppearInFacade) {
-            candidates = getLongestFinishedMessagesPrefix(candidates.stream());
-          }
-          return candidates;
-        }
-      }
-      synchronized (RbelMessageHistory.this) {
-        Collection<RbelElement> candidates =
-            timestampSortedMessages.tailSet(element, includeElement);
+        var candidates =
+            element
+                .getSequenceNumber()
+                .map(seqNr -> messageHistory.tailMap(seqNr, includeElement).values())
+                .orElseGet(messageHistory::values);
         if (!allowUnparsedMessagesToAppearInFacade) {
           candidates = getLongestFinishedMessagesPrefix(candidates.stream());
         }
-        return candidates;
+        final List<SpilledMessage> spilledCandidates =
+            element
+                .getSequenceNumber()
+                .map(seqNr -> spilledMessages.tailMap(seqNr, includeElement).values())
+                .orElseGet(spilledMessages::values)
+                .stream()
+                .toList();
+        return withSpilledMessages(spilledCandidates, candidates);
       }
+      Collection<RbelElement> candidates = timestampSortedMessages.tailSet(element, includeElement);
+      if (!allowUnparsedMessagesToAppearInFacade) {
+        candidates = getLongestFinishedMessagesPrefix(candidates.stream());
+      }
+      final List<SpilledMessage> spilledCandidates =
+          timestampSortedSpilledMessages.stream()
+              .filter(
+                  spilled -> {
+                    final int comparison = compareToMessage(spilled, element);
+                    return comparison > 0 || (includeElement && comparison == 0);
+                  })
+              .toList();
+      return withSpilledMessages(spilledCandidates, candidates);
     }
 
     @Override
@@ -550,32 +968,79 @@ public class RbelMessageHistory {
       if (!allowUnparsedMessagesToAppearInFacade) {
         waitForAllCurrentMessagesToBeParsed();
       }
-      return Collections.unmodifiableCollection(messageHistory.values());
+      return Collections.unmodifiableCollection(getAllMessages());
     }
 
     @Override
     public List<RbelElement> getMessagesByOrder() {
-      synchronized (RbelMessageHistory.this) {
-        return getLongestFinishedMessagesPrefix(
-            messageHistory.values().stream()
-                .filter(e -> !e.hasFacet(RbelNonTransmissionMarkerFacet.class)));
-      }
+      return withSpilledMessages(
+          spilledMessages.values().stream()
+              .filter(spilled -> !spilled.isNonTransmission())
+              .toList(),
+          getLongestFinishedMessagesPrefix(
+              messageHistory.values().stream()
+                  .filter(e -> !e.hasFacet(RbelNonTransmissionMarkerFacet.class))));
     }
 
+    /**
+     * Returns the parsed messages in ascending order of transmission timestamps. Messages spilled
+     * to disk precede the messages held in memory.
+     */
     @Override
     public List<RbelElement> getMessagesByTimestamp() {
-      synchronized (RbelMessageHistory.this) {
-        return getLongestFinishedMessagesPrefix(
-            timestampSortedMessages.stream()
-                .filter(e -> !e.hasFacet(RbelNonTransmissionMarkerFacet.class)));
-      }
+      return withSpilledMessages(
+          timestampSortedSpilledMessages.stream()
+              .filter(spilled -> !spilled.isNonTransmission())
+              .toList(),
+          getLongestFinishedMessagesPrefix(
+              timestampSortedMessages.stream()
+                  .filter(e -> !e.hasFacet(RbelNonTransmissionMarkerFacet.class))));
     }
 
     @Override
     public Optional<RbelElement> findLast(Predicate<RbelElement> filter) {
-      synchronized (RbelMessageHistory.this) {
-        return messageHistory.descendingMap().values().stream().filter(filter).findFirst();
-      }
+      return streamLatestFirst().filter(filter).findFirst();
+    }
+  }
+
+  private static int compareToMessage(SpilledMessage spilled, RbelElement message) {
+    final ZonedDateTime transmissionTime =
+        message
+            .getFacet(RbelMessageTimingFacet.class)
+            .map(RbelMessageTimingFacet::getTransmissionTime)
+            .orElse(null);
+    final int byTimestamp =
+        Comparator.nullsLast(Comparator.<ZonedDateTime>naturalOrder())
+            .compare(spilled.getTransmissionTime(), transmissionTime);
+    return byTimestamp != 0
+        ? byTimestamp
+        : Long.compare(
+            spilled.getSequenceNumber(), message.getSequenceNumber().orElse(Long.MAX_VALUE));
+  }
+
+  /**
+   * Immutable list of spilled messages followed by messages held in memory. Spilled messages are
+   * only loaded when they are accessed, so paging through the list (e.g. using {@link
+   * List#subList(int, int)}) only loads the requested messages.
+   */
+  @AllArgsConstructor
+  private static class SpilledAndResidentMessages extends AbstractList<RbelElement>
+      implements RandomAccess {
+
+    private final List<SpilledMessage> spilled;
+    private final List<RbelElement> residentMessages;
+    private final Function<SpilledMessage, RbelElement> spilledMessageLoader;
+
+    @Override
+    public RbelElement get(int index) {
+      return index < spilled.size()
+          ? spilledMessageLoader.apply(spilled.get(index))
+          : residentMessages.get(index - spilled.size());
+    }
+
+    @Override
+    public int size() {
+      return spilled.size() + residentMessages.size();
     }
   }
 
@@ -30,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Optional;
 import lombok.Builder;
+import lombok.val;
 
 public class RbelFileReaderCapturer extends RbelCapturer {
 
@@ -43,10 +44,8 @@ public class RbelFileReaderCapturer extends RbelCapturer {
 
   @Override
   public RbelCapturer initialize() {
-    try {
-      new RbelFileReader(getRbelConverter())
-          .convertFromRbelFile(
-              Files.readString(Paths.get(rbelFile), StandardCharsets.UTF_8), Optional.empty());
+    try (val reader = Files.newBufferedReader(Paths.get(rbelFile), StandardCharsets.UTF_8)) {
+      new RbelFileReader(getRbelConverter()).convertFromRbelFile(reader, Optional.empty(), null);
       return this;
     } catch (UncheckedIOException | IOException e) {
       throw new RbelFileIoException(
@@ -52,6 +52,10 @@ public class RbelConfiguration {
   @Builder.Default private int rbelBufferSizeInMb = 1024;
   @Builder.Default private int skipParsingWhenMessageLargerThanKb = 16_000;
   @Builder.Default private boolean manageBuffer = false;
+  @Builder.Default private int rbelSpillFileSizeInMb = 0;
+  private String rbelSpillDirectory;
+  @Builder.Default private boolean profileConversion = false;
+  @Builder.Default private boolean lazyParsing = false;
   private Boolean lenientHttpParsing;
 
   public RbelConfiguration addPostConversionListener(RbelConverterPlugin listener) {
@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.converter;
+
+import de.gematik.rbellogger.RbelConverterPlugin;
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.BitSet;
+import javax.annotation.Nullable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Cheap preconditions a {@link RbelConverterPlugin} declares for the content it is able to convert.
+ * The converter uses them to skip plugins for elements they cannot apply to. They have to be
+ * conservative: content the plugin would convert must never be excluded.
+ */
+@EqualsAndHashCode
+@ToString
+public final class PluginApplicability {
+
+  public static final PluginApplicability ANY_CONTENT = new PluginApplicability(null, 0);
+
+  /** Possible unsigned values of the first byte, null if any first byte is possible. */
+  @Nullable private final BitSet possibleFirstBytes;
+
+  @Getter private final int minimumSize;
+
+  private PluginApplicability(@Nullable BitSet possibleFirstBytes, int minimumSize) {
+    this.possibleFirstBytes = possibleFirstBytes;
+    this.minimumSize = minimumSize;
+  }
+
+  public static PluginApplicability withMinimumSize(int minimumSize) {
+    return new PluginApplicability(null, minimumSize);
+  }
+
+  public static PluginApplicability startingWith(char... firstBytes) {
+    return ANY_CONTENT.orStartingWith(firstBytes);
+  }
+
+  /**
+   * Content starting with one of the given bytes, possibly preceded by whitespace as defined by
+   * {@link RbelContent#startsTrimmedWith(byte[])}.
+   */
+  public static PluginApplicability startingWithAfterWhitespace(char... firstBytes) {
+    final BitSet whitespace = new BitSet(256);
+    for (int b = 0; b < 128; b++) {
+      if (Character.isWhitespace(b)) {
+        whitespace.set(b);
+      }
+    }
+    return startingWith(firstBytes).orStartingWith(whitespace);
+  }
+
+  /** Content whose first byte lies in the given range of unsigned byte values (inclusive). */
+  public static PluginApplicability startingInRange(int fromUnsignedByte, int toUnsignedByte) {
+    final BitSet range = new BitSet(256);
+    range.set(fromUnsignedByte, toUnsignedByte + 1);
+    return ANY_CONTENT.orStartingWith(range);
+  }
+
+  public PluginApplicability orStartingWith(char... firstBytes) {
+    final BitSet additionalBytes = new BitSet(256);
+    for (char firstByte : firstBytes) {
+      additionalBytes.set(firstByte & 0xFF);
+    }
+    return orStartingWith(additionalBytes);
+  }
+
+  private PluginApplicability orStartingWith(BitSet additionalBytes) {
+    final BitSet union = new BitSet(256);
+    if (possibleFirstBytes != null) {
+      union.or(possibleFirstBytes);
+    }
+    union.or(additionalBytes);
+    return new PluginApplicability(union, minimumSize);
+  }
+
+  public PluginApplicability andMinimumSize(int size) {
+    return new PluginApplicability(possibleFirstBytes, Math.max(minimumSize, size));
+  }
+
+  public boolean restrictsFirstByte() {
+    return possibleFirstBytes != null;
+  }
+
+  public boolean canStartWith(int unsignedByte) {
+    return possibleFirstBytes == null || possibleFirstBytes.get(unsignedByte);
+  }
+
+  public boolean canApplyTo(RbelContent content) {
+    if (content.size() < minimumSize) {
+      return false;
+    }
+    if (content.isEmpty()) {
+      return !restrictsFirstByte();
+    }
+    return canStartWith(content.get(0) & 0xFF);
+  }
+}
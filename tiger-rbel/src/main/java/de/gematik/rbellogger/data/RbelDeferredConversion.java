@@ -0,0 +1,98 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.data;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Conversion of an {@link RbelElement} that is postponed until the facets of the element are read
+ * for the first time. Reads from within a running conversion of the same message do not trigger
+ * it: plugins traversing a message at ingest would otherwise convert every deferred element right
+ * away. A deferred element converts its own subtree once it is materialized, so nothing is lost for
+ * these plugins. Reads of other messages (e.g. while pairing or looking up keys) do materialize.
+ */
+public final class RbelDeferredConversion {
+
+  private static final ThreadLocal<Deque<RbelElement>> CONVERTING_MESSAGES =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  private final Runnable conversion;
+  private volatile boolean completed = false;
+  // guarded by this, set while the conversion runs to ignore reads of the converting thread
+  private boolean running = false;
+
+  RbelDeferredConversion(Runnable conversion) {
+    this.conversion = conversion;
+  }
+
+  /**
+   * Marks the current thread as converting the message the given element belongs to. Has to be
+   * paired with {@link #exitConversion()}.
+   */
+  public static void enterConversion(RbelElement element) {
+    CONVERTING_MESSAGES.get().push(element.findRootElement());
+  }
+
+  public static void exitConversion() {
+    CONVERTING_MESSAGES.get().pop();
+  }
+
+  static boolean isConversionRunningOnCurrentThread(RbelElement element) {
+    final Deque<RbelElement> convertingMessages = CONVERTING_MESSAGES.get();
+    if (convertingMessages.isEmpty()) {
+      return false;
+    }
+    final RbelElement message = element.findRootElement();
+    for (RbelElement convertingMessage : convertingMessages) {
+      if (convertingMessage == message) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean isCompleted() {
+    return completed;
+  }
+
+  /**
+   * Runs the conversion of the given element unless it already ran or the current thread is
+   * converting the message of the element. Concurrent callers wait until the conversion has
+   * finished.
+   */
+  void materialize(RbelElement element) {
+    if (completed || isConversionRunningOnCurrentThread(element)) {
+      return;
+    }
+    synchronized (this) {
+      if (completed || running) {
+        return;
+      }
+      running = true;
+      try {
+        conversion.run();
+      } finally {
+        completed = true;
+      }
+    }
+  }
+}
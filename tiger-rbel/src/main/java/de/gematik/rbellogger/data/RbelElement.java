@@ -63,6 +63,9 @@ public class RbelElement extends RbelPathAble {
 
   private final RbelElement parentNode;
   private final Queue<RbelFacet> facets = new ObservableQueue<>(this::triggerFacetMetadataUpdate);
+
+  @Getter(AccessLevel.NONE)
+  private volatile RbelDeferredConversion deferredConversion;
   @Setter private Optional<Charset> charset;
   @Setter private RbelConversionPhase conversionPhase = RbelConversionPhase.UNPARSED;
 
@@ -83,6 +86,14 @@ public class RbelElement extends RbelPathAble {
     facetMetadataUpdateListeners.remove(listener);
   }
 
+  /**
+   * Returns a counter which is incremented whenever a facet of this element or of one of its
+   * descendants changes.
+   */
+  public long getFacetMetadataVersion() {
+    return facetMetadataVersion.get();
+  }
+
   public void triggerFacetMetadataUpdate() {
     facetMetadataVersion.incrementAndGet();
     if (parentNode != null) {
@@ -92,6 +103,35 @@ public class RbelElement extends RbelPathAble {
     facetMetadataUpdateListeners.forEach(Runnable::run);
   }
 
+  /**
+   * Postpones the conversion of this element until its facets are read for the first time, see
+   * {@link RbelDeferredConversion}.
+   */
+  public void deferConversion(Runnable conversion) {
+    deferredConversion = new RbelDeferredConversion(conversion);
+  }
+
+  /** True if the conversion of this element has been postponed and did not run yet. */
+  public boolean isConversionDeferred() {
+    final RbelDeferredConversion deferred = deferredConversion;
+    return deferred != null && !deferred.isCompleted();
+  }
+
+  public Queue<RbelFacet> getFacets() {
+    return facets();
+  }
+
+  private Queue<RbelFacet> facets() {
+    final RbelDeferredConversion deferred = deferredConversion;
+    if (deferred != null) {
+      deferred.materialize(this);
+      if (deferred.isCompleted()) {
+        deferredConversion = null;
+      }
+    }
+    return facets;
+  }
+
   public byte[] getRawContent() {
     return content.isNull() ? null : content.toByteArray();
   }
@@ -237,7 +277,7 @@ public class RbelElement extends RbelPathAble {
   }
 
   public <T> Optional<T> getFacet(@NonNull Class<T> clazz) {
-    for (val facet : facets) {
+    for (val facet : facets()) {
       if (clazz.isAssignableFrom(facet.getClass())) {
         return Optional.of(clazz.cast(facet));
       }
@@ -250,7 +290,7 @@ public class RbelElement extends RbelPathAble {
     // and conversion.
     // for-each is not massively slower, BUT IT IS! leave as is if you don't do performance
     // verification.
-    for (Iterator<RbelFacet> iter = facets.iterator(); iter.hasNext(); ) {
+    for (Iterator<RbelFacet> iter = facets().iterator(); iter.hasNext(); ) {
       var entry = iter.next();
       if (entry != null && clazz.isAssignableFrom(entry.getClass())) {
         return true;
@@ -260,12 +300,12 @@ public class RbelElement extends RbelPathAble {
   }
 
   public RbelElement addFacet(RbelFacet facet) {
-    facets.add(facet);
+    facets().add(facet);
     return this;
   }
 
   public @NotNull Stream<Entry<String, RbelElement>> getChildNodesWithKeyStream() {
-    return facets.stream()
+    return facets().stream()
         .flatMap(facet -> facet.getChildElements().stream())
         .filter(e -> e.getValue() != null);
   }
@@ -311,7 +351,7 @@ public class RbelElement extends RbelPathAble {
 
   @Override
   public Optional<RbelElement> getFirst(String key) {
-    return facets.stream()
+    return facets().stream()
         .map(facet -> facet.getChildElements().get(key))
         .filter(Objects::nonNull)
         .findFirst();
@@ -326,7 +366,7 @@ public class RbelElement extends RbelPathAble {
 
   @Override
   public List<RbelElement> getAll(String key) {
-    return facets.stream()
+    return facets().stream()
         .flatMap(facet -> facet.getChildElements().getAll(key).stream())
         .filter(Objects::nonNull)
         .toList();
@@ -418,18 +458,18 @@ public class RbelElement extends RbelPathAble {
 
   public void addOrReplaceFacet(RbelFacet facet) {
     getFacet(facet.getClass()).ifPresent(facets::remove);
-    facets.add(facet);
+    facets().add(facet);
   }
 
   public void removeFacetsOfType(Class<? extends RbelFacet> facetClass) {
     final List<RbelFacet> facetsToBeRemoved =
-        facets.stream().filter(facetClass::isInstance).toList();
+        facets().stream().filter(facetClass::isInstance).toList();
     facetsToBeRemoved.forEach(facets::remove);
     facetsToBeRemoved.forEach(facet -> facet.facetRemovedCallback(this));
   }
 
   public void removeFacet(RbelFacet facet) {
-    facets.remove(facet);
+    facets().remove(facet);
     facet.facetRemovedCallback(this);
   }
 
@@ -467,7 +507,7 @@ public class RbelElement extends RbelPathAble {
   }
 
   public List<RbelNoteFacet> getNotes() {
-    return facets.stream()
+    return facets().stream()
         .flatMap(
             facet -> {
               if (facet instanceof RbelNestedFacet asRbelNestedFacet) {
@@ -512,7 +552,7 @@ public class RbelElement extends RbelPathAble {
   }
 
   public String printShortDescription() {
-    return facets.stream()
+    return facets().stream()
         .map(facet -> facet.printShortDescription(this))
         .filter(Optional::isPresent)
         .map(Optional::get)
@@ -29,6 +29,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
@@ -47,6 +48,11 @@ class RbelBaseValueFacet<T> implements RbelValueFacet<T> {
             return element.hasFacet(RbelValueFacet.class) && element.getFacets().size() == 1;
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelValueFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -0,0 +1,30 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.data.facet;
+
+import de.gematik.rbellogger.data.core.RbelFacet;
+
+/**
+ * Marker facet for listing views of messages which were spilled to disk. The view only carries the
+ * metadata of the message (sender, receiver, timing and menu info), not its content. The fully
+ * parsed message is obtained via {@code RbelMessageHistory#findMessageByUuid}.
+ */
+public class RbelSpilledMessageViewFacet implements RbelFacet {}
@@ -25,6 +25,7 @@ import static de.gematik.rbellogger.facets.pki.OidDictionary.buildAndAddAsn1OidF
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
 import de.gematik.rbellogger.converter.ConverterInfo;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.*;
 import de.gematik.rbellogger.util.RbelException;
@@ -67,6 +68,11 @@ import org.bouncycastle.asn1.DERPrintableString;
 @Slf4j
 public class RbelAsn1Converter extends RbelConverterPlugin {
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.withMinimumSize(3);
+  }
+
   @Override
   public void consumeElement(RbelElement rbelElement, RbelConversionExecutor context) {
     // Avoid re-parsing of ASN.1 structures already parsed by other converters.
@@ -35,6 +35,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import de.gematik.rbellogger.util.GenericPrettyPrinter;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 import lombok.Builder;
 import lombok.Getter;
@@ -63,6 +64,11 @@ public class RbelAsn1Facet implements RbelFacet {
             return element.hasFacet(RbelAsn1Facet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelAsn1Facet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -25,12 +25,14 @@ import static j2html.TagCreator.div;
 
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMultiMap;
+import de.gematik.rbellogger.data.core.RbelFacet;
 import de.gematik.rbellogger.data.core.RbelRequestFacet;
 import de.gematik.rbellogger.renderer.RbelHtmlFacetRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.*;
 
 @EqualsAndHashCode(callSuper = true)
@@ -46,6 +48,11 @@ public class RbelCetpFacet extends RbelRequestFacet {
             return element.hasFacet(RbelCetpFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelCetpFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -22,6 +22,7 @@ package de.gematik.rbellogger.facets.http;
 
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelNoteFacet;
 import de.gematik.rbellogger.data.core.RbelNoteFacet.NoteStyling;
@@ -35,6 +36,12 @@ public class RbelAuthorizationHeaderConverter extends RbelConverterPlugin {
   private static final byte[] DPOP_TOKEN_PREFIX = "DPoP ".getBytes(StandardCharsets.UTF_8);
   private static final byte[] BASIC_PREFIX = "Basic ".getBytes(StandardCharsets.UTF_8);
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingWith('B', 'b', 'D', 'd')
+        .andMinimumSize(DPOP_TOKEN_PREFIX.length);
+  }
+
   private static boolean startsWithAuthSchemeIgnoreCase(RbelContent content, byte[] scheme) {
     return content.startsWithIgnoreCase(scheme, StandardCharsets.UTF_8);
   }
@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
@@ -48,6 +49,11 @@ public class RbelBearerTokenFacet implements RbelFacet {
             return element.hasFacet(RbelBearerTokenFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelBearerTokenFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               final RbelElement element,
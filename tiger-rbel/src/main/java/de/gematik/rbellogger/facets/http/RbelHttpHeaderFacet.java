@@ -45,6 +45,11 @@ public class RbelHttpHeaderFacet implements RbelFacet, Map<String, RbelElement>
             return element.hasFacet(RbelHttpHeaderFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelHttpHeaderFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
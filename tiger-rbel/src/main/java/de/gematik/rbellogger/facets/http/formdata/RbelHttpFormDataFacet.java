@@ -30,6 +30,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 
@@ -44,6 +45,11 @@ public class RbelHttpFormDataFacet implements RbelFacet {
             return element.hasFacet(RbelHttpFormDataFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelHttpFormDataFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
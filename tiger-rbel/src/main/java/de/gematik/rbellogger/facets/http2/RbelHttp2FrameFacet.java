@@ -36,6 +36,7 @@ import j2html.tags.ContainerTag;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.val;
@@ -53,6 +54,11 @@ public class RbelHttp2FrameFacet implements RbelFacet {
             return element.hasFacet(RbelHttp2FrameFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelHttp2FrameFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit toolkit) {
@@ -117,7 +117,7 @@ public abstract class AbstractJacksonConverter<F extends RbelFacet> extends Rbel
       final RbelElement nestedElement = new RbelElement(node.binaryValue(), parentElement);
       nestedElement.addFacet(new RbelBinaryFacet());
       nestedElement.addFacet(new RbelNoteFacet("base64 encoded binary content"));
-      context.convertElement(nestedElement);
+      context.convertElementLazily(nestedElement);
       parentElement.addFacet(new RbelNestedFacet(nestedElement));
     }
   }
@@ -153,7 +153,7 @@ public abstract class AbstractJacksonConverter<F extends RbelFacet> extends Rbel
   private void addFacetAndConvertNestedElement(
       RbelElement parentElement, Object value, RbelConversionExecutor context) {
     final RbelElement nestedElement = RbelElement.wrap(parentElement, value);
-    context.convertElement(nestedElement);
+    context.convertElementLazily(nestedElement);
     parentElement.addFacet(new RbelNestedFacet(nestedElement));
   }
 }
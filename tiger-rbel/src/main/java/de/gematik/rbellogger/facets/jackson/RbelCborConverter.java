@@ -20,6 +20,7 @@
  */
 package de.gematik.rbellogger.facets.jackson;
 
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelRootFacet;
 import java.io.IOException;
@@ -37,6 +38,12 @@ public class RbelCborConverter extends AbstractJacksonConverter<RbelCborFacet> {
     super(new CBORMapper(), RbelCborFacet.class);
   }
 
+  /** Only arrays and maps are converted: major types 4 and 5, possibly preceded by tags. */
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingInRange(0x80, 0xDB);
+  }
+
   @Override
   RbelCborFacet buildFacetForNode(JsonNode node) {
     return RbelCborFacet.builder().node(node).build();
@@ -38,6 +38,7 @@ import de.gematik.rbellogger.util.GenericPrettyPrinter;
 import j2html.tags.ContainerTag;
 import j2html.tags.UnescapedText;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 import lombok.Builder;
 import lombok.Getter;
@@ -65,6 +66,11 @@ public class RbelCborFacet implements RbelFacet {
             return element.hasFacet(RbelCborFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelCborFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
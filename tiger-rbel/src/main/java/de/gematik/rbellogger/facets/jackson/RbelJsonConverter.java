@@ -20,6 +20,7 @@
  */
 package de.gematik.rbellogger.facets.jackson;
 
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.util.RbelContent;
 import java.io.InputStreamReader;
@@ -47,6 +48,17 @@ public class RbelJsonConverter extends AbstractJacksonConverter<RbelJsonFacet> {
             new InputStreamReader(target.getContent().toInputStream(), target.getElementCharset()));
   }
 
+  /**
+   * Only objects and arrays are converted. Besides their opening brackets, the content may start
+   * with a byte order mark or, for UTF-16 and UTF-32, with a zero byte.
+   */
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingWithAfterWhitespace((char) OPEN_OBJECT, (char) OPEN_LIST)
+        .orStartingWith((char) 0x00, (char) 0xEF, (char) 0xFE, (char) 0xFF)
+        .andMinimumSize(2);
+  }
+
   @Override
   RbelJsonFacet buildFacetForNode(JsonNode node) {
     return RbelJsonFacet.builder().jsonElement(node).build();
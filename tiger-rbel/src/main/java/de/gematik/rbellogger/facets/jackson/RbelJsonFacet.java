@@ -35,6 +35,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import j2html.tags.UnescapedText;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 import lombok.SneakyThrows;
@@ -61,6 +62,11 @@ public class RbelJsonFacet implements RbelFacet {
                 .isPresent();
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelJsonFacet.class);
+          }
+
           @SneakyThrows
           @Override
           public ContainerTag performRendering(
@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -49,6 +50,11 @@ public class RbelJweEncryptionInfo implements RbelFacet {
             return element.hasFacet(RbelJweEncryptionInfo.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelJweEncryptionInfo.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
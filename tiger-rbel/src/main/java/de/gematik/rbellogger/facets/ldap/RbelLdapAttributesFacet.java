@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class RbelLdapAttributesFacet extends RbelMultiMap<RbelElement> implements RbelFacet {
 
@@ -63,6 +64,11 @@ public class RbelLdapAttributesFacet extends RbelMultiMap<RbelElement> implement
             return element.hasFacet(RbelLdapAttributesFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelLdapAttributesFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -58,6 +58,11 @@ public class RbelLdapFacet implements RbelFacet {
             return element.hasFacet(RbelLdapFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelLdapFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -37,6 +37,7 @@ import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
@@ -52,6 +53,11 @@ public class RbelX509CertificateFacet implements RbelFacet {
             return element.hasFacet(RbelX509CertificateFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelX509CertificateFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
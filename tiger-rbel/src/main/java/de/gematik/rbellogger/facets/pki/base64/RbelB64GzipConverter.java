@@ -23,6 +23,7 @@ package de.gematik.rbellogger.facets.pki.base64;
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
 import de.gematik.rbellogger.converter.ConverterInfo;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.exceptions.RbelConversionException;
 import de.gematik.rbellogger.util.RbelContent;
@@ -38,6 +39,11 @@ public class RbelB64GzipConverter extends RbelConverterPlugin {
   // base 64 encoded gzip prefix
   private final byte[] b64GzipPrefix = "H4s".getBytes();
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingWith('H').andMinimumSize(b64GzipPrefix.length);
+  }
+
   @Override
   public void consumeElement(RbelElement rbelElement, RbelConversionExecutor converter) {
     val potentiallyB64Gzip = rbelElement.getContent().startsWith(b64GzipPrefix);
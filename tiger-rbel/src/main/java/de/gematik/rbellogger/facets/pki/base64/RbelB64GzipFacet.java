@@ -33,6 +33,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -50,6 +51,11 @@ public class RbelB64GzipFacet implements RbelFacet {
             return element.hasFacet(RbelB64GzipFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelB64GzipFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -22,6 +22,7 @@ package de.gematik.rbellogger.facets.pki.base64;
 
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelRootFacet;
 import de.gematik.rbellogger.util.RbelContent;
@@ -30,6 +31,11 @@ import java.util.Optional;
 
 public class RbelBase64JsonConverter extends RbelConverterPlugin {
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.withMinimumSize(1);
+  }
+
   @Override
   public void consumeElement(RbelElement rbel, RbelConversionExecutor context) {
     if (rbel.getSize() == 0 || rbel.hasFacet(RbelRootFacet.class)) {
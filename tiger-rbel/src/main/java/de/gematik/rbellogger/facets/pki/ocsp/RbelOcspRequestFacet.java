@@ -31,6 +31,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import j2html.tags.specialized.DivTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Data;
 import lombok.val;
 
@@ -45,6 +46,11 @@ public class RbelOcspRequestFacet implements RbelFacet {
             return element.hasFacet(RbelOcspRequestFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelOcspRequestFacet.class);
+          }
+
           @Override
           public ContainerTag<DivTag> performRendering(
               RbelElement element,
@@ -31,6 +31,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Data;
 import lombok.val;
 
@@ -45,6 +46,11 @@ public class RbelOcspResponseFacet implements RbelFacet {
             return element.hasFacet(RbelOcspResponseFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelOcspResponseFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
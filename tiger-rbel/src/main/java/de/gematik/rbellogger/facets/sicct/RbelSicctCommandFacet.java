@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -48,6 +49,11 @@ public class RbelSicctCommandFacet implements RbelFacet {
             return element.hasFacet(RbelSicctCommandFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelSicctCommandFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
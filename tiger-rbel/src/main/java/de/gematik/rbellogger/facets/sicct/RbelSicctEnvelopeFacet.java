@@ -33,6 +33,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.math.BigInteger;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 
@@ -48,6 +49,11 @@ public class RbelSicctEnvelopeFacet implements RbelFacet {
             return element.hasFacet(RbelSicctEnvelopeFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelSicctEnvelopeFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit context) {
@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -50,6 +51,11 @@ public class RbelSicctHeaderFacet implements RbelFacet {
             return element.hasFacet(RbelSicctHeaderFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelSicctHeaderFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
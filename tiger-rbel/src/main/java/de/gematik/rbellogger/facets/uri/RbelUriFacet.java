@@ -37,6 +37,7 @@ import j2html.tags.UnescapedText;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -53,6 +54,11 @@ public class RbelUriFacet implements RbelFacet {
             return element.hasFacet(RbelUriFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelUriFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
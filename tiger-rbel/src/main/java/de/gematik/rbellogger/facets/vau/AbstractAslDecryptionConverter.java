@@ -61,18 +61,22 @@ public abstract class AbstractAslDecryptionConverter extends RbelConverterPlugin
   static final int BODY_CT_INDEX = BODY_INDEX + BODY_IV_LENGTH;
 
   public void tryToParseVau3AslMessage(RbelElement element, RbelConversionExecutor context) {
-    context
-        .getRbelKeyManager()
-        .getAllKeys()
-        .filter(key -> key.getKey() instanceof SecretKeySpec)
-        .filter(key -> key.getKey().getAlgorithm().equals("AES"))
-        .filter(key -> key.getKeyName().startsWith(getKeyHeaderName()))
-        .forEach(key -> decryptPayloadSuccessful(element, key.getKey(), context)); // NOSONAR
+    val keyManager = context.getRbelKeyManager();
+    val candidates =
+        keyManager
+            .findKeysByNamePrefix(getKeyHeaderName())
+            .filter(key -> key.getKey() instanceof SecretKeySpec)
+            .filter(key -> key.getKey().getAlgorithm().equals("AES"))
+            .toList();
+    keyManager.orderForSession(getKeyHeaderName(), element, candidates).stream()
+        .filter(key -> decryptPayloadSuccessful(element, key.getKey(), context))
+        .findFirst()
+        .ifPresent(key -> keyManager.rememberSuccessfulKey(getKeyHeaderName(), element, key));
   }
 
   public abstract String getKeyHeaderName();
 
-  private void decryptPayloadSuccessful(
+  private boolean decryptPayloadSuccessful(
       RbelElement element, Key key, RbelConversionExecutor context) {
     try {
       val content = element.getContent();
@@ -82,8 +86,10 @@ public abstract class AbstractAslDecryptionConverter extends RbelConverterPlugin
       val headerElement = convertHeader(element, context, header);
       val cleartextElement = context.convertElement(cleartext, element);
       element.addFacet(buildFacet(cleartextElement, headerElement));
+      return true;
     } catch (Exception e) {
       log.trace("Failed to parse VAU EPA3: ", e);
+      return false;
     }
   }
 
@@ -148,6 +154,6 @@ public abstract class AbstractAslDecryptionConverter extends RbelConverterPlugin
         .map(Base64.getDecoder()::decode)
         .map(key -> new SecretKeySpec(key, "AES"))
         .map(key -> new RbelKey(key, getKeyHeaderName() + UUID.randomUUID(), 0))
-        .forEach(key -> context.getRbelKeyManager().addKey(key));
+        .forEach(key -> context.getRbelKeyManager().addEphemeralKey(key, element));
   }
 }
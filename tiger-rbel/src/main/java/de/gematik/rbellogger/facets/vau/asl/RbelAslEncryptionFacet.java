@@ -27,6 +27,7 @@ import static j2html.TagCreator.div;
 
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMultiMap;
+import de.gematik.rbellogger.data.core.RbelFacet;
 import de.gematik.rbellogger.data.core.RbelMapFacet;
 import de.gematik.rbellogger.data.core.RbelNestedFacet;
 import de.gematik.rbellogger.renderer.RbelHtmlFacetRenderer;
@@ -34,6 +35,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.*;
 
 @Getter
@@ -48,6 +50,11 @@ public class RbelAslEncryptionFacet extends RbelNestedFacet {
             return element.hasFacet(RbelAslEncryptionFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelAslEncryptionFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit context) {
@@ -38,6 +38,7 @@ import j2html.tags.ContainerTag;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -59,6 +60,11 @@ public class RbelUndecipherableVauEpaFacet implements RbelFacet {
                 && !element.hasFacet(RbelRootFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelUndecipherableVauEpaFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit context) {
@@ -35,6 +35,7 @@ import de.gematik.rbellogger.facets.http.RbelHttpHeaderFacet;
 import de.gematik.rbellogger.facets.http.RbelHttpMessageFacet;
 import de.gematik.rbellogger.facets.jackson.RbelJsonFacet;
 import de.gematik.rbellogger.key.RbelKey;
+import de.gematik.rbellogger.key.RbelKeyManager;
 import de.gematik.rbellogger.util.CryptoUtils;
 import de.gematik.rbellogger.util.RbelContent;
 import java.io.IOException;
@@ -53,6 +54,8 @@ import org.bouncycastle.util.encoders.Hex;
 @Slf4j
 public class RbelVauEpaConverter extends RbelConverterPlugin {
 
+  private static final String KEY_PURPOSE = "epa-vau";
+
   @Override
   public void consumeElement(RbelElement element, RbelConversionExecutor context) {
     context.waitForAllElementsBeforeGivenToBeParsed(element.findRootElement());
@@ -87,13 +90,15 @@ public class RbelVauEpaConverter extends RbelConverterPlugin {
       return Optional.empty();
     }
     final Pair<byte[], byte[]> splitVauMessage = splitOptional.get();
+    final RbelKeyManager keyManager = converter.getRbelKeyManager();
     final List<RbelKey> potentialVauKeys =
-        converter
-            .getRbelKeyManager()
-            .getAllKeys()
-            .filter(key -> key.getKeyName().startsWith(Hex.toHexString(splitVauMessage.getKey())))
-            .filter(key -> key.getKey() instanceof SecretKey)
-            .toList();
+        keyManager.orderForSession(
+            KEY_PURPOSE,
+            parentNode,
+            keyManager
+                .findKeysByNamePrefix(Hex.toHexString(splitVauMessage.getKey()))
+                .filter(key -> key.getKey() instanceof SecretKey)
+                .toList());
 
     for (RbelKey rbelKey : potentialVauKeys) {
       Optional<byte[]> decryptedBytes;
@@ -118,6 +123,7 @@ public class RbelVauEpaConverter extends RbelConverterPlugin {
           if (log.isTraceEnabled()) {
             log.trace("Succesfully deciphered VAU message! ({})", new String(decryptedBytes.get()));
           }
+          keyManager.rememberSuccessfulKey(KEY_PURPOSE, parentNode, rbelKey);
           return buildVauMessageFromCleartext(
               converter, splitVauMessage, decryptedBytes.get(), parentNode, rbelKey);
         } catch (RuntimeException e) {
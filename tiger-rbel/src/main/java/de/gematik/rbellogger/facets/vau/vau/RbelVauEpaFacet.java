@@ -38,6 +38,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -55,6 +56,11 @@ public class RbelVauEpaFacet implements RbelFacet {
             return element.hasFacet(RbelVauEpaFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelVauEpaFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
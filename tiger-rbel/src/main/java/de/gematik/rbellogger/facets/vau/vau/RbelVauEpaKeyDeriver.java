@@ -68,7 +68,8 @@ public class RbelVauEpaKeyDeriver extends RbelConverterPlugin {
     }
     log.trace("Found otherside public key");
 
-    for (Iterator<RbelKey> it = converter.getRbelKeyManager().getAllKeys().iterator();
+    for (Iterator<RbelKey> it =
+            converter.getRbelKeyManager().findKeysOfType(PrivateKey.class).iterator();
         it.hasNext(); ) {
       RbelKey rbelKey = it.next();
       final Optional<PrivateKey> privateKey =
@@ -90,7 +91,7 @@ public class RbelVauEpaKeyDeriver extends RbelConverterPlugin {
         if (derivedKeys.isEmpty()) {
           continue;
         }
-        addVauKeyToKeyManager(converter, derivedKeys);
+        addVauKeyToKeyManager(converter, derivedKeys, rbelElement);
         rbelElement
             .findMessage()
             .addFacet(
@@ -102,13 +103,14 @@ public class RbelVauEpaKeyDeriver extends RbelConverterPlugin {
     }
   }
 
-  private void addVauKeyToKeyManager(RbelConversionExecutor converter, List<RbelKey> derivedKeys) {
+  private void addVauKeyToKeyManager(
+      RbelConversionExecutor converter, List<RbelKey> derivedKeys, RbelElement handshake) {
     for (RbelKey derivedKey : derivedKeys) {
       if (converter.getRbelKeyManager().findKeyByName(derivedKey.getKeyName()).isEmpty()) {
         if (log.isTraceEnabled()) {
           log.trace("Adding key {} as VAU key", derivedKey.getKeyName());
         }
-        converter.getRbelKeyManager().addKey(derivedKey);
+        converter.getRbelKeyManager().addEphemeralKey(derivedKey, handshake);
       }
     }
   }
@@ -32,6 +32,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Value;
 
 @Value
@@ -45,6 +46,11 @@ public class RbelPrintableHashFacet implements RbelFacet {
             return element.hasFacet(RbelPrintableHashFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelPrintableHashFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -128,11 +128,16 @@ public class RbelVauEpa3Converter extends AbstractAslDecryptionConverter {
     }
     aeadCtKeyConfirmation.get().addFacet(new RbelNoteFacet("aead_ciphertext_key_confirmation"));
     aeadCt.get().addFacet(new RbelNoteFacet("aead_ciphertext_msg_3"));
-    for (RbelKey key : context.getRbelKeyManager().getAllKeys().toList())
+    final RbelKeyManager keyManager = context.getRbelKeyManager();
+    final List<RbelKey> candidates =
+        keyManager
+            .findKeysByNamePrefix(VAU_3_HANDSHAKE_S_K1_C2S)
+            .filter(key -> key.getKey().getAlgorithm().equals("AES"))
+            .toList();
+    for (RbelKey key : keyManager.orderForSession(VAU_3_HANDSHAKE_S_K1_C2S, element, candidates))
       if (key.getKey() instanceof SecretKeySpec secretKeySpec
-          && key.getKey().getAlgorithm().equals("AES")
-          && key.getKeyName().startsWith(VAU_3_HANDSHAKE_S_K1_C2S)
           && tryToDecipherAeadCt(aeadCt.get(), context, secretKeySpec)) {
+        keyManager.rememberSuccessfulKey(VAU_3_HANDSHAKE_S_K1_C2S, element, key);
         break;
       }
   }
@@ -186,7 +191,7 @@ public class RbelVauEpa3Converter extends AbstractAslDecryptionConverter {
             element, VAU_DEBUG_K1_C2S, "S_K1_c2s, absent in a real-life implementation")
         .map(key -> new SecretKeySpec(key, "AES"))
         .map(key -> new RbelKey(key, VAU_3_HANDSHAKE_S_K1_C2S + UUID.randomUUID(), 0))
-        .ifPresent(rbelKey -> context.getRbelKeyManager().addKey(rbelKey));
+        .ifPresent(rbelKey -> context.getRbelKeyManager().addEphemeralKey(rbelKey, element));
   }
 
   private boolean tryToDecipherAeadCt(
@@ -246,11 +251,13 @@ public class RbelVauEpa3Converter extends AbstractAslDecryptionConverter {
     element
         .getFirst("ECDH_PK")
         .map(this::toEcPublicKey)
-        .ifPresent(key -> keyManager.addKey("vau3_handshake_client_ecdh_pk_" + uuid, key, 0));
+        .map(key -> new RbelKey(key, "vau3_handshake_client_ecdh_pk_" + uuid, 0))
+        .ifPresent(key -> keyManager.addEphemeralKey(key, element));
     element
         .getFirst("Kyber768_PK")
         .map(this::toKyberPublicKey)
-        .ifPresent(key -> keyManager.addKey("vau3_handshake_client_kyber_pk" + uuid, key, 0));
+        .map(key -> new RbelKey(key, "vau3_handshake_client_kyber_pk" + uuid, 0))
+        .ifPresent(key -> keyManager.addEphemeralKey(key, element));
   }
 
   @SneakyThrows
@@ -30,6 +30,7 @@ import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelRootFacet;
 import de.gematik.rbellogger.exceptions.RbelConversionException;
 import de.gematik.rbellogger.key.RbelKey;
+import de.gematik.rbellogger.key.RbelKeyManager;
 import de.gematik.rbellogger.util.CryptoUtils;
 import de.gematik.rbellogger.util.RbelContent;
 import java.math.BigInteger;
@@ -41,6 +42,7 @@ import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECPublicKeySpec;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -52,6 +54,8 @@ import org.bouncycastle.util.encoders.Hex;
 @Slf4j
 public class RbelErpVauDecrpytionConverter extends RbelConverterPlugin {
 
+  private static final String KEY_PURPOSE = "erp-vau";
+
   @Override
   public void consumeElement(RbelElement element, RbelConversionExecutor context) {
     decipherVauMessage(element, context)
@@ -64,14 +68,21 @@ public class RbelErpVauDecrpytionConverter extends RbelConverterPlugin {
 
   private Optional<RbelVauErpFacet> decipherVauMessage(
       RbelElement element, RbelConversionExecutor converter) {
-    return converter
-        .getRbelKeyManager()
-        .getAllKeys()
-        .filter(key -> key.getKey() instanceof ECPrivateKey || key.getKey() instanceof SecretKey)
-        .map(key -> tryToDecipherWithKey(element, converter, key))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .findFirst();
+    final RbelKeyManager keyManager = converter.getRbelKeyManager();
+    final List<RbelKey> candidates =
+        keyManager
+            .getAllKeys()
+            .filter(
+                key -> key.getKey() instanceof ECPrivateKey || key.getKey() instanceof SecretKey)
+            .toList();
+    for (RbelKey key : keyManager.orderForSession(KEY_PURPOSE, element, candidates)) {
+      final Optional<RbelVauErpFacet> facet = tryToDecipherWithKey(element, converter, key);
+      if (facet.isPresent()) {
+        keyManager.rememberSuccessfulKey(KEY_PURPOSE, element, key);
+        return facet;
+      }
+    }
+    return Optional.empty();
   }
 
   private Optional<RbelVauErpFacet> tryToDecipherWithKey(
@@ -158,7 +169,9 @@ public class RbelErpVauDecrpytionConverter extends RbelConverterPlugin {
       RbelElement parentNode) {
     String[] vauMessageParts = new String(decryptedBytes, UTF_8).split(" ", 5);
     final SecretKeySpec responseKey = buildAesKeyFromHex(vauMessageParts[3]);
-    converter.getRbelKeyManager().addKey("VAU Response-Key", responseKey, 0);
+    converter
+        .getRbelKeyManager()
+        .addEphemeralKey(new RbelKey(responseKey, "VAU Response-Key", 0), parentNode);
     return Optional.of(
         RbelVauErpFacet.builder()
             .message(converter.convertElement(vauMessageParts[4], parentNode))
@@ -34,6 +34,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -50,6 +51,11 @@ public class RbelVauErpFacet implements RbelFacet {
             return element.hasFacet(RbelVauErpFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelVauErpFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               final RbelElement element,
@@ -35,6 +35,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import de.gematik.rbellogger.util.RbelPathAble;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -52,6 +53,11 @@ public class RbelSockJsFacet implements RbelFacet {
             return element.hasFacet(RbelSockJsFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelSockJsFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit toolkit) {
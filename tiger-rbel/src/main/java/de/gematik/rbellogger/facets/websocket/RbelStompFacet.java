@@ -58,6 +58,11 @@ public class RbelStompFacet implements RbelFacet {
             return element.hasFacet(RbelStompFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelStompFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
@@ -31,6 +31,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderer;
 import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 
 public class RbelStompHeadersFacet extends RbelMultiMap<RbelElement> implements RbelFacet {
 
@@ -42,6 +43,11 @@ public class RbelStompHeadersFacet extends RbelMultiMap<RbelElement> implements
             return element.hasFacet(RbelStompHeadersFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelStompHeadersFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
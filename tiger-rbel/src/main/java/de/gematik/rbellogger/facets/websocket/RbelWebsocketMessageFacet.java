@@ -40,6 +40,7 @@ import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
@@ -59,6 +60,11 @@ public class RbelWebsocketMessageFacet implements RbelFacet {
             return element.hasFacet(RbelWebsocketMessageFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelWebsocketMessageFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit toolkit) {
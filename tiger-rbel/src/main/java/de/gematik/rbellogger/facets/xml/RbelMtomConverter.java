@@ -24,6 +24,7 @@ import com.google.common.net.MediaType;
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
 import de.gematik.rbellogger.converter.ConverterInfo;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelBinaryFacet;
 import de.gematik.rbellogger.data.core.RbelListFacet;
@@ -49,6 +50,11 @@ public class RbelMtomConverter extends RbelConverterPlugin {
   public static final String CONTENT_ID = "Content-ID";
   private static final byte[] DOUBLE_DASH = "--".getBytes();
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingWithAfterWhitespace('-').andMinimumSize(DOUBLE_DASH.length);
+  }
+
   @Override
   public void consumeElement(RbelElement rbelElement, RbelConversionExecutor converter) {
     if (!stringStartIsMtom(rbelElement)) {
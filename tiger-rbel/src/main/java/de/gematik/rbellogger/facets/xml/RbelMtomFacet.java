@@ -37,6 +37,7 @@ import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -53,6 +54,11 @@ public class RbelMtomFacet implements RbelFacet {
             return element.hasFacet(RbelMtomFacet.class);
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelMtomFacet.class);
+          }
+
           @Override
           public ContainerTag performRendering(
               RbelElement element,
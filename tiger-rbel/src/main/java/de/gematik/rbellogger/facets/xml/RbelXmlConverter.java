@@ -23,6 +23,7 @@ package de.gematik.rbellogger.facets.xml;
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConverterPlugin;
 import de.gematik.rbellogger.converter.ConverterInfo;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMultiMap;
 import de.gematik.rbellogger.data.core.RbelMapFacet;
@@ -56,6 +57,11 @@ public class RbelXmlConverter extends RbelConverterPlugin {
   private static final byte[] OPEN_TAG = "<".getBytes();
   private static final byte[] CLOSE_TAG = ">".getBytes();
 
+  @Override
+  public PluginApplicability getApplicability() {
+    return PluginApplicability.startingWithAfterWhitespace('<').andMinimumSize(2);
+  }
+
   @Override
   public void consumeElement(final RbelElement rbel, final RbelConversionExecutor context) {
     final var content = rbel.getContent();
@@ -150,7 +156,8 @@ public class RbelXmlConverter extends RbelConverterPlugin {
       RbelMultiMap<RbelElement> childElements) {
     for (Object child : branch.content()) {
       if (child instanceof Text text) {
-        childElements.put(XML_TEXT_KEY, converter.convertElement(text.getText(), parentElement));
+        childElements.put(
+            XML_TEXT_KEY, converter.convertElementLazily(text.getText(), parentElement));
       } else if (child instanceof AbstractBranch abstractBranch) {
         final RbelElement element =
             new RbelElement(
@@ -35,6 +35,7 @@ import de.gematik.rbellogger.renderer.RbelHtmlRenderingToolkit;
 import j2html.tags.ContainerTag;
 import j2html.tags.Text;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 
@@ -54,6 +55,11 @@ public class RbelXmlFacet implements RbelFacet {
                     .isPresent();
           }
 
+          @Override
+          public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+            return Set.of(RbelXmlFacet.class);
+          }
+
           @SuppressWarnings({"rawtypes", "java:S3740"})
           @Override
           public ContainerTag performRendering(
@@ -22,24 +22,24 @@ package de.gematik.rbellogger.file;
 
 import static de.gematik.rbellogger.file.RbelFileWriter.*;
 
+import com.google.common.collect.Iterators;
 import de.gematik.rbellogger.RbelConversionPhase;
 import de.gematik.rbellogger.RbelConverter;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
 import de.gematik.rbellogger.util.RbelContent;
-import java.io.BufferedReader;
+import de.gematik.test.tiger.common.config.TigerTypedConfigurationKey;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONObject;
@@ -48,6 +48,20 @@ import org.json.JSONObject;
 @Slf4j
 public class RbelFileReader {
 
+  /**
+   * Maximum number of .tgr entries held in memory to bring them into sequence number order. Files
+   * which are out of order beyond this window are sorted via temporary files.
+   */
+  public static final TigerTypedConfigurationKey<Integer> REORDER_WINDOW_SIZE =
+      new TigerTypedConfigurationKey<>("tiger.rbel.file.reorderWindowSize", Integer.class, 1000);
+
+  /**
+   * Number of threads used to convert the messages of a file. With more than one thread, messages
+   * are still added to the history in sequence order, but converted in parallel.
+   */
+  public static final TigerTypedConfigurationKey<Integer> PARALLEL_IMPORT_THREADS =
+      new TigerTypedConfigurationKey<>("tiger.rbel.file.parallelImportThreads", Integer.class, 1);
+
   private final RbelConverter rbelConverter;
   private final AtomicReference<String> lastReadTigerVersion = new AtomicReference<>();
 
@@ -68,78 +82,222 @@ public class RbelFileReader {
     return convertRbelFileEntries(rbelFileContent.lines(), readFilter, null);
   }
 
+  /**
+   * Reads the given .tgr content without splitting it into lines first. The content is consumed
+   * lazily, so only a bounded number of entries is held in memory at any time (see {@link
+   * #REORDER_WINDOW_SIZE}).
+   */
   public List<RbelElement> convertFromRbelFile(
       Reader rbelFileContent,
       Optional<String> readFilter,
       Function<String, RbelContent> contentProvider) {
-    return convertRbelFileEntries(
-        new BufferedReader(rbelFileContent).lines(), readFilter, contentProvider);
+    return collectParsedMessages(
+        convertTgrFileEntries(
+            TgrFileEntryParser.parseEntries(rbelFileContent), readFilter, contentProvider));
+  }
+
+  /**
+   * Reads all messages of the given archive, ordered by sequence number. The records of messages
+   * which are already known are not loaded, so re-importing an archive only reads the new messages.
+   */
+  public List<RbelElement> convertFromTgrArchive(TgrArchive archive, Optional<String> readFilter) {
+    return collectParsedMessages(
+        convertTgrFileEntries(
+            archive.entries(entry -> !rbelConverter.getKnownMessageUuids().contains(entry.uuid())),
+            readFilter,
+            null));
+  }
+
+  /**
+   * Reads a single message of the given archive. Only the record of this message is loaded. Returns
+   * empty if the archive does not contain the message or if it is already known.
+   */
+  public Optional<RbelElement> convertFromTgrArchive(
+      TgrArchive archive, String messageUuid, Optional<String> readFilter) throws IOException {
+    final Optional<TgrArchive.IndexEntry> indexEntry = archive.findByUuid(messageUuid);
+    if (indexEntry.isEmpty()) {
+      return Optional.empty();
+    }
+    return parseFileObject(archive.readEntry(indexEntry.get()), readFilter, null);
   }
 
   public List<RbelElement> convertRbelFileEntries(
       Stream<String> rbelFileLines,
       Optional<String> readFilter,
       Function<String, RbelContent> contentProvider) {
+    return collectParsedMessages(
+        convertTgrFileEntries(
+            rbelFileLines
+                .filter(StringUtils::isNotBlank)
+                .map(TgrFileEntryParser::parseLine)
+                .iterator(),
+            readFilter,
+            contentProvider));
+  }
+
+  /**
+   * Converts the given .tgr lines window by window. Before a window is converted, the uuids of its
+   * unknown messages without inline content are handed to the content fetcher, so that their
+   * contents can be fetched in bulk instead of one by one.
+   */
+  public void convertRbelFileEntriesInWindows(
+      Stream<String> rbelFileLines,
+      int windowSize,
+      Function<List<String>, Map<String, RbelContent>> contentFetcher,
+      Consumer<List<RbelElement>> convertedWindowConsumer) {
+    final Iterator<List<TgrFileEntry>> windows =
+        Iterators.partition(
+            rbelFileLines
+                .filter(StringUtils::isNotBlank)
+                .map(TgrFileEntryParser::parseLine)
+                .iterator(),
+            windowSize);
+    while (windows.hasNext()) {
+      final List<TgrFileEntry> window = windows.next();
+      final List<String> uuidsWithoutContent =
+          window.stream()
+              .filter(TgrFileEntry::isMessageObject)
+              .filter(entry -> !entry.hasContent())
+              .map(TgrFileEntry::uuid)
+              .filter(uuid -> !rbelConverter.getKnownMessageUuids().contains(uuid))
+              .toList();
+      final Map<String, RbelContent> contents =
+          uuidsWithoutContent.isEmpty() ? Map.of() : contentFetcher.apply(uuidsWithoutContent);
+      try (Stream<RbelElement> convertedWindow =
+          getRbelElementStream(window.iterator(), Optional.empty(), contents::get, message -> {})) {
+        convertedWindowConsumer.accept(convertedWindow.toList());
+      }
+    }
+  }
+
+  private List<RbelElement> collectParsedMessages(
+      Function<Consumer<? super Optional<RbelElement>>, Stream<RbelElement>> messageStream) {
     log.info("Starting parsing...");
     AtomicInteger numberOfParsedMessages = new AtomicInteger(0);
-    final List<RbelElement> list =
-        getRbelElementStream(
-                rbelFileLines,
-                readFilter,
-                contentProvider,
-                element -> {
-                  if (numberOfParsedMessages.get() > 0
-                      && (numberOfParsedMessages.getAndIncrement() % 500) == 0) {
-                    log.info("Parsed {} messages, continuing...", numberOfParsedMessages);
-                  }
-                })
-            .toList();
+    final List<RbelElement> list;
+    try (Stream<RbelElement> messages =
+        messageStream.apply(
+            element -> {
+              if (numberOfParsedMessages.get() > 0
+                  && (numberOfParsedMessages.getAndIncrement() % 500) == 0) {
+                log.info("Parsed {} messages, continuing...", numberOfParsedMessages);
+              }
+            })) {
+      list = messages.toList();
+    }
     log.info("Parsing complete, parsed {} messages", list.size());
     return list;
   }
 
+  private Function<Consumer<? super Optional<RbelElement>>, Stream<RbelElement>>
+      convertTgrFileEntries(
+          Iterator<TgrFileEntry> entries,
+          Optional<String> readFilter,
+          Function<String, RbelContent> contentProvider) {
+    return onEveryMessageParsed ->
+        getRbelElementStream(entries, readFilter, contentProvider, onEveryMessageParsed);
+  }
+
+  /**
+   * Converts the given .tgr lines lazily while the returned stream is consumed. The stream has to
+   * be closed, since it may hold import threads (see {@link #PARALLEL_IMPORT_THREADS}).
+   */
   public @NotNull Stream<RbelElement> getRbelElementStream(
       Stream<String> rbelFileLines,
       Optional<String> readFilter,
       Function<String, RbelContent> contentProvider,
       Consumer<? super Optional<RbelElement>> onEveryMessageParsed) {
-    return rbelFileLines
-        .filter(StringUtils::isNotBlank)
-        .map(JSONObject::new)
-        .filter(RbelFileReader::isMessageObject)
-        .sorted(Comparator.comparing(json -> json.optInt(SEQUENCE_NUMBER, Integer.MAX_VALUE)))
-        .map(messageObject -> parseFileObject(messageObject, readFilter, contentProvider))
+    return getRbelElementStream(
+        rbelFileLines
+            .filter(StringUtils::isNotBlank)
+            .map(TgrFileEntryParser::parseLine)
+            .iterator(),
+        readFilter,
+        contentProvider,
+        onEveryMessageParsed);
+  }
+
+  private Stream<RbelElement> getRbelElementStream(
+      Iterator<TgrFileEntry> entries,
+      Optional<String> readFilter,
+      Function<String, RbelContent> contentProvider,
+      Consumer<? super Optional<RbelElement>> onEveryMessageParsed) {
+    final Iterator<TgrFileEntry> messageEntries =
+        StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(entries, Spliterator.ORDERED), false)
+            .filter(TgrFileEntry::isMessageObject)
+            .iterator();
+    final TgrFileEntryReorderer orderedEntries =
+        new TgrFileEntryReorderer(messageEntries, REORDER_WINDOW_SIZE.getValueOrDefault());
+    return parseOrderedEntries(orderedEntries, readFilter, contentProvider)
+        .onClose(orderedEntries::close)
         .filter(Optional::isPresent)
         .peek(onEveryMessageParsed)
         .map(Optional::get)
         .filter(rbelElement -> rbelElement.getConversionPhase() != RbelConversionPhase.DELETED);
   }
 
-  private static boolean isMessageObject(JSONObject messageObject) {
-    return messageObject.has(RAW_MESSAGE_CONTENT)
-        || messageObject.has(SEQUENCE_NUMBER)
-        || messageObject.has(MESSAGE_UUID);
+  private Stream<Optional<RbelElement>> parseOrderedEntries(
+      Iterator<TgrFileEntry> orderedEntries,
+      Optional<String> readFilter,
+      Function<String, RbelContent> contentProvider) {
+    final int importThreads = PARALLEL_IMPORT_THREADS.getValueOrDefault();
+    if (importThreads > 1) {
+      final TgrBulkImporter importer =
+          new TgrBulkImporter(
+              rbelConverter,
+              orderedEntries,
+              entry -> prepareFileObject(entry, readFilter, contentProvider),
+              importThreads);
+      return toStream(importer).onClose(importer::close);
+    }
+    return toStream(
+        Iterators.transform(
+            orderedEntries, entry -> parseFileObject(entry, readFilter, contentProvider)));
+  }
+
+  private static <T> Stream<T> toStream(Iterator<T> iterator) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
   }
 
   private Optional<RbelElement> parseFileObject(
-      JSONObject messageObject,
+      TgrFileEntry entry,
       Optional<String> readFilter,
       Function<String, RbelContent> contentProvider) {
+    final Optional<PreparedMessage> preparedMessage =
+        prepareFileObject(entry, readFilter, contentProvider);
     try {
-      extractVersionIfPresent(messageObject);
+      return preparedMessage.map(this::parsePreparedMessage);
+    } catch (Exception e) {
+      throw new RbelFileReadingException(
+          "Error while converting from object '" + entry.metadata() + "'", e);
+    }
+  }
+
+  /**
+   * Creates the (still unparsed) message for the given entry. Returns empty if the message is
+   * already known or if there is no content for it.
+   */
+  private Optional<PreparedMessage> prepareFileObject(
+      TgrFileEntry entry,
+      Optional<String> readFilter,
+      Function<String, RbelContent> contentProvider) {
+    try {
+      extractVersionIfPresent(entry.metadata());
 
-      final String msgUuid = messageObject.optString(MESSAGE_UUID);
+      final String msgUuid = entry.uuid();
 
       if (rbelConverter.getKnownMessageUuids().add(msgUuid)) {
-        return getContent(messageObject, msgUuid, contentProvider)
-            .map(content -> parseContent(content, messageObject, readFilter, msgUuid));
+        return getContent(entry, msgUuid, contentProvider)
+            .map(content -> prepareMessage(content, entry.metadata(), readFilter, msgUuid));
       } else {
         log.atDebug().log("Skipping conversion for already known message uuid: {}", msgUuid);
         return Optional.empty();
       }
     } catch (Exception e) {
       throw new RbelFileReadingException(
-          "Error while converting from object '" + messageObject + "'", e);
+          "Error while converting from object '" + entry.metadata() + "'", e);
     }
   }
 
@@ -152,12 +310,11 @@ public class RbelFileReader {
   }
 
   private Optional<RbelContent> getContent(
-      JSONObject messageObject, String msgUuid, Function<String, RbelContent> contentProvider)
-      throws IOException {
-    if (!messageObject.has(RAW_MESSAGE_CONTENT)) {
+      TgrFileEntry entry, String msgUuid, Function<String, RbelContent> contentProvider) {
+    if (!entry.hasContent()) {
       return getContentFromProvider(msgUuid, contentProvider);
     }
-    return Optional.of(decodeBase64Content(messageObject.getString(RAW_MESSAGE_CONTENT)));
+    return Optional.of(entry.content());
   }
 
   private Optional<RbelContent> getContentFromProvider(
@@ -179,13 +336,7 @@ public class RbelFileReader {
     }
   }
 
-  private RbelContent decodeBase64Content(String base64) throws IOException {
-    return RbelContent.from(
-        Base64.getDecoder()
-            .wrap(ReaderInputStream.builder().setReader(new StringReader(base64)).get()));
-  }
-
-  private RbelElement parseContent(
+  private PreparedMessage prepareMessage(
       RbelContent content, JSONObject messageObject, Optional<String> readFilter, String msgUuid) {
     final RbelElement rawMessageObject =
         RbelElement.builder().content(content).uuid(msgUuid).parentNode(null).build();
@@ -198,8 +349,12 @@ public class RbelFileReader {
 
     val messageMetadata = new RbelMessageMetadata();
     enrichMetadataFromJson(messageMetadata, messageObject);
+    return new PreparedMessage(rawMessageObject, messageMetadata);
+  }
 
-    final RbelElement parsedMessage = rbelConverter.parseMessage(rawMessageObject, messageMetadata);
+  private RbelElement parsePreparedMessage(PreparedMessage preparedMessage) {
+    final RbelElement parsedMessage =
+        rbelConverter.parseMessage(preparedMessage.message(), preparedMessage.metadata());
 
     parsedMessage.removeFacetsOfType(IncompleteMessageReadFromFile.class);
     return parsedMessage;
@@ -211,4 +366,7 @@ public class RbelFileReader {
       messageMetadata.addMetadata(key, messageObject.get(key));
     }
   }
+
+  /** A message read from a file, ready to be handed to the converter. */
+  record PreparedMessage(RbelElement message, RbelMessageMetadata metadata) {}
 }
@@ -65,10 +65,19 @@ public class RbelFileWriter {
 
   @SneakyThrows
   public String convertToRbelFileString(RbelElement rbelElement, long skipContentThreshold) {
-    final JSONObject jsonObject = new JSONObject(Map.of(MESSAGE_UUID, rbelElement.getUuid()));
+    final JSONObject jsonObject = createMetadataObject(rbelElement);
     if (rbelElement.getSize() <= skipContentThreshold) {
       jsonObject.put(RAW_MESSAGE_CONTENT, encodeToBase64(rbelElement.getContent()));
     }
+    return jsonObject + FILE_DIVIDER;
+  }
+
+  /**
+   * Creates the JSON representation of all attributes of the given message, except for its
+   * content. The version header is added to the first object created by this writer.
+   */
+  JSONObject createMetadataObject(RbelElement rbelElement) {
+    final JSONObject jsonObject = new JSONObject(Map.of(MESSAGE_UUID, rbelElement.getUuid()));
     rbelElement
         .getFacet(RbelMessageMetadata.class)
         .ifPresent(metadata -> metadata.forEach(jsonObject::put));
@@ -79,7 +88,15 @@ public class RbelFileWriter {
       }
       jsonObject.put(TIGER_VERSION_KEY, TigerVersionProvider.getTigerVersionString());
     }
+    return jsonObject;
+  }
 
+  /** Converts an entry read from a .tgr file or archive back into a .tgr line. */
+  String convertToRbelFileString(TgrFileEntry entry) {
+    final JSONObject jsonObject = new JSONObject(entry.metadata().toMap());
+    if (entry.hasContent()) {
+      jsonObject.put(RAW_MESSAGE_CONTENT, encodeToBase64(entry.content()));
+    }
     return jsonObject + FILE_DIVIDER;
   }
 
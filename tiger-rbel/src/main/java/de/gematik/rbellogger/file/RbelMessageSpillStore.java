@@ -0,0 +1,292 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static de.gematik.rbellogger.file.TgrArchive.*;
+
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.data.core.RbelMessageInfoFacet;
+import de.gematik.rbellogger.data.core.RbelRequestFacet;
+import de.gematik.rbellogger.data.core.RbelResponseFacet;
+import de.gematik.rbellogger.util.RbelContent;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.json.JSONObject;
+
+/**
+ * Append-only store for messages which were evicted from the in-memory history. Only the raw
+ * content and the metadata of a message are written, using the record layout of {@link
+ * TgrArchive}. The store is split into segment files. Once the configured size is exceeded, the
+ * oldest segment is deleted, which makes all messages stored in it unavailable.
+ */
+@Slf4j
+public class RbelMessageSpillStore implements Closeable {
+
+  private static final int SEGMENTS_PER_STORE = 8;
+  private static final long MIN_SEGMENT_SIZE = 1024 * 1024L;
+
+  @Getter private final Path directory;
+  @Getter private final long maxSizeInBytes;
+  private final long segmentSizeInBytes;
+  private final RbelFileWriter metadataWriter = new RbelFileWriter().setWriteVersionHeader(false);
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private int segmentCounter = 0;
+  @Getter private long currentSizeInBytes = 0;
+
+  /**
+   * A message stored in the spill store. Only this handle is kept in memory, the message itself
+   * is read again via {@link #readMessage(SpilledMessage)}. The handle also keeps the metadata and
+   * the menu info of the message, which is enough to list the message without parsing it again.
+   */
+  public static class SpilledMessage {
+    @Getter private final String uuid;
+    @Getter private final long sequenceNumber;
+    @Getter private final ZonedDateTime transmissionTime;
+    @Getter private final long size;
+    @Getter private final boolean nonTransmission;
+    @Getter private final RbelMessageMetadata metadata;
+    @Getter private final RbelMessageInfoFacet infoFacet;
+    private final Segment segment;
+    private final long offset;
+    private final long length;
+
+    private SpilledMessage(
+        RbelElement message,
+        ZonedDateTime transmissionTime,
+        boolean nonTransmission,
+        Segment segment,
+        long offset,
+        long length) {
+      this.uuid = message.getUuid();
+      this.sequenceNumber = message.getSequenceNumber().orElse(-1L);
+      this.transmissionTime = transmissionTime;
+      this.size = message.getSize();
+      this.nonTransmission = nonTransmission;
+      this.metadata = new RbelMessageMetadata();
+      message
+          .getFacet(RbelMessageMetadata.class)
+          .ifPresent(original -> original.forEach(metadata::addMetadata));
+      this.infoFacet =
+          message.getFacet(RbelMessageInfoFacet.class).map(SpilledMessage::copyOf).orElse(null);
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    /**
+     * Facets like the HTTP request facet extend the info facet and reference the parsed message, so
+     * only the rendering information is copied.
+     */
+    private static RbelMessageInfoFacet copyOf(RbelMessageInfoFacet facet) {
+      if (facet instanceof RbelRequestFacet request) {
+        return new RbelRequestFacet(request.getMenuInfoString(), request.isResponseRequired());
+      }
+      if (facet instanceof RbelResponseFacet) {
+        return new RbelResponseFacet(facet.getMenuInfoString());
+      }
+      return new RbelMessageInfoFacet(
+          facet.getSymbol(),
+          facet.getColor(),
+          facet.getMenuInfoString(),
+          facet.getAbbrev(),
+          facet.getTitle());
+    }
+
+    /** Returns false once the segment containing the message has been deleted. */
+    public boolean isAvailable() {
+      return !segment.deleted;
+    }
+  }
+
+  /** A single segment file of the store. */
+  static class Segment {
+    private final Path file;
+    private final FileChannel channel;
+    private long size;
+    private volatile boolean deleted = false;
+
+    private Segment(Path file) throws IOException {
+      this.file = file;
+      this.channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(ARCHIVE_MAGIC).putInt(FORMAT_VERSION).flip();
+      writeFully(header);
+      this.size = HEADER_SIZE;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+
+    private void delete() throws IOException {
+      deleted = true;
+      channel.close();
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Creates a store in the given directory. If no directory is given, a temporary directory is
+   * created which is deleted when the JVM exits.
+   */
+  public RbelMessageSpillStore(Path directory, long maxSizeInBytes) throws IOException {
+    this(
+        directory,
+        maxSizeInBytes,
+        Math.max(MIN_SEGMENT_SIZE, maxSizeInBytes / SEGMENTS_PER_STORE));
+  }
+
+  RbelMessageSpillStore(Path directory, long maxSizeInBytes, long segmentSizeInBytes)
+      throws IOException {
+    if (directory == null) {
+      this.directory = Files.createTempDirectory("tiger-rbel-spill");
+      this.directory.toFile().deleteOnExit();
+    } else {
+      this.directory = Files.createDirectories(directory);
+    }
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.segmentSizeInBytes = segmentSizeInBytes;
+  }
+
+  /**
+   * Appends the raw content and the metadata of the given message. Returns empty if the message
+   * alone exceeds the size of the store.
+   */
+  public synchronized Optional<SpilledMessage> spill(
+      RbelElement message, ZonedDateTime transmissionTime, boolean nonTransmission)
+      throws IOException {
+    final JSONObject metadataObject = metadataWriter.createMetadataObject(message);
+    final byte[] metadata = metadataObject.toString().getBytes(StandardCharsets.UTF_8);
+    final RbelContent content = message.getContent();
+    final long recordLength = Integer.BYTES + metadata.length + Long.BYTES + content.size();
+    if (HEADER_SIZE + recordLength > maxSizeInBytes) {
+      return Optional.empty();
+    }
+
+    final Segment segment = segmentFor(recordLength);
+    final long recordOffset = segment.size;
+    final ByteBuffer recordHeader =
+        ByteBuffer.allocate(Integer.BYTES + metadata.length + Long.BYTES);
+    recordHeader.putInt(metadata.length).put(metadata).putLong(content.size()).flip();
+    segment.writeFully(recordHeader);
+    try (InputStream contentStream = content.toInputStream()) {
+      contentStream.transferTo(Channels.newOutputStream(segment.channel));
+    }
+    segment.size += recordLength;
+    currentSizeInBytes += recordLength;
+    deleteOldestSegmentsExceedingLimit();
+
+    return Optional.of(
+        new SpilledMessage(
+            message, transmissionTime, nonTransmission, segment, recordOffset, recordLength));
+  }
+
+  private Segment segmentFor(long recordLength) throws IOException {
+    final Segment current = segments.peekLast();
+    if (current != null && current.size + recordLength <= segmentSizeInBytes) {
+      return current;
+    }
+    final Segment segment =
+        new Segment(directory.resolve(String.format("spill-%06d.tgra", segmentCounter++)));
+    segment.file.toFile().deleteOnExit();
+    segments.addLast(segment);
+    currentSizeInBytes += HEADER_SIZE;
+    return segment;
+  }
+
+  private void deleteOldestSegmentsExceedingLimit() throws IOException {
+    while (currentSizeInBytes > maxSizeInBytes && segments.size() > 1) {
+      final Segment oldest = segments.removeFirst();
+      log.trace("Spill store exceeds {} bytes, deleting {}", maxSizeInBytes, oldest.file);
+      currentSizeInBytes -= oldest.size;
+      oldest.delete();
+    }
+  }
+
+  /**
+   * Reads a spilled message. The returned element only carries the raw content and the uuid, the
+   * metadata is returned separately so that it can be handed to the converter. Returns empty if the
+   * message is no longer available.
+   */
+  public Optional<ReadMessage> readMessage(SpilledMessage spilledMessage) {
+    if (!spilledMessage.isAvailable()) {
+      return Optional.empty();
+    }
+    final TgrFileEntry entry;
+    try {
+      entry =
+          readRecord(
+              spilledMessage.segment.channel, spilledMessage.offset, spilledMessage.length);
+    } catch (IOException e) {
+      // the segment might have been deleted concurrently
+      log.debug("Unable to read spilled message {}", spilledMessage.getUuid(), e);
+      return Optional.empty();
+    }
+    final RbelElement message =
+        RbelElement.builder()
+            .content(entry.content())
+            .uuid(spilledMessage.getUuid())
+            .parentNode(null)
+            .build();
+    val metadata = new RbelMessageMetadata();
+    for (val key : entry.metadata().keySet()) {
+      metadata.addMetadata(key, entry.metadata().get(key));
+    }
+    return Optional.of(new ReadMessage(message, metadata));
+  }
+
+  /** Deletes all segments. The store can be used again afterward. */
+  public synchronized void clear() throws IOException {
+    while (!segments.isEmpty()) {
+      segments.removeFirst().delete();
+    }
+    currentSizeInBytes = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    clear();
+  }
+
+  /** A message read from the store, ready to be handed to the converter. */
+  public record ReadMessage(RbelElement message, RbelMessageMetadata metadata) {}
+}
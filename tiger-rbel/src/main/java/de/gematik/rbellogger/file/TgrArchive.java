@@ -0,0 +1,338 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.rbellogger.util.RbelContentOutputStream;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import org.json.JSONObject;
+
+/**
+ * Random access to a binary .tgr archive. In contrast to the line based .tgr format the message
+ * content is stored unencoded and a trailing index allows to look up messages by sequence number,
+ * uuid or transmission time without reading the whole file. Message records are memory-mapped and
+ * only loaded when they are requested.
+ *
+ * <p>Layout (all numbers big endian):
+ *
+ * <pre>
+ * header:  int magic ("TGRA"), int format version
+ * record:  int metadata length, metadata (UTF-8 JSON), long content length (-1: no content),
+ *          content
+ * index:   per record, ordered by sequence number: long sequence number, long timestamp (epoch
+ *          millis, Long.MIN_VALUE if unknown), long record offset, long record length, uuid
+ *          (modified UTF-8)
+ * footer:  long index offset, int number of records, int magic ("TGRI")
+ * </pre>
+ *
+ * Archives are written using {@link TgrArchiveWriter}.
+ */
+public class TgrArchive implements Closeable {
+
+  static final int ARCHIVE_MAGIC = 0x54475241;
+  static final int INDEX_MAGIC = 0x54475249;
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+  static final int FOOTER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+  static final long UNKNOWN_TIMESTAMP = Long.MIN_VALUE;
+  private static final int CONTENT_COPY_CHUNK_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final List<IndexEntry> index;
+  private final Map<String, IndexEntry> indexByUuid;
+  private final List<IndexEntry> indexByTimestamp;
+
+  /**
+   * A single index entry of an archive.
+   *
+   * @param timestamp transmission time in epoch millis, {@link Long#MIN_VALUE} if unknown
+   * @param offset position of the record in the archive
+   * @param length length of the record in bytes
+   */
+  public record IndexEntry(
+      long sequenceNumber, String uuid, long timestamp, long offset, long length) {
+
+    public Optional<Instant> getTransmissionTime() {
+      return timestamp == UNKNOWN_TIMESTAMP
+          ? Optional.empty()
+          : Optional.of(Instant.ofEpochMilli(timestamp));
+    }
+  }
+
+  private TgrArchive(FileChannel channel, List<IndexEntry> index) {
+    this.channel = channel;
+    this.index = Collections.unmodifiableList(index);
+    this.indexByUuid = new HashMap<>();
+    index.forEach(entry -> indexByUuid.putIfAbsent(entry.uuid(), entry));
+    this.indexByTimestamp =
+        index.stream()
+            .filter(entry -> entry.timestamp() != UNKNOWN_TIMESTAMP)
+            .sorted(
+                Comparator.comparingLong(IndexEntry::timestamp)
+                    .thenComparingLong(IndexEntry::sequenceNumber))
+            .toList();
+  }
+
+  /** Checks whether the given file starts with the archive magic number. */
+  public static boolean isArchive(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+    try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+      return input.readInt() == ARCHIVE_MAGIC;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  public static TgrArchive open(Path file) throws IOException {
+    final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new TgrArchive(channel, readIndex(channel, file));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static List<IndexEntry> readIndex(FileChannel channel, Path file) throws IOException {
+    final long fileSize = channel.size();
+    if (fileSize < HEADER_SIZE + FOOTER_SIZE) {
+      throw new RbelFileReadingException(
+          "File '" + file + "' is not a complete .tgr archive", null);
+    }
+    final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+    if (header.getInt() != ARCHIVE_MAGIC) {
+      throw new RbelFileReadingException("File '" + file + "' is not a .tgr archive", null);
+    }
+    final int formatVersion = header.getInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new RbelFileReadingException(
+          "Unsupported .tgr archive version " + formatVersion + " in file '" + file + "'", null);
+    }
+
+    final ByteBuffer footer =
+        channel.map(FileChannel.MapMode.READ_ONLY, fileSize - FOOTER_SIZE, FOOTER_SIZE);
+    final long indexOffset = footer.getLong();
+    final int numberOfEntries = footer.getInt();
+    if (footer.getInt() != INDEX_MAGIC
+        || indexOffset < HEADER_SIZE
+        || indexOffset > fileSize - FOOTER_SIZE) {
+      throw new RbelFileReadingException(
+          "Index of .tgr archive '" + file + "' is missing (was the archive closed?)", null);
+    }
+
+    final MappedByteBuffer indexBuffer =
+        channel.map(
+            FileChannel.MapMode.READ_ONLY, indexOffset, fileSize - FOOTER_SIZE - indexOffset);
+    final DataInputStream indexInput = new DataInputStream(new ByteBufferInputStream(indexBuffer));
+    final List<IndexEntry> entries = new ArrayList<>(numberOfEntries);
+    for (int i = 0; i < numberOfEntries; i++) {
+      final long sequenceNumber = indexInput.readLong();
+      final long timestamp = indexInput.readLong();
+      final long offset = indexInput.readLong();
+      final long length = indexInput.readLong();
+      final String uuid = indexInput.readUTF();
+      entries.add(new IndexEntry(sequenceNumber, uuid, timestamp, offset, length));
+    }
+    return entries;
+  }
+
+  /** Parses a timestamp as written by {@link RbelFileWriter} into epoch millis. */
+  static long parseTimestamp(String timestamp) {
+    if (timestamp == null || timestamp.isBlank()) {
+      return UNKNOWN_TIMESTAMP;
+    }
+    try {
+      return ZonedDateTime.parse(timestamp).toInstant().toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return UNKNOWN_TIMESTAMP;
+    }
+  }
+
+  /** All entries of the archive, ordered by sequence number. */
+  public List<IndexEntry> getIndex() {
+    return index;
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  public Optional<IndexEntry> findByUuid(String uuid) {
+    return Optional.ofNullable(indexByUuid.get(uuid));
+  }
+
+  public Optional<IndexEntry> findBySequenceNumber(long sequenceNumber) {
+    final int position =
+        Collections.binarySearch(
+            index,
+            new IndexEntry(sequenceNumber, null, UNKNOWN_TIMESTAMP, 0, 0),
+            Comparator.comparingLong(IndexEntry::sequenceNumber));
+    return position < 0 ? Optional.empty() : Optional.of(index.get(position));
+  }
+
+  /** All entries transmitted within the given (inclusive) interval, ordered by sequence number. */
+  public List<IndexEntry> findByTransmissionTime(Instant from, Instant to) {
+    final long fromMillis = from.toEpochMilli();
+    final long toMillis = to.toEpochMilli();
+    final int start = firstPositionByTimestamp(timestamp -> timestamp >= fromMillis);
+    final int end = firstPositionByTimestamp(timestamp -> timestamp > toMillis);
+    if (start >= end) {
+      return List.of();
+    }
+    final List<IndexEntry> entries = new ArrayList<>(indexByTimestamp.subList(start, end));
+    entries.sort(Comparator.comparingLong(IndexEntry::sequenceNumber));
+    return Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Binary search in the entries with known timestamps, sorted by timestamp. The predicate has to
+   * be false for a prefix of these entries and true for the rest. Returns the start of the rest.
+   */
+  private int firstPositionByTimestamp(LongPredicate matches) {
+    int low = 0;
+    int high = indexByTimestamp.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (matches.test(indexByTimestamp.get(middle).timestamp())) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  public JSONObject readMetadata(IndexEntry entry) throws IOException {
+    return readEntry(entry).metadata();
+  }
+
+  public Optional<RbelContent> readContent(IndexEntry entry) throws IOException {
+    return Optional.ofNullable(readEntry(entry).content());
+  }
+
+  TgrFileEntry readEntry(IndexEntry entry) throws IOException {
+    return readRecord(channel, entry.offset(), entry.length());
+  }
+
+  /** Reads a single record at the given position of an archive or spill file. */
+  static TgrFileEntry readRecord(FileChannel channel, long offset, long length) throws IOException {
+    final MappedByteBuffer recordBuffer =
+        channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    final byte[] metadata = new byte[recordBuffer.getInt()];
+    recordBuffer.get(metadata);
+    final long contentLength = recordBuffer.getLong();
+    RbelContent content = null;
+    if (contentLength >= 0) {
+      final RbelContentOutputStream contentStream = new RbelContentOutputStream();
+      final byte[] chunk = new byte[(int) Math.min(CONTENT_COPY_CHUNK_SIZE, contentLength)];
+      long remaining = contentLength;
+      while (remaining > 0) {
+        final int chunkLength = (int) Math.min(chunk.length, remaining);
+        recordBuffer.get(chunk, 0, chunkLength);
+        contentStream.write(chunk, 0, chunkLength);
+        remaining -= chunkLength;
+      }
+      content = contentStream.getContent();
+    }
+    return new TgrFileEntry(new JSONObject(new String(metadata, StandardCharsets.UTF_8)), content);
+  }
+
+  /** Lazily reads all entries, ordered by sequence number. */
+  Iterator<TgrFileEntry> entries() {
+    return entries(entry -> true);
+  }
+
+  /**
+   * Lazily reads the entries accepted by the given filter, ordered by sequence number. The records
+   * of the other entries are not loaded.
+   */
+  Iterator<TgrFileEntry> entries(Predicate<IndexEntry> filter) {
+    final Iterator<IndexEntry> indexIterator = index.stream().filter(filter).iterator();
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return indexIterator.hasNext();
+      }
+
+      @Override
+      public TgrFileEntry next() {
+        try {
+          return readEntry(indexIterator.next());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    };
+  }
+
+  /** Converts the archive back into the line based .tgr format. */
+  public void convertToRbelFile(Writer target) throws IOException {
+    final RbelFileWriter rbelFileWriter = new RbelFileWriter();
+    final Iterator<TgrFileEntry> entries = entries();
+    while (entries.hasNext()) {
+      target.write(rbelFileWriter.convertToRbelFileString(entries.next()));
+    }
+    target.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      final int length = Math.min(len, buffer.remaining());
+      buffer.get(b, off, length);
+      return length;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static de.gematik.rbellogger.file.TgrArchive.*;
+
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.util.RbelContent;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import lombok.val;
+import org.json.JSONObject;
+
+/**
+ * Writes messages into the binary .tgr archive format (see {@link TgrArchive} for the layout). The
+ * index is written when the writer is closed, so an archive is only readable after {@link #close()}
+ * has been called.
+ */
+public class TgrArchiveWriter implements Closeable {
+
+  private final DataOutputStream output;
+  private final RbelFileWriter metadataWriter;
+  private final List<TgrArchive.IndexEntry> index = new ArrayList<>();
+  private long position;
+  private boolean closed = false;
+
+  public TgrArchiveWriter(Path target) throws IOException {
+    this(target, new RbelFileWriter());
+  }
+
+  public TgrArchiveWriter(Path target, RbelFileWriter metadataWriter) throws IOException {
+    this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)));
+    this.metadataWriter = metadataWriter;
+    output.writeInt(ARCHIVE_MAGIC);
+    output.writeInt(FORMAT_VERSION);
+    position = HEADER_SIZE;
+  }
+
+  /** Converts the given .tgr file content into an archive. */
+  public static void convertFromRbelFile(Reader rbelFileContent, Path target) throws IOException {
+    try (val archiveWriter = new TgrArchiveWriter(target)) {
+      final Iterator<TgrFileEntry> entries = TgrFileEntryParser.parseEntries(rbelFileContent);
+      while (entries.hasNext()) {
+        final TgrFileEntry entry = entries.next();
+        if (entry.isMessageObject()) {
+          archiveWriter.write(entry);
+        }
+      }
+    }
+  }
+
+  public synchronized void write(RbelElement message) throws IOException {
+    write(new TgrFileEntry(metadataWriter.createMetadataObject(message), message.getContent()));
+  }
+
+  synchronized void write(TgrFileEntry entry) throws IOException {
+    if (closed) {
+      throw new IllegalStateException("Archive writer is already closed");
+    }
+    final byte[] metadata = entry.metadata().toString().getBytes(StandardCharsets.UTF_8);
+    final RbelContent content = entry.content();
+    final long recordOffset = position;
+
+    output.writeInt(metadata.length);
+    output.write(metadata);
+    if (content == null) {
+      output.writeLong(-1);
+    } else {
+      output.writeLong(content.size());
+      try (InputStream contentStream = content.toInputStream()) {
+        contentStream.transferTo(output);
+      }
+    }
+    final long recordLength =
+        Integer.BYTES + metadata.length + Long.BYTES + (content == null ? 0 : content.size());
+    position += recordLength;
+
+    index.add(
+        new TgrArchive.IndexEntry(
+            entry.sequenceNumber(),
+            entry.uuid(),
+            parseTimestamp(entry.metadata()),
+            recordOffset,
+            recordLength));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (output) {
+      final long indexOffset = position;
+      index.sort(Comparator.comparingLong(TgrArchive.IndexEntry::sequenceNumber));
+      for (TgrArchive.IndexEntry entry : index) {
+        output.writeLong(entry.sequenceNumber());
+        output.writeLong(entry.timestamp());
+        output.writeLong(entry.offset());
+        output.writeLong(entry.length());
+        output.writeUTF(entry.uuid());
+      }
+      output.writeLong(indexOffset);
+      output.writeInt(index.size());
+      output.writeInt(INDEX_MAGIC);
+    }
+  }
+
+  private static long parseTimestamp(JSONObject metadata) {
+    return TgrArchive.parseTimestamp(metadata.optString(RbelFileWriter.MESSAGE_TIME, null));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.gematik.rbellogger.RbelConverter;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.file.RbelFileReader.PreparedMessage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.json.JSONObject;
+
+/**
+ * Converts the messages of a file on a pool of worker threads. The messages are handed to the
+ * converter in file order from the reading thread, so they are added to the message history in
+ * sequence order. Only the conversion itself runs in parallel. Plugins which depend on preceding
+ * messages (e.g. for pairing) wait for them via the history, as they do for live traffic.
+ *
+ * <p>The worker pool processes the messages in submission order. The oldest unfinished message is
+ * therefore always being converted, which guarantees progress when later messages wait for earlier
+ * ones. The number of messages in flight is bounded, so large files do not pile up in memory.
+ *
+ * <p>The results are returned in file order. A failing conversion is reported as {@link
+ * RbelFileReadingException}, just like in a sequential import. The importer has to be closed if it
+ * is not consumed completely.
+ */
+class TgrBulkImporter implements Iterator<Optional<RbelElement>>, AutoCloseable {
+
+  private static final int MESSAGES_IN_FLIGHT_PER_THREAD = 4;
+
+  private final RbelConverter rbelConverter;
+  private final Iterator<TgrFileEntry> entries;
+  private final Function<TgrFileEntry, Optional<PreparedMessage>> preparation;
+  private final ExecutorService workers;
+  private final int maximumMessagesInFlight;
+  private final Deque<MessageInFlight> messagesInFlight = new ArrayDeque<>();
+
+  TgrBulkImporter(
+      RbelConverter rbelConverter,
+      Iterator<TgrFileEntry> entries,
+      Function<TgrFileEntry, Optional<PreparedMessage>> preparation,
+      int threads) {
+    this.rbelConverter = rbelConverter;
+    this.entries = entries;
+    this.preparation = preparation;
+    this.maximumMessagesInFlight = threads * MESSAGES_IN_FLIGHT_PER_THREAD;
+    this.workers =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("rbel-file-import-thread-%d")
+                .setDaemon(true)
+                .build());
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      submitUpcomingMessages();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    if (messagesInFlight.isEmpty()) {
+      workers.shutdown();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public Optional<RbelElement> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final MessageInFlight messageInFlight = messagesInFlight.poll();
+    try {
+      return Optional.of(messageInFlight.conversion().join());
+    } catch (CompletionException | CancellationException e) {
+      close();
+      throw new RbelFileReadingException(
+          "Error while converting from object '" + messageInFlight.entryMetadata() + "'",
+          e.getCause() != null ? e.getCause() : e);
+    }
+  }
+
+  /** Stops the workers. Messages which are still in flight are not converted any more. */
+  @Override
+  public void close() {
+    workers.shutdownNow();
+    messagesInFlight.forEach(messageInFlight -> messageInFlight.conversion().cancel(true));
+    messagesInFlight.clear();
+  }
+
+  private void submitUpcomingMessages() {
+    while (messagesInFlight.size() < maximumMessagesInFlight && entries.hasNext()) {
+      final TgrFileEntry entry = entries.next();
+      preparation
+          .apply(entry)
+          .map(preparedMessage -> new MessageInFlight(entry.metadata(), submit(preparedMessage)))
+          .ifPresent(messagesInFlight::add);
+    }
+  }
+
+  private CompletableFuture<RbelElement> submit(PreparedMessage preparedMessage) {
+    return rbelConverter
+        .parseMessageAsync(preparedMessage.message(), preparedMessage.metadata(), workers)
+        .thenApply(
+            parsedMessage -> {
+              parsedMessage.removeFacetsOfType(IncompleteMessageReadFromFile.class);
+              return parsedMessage;
+            });
+  }
+
+  private record MessageInFlight(
+      JSONObject entryMetadata, CompletableFuture<RbelElement> conversion) {}
+}
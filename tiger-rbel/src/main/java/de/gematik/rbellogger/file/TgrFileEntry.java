@@ -0,0 +1,54 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static de.gematik.rbellogger.file.RbelFileWriter.*;
+
+import de.gematik.rbellogger.util.RbelContent;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * A single entry of a .tgr file. The (potentially large) message content is kept as decoded {@link
+ * RbelContent}, all remaining attributes are kept in {@code metadata}.
+ *
+ * @param metadata all attributes of the entry except for the raw message content
+ * @param content the decoded message content, {@code null} if the entry contains no content
+ */
+record TgrFileEntry(JSONObject metadata, @Nullable RbelContent content) {
+
+  /** Entries without a sequence number are sorted after all others. */
+  long sequenceNumber() {
+    return metadata.optLong(SEQUENCE_NUMBER, Integer.MAX_VALUE);
+  }
+
+  String uuid() {
+    return metadata.optString(MESSAGE_UUID);
+  }
+
+  boolean hasContent() {
+    return content != null;
+  }
+
+  boolean isMessageObject() {
+    return hasContent() || metadata.has(SEQUENCE_NUMBER) || metadata.has(MESSAGE_UUID);
+  }
+}
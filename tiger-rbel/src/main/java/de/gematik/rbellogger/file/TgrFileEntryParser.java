@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static de.gematik.rbellogger.file.RbelFileWriter.RAW_MESSAGE_CONTENT;
+
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.rbellogger.util.RbelContentOutputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.json.JSONObject;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Tokenizes .tgr entries using a streaming JSON parser. The base64-encoded message content is
+ * decoded directly into {@link RbelContent} chunks, so neither the encoded nor the decoded content
+ * is ever held as one contiguous string or array.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class TgrFileEntryParser {
+
+  private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+  static TgrFileEntry parseLine(String line) {
+    try (JsonParser parser = MAPPER.createParser(line)) {
+      parser.nextToken();
+      return readEntry(parser);
+    } catch (JacksonException e) {
+      throw new RbelFileReadingException("Error while parsing line '" + line + "'", e);
+    }
+  }
+
+  /**
+   * Returns all entries of the given reader. The reader is consumed lazily, one entry at a time.
+   * Entries do not need to be separated by newlines.
+   */
+  static Iterator<TgrFileEntry> parseEntries(Reader reader) {
+    final JsonParser parser = MAPPER.createParser(reader);
+    return new Iterator<>() {
+      private boolean finished = false;
+
+      @Override
+      public boolean hasNext() {
+        if (finished) {
+          return false;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+          try {
+            if (parser.nextToken() == null) {
+              finished = true;
+              parser.close();
+            }
+          } catch (JacksonException e) {
+            throw new RbelFileReadingException("Error while reading .tgr content", e);
+          }
+        }
+        return !finished;
+      }
+
+      @Override
+      public TgrFileEntry next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          return readEntry(parser);
+        } catch (JacksonException e) {
+          throw new RbelFileReadingException("Error while reading .tgr content", e);
+        }
+      }
+    };
+  }
+
+  private static TgrFileEntry readEntry(JsonParser parser) {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      throw new RbelFileReadingException(
+          "Expected a JSON object, but found " + parser.currentToken(), null);
+    }
+    final ObjectNode metadata = MAPPER.createObjectNode();
+    RbelContent content = null;
+    while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+      final String name = parser.currentName();
+      final JsonToken valueToken = parser.nextToken();
+      if (RAW_MESSAGE_CONTENT.equals(name) && valueToken == JsonToken.VALUE_STRING) {
+        final RbelContentOutputStream contentStream = new RbelContentOutputStream();
+        parser.readBinaryValue(contentStream);
+        content = contentStream.getContent();
+      } else {
+        metadata.set(name, MAPPER.readTree(parser));
+      }
+    }
+    return new TgrFileEntry(new JSONObject(metadata.toString()), content);
+  }
+}
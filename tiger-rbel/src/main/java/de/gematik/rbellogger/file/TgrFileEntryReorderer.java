@@ -0,0 +1,268 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import de.gematik.rbellogger.util.RbelContent;
+import de.gematik.rbellogger.util.RbelContentOutputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.json.JSONObject;
+
+/**
+ * Brings the entries of a .tgr file into sequence number order while holding at most {@code
+ * windowSize} entries in memory. Entries are emitted from the window as soon as it is full, so
+ * entries displaced by less than the window size end up in order without touching the disk.
+ *
+ * <p>If an entry arrives that sorts before one which has already been emitted, the file is badly
+ * out of order. The late entry and all remaining entries are then sorted using an external merge
+ * sort and emitted after the ones already emitted. The runs are built by replacement selection, so
+ * a remainder that is mostly in order ends up in few runs which are read back sequentially. The
+ * run files are deleted once they are read or when the reorderer is closed.
+ */
+@Slf4j
+class TgrFileEntryReorderer implements Iterator<TgrFileEntry>, Closeable {
+
+  private static final Comparator<SequencedEntry> ORDER =
+      Comparator.comparingLong((SequencedEntry e) -> e.entry().sequenceNumber())
+          .thenComparingLong(SequencedEntry::arrivalIndex);
+
+  private final Iterator<TgrFileEntry> source;
+  private final int windowSize;
+  private final PriorityQueue<SequencedEntry> window = new PriorityQueue<>(ORDER);
+  private long arrivalCounter = 0;
+  private SequencedEntry lastEmitted;
+  private ExternalMergeSort externalMergeSort;
+
+  TgrFileEntryReorderer(Iterator<TgrFileEntry> source, int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive, got " + windowSize);
+    }
+    this.source = source;
+    this.windowSize = windowSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    fillWindow();
+    if (externalMergeSort != null) {
+      return externalMergeSort.hasNext();
+    }
+    return !window.isEmpty();
+  }
+
+  @Override
+  public TgrFileEntry next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (externalMergeSort != null) {
+      return externalMergeSort.next();
+    }
+    lastEmitted = window.poll();
+    return lastEmitted.entry();
+  }
+
+  /** True once the entries had to be sorted through temporary files. */
+  boolean isSpilling() {
+    return externalMergeSort != null;
+  }
+
+  /** Deletes the remaining run files. Entries which have not been emitted yet are dropped. */
+  @Override
+  public void close() {
+    if (externalMergeSort != null) {
+      externalMergeSort.close();
+    }
+    window.clear();
+  }
+
+  private void fillWindow() {
+    while (externalMergeSort == null && window.size() < windowSize && source.hasNext()) {
+      final SequencedEntry read = nextSourceEntry();
+      window.add(read);
+      if (lastEmitted != null && ORDER.compare(read, lastEmitted) < 0 && source.hasNext()) {
+        log.info(
+            "Entry {} arrived after entry {} had been emitted. Sorting the remaining entries via"
+                + " temporary files",
+            read.entry().sequenceNumber(),
+            lastEmitted.entry().sequenceNumber());
+        externalMergeSort = new ExternalMergeSort();
+      }
+    }
+  }
+
+  private SequencedEntry nextSourceEntry() {
+    return new SequencedEntry(source.next(), arrivalCounter++);
+  }
+
+  private record SequencedEntry(TgrFileEntry entry, long arrivalIndex) {}
+
+  /** Sorts the window content and all remaining source entries through spilled runs. */
+  private class ExternalMergeSort {
+
+    private final PriorityQueue<RunReader> runs =
+        new PriorityQueue<>(Comparator.comparing(RunReader::head, ORDER));
+
+    ExternalMergeSort() {
+      try {
+        PriorityQueue<SequencedEntry> currentRun = window;
+        while (!currentRun.isEmpty()) {
+          final PriorityQueue<SequencedEntry> nextRun = new PriorityQueue<>(ORDER);
+          final Path runFile = writeRun(currentRun, nextRun);
+          final RunReader reader = new RunReader(runFile);
+          if (reader.head() != null) {
+            runs.add(reader);
+          }
+          currentRun = nextRun;
+        }
+      } catch (IOException e) {
+        close();
+        throw new UncheckedIOException("Error while spilling .tgr entries to disk", e);
+      }
+      log.info("Spilled .tgr entries into {} sorted runs", runs.size());
+    }
+
+    boolean hasNext() {
+      return !runs.isEmpty();
+    }
+
+    TgrFileEntry next() {
+      final RunReader reader = runs.poll();
+      final SequencedEntry result = reader.head();
+      if (reader.advance()) {
+        runs.add(reader);
+      }
+      return result.entry();
+    }
+
+    void close() {
+      runs.forEach(RunReader::close);
+      runs.clear();
+    }
+
+    /**
+     * Writes one run using replacement selection: the smallest entry is written and replaced by
+     * the next source entry. Source entries which are smaller than the last written one are held
+     * back for the next run.
+     */
+    private Path writeRun(
+        PriorityQueue<SequencedEntry> currentRun, PriorityQueue<SequencedEntry> nextRun)
+        throws IOException {
+      final Path runFile = Files.createTempFile("tgr-reorder-", ".run");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile)))) {
+        while (!currentRun.isEmpty()) {
+          final SequencedEntry written = currentRun.poll();
+          writeEntry(out, written);
+          if (source.hasNext()) {
+            final SequencedEntry read = nextSourceEntry();
+            if (ORDER.compare(read, written) < 0) {
+              nextRun.add(read);
+            } else {
+              currentRun.add(read);
+            }
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(runFile);
+        throw e;
+      }
+      return runFile;
+    }
+
+    private void writeEntry(DataOutputStream out, SequencedEntry entry) throws IOException {
+      out.writeLong(entry.arrivalIndex());
+      final byte[] metadata = entry.entry().metadata().toString().getBytes(StandardCharsets.UTF_8);
+      out.writeInt(metadata.length);
+      out.write(metadata);
+      final RbelContent content = entry.entry().content();
+      if (content == null) {
+        out.writeInt(-1);
+      } else {
+        out.writeInt(content.size());
+        try (InputStream contentStream = content.toInputStream()) {
+          contentStream.transferTo(out);
+        }
+      }
+    }
+  }
+
+  /** Reads one spilled run sequentially, deleting the file once it is exhausted. */
+  private static class RunReader {
+    private final Path runFile;
+    private final DataInputStream in;
+    private SequencedEntry head;
+
+    RunReader(Path runFile) throws IOException {
+      this.runFile = runFile;
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFile)));
+      this.head = readEntry();
+    }
+
+    SequencedEntry head() {
+      return head;
+    }
+
+    boolean advance() {
+      try {
+        head = readEntry();
+      } catch (IOException e) {
+        close();
+        throw new UncheckedIOException("Error while reading spilled .tgr entries", e);
+      }
+      return head != null;
+    }
+
+    private SequencedEntry readEntry() throws IOException {
+      final long arrivalIndex;
+      try {
+        arrivalIndex = in.readLong();
+      } catch (EOFException e) {
+        close();
+        return null;
+      }
+      final JSONObject metadata =
+          new JSONObject(new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8));
+      final int contentLength = in.readInt();
+      RbelContent content = null;
+      if (contentLength >= 0) {
+        final RbelContentOutputStream contentStream = new RbelContentOutputStream();
+        IOUtils.copyLarge(in, contentStream, 0, contentLength);
+        content = contentStream.getContent();
+      }
+      return new SequencedEntry(new TgrFileEntry(metadata, content), arrivalIndex);
+    }
+
+    void close() {
+      try {
+        in.close();
+        Files.deleteIfExists(runFile);
+      } catch (IOException e) {
+        log.debug("Error while deleting spilled run {}", runFile, e);
+      }
+    }
+  }
+}
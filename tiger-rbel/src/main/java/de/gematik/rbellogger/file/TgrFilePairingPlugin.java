@@ -62,7 +62,29 @@ public class TgrFilePairingPlugin extends RbelConverterPlugin {
 
   private void pairWithExplicitPartner(
       RbelElement rbelElement, String partnerUuid, RbelConversionExecutor converter) {
-    converter.findMessageByUuid(partnerUuid).ifPresent(other -> applyPairing(rbelElement, other));
+    converter
+        .findMessageByUuid(partnerUuid)
+        .filter(other -> isReadyForPairing(rbelElement, other, converter))
+        .ifPresent(other -> applyPairing(rbelElement, other));
+  }
+
+  /**
+   * During a bulk import messages are converted in parallel, so the partner might still be in
+   * conversion. An earlier partner is awaited, which gives the same result as a sequential import.
+   * A later partner which is still in conversion is skipped, it will pair itself with this message.
+   */
+  private static boolean isReadyForPairing(
+      RbelElement current, RbelElement other, RbelConversionExecutor converter) {
+    if (other.getConversionPhase().isFinished()) {
+      return true;
+    }
+    long currentSeq = current.getSequenceNumber().orElse(Long.MAX_VALUE);
+    long otherSeq = other.getSequenceNumber().orElse(Long.MAX_VALUE);
+    if (otherSeq < currentSeq) {
+      converter.getConverter().waitForGivenElementToBeParsed(other);
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -112,6 +134,7 @@ public class TgrFilePairingPlugin extends RbelConverterPlugin {
   private void pairPotentialHttpResponseWithPreviousMessage(
       RbelElement message, RbelConversionExecutor converter) {
     if (message.getContent().startsWith(HTTP_PREFIX)) {
+      converter.waitForAllElementsBeforeGivenToBeParsed(message);
       converter
           .getConverter()
           .getPreviousMessages(
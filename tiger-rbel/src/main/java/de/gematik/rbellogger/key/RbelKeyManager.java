@@ -25,25 +25,83 @@ import de.gematik.rbellogger.RbelConverterPlugin;
 import de.gematik.rbellogger.converter.ConverterInfo;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelNestedFacet;
+import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
 import de.gematik.rbellogger.facets.jackson.RbelJsonConverter;
 import de.gematik.rbellogger.facets.jackson.RbelJsonFacet;
 import de.gematik.rbellogger.facets.jose.RbelJweConverter;
 import de.gematik.rbellogger.facets.jose.RbelJwtConverter;
+import de.gematik.test.tiger.common.config.TigerTypedConfigurationKey;
+import de.gematik.test.tiger.common.util.TcpIpConnectionIdentifier;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import javax.crypto.spec.SecretKeySpec;
+import lombok.AccessLevel;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.util.encoders.Hex;
 
+/**
+ * Holds all keys known to the RBel conversion. Keys are kept ordered by precedence and indexed by
+ * name, hash, name prefix, key type and by the connection which introduced them. Reads work on an
+ * immutable snapshot and do not lock, the snapshot (and the lookups cached on it) is rebuilt
+ * lazily after the keys changed.
+ *
+ * <p>Keys which are only valid for a single session (e.g. VAU handshake keys) can be added as
+ * ephemeral keys. These are evicted once more than {@link #MAX_EPHEMERAL_KEYS} of them are known or
+ * after they have not been used for {@link #EPHEMERAL_KEY_TTL_IN_SECONDS}.
+ */
 @Slf4j
 public class RbelKeyManager {
 
+  /** Maximum number of ephemeral keys kept. The least recently used ones are evicted first. */
+  public static final TigerTypedConfigurationKey<Integer> MAX_EPHEMERAL_KEYS =
+      new TigerTypedConfigurationKey<>("tiger.rbel.keys.maxEphemeralKeys", Integer.class, 0);
+
+  /** Ephemeral keys which have not been used for this long are evicted. 0 keeps them forever. */
+  public static final TigerTypedConfigurationKey<Integer> EPHEMERAL_KEY_TTL_IN_SECONDS =
+      new TigerTypedConfigurationKey<>(
+          "tiger.rbel.keys.ephemeralKeyTtlInSeconds", Integer.class, 0);
+
+  private static final int MAX_REMEMBERED_SESSIONS = 10_000;
+
+  /** All keys, ordered by precedence. Keys of equal precedence keep their insertion order. */
   private final List<RbelKey> keyList = new ArrayList<>();
-  private final Set<RbelKey> keySet = new HashSet<>();
+
+  private final Map<String, RbelKey> keyByHash = new HashMap<>();
+  private final Map<String, RbelKey> keyByName = new HashMap<>();
+  private final Map<String, RbelKey> privateKeyByPublicKeyName = new HashMap<>();
+  private final Map<ConnectionKey, List<RbelKey>> keysByConnection = new HashMap<>();
+  private final Map<RbelKey, ConnectionKey> connectionByKey = new HashMap<>();
+
+  /** Last use of every ephemeral key, ordered from least to most recently used. */
+  private final Map<RbelKey, Instant> ephemeralKeyLastUse = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final Map<KeySession, RbelKey> lastSuccessfulKeys =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<KeySession, RbelKey> eldest) {
+          return size() > MAX_REMEMBERED_SESSIONS;
+        }
+      };
+
+  private volatile KeySnapshot snapshot;
+
+  @Setter private int maxEphemeralKeys = MAX_EPHEMERAL_KEYS.getValueOrDefault();
+
+  @Setter
+  private Duration ephemeralKeyTimeToLive =
+      Duration.ofSeconds(EPHEMERAL_KEY_TTL_IN_SECONDS.getValueOrDefault());
+
+  @Setter(AccessLevel.PACKAGE)
+  private Clock clock = Clock.systemUTC();
 
   public synchronized RbelKeyManager addAll(Map<String, RbelKey> keys) {
-    keyList.addAll(keys.values());
+    keys.values().forEach(this::addKey);
     return this;
   }
 
@@ -56,8 +114,19 @@ public class RbelKeyManager {
       log.trace("Skipping adding key: Key is already known!");
       return Optional.empty();
     } else {
-      keyList.add(rbelKey);
-      keySet.add(rbelKey);
+      keyList.add(insertionPoint(rbelKey.getPrecedence()), rbelKey);
+      keyByHash.put(Hex.toHexString(rbelKey.getHash()), rbelKey);
+      if (rbelKey.getKeyName() != null) {
+        keyByName.merge(rbelKey.getKeyName(), rbelKey, RbelKeyManager::preferredKey);
+      }
+      rbelKey
+          .getMatchingPublicKey()
+          .map(RbelKey::getKeyName)
+          .ifPresent(
+              publicKeyName ->
+                  privateKeyByPublicKeyName.merge(
+                      publicKeyName, rbelKey, RbelKeyManager::preferredKey));
+      snapshot = null;
 
       log.debug("Added key {} (Now there are {} keys known)", rbelKey.getKeyName(), keyList.size());
       return Optional.of(rbelKey);
@@ -71,31 +140,259 @@ public class RbelKeyManager {
     return addKey(rbelKey);
   }
 
+  /**
+   * Adds a key which is only valid for a single session. The key is associated with the connection
+   * of the message it was found in, so that messages of this connection try it first. Ephemeral
+   * keys are subject to eviction, see {@link #MAX_EPHEMERAL_KEYS} and {@link
+   * #EPHEMERAL_KEY_TTL_IN_SECONDS}.
+   */
+  public synchronized Optional<RbelKey> addEphemeralKey(RbelKey rbelKey, RbelElement source) {
+    final Optional<RbelKey> addedKey = addKey(rbelKey);
+    addedKey.ifPresent(
+        key -> {
+          ephemeralKeyLastUse.put(key, clock.instant());
+          findConnection(source)
+              .ifPresent(
+                  connection -> {
+                    connectionByKey.put(key, connection);
+                    keysByConnection.computeIfAbsent(connection, c -> new ArrayList<>()).add(key);
+                  });
+          evictEphemeralKeys();
+        });
+    return addedKey;
+  }
+
   private synchronized boolean keyIsPresentInList(RbelKey key) {
     log.atTrace()
         .addArgument(() -> Hex.toHexString(key.getHash()))
         .log("Checking if key is already known: {}");
-    return keyList.stream().anyMatch(oldKey -> oldKey.equals(key));
+    return keyByHash.containsKey(Hex.toHexString(key.getHash()));
+  }
+
+  public Stream<RbelKey> getAllKeys() {
+    return currentSnapshot().keys.stream();
   }
 
-  public synchronized Stream<RbelKey> getAllKeys() {
-    return new ArrayList<>(keyList).stream().sorted(Comparator.comparing(RbelKey::getPrecedence));
+  /** All keys whose name starts with the given prefix, ordered by precedence. */
+  public Stream<RbelKey> findKeysByNamePrefix(String prefix) {
+    return currentSnapshot().keysWithNamePrefix(prefix).stream();
+  }
+
+  /** All keys which are an instance of the given key type, ordered by precedence. */
+  public Stream<RbelKey> findKeysOfType(Class<? extends Key> keyType) {
+    return currentSnapshot().keysOfType(keyType).stream();
+  }
+
+  /** Finds the key whose encoded form has the given SHA-256 hash, see {@link RbelKey#getHash()}. */
+  public synchronized Optional<RbelKey> findKeyByHash(byte[] hash) {
+    return Optional.ofNullable(keyByHash.get(Hex.toHexString(hash)));
   }
 
   public synchronized Optional<RbelKey> findCorrespondingPrivateKey(String rbelKey) {
-    return getAllKeys()
-        .filter(candidate -> candidate.getMatchingPublicKey().isPresent())
-        .filter(
-            candidate ->
-                Objects.equals(candidate.getMatchingPublicKey().get().getKeyName(), rbelKey))
-        .findFirst();
+    return Optional.ofNullable(privateKeyByPublicKeyName.get(rbelKey));
   }
 
   public synchronized Optional<RbelKey> findKeyByName(String keyName) {
-    return getAllKeys()
-        .filter(
-            candidate -> candidate.getKeyName() != null && candidate.getKeyName().equals(keyName))
-        .findFirst();
+    return Optional.ofNullable(keyName).map(keyByName::get);
+  }
+
+  /**
+   * Orders the candidate keys for decrypting the given element. The key which last succeeded for
+   * the same purpose on the same connection comes first, followed by the ephemeral keys introduced
+   * by that connection (newest first) and all remaining candidates in their given order.
+   */
+  public List<RbelKey> orderForSession(
+      String purpose, RbelElement element, List<RbelKey> candidates) {
+    final Optional<ConnectionKey> connection = findConnection(element);
+    if (connection.isEmpty() || candidates.size() < 2) {
+      return candidates;
+    }
+    final RbelKey lastSuccessfulKey;
+    final List<RbelKey> connectionKeys;
+    synchronized (this) {
+      lastSuccessfulKey = lastSuccessfulKeys.get(new KeySession(purpose, connection.get()));
+      connectionKeys = new ArrayList<>(keysByConnection.getOrDefault(connection.get(), List.of()));
+    }
+    if (lastSuccessfulKey == null && connectionKeys.isEmpty()) {
+      return candidates;
+    }
+    final Set<RbelKey> candidateSet = new HashSet<>(candidates);
+    final Set<RbelKey> orderedKeys = new LinkedHashSet<>(candidates.size());
+    if (lastSuccessfulKey != null && candidateSet.contains(lastSuccessfulKey)) {
+      orderedKeys.add(lastSuccessfulKey);
+    }
+    for (int i = connectionKeys.size() - 1; i >= 0; i--) {
+      if (candidateSet.contains(connectionKeys.get(i))) {
+        orderedKeys.add(connectionKeys.get(i));
+      }
+    }
+    orderedKeys.addAll(candidates);
+    return List.copyOf(orderedKeys);
+  }
+
+  /**
+   * Remembers that the given key decrypted the element, so that the next message of the same
+   * connection tries it first. Also counts as a use of the key for the eviction of ephemeral keys.
+   */
+  public void rememberSuccessfulKey(String purpose, RbelElement element, RbelKey key) {
+    final Optional<ConnectionKey> connection = findConnection(element);
+    synchronized (this) {
+      if (!keyByHash.containsKey(Hex.toHexString(key.getHash()))) {
+        return;
+      }
+      connection.ifPresent(c -> lastSuccessfulKeys.put(new KeySession(purpose, c), key));
+      if (ephemeralKeyLastUse.containsKey(key)) {
+        ephemeralKeyLastUse.put(key, clock.instant());
+      }
+    }
+  }
+
+  public synchronized int getEphemeralKeyCount() {
+    return ephemeralKeyLastUse.size();
+  }
+
+  private void evictEphemeralKeys() {
+    final Instant expiry =
+        ephemeralKeyTimeToLive.isZero() || ephemeralKeyTimeToLive.isNegative()
+            ? null
+            : clock.instant().minus(ephemeralKeyTimeToLive);
+    final Iterator<Map.Entry<RbelKey, Instant>> iterator =
+        ephemeralKeyLastUse.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<RbelKey, Instant> leastRecentlyUsed = iterator.next();
+      final boolean tooManyKeys =
+          maxEphemeralKeys > 0 && ephemeralKeyLastUse.size() > maxEphemeralKeys;
+      final boolean expired = expiry != null && leastRecentlyUsed.getValue().isBefore(expiry);
+      if (!tooManyKeys && !expired) {
+        break;
+      }
+      iterator.remove();
+      removeKey(leastRecentlyUsed.getKey());
+    }
+  }
+
+  private void removeKey(RbelKey key) {
+    log.debug("Evicting ephemeral key {}", key.getKeyName());
+    keyList.remove(key);
+    keyByHash.remove(Hex.toHexString(key.getHash()));
+    if (key.getKeyName() != null && keyByName.remove(key.getKeyName(), key)) {
+      keyList.stream()
+          .filter(candidate -> key.getKeyName().equals(candidate.getKeyName()))
+          .findFirst()
+          .ifPresent(candidate -> keyByName.put(key.getKeyName(), candidate));
+    }
+    key.getMatchingPublicKey()
+        .map(RbelKey::getKeyName)
+        .filter(publicKeyName -> privateKeyByPublicKeyName.remove(publicKeyName, key))
+        .flatMap(
+            publicKeyName ->
+                keyList.stream()
+                    .filter(
+                        candidate ->
+                            candidate
+                                .getMatchingPublicKey()
+                                .map(RbelKey::getKeyName)
+                                .filter(publicKeyName::equals)
+                                .isPresent())
+                    .findFirst())
+        .ifPresent(
+            candidate ->
+                privateKeyByPublicKeyName.put(
+                    candidate.getMatchingPublicKey().orElseThrow().getKeyName(), candidate));
+    final ConnectionKey connection = connectionByKey.remove(key);
+    if (connection != null) {
+      final List<RbelKey> connectionKeys = keysByConnection.get(connection);
+      connectionKeys.remove(key);
+      if (connectionKeys.isEmpty()) {
+        keysByConnection.remove(connection);
+      }
+    }
+    lastSuccessfulKeys.values().removeIf(key::equals);
+    snapshot = null;
+  }
+
+  private int insertionPoint(int precedence) {
+    int low = 0;
+    int high = keyList.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (keyList.get(middle).getPrecedence() <= precedence) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static RbelKey preferredKey(RbelKey knownKey, RbelKey newKey) {
+    return knownKey.getPrecedence() <= newKey.getPrecedence() ? knownKey : newKey;
+  }
+
+  private KeySnapshot currentSnapshot() {
+    KeySnapshot result = snapshot;
+    if (result == null) {
+      synchronized (this) {
+        if (snapshot == null) {
+          snapshot = new KeySnapshot(List.copyOf(keyList));
+        }
+        result = snapshot;
+      }
+    }
+    return result;
+  }
+
+  private static Optional<ConnectionKey> findConnection(RbelElement element) {
+    return Optional.ofNullable(element)
+        .map(RbelElement::findMessage)
+        .flatMap(message -> message.getFacet(RbelTcpIpMessageFacet.class))
+        .filter(facet -> facet.getSenderAddress() != null && facet.getReceiverAddress() != null)
+        .map(RbelTcpIpMessageFacet::getTcpIpConnectionIdentifier)
+        .map(ConnectionKey::new);
+  }
+
+  /**
+   * Map key for a connection. {@link TcpIpConnectionIdentifier#hashCode()} is not consistent with
+   * its equals if one side of a connection was recorded by hostname and the other by IP, so the
+   * hash is taken from {@link TcpIpConnectionIdentifier#indexKey()} instead.
+   */
+  private record ConnectionKey(TcpIpConnectionIdentifier identifier) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ConnectionKey other && identifier.equals(other.identifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return identifier.indexKey().hashCode();
+    }
+  }
+
+  private record KeySession(String purpose, ConnectionKey connection) {}
+
+  /** Immutable view of the known keys. Lookups are cached until the keys change. */
+  private static final class KeySnapshot {
+    private final List<RbelKey> keys;
+    private final Map<String, List<RbelKey>> keysByNamePrefix = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<RbelKey>> keysByType = new ConcurrentHashMap<>();
+
+    private KeySnapshot(List<RbelKey> keys) {
+      this.keys = keys;
+    }
+
+    private List<RbelKey> keysWithNamePrefix(String prefix) {
+      return keysByNamePrefix.computeIfAbsent(
+          prefix,
+          p ->
+              keys.stream()
+                  .filter(key -> key.getKeyName() != null && key.getKeyName().startsWith(p))
+                  .toList());
+    }
+
+    private List<RbelKey> keysOfType(Class<?> keyType) {
+      return keysByType.computeIfAbsent(
+          keyType, type -> keys.stream().filter(key -> type.isInstance(key.getKey())).toList());
+    }
   }
 
   @ConverterInfo(
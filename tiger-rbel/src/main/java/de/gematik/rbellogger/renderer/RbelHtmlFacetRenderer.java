@@ -21,13 +21,26 @@
 package de.gematik.rbellogger.renderer;
 
 import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.core.RbelFacet;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RbelHtmlFacetRenderer {
 
   boolean checkForRendering(RbelElement element);
 
+  /**
+   * The facets this renderer is responsible for. {@link #checkForRendering(RbelElement)} is only
+   * called for elements carrying at least one of these facets (or a subclass thereof). An empty set
+   * means the renderer is asked for every element.
+   *
+   * @return the facet classes a rendered element must carry
+   */
+  default Set<Class<? extends RbelFacet>> getRenderedFacets() {
+    return Set.of();
+  }
+
   @SuppressWarnings({"java:S3740", "rawtypes", "OptionalUsedAsFieldOrParameterType"})
   ContainerTag performRendering(
       RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit renderingToolkit);
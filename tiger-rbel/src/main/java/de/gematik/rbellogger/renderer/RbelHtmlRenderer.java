@@ -27,11 +27,13 @@ import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.RbelBinaryFacet;
 import de.gematik.rbellogger.util.BinaryClassifier;
 import de.gematik.rbellogger.util.RbelValueShader;
+import de.gematik.test.tiger.common.config.TigerTypedConfigurationKey;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.Setter;
@@ -44,10 +46,20 @@ import org.bouncycastle.util.encoders.Hex;
 @Getter
 public class RbelHtmlRenderer {
 
-  private static final List<RbelHtmlFacetRenderer> htmlRenderer = new ArrayList<>();
+  private static volatile RendererIndex rendererIndex = new RendererIndex(List.of());
   public static final String OVERSIZE_REPLACEMENT_TEXT_PRE = "<...redacted due to size of ";
   public static final String OVERSIZE_REPLACEMENT_TEXT_POST = " MB...>";
   public static final String MODAL = "modal";
+
+  /**
+   * Number of threads rendering the messages of a document in parallel. The rendered messages are
+   * still written in order.
+   */
+  public static final TigerTypedConfigurationKey<Integer> RENDERING_THREADS =
+      new TigerTypedConfigurationKey<>(
+          "tiger.rbel.renderer.threads",
+          Integer.class,
+          Math.min(4, Runtime.getRuntime().availableProcessors()));
   private final RbelValueShader rbelValueShader;
   @Setter private boolean renderNestedObjectsWithoutFacetRenderer = false;
   @Setter private long maximumEntitySizeInBytes = 4 * MB;
@@ -55,6 +67,7 @@ public class RbelHtmlRenderer {
   @Setter private String title = "Tiger Proxy Log";
   @Setter private String subTitle = "";
   @Setter private String versionInfo = "";
+  @Setter private int renderingThreads = RENDERING_THREADS.getValueOrDefault();
 
   public RbelHtmlRenderer(final RbelValueShader rbelValueShader) {
     this.rbelValueShader = rbelValueShader;
@@ -182,8 +195,14 @@ public class RbelHtmlRenderer {
         + OVERSIZE_REPLACEMENT_TEXT_POST;
   }
 
-  public static void registerFacetRenderer(RbelHtmlFacetRenderer rbelFacetRenderer) {
-    htmlRenderer.add(rbelFacetRenderer);
+  public static synchronized void registerFacetRenderer(RbelHtmlFacetRenderer rbelFacetRenderer) {
+    final List<RbelHtmlFacetRenderer> renderers = new ArrayList<>(rendererIndex.renderers);
+    int position = renderers.size();
+    while (position > 0 && renderers.get(position - 1).order() > rbelFacetRenderer.order()) {
+      position--;
+    }
+    renderers.add(position, rbelFacetRenderer);
+    rendererIndex = new RendererIndex(List.copyOf(renderers));
   }
 
   public String doRender(final Collection<RbelElement> elements) {
@@ -208,7 +227,7 @@ public class RbelHtmlRenderer {
   private void performRendering(
       final Collection<RbelElement> elements, boolean localRessources, Writer writer) {
     RbelHtmlRenderingToolkit renderingToolkit = new RbelHtmlRenderingToolkit(this);
-    renderingToolkit.renderDocument(new ArrayList<>(elements), localRessources, writer);
+    renderingToolkit.renderDocument(elements, localRessources, writer);
   }
 
   @SuppressWarnings({"OptionalUsedAsFieldOrParameterType", "rawtypes", "java:S3740"})
@@ -220,13 +239,12 @@ public class RbelHtmlRenderer {
       return Optional.empty();
     }
     final List<ContainerTag> renderedFacets =
-        htmlRenderer.stream()
-            .filter(renderer -> renderer.checkForRendering(element))
+        rendererIndex.findCandidates(element).stream()
             .filter(
                 renderer ->
                     !renderingToolkit.isInShortenedRenderingMode()
                         || renderer.shouldRenderLargeElements())
-            .sorted(Comparator.comparing(RbelHtmlFacetRenderer::order))
+            .filter(renderer -> renderer.checkForRendering(element))
             .map(renderer -> renderer.performRendering(element, key, renderingToolkit))
             .toList();
     if (renderedFacets.isEmpty()) {
@@ -241,4 +259,51 @@ public class RbelHtmlRenderer {
   public String getEmptyPage(boolean localRessources) {
     return performRendering(List.of(), localRessources);
   }
+
+  /**
+   * The registered renderers, sorted by {@link RbelHtmlFacetRenderer#order()}, together with the
+   * candidate renderers for every combination of facet classes seen so far. Replaced as a whole
+   * when a renderer is registered.
+   */
+  private static final class RendererIndex {
+    private static final int MAX_CACHED_COMBINATIONS = 10_000;
+
+    private final List<RbelHtmlFacetRenderer> renderers;
+    private final Map<List<Class<?>>, List<RbelHtmlFacetRenderer>> candidatesByFacetClasses =
+        new ConcurrentHashMap<>();
+
+    private RendererIndex(List<RbelHtmlFacetRenderer> renderers) {
+      this.renderers = renderers;
+    }
+
+    private List<RbelHtmlFacetRenderer> findCandidates(RbelElement element) {
+      final List<Class<?>> facetClasses = new ArrayList<>(element.getFacets().size());
+      for (var facet : element.getFacets()) {
+        if (facet != null) {
+          facetClasses.add(facet.getClass());
+        }
+      }
+      final List<RbelHtmlFacetRenderer> candidates = candidatesByFacetClasses.get(facetClasses);
+      if (candidates != null) {
+        return candidates;
+      }
+      final List<RbelHtmlFacetRenderer> result = selectCandidates(facetClasses);
+      if (candidatesByFacetClasses.size() < MAX_CACHED_COMBINATIONS) {
+        candidatesByFacetClasses.put(facetClasses, result);
+      }
+      return result;
+    }
+
+    private List<RbelHtmlFacetRenderer> selectCandidates(List<Class<?>> facetClasses) {
+      return renderers.stream()
+          .filter(
+              renderer ->
+                  renderer.getRenderedFacets().isEmpty()
+                      || renderer.getRenderedFacets().stream()
+                          .anyMatch(
+                              renderedFacet ->
+                                  facetClasses.stream().anyMatch(renderedFacet::isAssignableFrom)))
+          .toList();
+    }
+  }
 }
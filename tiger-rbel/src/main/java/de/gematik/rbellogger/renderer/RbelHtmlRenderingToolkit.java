@@ -25,6 +25,7 @@ import static de.gematik.rbellogger.renderer.RbelHtmlRenderer.showContentButtonA
 import static de.gematik.test.tiger.common.util.FunctionWithCheckedException.unchecked;
 import static j2html.TagCreator.*;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.core.*;
 import de.gematik.rbellogger.exceptions.RbelRenderingException;
@@ -49,6 +50,10 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -368,9 +373,18 @@ public class RbelHtmlRenderingToolkit {
         .orElse("0");
   }
 
-  public void renderDocument(List<RbelElement> elements, boolean localRessources, Writer writer)
+  /**
+   * Renders the complete HTML document into the writer. The document frame is rendered first, the
+   * messages are then rendered one by one (in parallel, see {@link
+   * RbelHtmlRenderer#RENDERING_THREADS}) and written in order, so that only a bounded number of
+   * rendered messages is held in memory at any time.
+   */
+  public void renderDocument(
+      Collection<RbelElement> elements, boolean localRessources, Writer writer)
       throws IOException {
-    writer.write("<!DOCTYPE html>\n");
+    final String messagesMarker = "rbel-messages-" + UUID.randomUUID();
+    final String menuMarker = "rbel-menu-" + UUID.randomUUID();
+    final StringWriter frameWriter = new StringWriter();
     html(
             head(
                 meta().attr("charset", "utf-8"),
@@ -472,7 +486,7 @@ public class RbelHtmlRenderingToolkit {
                                             "created fst-italic " + isSize(6) + " float-end me-6"),
                                     div()
                                         .withClass("rbel-main-content")
-                                        .with(elements.stream().map(this::convertMessage).toList()),
+                                        .with(new UnescapedText(messagesMarker)),
                                     div("Created "
                                             + DateTimeFormatter.RFC_1123_DATE_TIME.format(
                                                 ZonedDateTime.now()))
@@ -485,11 +499,97 @@ public class RbelHtmlRenderingToolkit {
                 .with(
                     new UnescapedText(IOUtils.resourceToString("/rbel.js", StandardCharsets.UTF_8)))
                 .attr("id", "mainWebUiScript"),
-            script(elements.stream().map(this::menuTab).collect(Collectors.joining("\n"))))
-        .render(FlatHtml.into(writer, Config.global()));
+            script(menuMarker))
+        .render(FlatHtml.into(frameWriter, Config.global()));
+
+    final String frame = frameWriter.toString();
+    final int messagesIndex = frame.indexOf(messagesMarker);
+    final int menuIndex = frame.indexOf(menuMarker);
+    final StringBuilder menuEntries = new StringBuilder();
+    writer.write("<!DOCTYPE html>\n");
+    writer.write(frame, 0, messagesIndex);
+    renderMessages(
+        elements,
+        fragment -> {
+          writer.write(fragment.html());
+          if (!menuEntries.isEmpty()) {
+            menuEntries.append('\n');
+          }
+          menuEntries.append(fragment.menuEntry());
+        });
+    final int afterMessages = messagesIndex + messagesMarker.length();
+    writer.write(frame, afterMessages, menuIndex - afterMessages);
+    writer.write(menuEntries.toString());
+    final int afterMenu = menuIndex + menuMarker.length();
+    writer.write(frame, afterMenu, frame.length() - afterMenu);
+  }
+
+  private void renderMessages(
+      Collection<RbelElement> elements, FragmentConsumer fragmentConsumer) throws IOException {
+    final int threads = Math.max(1, rbelHtmlRenderer.getRenderingThreads());
+    if (threads == 1 || elements.size() < 2) {
+      for (RbelElement element : elements) {
+        fragmentConsumer.accept(renderFragment(element));
+      }
+      return;
+    }
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("rbel-html-renderer-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      final Deque<Future<MessageFragment>> pendingFragments = new ArrayDeque<>();
+      final Iterator<RbelElement> iterator = elements.iterator();
+      while (iterator.hasNext() || !pendingFragments.isEmpty()) {
+        while (iterator.hasNext() && pendingFragments.size() < 2 * threads) {
+          final RbelElement element = iterator.next();
+          pendingFragments.add(executor.submit(() -> renderFragment(element)));
+        }
+        fragmentConsumer.accept(awaitFragment(pendingFragments.poll()));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private MessageFragment renderFragment(RbelElement element) throws IOException {
+    final RbelHtmlRenderingToolkit fragmentToolkit =
+        toBuilder().notePlaceholders(new HashMap<>()).build();
+    final StringWriter html = new StringWriter();
+    fragmentToolkit.convertMessage(element).render(FlatHtml.into(html, Config.global()));
+    final String menuScript = script(menuTab(element)).render();
+    return new MessageFragment(
+        html.toString(),
+        menuScript.substring(
+            menuScript.indexOf('>') + 1, menuScript.length() - "</script>".length()));
+  }
+
+  private static MessageFragment awaitFragment(Future<MessageFragment> fragment) {
+    try {
+      return fragment.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RbelRenderingException("Interrupted while rendering messages", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RbelRenderingException("Error while rendering message", e);
+    }
+  }
+
+  /** The rendered HTML of a single message together with its entry for the menu script. */
+  private record MessageFragment(String html, String menuEntry) {}
+
+  @FunctionalInterface
+  private interface FragmentConsumer {
+    void accept(MessageFragment fragment) throws IOException;
   }
 
-  public String renderDocument(List<RbelElement> elements, boolean localRessources)
+  public String renderDocument(Collection<RbelElement> elements, boolean localRessources)
       throws IOException {
     StringWriter writer = new StringWriter();
     renderDocument(elements, localRessources, writer);
@@ -36,6 +36,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 
 public class RbelMessageRenderer implements RbelHtmlFacetRenderer {
@@ -111,6 +112,11 @@ public class RbelMessageRenderer implements RbelHtmlFacetRenderer {
         && element.getParentNode() != null; // prevent recursive call for non-http messages
   }
 
+  @Override
+  public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+    return Set.of(RbelHttpMessageFacet.class);
+  }
+
   @Override
   public ContainerTag performRendering(
       final RbelElement element,
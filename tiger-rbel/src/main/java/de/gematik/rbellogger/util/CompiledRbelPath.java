@@ -0,0 +1,343 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.util;
+
+import de.gematik.rbellogger.exceptions.RbelPathException;
+import de.gematik.test.tiger.common.LruCache;
+import de.gematik.test.tiger.common.jexl.TigerJexlContext;
+import de.gematik.test.tiger.common.jexl.TigerJexlExecutor;
+import de.gematik.test.tiger.common.util.RecursiveTreeIterator;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * A RbelPath which has been parsed into its selector nodes. Parsing (splitting, validating and
+ * interpreting the keys) is done once, the resulting object is immutable and can be executed
+ * repeatedly against arbitrary {@link RbelPathAble}s. Compiled paths are cached, so repeated
+ * calls to {@link #compile(String)} with the same path are cheap.
+ *
+ * <p>Errors in functional expressions (e.g. malformed name selectors) are reported lazily, i.e.
+ * only when the expression is actually applied to a candidate. This mirrors the behavior of the
+ * uncompiled execution.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompiledRbelPath {
+
+  private static final int CACHE_SIZE = 1024;
+  private static final LruCache<String, CompiledRbelPath> CACHE = new LruCache<>(CACHE_SIZE);
+
+  private final String rbelPath;
+  private final List<Step> steps;
+
+  /** Returns the compiled form of the given RbelPath, reusing a cached instance if possible. */
+  public static CompiledRbelPath compile(String rbelPath) {
+    return CACHE.computeIfAbsent(rbelPath, CompiledRbelPath::parse);
+  }
+
+  public static long getCacheHitCount() {
+    return CACHE.getHitCount();
+  }
+
+  public static long getCacheMissCount() {
+    return CACHE.getMissCount();
+  }
+
+  private static CompiledRbelPath parse(String rbelPath) {
+    if (!rbelPath.startsWith("$")) {
+      throw new RbelPathException(
+          "RbelPath expressions always start with $. (got '" + rbelPath + "')");
+    }
+    final List<String> keys = RbelPathExecutor.splitIntoKeys(rbelPath);
+    if (keys.stream().anyMatch(s -> s.startsWith(" ") || s.endsWith(" "))) {
+      throw new RbelPathException(
+          "Found key with unescaped spaces in rbel-path '"
+              + rbelPath
+              + "'! (If intended, please escape using \"[' b b ']\")");
+    }
+    return new CompiledRbelPath(rbelPath, keys.stream().map(CompiledRbelPath::parseKey).toList());
+  }
+
+  private static Step parseKey(String key) {
+    if (key.equals(".")) {
+      return new Step(key, new RecursiveDescentSelector(), null);
+    }
+    final String[] parts = key.split("\\[", 2);
+    final String selectorPart = parts[0];
+    final KeySelector selector;
+    if (selectorPart.equals("*")) {
+      selector = new WildcardSelector();
+    } else if (selectorPart.isEmpty()) {
+      selector = new SelfSelector();
+    } else {
+      selector = new NameSelector(selectorPart);
+    }
+    if (parts.length == 1) {
+      return new Step(key, selector, null);
+    }
+    return new Step(key, selector, parseFilter(parts[1], selectorPart.isEmpty()));
+  }
+
+  private static CandidateFilter parseFilter(String filterPart, boolean selectorPartIsEmpty) {
+    final String functionalPart;
+    try {
+      functionalPart = filterPart.substring(0, filterPart.length() - 1);
+    } catch (RuntimeException e) {
+      return new InvalidFilter(filterPart, () -> e);
+    }
+    if (NumberUtils.isParsable(functionalPart)) {
+      try {
+        return new IndexFilter(functionalPart, Integer.parseInt(functionalPart));
+      } catch (NumberFormatException e) {
+        return new InvalidFilter(functionalPart, () -> e);
+      }
+    }
+    return parseFunctionalExpression(functionalPart, selectorPartIsEmpty);
+  }
+
+  private static CandidateFilter parseFunctionalExpression(
+      String functionExpression, boolean selectorPartIsEmpty) {
+    if (functionExpression.startsWith("'") && functionExpression.endsWith("'")) {
+      return parseNamedSelection(functionExpression, functionExpression, String::equals);
+    } else if (functionExpression.equals("*")) {
+      return new AllChildrenFilter(functionExpression);
+    } else if (functionExpression.startsWith("?")) {
+      if (functionExpression.startsWith("?(") && functionExpression.endsWith(")")) {
+        return new JexlFilter(
+            functionExpression,
+            functionExpression.substring(2, functionExpression.length() - 1),
+            selectorPartIsEmpty);
+      } else {
+        return new InvalidFilter(
+            functionExpression,
+            () ->
+                new RbelPathException(
+                    "Invalid JEXL-Expression encountered (Does not start with '?(' and end with"
+                        + " ')'): "
+                        + functionExpression));
+      }
+    } else if (functionExpression.startsWith("~")) {
+      if (functionExpression.startsWith("~'") && functionExpression.endsWith("'")) {
+        return parseNamedSelection(
+            functionExpression, functionExpression.substring(1), String::equalsIgnoreCase);
+      } else {
+        return new InvalidFilter(
+            functionExpression,
+            () ->
+                new RbelPathException(
+                    "Invalid JEXL-Expression encountered (Does not start with \"~'\"' and end"
+                        + " with \")\"): "
+                        + functionExpression));
+      }
+    } else {
+      return new InvalidFilter(
+          functionExpression,
+          () ->
+              new RbelPathException(
+                  "Unknown function expression encountered: " + functionExpression));
+    }
+  }
+
+  private static CandidateFilter parseNamedSelection(
+      String functionExpression, String names, BiPredicate<String, String> keyPredicate) {
+    final List<String> decodedNames = new ArrayList<>();
+    for (String name : names.split("\\|")) {
+      if (!name.startsWith("'") || !name.endsWith("'")) {
+        return new InvalidFilter(
+            functionExpression,
+            () ->
+                new RbelPathException(
+                    "Requiring all name selector to be surrounded by '. Violated by " + name));
+      }
+      try {
+        decodedNames.add(
+            URLDecoder.decode(name.substring(1, name.length() - 1), StandardCharsets.UTF_8));
+      } catch (IllegalArgumentException e) {
+        return new InvalidFilter(functionExpression, () -> e);
+      }
+    }
+    return new NamedAlternativesFilter(functionExpression, decodedNames, keyPredicate);
+  }
+
+  public <T extends RbelPathAble> List<T> execute(T targetObject) {
+    return new RbelPathExecutor<>(targetObject, this).execute();
+  }
+
+  @Override
+  public String toString() {
+    return rbelPath;
+  }
+
+  /**
+   * One dot-separated segment of the RbelPath: a selector choosing nodes relative to the current
+   * candidate, optionally followed by a filter (the part in square brackets).
+   */
+  public record Step(String key, KeySelector selector, CandidateFilter filter) {
+
+    public boolean hasFilter() {
+      return filter != null;
+    }
+  }
+
+  /** Selects the nodes addressed by the key-part (before any square brackets) of a step. */
+  public interface KeySelector {
+    Stream<? extends RbelPathAble> select(RbelPathAble content);
+  }
+
+  /** Filters the nodes selected by a {@link KeySelector} (the part in square brackets). */
+  public interface CandidateFilter {
+    String expression();
+
+    Stream<? extends RbelPathAble> filter(
+        List<? extends RbelPathAble> candidates, RbelPathAble rootElement);
+  }
+
+  /** Filter which is applied to each of the selected nodes individually. */
+  public interface SingleCandidateFilter extends CandidateFilter {
+    Stream<? extends RbelPathAble> apply(RbelPathAble candidate, RbelPathAble rootElement);
+
+    @Override
+    default Stream<? extends RbelPathAble> filter(
+        List<? extends RbelPathAble> candidates, RbelPathAble rootElement) {
+      return candidates.stream().flatMap(candidate -> apply(candidate, rootElement));
+    }
+  }
+
+  /** '..' : the candidate itself and all of its descendants. */
+  public record RecursiveDescentSelector() implements KeySelector {
+    @Override
+    public Stream<? extends RbelPathAble> select(RbelPathAble content) {
+      return Stream.concat(
+          new RecursiveTreeIterator<RbelPathAble>(
+                  content.getChildNodes().iterator(), e -> e.getChildNodes().iterator())
+              .stream(),
+          Stream.of(content));
+    }
+  }
+
+  /** '*' : all direct children. */
+  public record WildcardSelector() implements KeySelector {
+    @Override
+    public Stream<? extends RbelPathAble> select(RbelPathAble content) {
+      return content.getChildNodes().stream();
+    }
+  }
+
+  /** Empty key (e.g. '$.[0]'): the candidate itself. */
+  public record SelfSelector() implements KeySelector {
+    @Override
+    public Stream<? extends RbelPathAble> select(RbelPathAble content) {
+      return Stream.of(content);
+    }
+  }
+
+  /** Plain key: all children with the given name. */
+  public record NameSelector(String name) implements KeySelector {
+    @Override
+    public Stream<? extends RbelPathAble> select(RbelPathAble content) {
+      return content.getAll(name).stream();
+    }
+  }
+
+  /** '[n]' : the n-th element of the selected nodes. */
+  public record IndexFilter(String expression, int index) implements CandidateFilter {
+    @Override
+    public Stream<? extends RbelPathAble> filter(
+        List<? extends RbelPathAble> candidates, RbelPathAble rootElement) {
+      if (candidates.size() <= index) {
+        return Stream.of();
+      }
+      return Stream.of(candidates.get(index));
+    }
+  }
+
+  /** "['a'|'b']" or "[~'a'|'b']": children with one of the given names. */
+  public record NamedAlternativesFilter(
+      String expression, List<String> names, BiPredicate<String, String> keyPredicate)
+      implements SingleCandidateFilter {
+    @Override
+    public Stream<? extends RbelPathAble> apply(RbelPathAble content, RbelPathAble rootElement) {
+      return names.stream()
+          .flatMap(
+              key ->
+                  content
+                      .getChildNodesWithKeyStream()
+                      .filter(entry -> keyPredicate.test(key, entry.getKey()))
+                      .map(Map.Entry::getValue));
+    }
+  }
+
+  /** '[*]' : all children of the candidate. */
+  public record AllChildrenFilter(String expression) implements SingleCandidateFilter {
+    @Override
+    public Stream<? extends RbelPathAble> apply(RbelPathAble content, RbelPathAble rootElement) {
+      return content.getChildNodesStream();
+    }
+  }
+
+  /**
+   * '[?(...)]' : nodes matching the given JEXL-expression. For an empty selector (e.g.
+   * '$.[?(...)]') the expression is evaluated against the children of the candidate instead of the
+   * candidate itself.
+   */
+  public record JexlFilter(String expression, String jexl, boolean selectorPartIsEmpty)
+      implements SingleCandidateFilter {
+    @Override
+    public Stream<? extends RbelPathAble> apply(RbelPathAble position, RbelPathAble rootElement) {
+      List<RbelPathAble> candidates = new ArrayList<>();
+      if (selectorPartIsEmpty) {
+        position.getChildNodesStream().forEach(candidates::add);
+      } else {
+        candidates.add(position);
+      }
+      return candidates.stream()
+          .parallel()
+          .filter(
+              candidate ->
+                  TigerJexlExecutor.matchesAsJexlExpression(
+                      jexl,
+                      new TigerJexlContext()
+                          .withKey(candidate.getKey().orElse(null))
+                          .withCurrentElement(candidate)
+                          .withRootElement(rootElement)));
+    }
+  }
+
+  /** Syntactically broken expression. The error is raised as soon as the filter is applied. */
+  public record InvalidFilter(String expression, Supplier<RuntimeException> error)
+      implements CandidateFilter {
+    @Override
+    public Stream<? extends RbelPathAble> filter(
+        List<? extends RbelPathAble> candidates, RbelPathAble rootElement) {
+      throw error.get();
+    }
+  }
+}
@@ -22,7 +22,9 @@ package de.gematik.rbellogger.util;
 
 import de.gematik.rbellogger.RbelConversionPhase;
 import de.gematik.rbellogger.RbelConverterPlugin;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
@@ -74,17 +76,49 @@ public class ConverterPluginMap {
   public static class OrderedSet implements Iterable<RbelConverterPlugin> {
     private final ConcurrentSkipListSet<Entry> set = new ConcurrentSkipListSet<>();
     private final AtomicLong insertionOrder = new AtomicLong(0);
+    // incremented after every change, the dispatch table is rebuilt when it is outdated
+    private final AtomicLong modificationCount = new AtomicLong(0);
+    private volatile DispatchTable dispatchTable;
 
     public void add(RbelConverterPlugin item) {
       set.add(new Entry(item, insertionOrder.getAndIncrement()));
+      modificationCount.incrementAndGet();
     }
 
     public void remove(RbelConverterPlugin item) {
       set.removeIf(entry -> entry.getValue().equals(item));
+      modificationCount.incrementAndGet();
     }
 
     public void clear() {
       set.clear();
+      modificationCount.incrementAndGet();
+    }
+
+    /**
+     * The plugins, in execution order, whose {@link RbelConverterPlugin#getApplicability()} admits
+     * the first byte of the given content. The minimum size still has to be checked by the caller.
+     */
+    public List<RbelConverterPlugin> candidatesFor(RbelContent content) {
+      final DispatchTable table = currentDispatchTable();
+      return content.isEmpty()
+          ? table.pluginsForEmptyContent()
+          : table.pluginsByFirstByte().get(content.get(0) & 0xFF);
+    }
+
+    /** Number of plugins the dispatch table has been built from. */
+    public int pluginCount() {
+      return currentDispatchTable().pluginCount();
+    }
+
+    private DispatchTable currentDispatchTable() {
+      final long currentModificationCount = modificationCount.get();
+      DispatchTable table = dispatchTable;
+      if (table == null || table.modificationCount() != currentModificationCount) {
+        table = DispatchTable.build(currentModificationCount, stream().toList());
+        dispatchTable = table;
+      }
+      return table;
     }
 
     public boolean isEmpty() {
@@ -120,6 +154,31 @@ public class ConverterPluginMap {
       return set.stream().map(Entry::getValue);
     }
 
+    private record DispatchTable(
+        long modificationCount,
+        int pluginCount,
+        List<List<RbelConverterPlugin>> pluginsByFirstByte,
+        List<RbelConverterPlugin> pluginsForEmptyContent) {
+
+      static DispatchTable build(long modificationCount, List<RbelConverterPlugin> plugins) {
+        final List<List<RbelConverterPlugin>> pluginsByFirstByte = new ArrayList<>(256);
+        for (int firstByte = 0; firstByte < 256; firstByte++) {
+          final int unsignedByte = firstByte;
+          pluginsByFirstByte.add(
+              plugins.stream()
+                  .filter(plugin -> plugin.getApplicability().canStartWith(unsignedByte))
+                  .toList());
+        }
+        return new DispatchTable(
+            modificationCount,
+            plugins.size(),
+            pluginsByFirstByte,
+            plugins.stream()
+                .filter(plugin -> !plugin.getApplicability().restrictsFirstByte())
+                .toList());
+      }
+    }
+
     @Getter
     @AllArgsConstructor
     @EqualsAndHashCode
@@ -34,6 +34,14 @@ public abstract class RbelContent {
     return RbelContentBase.of(content);
   }
 
+  /**
+   * Wraps the given array as a single chunk, without copying it. The array must not be modified
+   * afterwards. Meant for complete messages which are not appended to any more.
+   */
+  public static RbelContent wrap(byte[] content) {
+    return RbelContentBase.wrap(content);
+  }
+
   public static RbelContent of(List<RbelContent> content) {
     return RbelContentBase.of(content);
   }
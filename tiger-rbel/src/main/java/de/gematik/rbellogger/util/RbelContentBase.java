@@ -55,6 +55,13 @@ class RbelContentBase extends RbelContent {
     return RbelContent.builder().content(content != null ? List.of(content) : null).build();
   }
 
+  public static RbelContentBase wrap(byte[] content) {
+    return RbelContent.builder()
+        .chunkSize(Math.max(content.length, 1))
+        .content(List.of(content))
+        .build();
+  }
+
   public static RbelContentBase of(List<RbelContent> contents) {
     var result = RbelContent.builder().build();
     for (RbelContent content : contents) {
@@ -151,33 +158,49 @@ class RbelContentBase extends RbelContent {
     if (size % chunkSize == 0 && array.length <= chunkSize) {
       chunks.add(array);
       size += array.length;
+      deleteWeakReferences();
     } else {
-      int i = 0;
-      while (i < array.length) {
-        var targetIndexInChunk = getIndexInChunk(size);
-        var copyLength = Math.min(chunkSize - targetIndexInChunk, array.length - i);
-        byte[] chunk;
-        if (targetIndexInChunk == 0) {
-          // beginning of new chunk
-          var newChunk = new byte[copyLength];
-          chunks.add(newChunk);
-          chunk = newChunk;
-        } else {
-          // middle/end of existing last chunk
-          chunk = getChunk(size);
-          if (chunk.length < chunkSize) {
-            // copy existing bytes of short chunk
-            // into full-sized chunk
-            var newLastChunk = new byte[chunkSize];
-            System.arraycopy(chunk, 0, newLastChunk, 0, targetIndexInChunk);
-            chunks.set(chunks.size() - 1, newLastChunk);
-            chunk = newLastChunk;
-          }
+      copyIntoChunks(array, 0, array.length);
+    }
+  }
+
+  /** Appends a copy of the given range of the array, the array itself is never referenced. */
+  public void append(byte[] array, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, array.length);
+    if (chunks == null) {
+      chunks = new ArrayList<>();
+    }
+    copyIntoChunks(array, offset, length);
+  }
+
+  private void copyIntoChunks(byte[] array, int offset, int length) {
+    assert chunks != null;
+    final int end = offset + length;
+    int i = offset;
+    while (i < end) {
+      var targetIndexInChunk = getIndexInChunk(size);
+      var copyLength = Math.min(chunkSize - targetIndexInChunk, end - i);
+      byte[] chunk;
+      if (targetIndexInChunk == 0) {
+        // beginning of new chunk
+        var newChunk = new byte[copyLength];
+        chunks.add(newChunk);
+        chunk = newChunk;
+      } else {
+        // middle/end of existing last chunk
+        chunk = getChunk(size);
+        if (chunk.length < chunkSize) {
+          // copy existing bytes of short chunk
+          // into full-sized chunk
+          var newLastChunk = new byte[chunkSize];
+          System.arraycopy(chunk, 0, newLastChunk, 0, targetIndexInChunk);
+          chunks.set(chunks.size() - 1, newLastChunk);
+          chunk = newLastChunk;
         }
-        System.arraycopy(array, i, chunk, targetIndexInChunk, copyLength);
-        size += copyLength;
-        i += copyLength;
       }
+      System.arraycopy(array, i, chunk, targetIndexInChunk, copyLength);
+      size += copyLength;
+      i += copyLength;
     }
     deleteWeakReferences();
   }
@@ -0,0 +1,51 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.util;
+
+import java.io.OutputStream;
+
+/**
+ * Collects written bytes directly into the chunks of a {@link RbelContent}, avoiding the
+ * intermediate (and potentially huge) byte-array of a {@link java.io.ByteArrayOutputStream}.
+ */
+public class RbelContentOutputStream extends OutputStream {
+
+  private final RbelContentBase content = RbelContent.builder().build();
+
+  @Override
+  public void write(int b) {
+    content.add((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    // the caller may reuse the buffer, so the bytes have to be copied
+    content.append(b, off, len);
+  }
+
+  public RbelContent getContent() {
+    if (content.isNull()) {
+      // nothing was written: still yield empty (instead of null) content
+      content.append(new byte[0]);
+    }
+    return content;
+  }
+}
@@ -23,35 +23,38 @@ package de.gematik.rbellogger.util;
 import com.google.common.annotations.VisibleForTesting;
 import de.gematik.rbellogger.RbelOptions;
 import de.gematik.rbellogger.data.RbelElement;
-import de.gematik.rbellogger.exceptions.RbelPathException;
-import de.gematik.test.tiger.common.jexl.TigerJexlContext;
-import de.gematik.test.tiger.common.jexl.TigerJexlExecutor;
-import de.gematik.test.tiger.common.util.RecursiveTreeIterator;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.BiPredicate;
 import java.util.stream.Stream;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 
-@RequiredArgsConstructor
 @Slf4j
 public class RbelPathExecutor<T extends RbelPathAble> {
 
   private final T targetObject;
-  private final String rbelPath;
+  private final CompiledRbelPath compiledRbelPath;
 
-  private static Stream<RbelPathAble> findAllChildrenRecursive(final RbelPathAble content) {
-    return new RecursiveTreeIterator<RbelPathAble>(
-            content.getChildNodes().iterator(), e -> e.getChildNodes().iterator())
-        .stream();
+  public RbelPathExecutor(T targetObject, String rbelPath) {
+    this(targetObject, CompiledRbelPath.compile(rbelPath));
+  }
+
+  public RbelPathExecutor(T targetObject, CompiledRbelPath compiledRbelPath) {
+    this.targetObject = targetObject;
+    this.compiledRbelPath = compiledRbelPath;
   }
 
   @VisibleForTesting
   public static List<String> splitRbelPathIntoKeys(String rbelPath) {
+    final List<String> keys = splitIntoKeys(rbelPath);
+
+    if (RbelOptions.isActivateRbelPathDebugging()) {
+      log.info("Split rbelPath {} into the following keys: {}", rbelPath, keys);
+    }
+
+    return keys;
+  }
+
+  static List<String> splitIntoKeys(String rbelPath) {
     final String[] split = rbelPath.substring(1).trim().split("\\.(?!(\\.|[^\\[]*]))");
     final ArrayList<String> keys = new ArrayList<>();
     for (String part : split) {
@@ -65,47 +68,20 @@ public class RbelPathExecutor<T extends RbelPathAble> {
         keys.add(part);
       }
     }
-
-    if (RbelOptions.isActivateRbelPathDebugging()) {
-      log.info("Split rbelPath {} into the following keys: {}", rbelPath, keys);
-    }
-
     return keys;
   }
 
-  private static Stream<? extends RbelPathAble> executeNamedSelection(
-      String functionExpression, RbelPathAble content, BiPredicate<String, String> keyPredicate) {
-    return Stream.of(functionExpression.split("\\|"))
-        .map(
-            s -> {
-              if (!s.startsWith("'") || !s.endsWith("'")) {
-                throw new RbelPathException(
-                    "Requiring all name selector to be surrounded by '. Violated by " + s);
-              }
-              return s.substring(1, s.length() - 1);
-            })
-        .map(s1 -> URLDecoder.decode(s1, StandardCharsets.UTF_8))
-        .flatMap(
-            key ->
-                content
-                    .getChildNodesWithKeyStream()
-                    .filter(entry -> keyPredicate.test(key, entry.getKey()))
-                    .map(Map.Entry::getValue));
-  }
-
   @SuppressWarnings("unchecked")
   public List<T> execute() {
-    enforceCorrectRbelPathForm();
-    final List<String> keys = splitRbelPathIntoKeys(rbelPath);
+    final List<CompiledRbelPath.Step> steps = compiledRbelPath.getSteps();
     List<T> candidates = List.of(targetObject);
-    performPreExecutionLogging(keys);
-    checkFurtherPreconditions(keys);
+    performPreExecutionLogging(steps);
 
-    for (String key : keys) {
+    for (CompiledRbelPath.Step step : steps) {
       if (RbelOptions.isActivateRbelPathDebugging()) {
         log.info(
             "Resolving key '{}' with candidates {}",
-            key,
+            step.key(),
             candidates.stream()
                 .flatMap(el -> el.getChildNodesWithKey().stream())
                 .map(Map.Entry::getKey)
@@ -114,7 +90,7 @@ public class RbelPathExecutor<T extends RbelPathAble> {
       List<T> lastIterationCandidates = candidates;
       candidates =
           candidates.stream()
-              .flatMap(element -> resolveRbelPathElement(key, element))
+              .flatMap(element -> resolveRbelPathElement(step, element))
               .map(RbelPathAble::descendToContentNodeIfAdvised)
               .flatMap(List::stream)
               .map(o -> (T) o)
@@ -136,143 +112,48 @@ public class RbelPathExecutor<T extends RbelPathAble> {
       log.info(
           "Returning {} result elements for RbelPath {} (Results are {})",
           resultList.size(),
-          rbelPath,
+          compiledRbelPath.getRbelPath(),
           getPathList(resultList));
     }
     return resultList;
   }
 
-  private void performPreExecutionLogging(List<String> keys) {
-    if (RbelOptions.isActivateRbelPathDebugging()
-        && targetObject instanceof RbelElement asRbelElement) {
+  private void performPreExecutionLogging(List<CompiledRbelPath.Step> steps) {
+    if (!RbelOptions.isActivateRbelPathDebugging()) {
+      return;
+    }
+    log.info(
+        "Split rbelPath {} into the following keys: {}",
+        compiledRbelPath.getRbelPath(),
+        steps.stream().map(CompiledRbelPath.Step::key).toList());
+    if (targetObject instanceof RbelElement asRbelElement) {
       log.info(
           "Executing RBelPath {} into element '{}' (limited view to {} levels):\n{}",
-          rbelPath,
+          compiledRbelPath.getRbelPath(),
           targetObject.findNodePath(),
-          Math.max(RbelOptions.getRbelPathTreeViewMinimumDepth(), keys.size()),
+          Math.max(RbelOptions.getRbelPathTreeViewMinimumDepth(), steps.size()),
           asRbelElement.printTreeStructure(
-              Math.max(RbelOptions.getRbelPathTreeViewMinimumDepth(), keys.size()), false));
-    }
-  }
-
-  private void checkFurtherPreconditions(List<String> keys) {
-    if (keys.stream().anyMatch(s -> s.startsWith(" ") || s.endsWith(" "))) {
-      throw new RbelPathException(
-          "Found key with unescaped spaces in rbel-path '"
-              + rbelPath
-              + "'! (If intended, please escape using \"[' b b ']\")");
-    }
-  }
-
-  private void enforceCorrectRbelPathForm() {
-    if (!rbelPath.startsWith("$")) {
-      throw new RbelPathException(
-          "RbelPath expressions always start with $. (got '" + rbelPath + "')");
+              Math.max(RbelOptions.getRbelPathTreeViewMinimumDepth(), steps.size()), false));
     }
   }
 
   private Stream<? extends RbelPathAble> resolveRbelPathElement(
-      final String key, final RbelPathAble content) {
-    if (key.equals(".")) {
-      return Stream.concat(findAllChildrenRecursive(content), Stream.of(content));
+      final CompiledRbelPath.Step step, final RbelPathAble content) {
+    if (!step.hasFilter()) {
+      return step.selector().select(content);
     }
-    final String[] parts = key.split("\\[", 2);
-    final String selectorPart = parts[0];
-    List<? extends RbelPathAble> keySelectionResult =
-        executeNonFunctionalExpression(selectorPart, content);
-    if (parts.length == 1 || keySelectionResult.isEmpty()) {
-      return keySelectionResult.stream();
-    } else {
-      return filterResultsThroughFunctionalSelector(
-          keySelectionResult, parts[1].substring(0, parts[1].length() - 1), selectorPart.isEmpty());
+    final List<? extends RbelPathAble> keySelectionResult =
+        step.selector().select(content).toList();
+    if (keySelectionResult.isEmpty()) {
+      return Stream.empty();
     }
-  }
-
-  private Stream<? extends RbelPathAble> filterResultsThroughFunctionalSelector(
-      List<? extends RbelPathAble> keySelectionResult,
-      String functionalPart,
-      boolean selectorPartIsEmpty) {
     if (RbelOptions.isActivateRbelPathDebugging()) {
       log.info(
           "Filtering resulting nodes '{}' through functional expression '{}'",
           getPathList(keySelectionResult),
-          functionalPart);
-    }
-
-    if (NumberUtils.isParsable(functionalPart)) {
-      final int selectionIndex = Integer.parseInt(functionalPart);
-      if (keySelectionResult.size() <= selectionIndex) {
-        return Stream.of();
-      }
-      return Stream.of(keySelectionResult.get(selectionIndex));
-    } else {
-      return keySelectionResult.stream()
-          .flatMap(
-              candidate ->
-                  executeFunctionalExpression(functionalPart, candidate, selectorPartIsEmpty));
-    }
-  }
-
-  private List<? extends RbelPathAble> executeNonFunctionalExpression(
-      String key, RbelPathAble content) {
-    if (key.equals("*")) {
-      return content.getChildNodes();
-    } else if (key.isEmpty()) {
-      return List.of(content);
-    } else {
-      return content.getAll(key);
-    }
-  }
-
-  private Stream<? extends RbelPathAble> executeFunctionalExpression(
-      final String functionExpression, final RbelPathAble content, boolean selectorPartIsEmpty) {
-    if (functionExpression.startsWith("'") && functionExpression.endsWith("'")) {
-      return executeNamedSelection(functionExpression, content, String::equals);
-    } else if (functionExpression.equals("*")) {
-      return content.getChildNodesStream();
-    } else if (functionExpression.startsWith("?")) {
-      if (functionExpression.startsWith("?(") && functionExpression.endsWith(")")) {
-        return findChildNodesByJexlExpression(
-            content,
-            functionExpression.substring(2, functionExpression.length() - 1),
-            selectorPartIsEmpty);
-      } else {
-        throw new RbelPathException(
-            "Invalid JEXL-Expression encountered (Does not start with '?(' and end with ')'): "
-                + functionExpression);
-      }
-    } else if (functionExpression.startsWith("~")) {
-      if (functionExpression.startsWith("~'") && functionExpression.endsWith("'")) {
-        return executeNamedSelection(
-            functionExpression.substring(1), content, String::equalsIgnoreCase);
-      } else {
-        throw new RbelPathException(
-            "Invalid JEXL-Expression encountered (Does not start with \"~'\"' and end with \")\"): "
-                + functionExpression);
-      }
-    } else {
-      throw new RbelPathException("Unknown function expression encountered: " + functionExpression);
-    }
-  }
-
-  private Stream<? extends RbelPathAble> findChildNodesByJexlExpression(
-      final RbelPathAble position, final String jexl, boolean selectorPartIsEmpty) {
-    List<RbelPathAble> candidates = new ArrayList<>();
-    if (selectorPartIsEmpty) {
-      position.getChildNodesStream().forEach(candidates::add);
-    } else {
-      candidates.add(position);
+          step.filter().expression());
     }
-    return candidates.stream()
-        .parallel()
-        .filter(
-            candidate ->
-                TigerJexlExecutor.matchesAsJexlExpression(
-                    jexl,
-                    new TigerJexlContext()
-                        .withKey(candidate.getKey().orElse(null))
-                        .withCurrentElement(candidate)
-                        .withRootElement(this.targetObject)));
+    return step.filter().filter(keySelectionResult, targetObject);
   }
 
   private static <T extends RbelPathAble> List<String> getPathList(List<T> resultList) {
@@ -136,7 +136,11 @@ public class RbelValueShader {
     @Override
     public void consumeElement(RbelElement rbelElement, RbelConversionExecutor converter) {
       addNote(rbelElement);
-      rbelElement.getChildNodesStream().forEach(child -> consumeElement(child, converter));
+      rbelElement
+          .getChildNodesStream()
+          // deferred elements are covered once their own conversion runs
+          .filter(child -> !child.isConversionDeferred())
+          .forEach(child -> consumeElement(child, converter));
     }
   }
 }
@@ -0,0 +1,140 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.RbelConversionProfiler.MessageTypeProfile;
+import de.gematik.rbellogger.RbelConversionProfiler.PluginProfile;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RbelConversionProfilerTest {
+
+  private static final byte[] XML_REQUEST =
+      ("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 17\r\n\r\n<a><b>foo</b></a>")
+          .getBytes();
+
+  @Test
+  void disabledProfiler_shouldNotRecordAnything() {
+    final RbelConverter converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+
+    converter.parseMessage(XML_REQUEST, new RbelMessageMetadata());
+
+    assertThat(converter.getConversionProfiler().isEnabled()).isFalse();
+    assertThat(converter.getConversionProfiler().getTopPlugins(10)).isEmpty();
+    assertThat(converter.getConversionProfiler().getTopMessageTypes(10)).isEmpty();
+  }
+
+  @Test
+  void enabledProfiler_shouldRecordPluginsAndMessageType() {
+    final RbelConverter converter =
+        RbelLogger.build(new RbelConfiguration().setProfileConversion(true)).getRbelConverter();
+
+    converter.parseMessage(XML_REQUEST, new RbelMessageMetadata());
+
+    final RbelConversionProfiler profiler = converter.getConversionProfiler();
+    assertThat(profiler.getTopPlugins(Integer.MAX_VALUE))
+        .anySatisfy(
+            profile -> {
+              assertThat(profile.plugin()).isEqualTo("RbelXmlConverter");
+              assertThat(profile.phase()).isEqualTo(RbelConversionPhase.CONTENT_PARSING);
+              assertThat(profile.latency().count()).isPositive();
+            })
+        .allSatisfy(
+            profile ->
+                assertThat(profile.latency().bucketCounts())
+                    .hasSize(RbelConversionProfiler.HISTOGRAM_BUCKET_UPPER_BOUNDS_NANOS.size() + 1)
+                    .satisfies(
+                        buckets ->
+                            assertThat(buckets.stream().mapToLong(Long::longValue).sum())
+                                .isEqualTo(profile.latency().count())));
+    assertThat(profiler.getTopMessageTypes(10))
+        .singleElement()
+        .satisfies(
+            profile -> {
+              assertThat(profile.messageType()).isEqualTo("RbelHttpRequestFacet");
+              assertThat(profile.latency().count()).isEqualTo(1);
+            });
+  }
+
+  @Test
+  void pluginSelfTimes_shouldNotExceedMessageConversionTime() {
+    final RbelConverter converter =
+        RbelLogger.build(new RbelConfiguration().setProfileConversion(true)).getRbelConverter();
+
+    converter.parseMessage(XML_REQUEST, new RbelMessageMetadata());
+
+    final RbelConversionProfiler profiler = converter.getConversionProfiler();
+    final long pluginNanos =
+        profiler.getTopPlugins(Integer.MAX_VALUE).stream()
+            .mapToLong(profile -> profile.latency().totalNanos())
+            .sum();
+    assertThat(pluginNanos)
+        .isPositive()
+        .isLessThanOrEqualTo(profiler.getTopMessageTypes(1).get(0).latency().totalNanos());
+  }
+
+  @Test
+  void topPlugins_shouldBeSortedByTotalTimeAndLimited() {
+    final RbelConversionProfiler profiler = new RbelConversionProfiler();
+    profiler.recordPlugin("cheap", RbelConversionPhase.CONTENT_PARSING, 10);
+    profiler.recordPlugin("expensive", RbelConversionPhase.CONTENT_PARSING, 5_000);
+    profiler.recordPlugin("medium", RbelConversionPhase.CONTENT_PARSING, 300);
+    profiler.recordPlugin("medium", RbelConversionPhase.CONTENT_PARSING, 300);
+
+    assertThat(profiler.getTopPlugins(2))
+        .extracting(PluginProfile::plugin)
+        .containsExactly("expensive", "medium");
+
+    profiler.reset();
+    assertThat(profiler.getTopPlugins(2)).isEmpty();
+  }
+
+  @Test
+  void listener_shouldReceiveMeasurements() {
+    final RbelConversionProfiler profiler = new RbelConversionProfiler();
+    final List<String> received = new ArrayList<>();
+    profiler.addListener(
+        new RbelConversionProfiler.Listener() {
+          @Override
+          public void pluginInvoked(String plugin, RbelConversionPhase phase, long selfNanos) {
+            received.add(plugin + "/" + phase + "/" + selfNanos);
+          }
+
+          @Override
+          public void messageConverted(String messageType, long nanos) {
+            received.add(messageType + "/" + nanos);
+          }
+        });
+
+    profiler.recordPlugin("plugin", RbelConversionPhase.PREPARATION, 42);
+    profiler.recordMessage("type", 4711);
+
+    assertThat(received).containsExactly("plugin/PREPARATION/42", "type/4711");
+    assertThat(profiler.getTopMessageTypes(10))
+        .extracting(MessageTypeProfile::messageType)
+        .containsExactly("type");
+  }
+}
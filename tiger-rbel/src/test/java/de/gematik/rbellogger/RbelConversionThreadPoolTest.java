@@ -0,0 +1,137 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import de.gematik.rbellogger.RbelConversionThreadPool.ExecutionMode;
+import de.gematik.rbellogger.RbelConversionThreadPool.SaturationPolicy;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RbelConversionThreadPoolTest {
+
+  private static final Runnable NO_REGISTRATION = () -> {};
+
+  private static CompletableFuture<String> submitBlockingTask(
+      RbelConversionThreadPool pool, CountDownLatch release) {
+    return pool.submit(
+        NO_REGISTRATION,
+        () -> {
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return Thread.currentThread().getName();
+        });
+  }
+
+  @Test
+  void boundedPool_shouldNotExceedConfiguredWorkers() {
+    final RbelConversionThreadPool pool =
+        new RbelConversionThreadPool(ExecutionMode.BOUNDED, 2, 100, SaturationPolicy.ABORT);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<CompletableFuture<String>> results = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      results.add(submitBlockingTask(pool, release));
+    }
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> pool.getActiveWorkers() == 2);
+    assertThat(pool.getPoolSize()).isEqualTo(2);
+    assertThat(pool.getQueueDepth()).isEqualTo(18);
+
+    release.countDown();
+    assertThat(results).allSatisfy(result -> assertThat(result.join()).startsWith("rbel-"));
+  }
+
+  @Test
+  void saturatedPoolWithAbortPolicy_shouldRejectConversion() {
+    final RbelConversionThreadPool pool =
+        new RbelConversionThreadPool(ExecutionMode.BOUNDED, 1, 1, SaturationPolicy.ABORT);
+    final CountDownLatch release = new CountDownLatch(1);
+    submitBlockingTask(pool, release);
+    await().atMost(5, TimeUnit.SECONDS).until(() -> pool.getActiveWorkers() == 1);
+    submitBlockingTask(pool, release);
+
+    final CompletableFuture<String> rejected = submitBlockingTask(pool, release);
+
+    assertThat(rejected).isCompletedExceptionally();
+    assertThat(pool.getRejectedCount()).isEqualTo(1);
+    release.countDown();
+  }
+
+  @Test
+  void saturatedPoolWithCallerRunsPolicy_shouldConvertInCallingThread() {
+    final RbelConversionThreadPool pool =
+        new RbelConversionThreadPool(ExecutionMode.BOUNDED, 1, 1, SaturationPolicy.CALLER_RUNS);
+    final CountDownLatch release = new CountDownLatch(1);
+    submitBlockingTask(pool, release);
+    await().atMost(5, TimeUnit.SECONDS).until(() -> pool.getActiveWorkers() == 1);
+    submitBlockingTask(pool, release);
+
+    final CompletableFuture<String> callerRun =
+        pool.submit(NO_REGISTRATION, () -> Thread.currentThread().getName());
+
+    assertThat(callerRun.join()).isEqualTo(Thread.currentThread().getName());
+    assertThat(pool.getCallerRunsCount()).isEqualTo(1);
+    release.countDown();
+  }
+
+  @Test
+  void blockingPool_shouldRegisterAndConvertAllMessages() {
+    final RbelConversionThreadPool pool =
+        new RbelConversionThreadPool(ExecutionMode.BOUNDED, 4, 100, SaturationPolicy.BLOCK);
+    final AtomicInteger registered = new AtomicInteger();
+
+    final List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      final int expected = i + 1;
+      results.add(pool.submit(registered::incrementAndGet, () -> expected));
+    }
+
+    assertThat(results).extracting(CompletableFuture::join).hasSize(50);
+    assertThat(registered).hasValue(50);
+  }
+
+  @Test
+  void parsedMessage_shouldBeRecordedInPhaseMetrics() {
+    final RbelConverter converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+
+    converter.parseMessage(
+        "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(), new RbelMessageMetadata());
+
+    assertThat(converter.getPhaseMetrics().getLatencies())
+        .containsKeys(
+            RbelConversionPhase.PREPARATION,
+            RbelConversionPhase.PROTOCOL_PARSING,
+            RbelConversionPhase.CONTENT_PARSING)
+        .allSatisfy((phase, latency) -> assertThat(latency.count()).isEqualTo(1));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.facets.jackson.RbelJsonFacet;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class RbelLazyParsingTest {
+
+  private static final byte[] JSON_REQUEST =
+      ("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 35\r\n\r\n"
+              + "{\"a\":{\"b\":\"c\"},\"inner\":\"{\\\"x\\\":1}\"}")
+          .getBytes();
+
+  @Test
+  void eagerParsing_shouldNotDeferAnything() {
+    final RbelConverter converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+
+    final RbelElement message = converter.parseMessage(JSON_REQUEST, new RbelMessageMetadata());
+
+    assertThat(converter.getPhaseMetrics().getDeferredConversionCount()).isZero();
+    assertThat(message.findElement("$.body.inner.x")).isPresent();
+  }
+
+  @Test
+  void lazyParsing_shouldConvertNestedValuesOnAccess() {
+    final RbelConverter converter =
+        RbelLogger.build(new RbelConfiguration().setLazyParsing(true)).getRbelConverter();
+
+    final RbelElement message = converter.parseMessage(JSON_REQUEST, new RbelMessageMetadata());
+
+    final RbelConversionPhaseMetrics metrics = converter.getPhaseMetrics();
+    assertThat(message.findElement("$.body").orElseThrow().hasFacet(RbelJsonFacet.class)).isTrue();
+    assertThat(metrics.getDeferredConversionCount()).isPositive();
+    assertThat(metrics.getMaterializedConversionCount()).isZero();
+    assertThat(metrics.getAvoidedConversionBytes()).isPositive();
+
+    assertThat(message.findElement("$.body.inner.x"))
+        .get()
+        .extracting(RbelElement::getRawStringContent)
+        .isEqualTo("1");
+    assertThat(metrics.getMaterializedConversionCount()).isPositive();
+    assertThat(metrics.getAvoidedConversionCount())
+        .isEqualTo(metrics.getDeferredConversionCount() - metrics.getMaterializedConversionCount());
+  }
+
+  @Test
+  void pluginConvertingAnotherMessage_shouldSeeDeferredValuesOfEarlierMessage() {
+    final RbelConverter converter =
+        RbelLogger.build(new RbelConfiguration().setLazyParsing(true)).getRbelConverter();
+    final RbelElement earlierMessage =
+        converter.parseMessage(JSON_REQUEST, new RbelMessageMetadata());
+    final AtomicReference<Optional<RbelElement>> seenByPlugin =
+        new AtomicReference<>(Optional.empty());
+    converter.addConverter(
+        RbelConverterPlugin.createPlugin(
+            (element, executor) -> {
+              if (element.getParentNode() == null && element != earlierMessage) {
+                seenByPlugin.set(earlierMessage.findElement("$.body.inner.x"));
+              }
+            }));
+
+    converter.parseMessage("another message".getBytes(), new RbelMessageMetadata());
+
+    assertThat(seenByPlugin.get())
+        .get()
+        .extracting(RbelElement::getRawStringContent)
+        .isEqualTo("1");
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+class RbelMessageHistoryConcurrencyTest {
+
+  private static final int WRITERS = 4;
+  private static final int MESSAGES_PER_WRITER = 250;
+
+  @Test
+  @SneakyThrows
+  void readersShouldIterateWhileWritersAppend() {
+    var converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+    var history = converter.getMessageHistoryAsync();
+    var writersDone = new AtomicBoolean(false);
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 2);
+    try {
+      List<Future<?>> writers = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        writers.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < MESSAGES_PER_WRITER; j++) {
+                    var message =
+                        converter.parseMessage("message".getBytes(), new RbelMessageMetadata());
+                    assertThat(converter.findMessageByUuid(message.getUuid())).isPresent();
+                  }
+                }));
+      }
+      Future<Long> reader =
+          executor.submit(
+              () -> {
+                long lastSequenceNumber = -1;
+                while (!writersDone.get()) {
+                  lastSequenceNumber = -1;
+                  for (RbelElement element : history) {
+                    long sequenceNumber = element.getSequenceNumber().orElseThrow();
+                    assertThat(sequenceNumber).isGreaterThan(lastSequenceNumber);
+                    lastSequenceNumber = sequenceNumber;
+                  }
+                }
+                return lastSequenceNumber;
+              });
+      for (Future<?> writer : writers) {
+        writer.get(30, TimeUnit.SECONDS);
+      }
+      writersDone.set(true);
+      reader.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(history.size()).isEqualTo(WRITERS * MESSAGES_PER_WRITER);
+    assertThat(converter.getMessageHistory().getMessagesByOrder())
+        .hasSize(WRITERS * MESSAGES_PER_WRITER);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.util.RbelSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Pairing lookups only visit the messages of the connection in question. The number of inspected
+ * messages therefore stays constant, no matter how much traffic of other connections is in the
+ * history.
+ */
+class RbelMessageHistoryConnectionIndexTest {
+
+  private static final RbelSocketAddress CLIENT = RbelSocketAddress.create("10.0.0.1", 50000);
+  private static final RbelSocketAddress SERVER = RbelSocketAddress.create("10.0.0.2", 80);
+
+  private RbelConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+  }
+
+  private RbelElement addMessage(RbelSocketAddress sender, RbelSocketAddress receiver) {
+    return converter.parseMessage(
+        "some binary message".getBytes(),
+        new RbelMessageMetadata().withSender(sender).withReceiver(receiver));
+  }
+
+  private void addNoiseOfOtherConnections(int numberOfMessages) {
+    for (int i = 0; i < numberOfMessages; i++) {
+      var otherClient = RbelSocketAddress.create("10.0.1." + (i % 200 + 1), 40000 + i);
+      addMessage(otherClient, SERVER);
+      addMessage(SERVER, otherClient);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1000})
+  void previousMessageInSameConnection_shouldOnlyInspectMessagesOfThatConnection(
+      int numberOfOtherMessages) {
+    var request = addMessage(CLIENT, SERVER);
+    addNoiseOfOtherConnections(numberOfOtherMessages);
+    var response = addMessage(SERVER, CLIENT);
+
+    var inspectedMessages = new AtomicInteger();
+    var result =
+        converter.findPreviousMessageInSameConnection(
+            response,
+            msg -> {
+              inspectedMessages.incrementAndGet();
+              return true;
+            });
+
+    assertThat(result).containsSame(request);
+    assertThat(inspectedMessages).hasValue(1);
+  }
+
+  @Test
+  void removedMessage_shouldNoLongerBeFound() {
+    var request = addMessage(CLIENT, SERVER);
+    var response = addMessage(SERVER, CLIENT);
+
+    converter.removeMessage(request);
+
+    assertThat(converter.findPreviousMessageInSameConnection(response, msg -> true)).isEmpty();
+  }
+
+  @Test
+  void clearedHistory_shouldNoLongerFindMessages() {
+    addMessage(CLIENT, SERVER);
+    converter.clearAllMessages();
+    var response = addMessage(SERVER, CLIENT);
+
+    assertThat(converter.findPreviousMessageInSameConnection(response, msg -> true)).isEmpty();
+  }
+
+  @Test
+  void connectionRecordedByHostnameAndByOtherIp_shouldStillBePaired() {
+    var request = addMessage(CLIENT, RbelSocketAddress.create("backend/10.0.0.2", 80));
+    addNoiseOfOtherConnections(10);
+    var response = addMessage(RbelSocketAddress.create("BACKEND/10.0.0.9", 80), CLIENT);
+
+    assertThat(converter.findPreviousMessageInSameConnection(response, msg -> true))
+        .containsSame(request);
+  }
+
+  @Test
+  void messagesOfOtherConnections_shouldNotBeReturned() {
+    addMessage(RbelSocketAddress.create("10.0.0.3", 50000), SERVER);
+    var response = addMessage(SERVER, CLIENT);
+
+    assertThat(converter.findPreviousMessageInSameConnection(response, msg -> true)).isEmpty();
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.data.core.RbelRequestFacet;
+import de.gematik.rbellogger.data.facet.RbelSpilledMessageViewFacet;
+import de.gematik.rbellogger.facets.http.RbelHttpRequestFacet;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RbelMessageHistorySpillTest {
+
+  private static final int BODY_SIZE = 300_000;
+
+  @TempDir Path spillDirectory;
+
+  private RbelLogger buildLogger(int spillFileSizeInMb) {
+    return RbelLogger.build(
+        RbelConfiguration.builder()
+            .manageBuffer(true)
+            .rbelBufferSizeInMb(1)
+            .rbelSpillFileSizeInMb(spillFileSizeInMb)
+            .rbelSpillDirectory(spillDirectory.toString())
+            .build());
+  }
+
+  private static List<RbelElement> parseRequests(RbelConverter converter, int count) {
+    final List<RbelElement> messages = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final String request =
+          "POST /request/"
+              + i
+              + " HTTP/1.1\r\nContent-Length: "
+              + BODY_SIZE
+              + "\r\n\r\n"
+              + RandomStringUtils.insecure().nextAlphanumeric(BODY_SIZE);
+      messages.add(
+          converter.parseMessage(
+              request.getBytes(StandardCharsets.UTF_8), new RbelMessageMetadata()));
+    }
+    return messages;
+  }
+
+  @Test
+  void bufferOverflow_shouldSpillOldestMessagesInsteadOfDroppingThem() {
+    final RbelLogger rbelLogger = buildLogger(16);
+    final RbelConverter converter = rbelLogger.getRbelConverter();
+
+    final List<RbelElement> messages = parseRequests(converter, 8);
+
+    assertThat(converter.getSpilledMessageCount()).isPositive();
+    assertThat(converter.getMessageHistory().size()).isEqualTo(messages.size());
+    assertThat(converter.getMessageHistory().getMessagesByOrder())
+        .extracting(RbelElement::getUuid)
+        .containsExactlyElementsOf(messages.stream().map(RbelElement::getUuid).toList());
+    assertThat(spillDirectory).isNotEmptyDirectory();
+  }
+
+  @Test
+  void spilledMessage_shouldBeParsedAgainOnAccess() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final RbelElement firstMessage = parseRequests(converter, 8).get(0);
+
+    final RbelElement reloaded = converter.findMessageByUuid(firstMessage.getUuid()).orElseThrow();
+
+    assertThat(reloaded).isNotSameAs(firstMessage);
+    assertThat(reloaded.getContent().toByteArray())
+        .isEqualTo(firstMessage.getContent().toByteArray());
+    assertThat(reloaded.getSequenceNumber()).isEqualTo(firstMessage.getSequenceNumber());
+    assertThat(reloaded.getFacet(RbelHttpRequestFacet.class))
+        .get()
+        .extracting(RbelHttpRequestFacet::getPathAsString)
+        .isEqualTo("/request/0");
+    assertThat(converter.findMessageByUuid(firstMessage.getUuid())).containsSame(reloaded);
+  }
+
+  @Test
+  void iteratingHistory_shouldReturnSpilledAndResidentMessagesInOrder() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final List<RbelElement> messages = parseRequests(converter, 8);
+
+    final List<String> iteratedUuids = new ArrayList<>();
+    converter.getMessageHistory().iterator().forEachRemaining(e -> iteratedUuids.add(e.getUuid()));
+    final List<String> descendingUuids = new ArrayList<>();
+    converter
+        .getMessageHistory()
+        .descendingIterator()
+        .forEachRemaining(e -> descendingUuids.add(e.getUuid()));
+
+    final List<String> expectedUuids = messages.stream().map(RbelElement::getUuid).toList();
+    assertThat(iteratedUuids).containsExactlyElementsOf(expectedUuids);
+    final List<String> reversedUuids = new ArrayList<>(expectedUuids);
+    Collections.reverse(reversedUuids);
+    assertThat(descendingUuids).containsExactlyElementsOf(reversedUuids);
+    assertThat(converter.getMessageHistory().getFirst().getUuid()).isEqualTo(expectedUuids.get(0));
+  }
+
+  @Test
+  void reloadingSpilledMessage_shouldNotRunTransmissionPhaseAgain() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final AtomicInteger transmittedMessages = new AtomicInteger();
+    converter.addConverter(
+        new RbelConverterPlugin() {
+          @Override
+          public RbelConversionPhase getPhase() {
+            return RbelConversionPhase.TRANSMISSION;
+          }
+
+          @Override
+          public void consumeElement(RbelElement rbelElement, RbelConversionExecutor executor) {
+            if (rbelElement.getParentNode() == null) {
+              transmittedMessages.incrementAndGet();
+            }
+          }
+        });
+    final List<RbelElement> messages = parseRequests(converter, 8);
+
+    messages.forEach(message -> converter.findMessageByUuid(message.getUuid()).orElseThrow());
+
+    assertThat(transmittedMessages).hasValue(messages.size());
+  }
+
+  @Test
+  void listingSpilledMessages_shouldNotParseThemAgain() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final List<RbelElement> messages = parseRequests(converter, 8);
+    final AtomicInteger parsedMessages = new AtomicInteger();
+    converter.addConverter(
+        new RbelConverterPlugin() {
+          @Override
+          public RbelConversionPhase getPhase() {
+            return RbelConversionPhase.PROTOCOL_PARSING;
+          }
+
+          @Override
+          public void consumeElement(RbelElement rbelElement, RbelConversionExecutor executor) {
+            if (rbelElement.getParentNode() == null) {
+              parsedMessages.incrementAndGet();
+            }
+          }
+        });
+
+    final List<RbelElement> listing = converter.getMessageListing().getMessagesByOrder();
+
+    assertThat(parsedMessages).hasValue(0);
+    assertThat(listing)
+        .extracting(RbelElement::getUuid)
+        .containsExactlyElementsOf(messages.stream().map(RbelElement::getUuid).toList());
+    final RbelElement spilledView = listing.get(0);
+    assertThat(spilledView.hasFacet(RbelSpilledMessageViewFacet.class)).isTrue();
+    assertThat(spilledView.getSequenceNumber()).isEqualTo(messages.get(0).getSequenceNumber());
+    assertThat(spilledView.getFacet(RbelRequestFacet.class))
+        .get()
+        .extracting(RbelRequestFacet::getMenuInfoString)
+        .isEqualTo("POST /request/0");
+    assertThat(listing.get(listing.size() - 1)).isSameAs(messages.get(messages.size() - 1));
+
+    final RbelElement opened = converter.findMessageByUuid(spilledView.getUuid()).orElseThrow();
+
+    assertThat(parsedMessages).hasValue(1);
+    assertThat(opened.hasFacet(RbelSpilledMessageViewFacet.class)).isFalse();
+    assertThat(opened.hasFacet(RbelHttpRequestFacet.class)).isTrue();
+  }
+
+  @Test
+  void spillFilesExceedingLimit_shouldDropOldestSpilledMessages() {
+    final RbelConverter converter = buildLogger(1).getRbelConverter();
+    final List<RbelElement> messages = parseRequests(converter, 12);
+
+    assertThat(converter.getMessageHistory().size()).isLessThan(messages.size());
+    assertThat(converter.findMessageByUuid(messages.get(0).getUuid())).isEmpty();
+    assertThat(converter.getKnownMessageUuids().contains(messages.get(0).getUuid())).isFalse();
+    assertThat(converter.findMessageByUuid(messages.get(11).getUuid())).isPresent();
+  }
+
+  @Test
+  void messagesAfterSequenceNumber_shouldIncludeSpilledMessages() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final List<RbelElement> messages = parseRequests(converter, 8);
+    final long firstSequenceNumber = messages.get(0).getSequenceNumber().orElseThrow();
+
+    assertThat(converter.getSpilledMessageCount()).isPositive();
+    assertThat(converter.getFirstAvailableSequenceNumber()).contains(firstSequenceNumber);
+    assertThat(converter.getMessagesAfterSequenceNumber(firstSequenceNumber))
+        .extracting(RbelElement::getUuid)
+        .containsExactlyElementsOf(
+            messages.subList(1, messages.size()).stream().map(RbelElement::getUuid).toList());
+    assertThat(converter.getMessagesAfterSequenceNumber(-1)).hasSize(messages.size());
+  }
+
+  @Test
+  void clearAllMessages_shouldAlsoRemoveSpilledMessages() {
+    final RbelConverter converter = buildLogger(16).getRbelConverter();
+    final List<RbelElement> messages = parseRequests(converter, 8);
+
+    converter.clearAllMessages();
+
+    assertThat(converter.getSpilledMessageCount()).isZero();
+    assertThat(converter.getMessageHistory().isEmpty()).isTrue();
+    assertThat(converter.findMessageByUuid(messages.get(0).getUuid())).isEmpty();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.RbelConverter;
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.facets.xml.RbelXmlFacet;
+import de.gematik.rbellogger.util.RbelContent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PluginApplicabilityTest {
+
+  @Test
+  void firstByteAndMinimumSize_shouldBeChecked() {
+    final PluginApplicability applicability =
+        PluginApplicability.startingWith('{', '[').andMinimumSize(2);
+
+    assertThat(applicability.canApplyTo(RbelContent.of("{}".getBytes()))).isTrue();
+    assertThat(applicability.canApplyTo(RbelContent.of("[1]".getBytes()))).isTrue();
+    assertThat(applicability.canApplyTo(RbelContent.of("<a/>".getBytes()))).isFalse();
+    assertThat(applicability.canApplyTo(RbelContent.of("{".getBytes()))).isFalse();
+    assertThat(applicability.canApplyTo(RbelContent.of(new byte[0]))).isFalse();
+  }
+
+  @Test
+  void leadingWhitespace_shouldOnlyBeAcceptedIfDeclared() {
+    final RbelContent indentedXml = RbelContent.of("\n  <a/>".getBytes());
+
+    assertThat(PluginApplicability.startingWith('<').canApplyTo(indentedXml)).isFalse();
+    assertThat(PluginApplicability.startingWithAfterWhitespace('<').canApplyTo(indentedXml))
+        .isTrue();
+  }
+
+  @Test
+  void anyContent_shouldApplyToEverything() {
+    assertThat(PluginApplicability.ANY_CONTENT.canApplyTo(RbelContent.of(new byte[0]))).isTrue();
+    assertThat(PluginApplicability.ANY_CONTENT.canApplyTo(RbelContent.of(new byte[] {(byte) 0xFF})))
+        .isTrue();
+  }
+
+  @Test
+  void pluginsNotApplicableToContent_shouldBeSkippedWithoutLosingFacets() {
+    final RbelConverter converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+
+    final RbelElement message =
+        converter.parseMessage(
+            ("POST / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 17\r\n\r\n"
+                    + "<a><b>foo</b></a>")
+                .getBytes(),
+            new RbelMessageMetadata());
+
+    assertThat(message.findElement("$.body").orElseThrow().hasFacet(RbelXmlFacet.class)).isTrue();
+    assertThat(converter.getPhaseMetrics().getSkippedPluginInvocationCount()).isPositive();
+    assertThat(converter.getPhaseMetrics().getPluginInvocationCount()).isPositive();
+  }
+
+  @Test
+  void mixedCorpus_shouldSkipAConsiderableShareOfPluginInvocations() {
+    final RbelConverter converter = RbelLogger.build(new RbelConfiguration()).getRbelConverter();
+    final List<byte[]> corpus =
+        List.of(
+            "GET /path?query=value HTTP/1.1\r\nHost: localhost\r\nAccept: */*\r\n\r\n"
+                .getBytes(),
+            ("POST /json HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                    + "Content-Length: 36\r\n\r\n{\"id\":42,\"tags\":[\"a\",\"b\"],\"ok\":true}")
+                .getBytes(),
+            ("HTTP/1.1 200 OK\r\nContent-Type: application/xml\r\nContent-Length: 46\r\n\r\n"
+                    + "<result><id>42</id><name>tiger</name></result>")
+                .getBytes(),
+            new byte[] {0x00, 0x17, 0x42, (byte) 0xFE, 0x7F, 0x01, 0x00, (byte) 0x99, 0x13});
+
+    for (byte[] message : corpus) {
+      converter.parseMessage(message, new RbelMessageMetadata());
+    }
+
+    final long invoked = converter.getPhaseMetrics().getPluginInvocationCount();
+    final long skipped = converter.getPhaseMetrics().getSkippedPluginInvocationCount();
+    assertThat(invoked).isPositive();
+    assertThat((double) skipped / (invoked + skipped)).isBetween(0.05, 0.95);
+  }
+}
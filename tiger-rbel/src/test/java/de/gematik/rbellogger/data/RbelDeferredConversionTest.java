@@ -0,0 +1,124 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.data.core.RbelNoteFacet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RbelDeferredConversionTest {
+
+  @Test
+  void deferredConversion_shouldRunOnFirstFacetAccess() {
+    final RbelElement element = new RbelElement("foo".getBytes(), null);
+    final AtomicInteger conversions = new AtomicInteger();
+    element.deferConversion(
+        () -> {
+          conversions.incrementAndGet();
+          element.addFacet(new RbelNoteFacet("converted"));
+        });
+
+    assertThat(element.isConversionDeferred()).isTrue();
+    assertThat(conversions).hasValue(0);
+
+    assertThat(element.getNotes()).extracting(RbelNoteFacet::getValue).containsExactly("converted");
+    assertThat(element.hasFacet(RbelNoteFacet.class)).isTrue();
+    assertThat(element.isConversionDeferred()).isFalse();
+    assertThat(conversions).hasValue(1);
+  }
+
+  @Test
+  void accessWhileConverting_shouldNotTriggerDeferredConversion() {
+    final RbelElement element = new RbelElement("foo".getBytes(), null);
+    final AtomicInteger conversions = new AtomicInteger();
+    element.deferConversion(conversions::incrementAndGet);
+
+    RbelDeferredConversion.enterConversion(element);
+    try {
+      assertThat(element.hasFacet(RbelNoteFacet.class)).isFalse();
+    } finally {
+      RbelDeferredConversion.exitConversion();
+    }
+
+    assertThat(element.isConversionDeferred()).isTrue();
+    assertThat(conversions).hasValue(0);
+  }
+
+  @Test
+  void accessWhileConvertingAnotherMessage_shouldTriggerDeferredConversion() {
+    final RbelElement otherMessage = new RbelElement("bar".getBytes(), null);
+    final RbelElement message = new RbelElement("foo".getBytes(), null);
+    final RbelElement child = new RbelElement("child".getBytes(), message);
+    child.deferConversion(() -> child.addFacet(new RbelNoteFacet("converted")));
+
+    RbelDeferredConversion.enterConversion(otherMessage);
+    try {
+      assertThat(child.hasFacet(RbelNoteFacet.class)).isTrue();
+    } finally {
+      RbelDeferredConversion.exitConversion();
+    }
+  }
+
+  @Test
+  void concurrentAccess_shouldConvertOnceAndWaitForTheConversion() throws Exception {
+    final RbelElement element = new RbelElement("foo".getBytes(), null);
+    final AtomicInteger conversions = new AtomicInteger();
+    final CountDownLatch conversionStarted = new CountDownLatch(1);
+    final CountDownLatch releaseConversion = new CountDownLatch(1);
+    element.deferConversion(
+        () -> {
+          conversions.incrementAndGet();
+          conversionStarted.countDown();
+          await(releaseConversion);
+          element.addFacet(new RbelNoteFacet("converted"));
+        });
+
+    final CompletableFuture<Boolean> first =
+        CompletableFuture.supplyAsync(() -> element.hasFacet(RbelNoteFacet.class));
+    assertThat(conversionStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    final List<CompletableFuture<Boolean>> others = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      others.add(CompletableFuture.supplyAsync(() -> element.hasFacet(RbelNoteFacet.class)));
+    }
+    releaseConversion.countDown();
+
+    assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+    for (CompletableFuture<Boolean> other : others) {
+      assertThat(other.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+    assertThat(conversions).hasValue(1);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.file.RbelMessageSpillStore.SpilledMessage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RbelMessageSpillStoreTest {
+
+  @TempDir Path tempDir;
+
+  private static RbelElement createMessage(long sequenceNumber, int size) {
+    final RbelElement message =
+        new RbelElement("x".repeat(size).getBytes(StandardCharsets.UTF_8), null);
+    message.setSequenceNumber(sequenceNumber);
+    message.addFacet(new RbelMessageMetadata().withPairedMessage("partner-" + sequenceNumber));
+    return message;
+  }
+
+  @Test
+  void spilledMessage_shouldBeReadWithContentAndMetadata() throws IOException {
+    try (var store = new RbelMessageSpillStore(tempDir, 1024 * 1024)) {
+      final RbelElement message = createMessage(7, 100);
+      final ZonedDateTime transmissionTime = ZonedDateTime.now();
+
+      final SpilledMessage spilled = store.spill(message, transmissionTime, false).orElseThrow();
+      final var read = store.readMessage(spilled).orElseThrow();
+
+      assertThat(spilled.getSequenceNumber()).isEqualTo(7);
+      assertThat(spilled.getTransmissionTime()).isEqualTo(transmissionTime);
+      assertThat(read.message().getUuid()).isEqualTo(message.getUuid());
+      assertThat(read.message().getContent().toByteArray())
+          .isEqualTo(message.getContent().toByteArray());
+      assertThat(read.metadata().getPairedMessage()).contains("partner-7");
+    }
+  }
+
+  @Test
+  void exceedingMaximumSize_shouldDeleteOldestSegments() throws IOException {
+    try (var store = new RbelMessageSpillStore(tempDir, 4_000, 1_000)) {
+      final List<SpilledMessage> spilled = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        spilled.add(store.spill(createMessage(i, 400), null, false).orElseThrow());
+      }
+
+      assertThat(store.getCurrentSizeInBytes()).isLessThanOrEqualTo(4_000);
+      assertThat(spilled.get(0).isAvailable()).isFalse();
+      assertThat(store.readMessage(spilled.get(0))).isEmpty();
+      assertThat(spilled.get(19).isAvailable()).isTrue();
+      assertThat(store.readMessage(spilled.get(19))).isPresent();
+    }
+  }
+
+  @Test
+  void messageLargerThanStore_shouldNotBeSpilled() throws IOException {
+    try (var store = new RbelMessageSpillStore(tempDir, 1_000, 1_000)) {
+      assertThat(store.spill(createMessage(0, 2_000), null, false)).isEmpty();
+      assertThat(store.getCurrentSizeInBytes()).isZero();
+    }
+  }
+
+  @Test
+  void clear_shouldDeleteAllSegmentFiles() throws IOException {
+    try (var store = new RbelMessageSpillStore(tempDir, 4_000, 1_000)) {
+      final SpilledMessage spilled = store.spill(createMessage(0, 400), null, false).orElseThrow();
+
+      store.clear();
+
+      assertThat(spilled.isAvailable()).isFalse();
+      assertThat(tempDir).isEmptyDirectory();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TgrArchiveTest {
+
+  private static final Path TRAFFIC_FILE = Path.of("src/test/resources/rezepsFiltered.tgr");
+
+  @TempDir Path tempDir;
+
+  private Path convertToArchive() throws IOException {
+    final Path archiveFile = tempDir.resolve("traffic.tgra");
+    try (var reader = Files.newBufferedReader(TRAFFIC_FILE, StandardCharsets.UTF_8)) {
+      TgrArchiveWriter.convertFromRbelFile(reader, archiveFile);
+    }
+    return archiveFile;
+  }
+
+  private static List<RbelElement> readTextFile(String content) {
+    return new RbelFileReader(RbelLogger.build(new RbelConfiguration()).getRbelConverter())
+        .convertFromRbelFile(content, Optional.empty());
+  }
+
+  @Test
+  void archive_shouldBeDetected() throws IOException {
+    assertThat(TgrArchive.isArchive(convertToArchive())).isTrue();
+    assertThat(TgrArchive.isArchive(TRAFFIC_FILE)).isFalse();
+  }
+
+  @Test
+  void readArchive_shouldYieldSameMessagesAsTextFile() throws IOException {
+    final List<RbelElement> fromText = readTextFile(Files.readString(TRAFFIC_FILE));
+
+    final List<RbelElement> fromArchive;
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      fromArchive =
+          new RbelFileReader(RbelLogger.build(new RbelConfiguration()).getRbelConverter())
+              .convertFromTgrArchive(archive, Optional.empty());
+    }
+
+    assertThat(fromArchive).hasSameSizeAs(fromText);
+    for (int i = 0; i < fromText.size(); i++) {
+      assertThat(fromArchive.get(i).getUuid()).isEqualTo(fromText.get(i).getUuid());
+      assertThat(fromArchive.get(i).getContent().toByteArray())
+          .isEqualTo(fromText.get(i).getContent().toByteArray());
+    }
+  }
+
+  @Test
+  void readArchiveTwice_shouldSkipRecordsOfKnownMessages() throws IOException {
+    final RbelFileReader reader =
+        new RbelFileReader(RbelLogger.build(new RbelConfiguration()).getRbelConverter());
+
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      assertThat(reader.convertFromTgrArchive(archive, Optional.empty()))
+          .hasSize(archive.size());
+      assertThat(reader.convertFromTgrArchive(archive, Optional.empty())).isEmpty();
+    }
+  }
+
+  @Test
+  void lookupByUuidAndSequenceNumber_shouldLoadSingleMessage() throws IOException {
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      final TgrArchive.IndexEntry entry = archive.getIndex().get(archive.size() / 2);
+
+      assertThat(archive.findByUuid(entry.uuid())).contains(entry);
+      assertThat(archive.findBySequenceNumber(entry.sequenceNumber())).contains(entry);
+      assertThat(archive.findByUuid("unknown")).isEmpty();
+
+      final Optional<RbelElement> message =
+          new RbelFileReader(RbelLogger.build(new RbelConfiguration()).getRbelConverter())
+              .convertFromTgrArchive(archive, entry.uuid(), Optional.empty());
+      assertThat(message).get().extracting(RbelElement::getUuid).isEqualTo(entry.uuid());
+    }
+  }
+
+  @Test
+  void lookupByTransmissionTime_shouldReturnMessagesInInterval() throws IOException {
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      final TgrArchive.IndexEntry entry = archive.getIndex().get(archive.size() / 2);
+      final var transmissionTime = entry.getTransmissionTime().orElseThrow();
+
+      assertThat(archive.findByTransmissionTime(transmissionTime, transmissionTime))
+          .contains(entry);
+    }
+  }
+
+  @Test
+  void lookupByTransmissionTimeRange_shouldMatchAllEntriesInOrderOfSequenceNumbers()
+      throws IOException {
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      final List<Long> timestamps =
+          archive.getIndex().stream()
+              .map(TgrArchive.IndexEntry::timestamp)
+              .filter(timestamp -> timestamp != TgrArchive.UNKNOWN_TIMESTAMP)
+              .sorted()
+              .toList();
+      final long from = timestamps.get(timestamps.size() / 4);
+      final long to = timestamps.get(timestamps.size() * 3 / 4);
+
+      final var entries =
+          archive.findByTransmissionTime(Instant.ofEpochMilli(from), Instant.ofEpochMilli(to));
+
+      assertThat(entries)
+          .isNotEmpty()
+          .containsExactlyElementsOf(
+              archive.getIndex().stream()
+                  .filter(entry -> entry.timestamp() != TgrArchive.UNKNOWN_TIMESTAMP)
+                  .filter(entry -> entry.timestamp() >= from && entry.timestamp() <= to)
+                  .toList());
+      assertThat(
+              archive.findByTransmissionTime(
+                  Instant.ofEpochMilli(to + 1), Instant.ofEpochMilli(from)))
+          .isEmpty();
+    }
+  }
+
+  @Test
+  void roundTrip_shouldPreserveTextFormat() throws IOException {
+    final StringWriter text = new StringWriter();
+    try (var archive = TgrArchive.open(convertToArchive())) {
+      archive.convertToRbelFile(text);
+    }
+
+    final Path secondArchive = tempDir.resolve("second.tgra");
+    TgrArchiveWriter.convertFromRbelFile(new StringReader(text.toString()), secondArchive);
+
+    try (var first = TgrArchive.open(convertToArchive());
+        var second = TgrArchive.open(secondArchive)) {
+      assertThat(second.getIndex())
+          .extracting(
+              TgrArchive.IndexEntry::sequenceNumber,
+              TgrArchive.IndexEntry::uuid,
+              TgrArchive.IndexEntry::timestamp)
+          .containsExactlyElementsOf(
+              first.getIndex().stream()
+                  .map(e -> tuple(e.sequenceNumber(), e.uuid(), e.timestamp()))
+                  .toList());
+    }
+    assertThat(readTextFile(text.toString()))
+        .hasSameSizeAs(readTextFile(Files.readString(TRAFFIC_FILE)));
+  }
+}
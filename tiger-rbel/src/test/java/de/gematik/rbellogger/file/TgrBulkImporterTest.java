@@ -0,0 +1,121 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gematik.rbellogger.RbelConverter;
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.data.core.RbelRequestFacet;
+import de.gematik.rbellogger.data.core.TracingMessagePairFacet;
+import de.gematik.rbellogger.exceptions.RbelConversionException;
+import de.gematik.rbellogger.file.RbelFileReader.PreparedMessage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TgrBulkImporterTest {
+
+  @AfterEach
+  void resetConfiguration() {
+    RbelFileReader.PARALLEL_IMPORT_THREADS.clearValue();
+  }
+
+  private static RbelLogger readTrafficFile(int importThreads) throws IOException {
+    RbelFileReader.PARALLEL_IMPORT_THREADS.putValue(importThreads);
+    final RbelLogger rbelLogger = RbelLogger.build(new RbelConfiguration());
+    new RbelFileReader(rbelLogger.getRbelConverter())
+        .convertFromRbelFile(
+            Files.readString(Path.of("src/test/resources/rezepsFiltered.tgr")), Optional.empty());
+    return rbelLogger;
+  }
+
+  @Test
+  void parallelImport_shouldKeepSequenceOrder() throws IOException {
+    final List<String> sequential =
+        readTrafficFile(1).getMessageHistory().getMessagesByOrder().stream()
+            .map(RbelElement::getUuid)
+            .toList();
+    final List<String> parallel =
+        readTrafficFile(4).getMessageHistory().getMessagesByOrder().stream()
+            .map(RbelElement::getUuid)
+            .toList();
+
+    assertThat(parallel).containsExactlyElementsOf(sequential);
+  }
+
+  @Test
+  void parallelImport_shouldPairAllRequests() throws IOException {
+    final List<RbelElement> requests =
+        readTrafficFile(4).getMessageHistory().getMessagesByOrder().stream()
+            .filter(msg -> msg.hasFacet(RbelRequestFacet.class))
+            .toList();
+
+    assertThat(requests)
+        .hasSize(48)
+        .allSatisfy(
+            request -> {
+              assertThat(request.hasFacet(TracingMessagePairFacet.class)).isTrue();
+              final RbelElement response =
+                  request.getFacetOrFail(TracingMessagePairFacet.class).getResponse();
+              assertThat(response.getFacetOrFail(TracingMessagePairFacet.class).getRequest())
+                  .isSameAs(request);
+            });
+  }
+
+  @Test
+  void failingConversion_shouldBeReportedLikeInSequentialImport() {
+    final RbelConverter converter = mock(RbelConverter.class);
+    when(converter.parseMessageAsync(any(), any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new RbelConversionException("boom")));
+    final TgrFileEntry entry =
+        new TgrFileEntry(new JSONObject().put(RbelFileWriter.MESSAGE_UUID, "failing"), null);
+
+    try (TgrBulkImporter importer =
+        new TgrBulkImporter(
+            converter,
+            List.of(entry).iterator(),
+            e ->
+                Optional.of(
+                    new PreparedMessage(
+                        new RbelElement("foo".getBytes(), null), new RbelMessageMetadata())),
+            2)) {
+      assertThat(importer.hasNext()).isTrue();
+      assertThatThrownBy(importer::next)
+          .isInstanceOf(RbelFileReadingException.class)
+          .hasMessageContaining("failing")
+          .hasRootCauseMessage("boom");
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.rbellogger.util.RbelContent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class TgrFileEntryReordererTest {
+
+  private static TgrFileEntry entry(long sequenceNumber) {
+    return new TgrFileEntry(
+        new JSONObject()
+            .put(RbelFileWriter.SEQUENCE_NUMBER, sequenceNumber)
+            .put(RbelFileWriter.MESSAGE_UUID, "uuid-" + sequenceNumber),
+        RbelContent.of(("content " + sequenceNumber).getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static List<Long> reorder(List<TgrFileEntry> entries, int windowSize) {
+    final List<Long> result = new ArrayList<>();
+    new TgrFileEntryReorderer(entries.iterator(), windowSize)
+        .forEachRemaining(e -> result.add(e.sequenceNumber()));
+    return result;
+  }
+
+  @Test
+  void slightlyShuffledEntries_shouldBeReorderedInMemory() {
+    final List<TgrFileEntry> entries =
+        List.of(entry(1), entry(0), entry(3), entry(2), entry(5), entry(4), entry(6));
+
+    assertThat(reorder(entries, 2)).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+  }
+
+  @Test
+  void reversedEntries_shouldSortTheRemainderUsingSpilledRuns() {
+    final List<TgrFileEntry> entries =
+        LongStream.range(0, 50)
+            .map(i -> 49 - i)
+            .mapToObj(TgrFileEntryReordererTest::entry)
+            .toList();
+
+    final List<Long> expected = new ArrayList<>();
+    expected.add(47L);
+    LongStream.range(0, 47).forEach(expected::add);
+    expected.addAll(List.of(48L, 49L));
+    assertThat(reorder(entries, 3)).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void entryDisplacedByMoreThanTheWindow_shouldBeEmittedBeforeTheRemainingEntries() {
+    final List<TgrFileEntry> entries = new ArrayList<>();
+    LongStream.range(1, 50).mapToObj(TgrFileEntryReordererTest::entry).forEach(entries::add);
+    entries.add(entry(0));
+    entries.add(entry(50));
+
+    final List<Long> expected = new ArrayList<>();
+    LongStream.range(1, 48).forEach(expected::add);
+    expected.addAll(List.of(0L, 48L, 49L, 50L));
+    assertThat(reorder(entries, 3)).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void slightlyShuffledEntriesLargerThanTheWindow_shouldBeOrderedWithoutSpilling() {
+    final List<TgrFileEntry> entries = new ArrayList<>();
+    for (long i = 0; i < 100; i += 2) {
+      entries.add(entry(i + 1));
+      entries.add(entry(i));
+    }
+
+    final TgrFileEntryReorderer reorderer = new TgrFileEntryReorderer(entries.iterator(), 4);
+    final List<Long> result = new ArrayList<>();
+    reorderer.forEachRemaining(e -> result.add(e.sequenceNumber()));
+
+    assertThat(result).containsExactlyElementsOf(LongStream.range(0, 100).boxed().toList());
+    assertThat(reorderer.isSpilling()).isFalse();
+  }
+
+  @Test
+  void firstEntries_shouldBeEmittedBeforeTheSourceIsExhausted() {
+    final Iterator<TgrFileEntry> source =
+        LongStream.range(0, 1_000_000).mapToObj(TgrFileEntryReordererTest::entry).iterator();
+
+    final TgrFileEntryReorderer reorderer = new TgrFileEntryReorderer(source, 10);
+
+    assertThat(reorderer.next().sequenceNumber()).isZero();
+    assertThat(source.hasNext()).isTrue();
+  }
+
+  @Test
+  void closedReorderer_shouldDeleteItsRunFiles() throws IOException {
+    final List<TgrFileEntry> entries =
+        LongStream.range(0, 20)
+            .map(i -> 19 - i)
+            .mapToObj(TgrFileEntryReordererTest::entry)
+            .toList();
+    final Set<Path> runFilesBefore = listRunFiles();
+
+    final TgrFileEntryReorderer reorderer = new TgrFileEntryReorderer(entries.iterator(), 2);
+    reorderer.next();
+    reorderer.next();
+    assertThat(reorderer.isSpilling()).isTrue();
+    assertThat(listRunFiles()).isNotEqualTo(runFilesBefore);
+
+    reorderer.close();
+
+    assertThat(listRunFiles()).isEqualTo(runFilesBefore);
+  }
+
+  private static Set<Path> listRunFiles() throws IOException {
+    try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith("tgr-reorder-"))
+          .collect(Collectors.toSet());
+    }
+  }
+
+  @Test
+  void spilledEntries_shouldKeepTheirContentAndMetadata() {
+    final List<TgrFileEntry> entries =
+        LongStream.range(0, 20)
+            .map(i -> 19 - i)
+            .mapToObj(TgrFileEntryReordererTest::entry)
+            .toList();
+
+    final List<TgrFileEntry> result = new ArrayList<>();
+    new TgrFileEntryReorderer(entries.iterator(), 2).forEachRemaining(result::add);
+
+    assertThat(result)
+        .allSatisfy(
+            e -> {
+              assertThat(e.uuid()).isEqualTo("uuid-" + e.sequenceNumber());
+              assertThat(e.content().toByteArray())
+                  .isEqualTo(("content " + e.sequenceNumber()).getBytes(StandardCharsets.UTF_8));
+            });
+  }
+
+  @Test
+  void entriesWithoutSequenceNumber_shouldBeSortedLast() {
+    final TgrFileEntry withoutSequenceNumber =
+        new TgrFileEntry(new JSONObject().put(RbelFileWriter.MESSAGE_UUID, "no-seq"), null);
+    final List<TgrFileEntry> entries = List.of(withoutSequenceNumber, entry(1), entry(0));
+
+    final List<String> uuids = new ArrayList<>();
+    new TgrFileEntryReorderer(entries.iterator(), 10).forEachRemaining(e -> uuids.add(e.uuid()));
+
+    assertThat(uuids).containsExactly("uuid-0", "uuid-1", "no-seq");
+  }
+
+  @Test
+  void base64Content_shouldBeDecodedWhileParsing() {
+    final String line =
+        new JSONObject()
+            .put(RbelFileWriter.SEQUENCE_NUMBER, 7)
+            .put(RbelFileWriter.MESSAGE_UUID, "abc")
+            .put(
+                RbelFileWriter.RAW_MESSAGE_CONTENT,
+                Base64.getEncoder().encodeToString("hello world".getBytes(StandardCharsets.UTF_8)))
+            .toString();
+
+    final TgrFileEntry entry = TgrFileEntryParser.parseLine(line);
+
+    assertThat(entry.sequenceNumber()).isEqualTo(7);
+    assertThat(entry.metadata().has(RbelFileWriter.RAW_MESSAGE_CONTENT)).isFalse();
+    assertThat(new String(entry.content().toByteArray(), StandardCharsets.UTF_8))
+        .isEqualTo("hello world");
+  }
+}
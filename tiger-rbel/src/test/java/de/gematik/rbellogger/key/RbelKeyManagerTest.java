@@ -21,22 +21,34 @@
 package de.gematik.rbellogger.key;
 
 import static de.gematik.rbellogger.TestUtils.readCurlFromFileWithCorrectedLineBreaks;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import de.gematik.rbellogger.RbelConverter;
 import de.gematik.rbellogger.RbelLogger;
 import de.gematik.rbellogger.configuration.RbelConfiguration;
+import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.data.core.RbelSocketAddressFacet;
+import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
 import de.gematik.rbellogger.initializers.RbelKeyFolderInitializer;
+import de.gematik.rbellogger.util.RbelSocketAddress;
 import de.gematik.test.tiger.common.config.TigerGlobalConfiguration;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.Test;
 
 class RbelKeyManagerTest {
@@ -51,6 +63,137 @@ class RbelKeyManagerTest {
     return mock;
   }
 
+  private static RbelElement messageOnConnection(int clientPort) {
+    return messageOnConnection(clientPort, RbelSocketAddress.create("127.0.0.2", 443));
+  }
+
+  private static RbelElement messageOnConnection(int clientPort, RbelSocketAddress server) {
+    final RbelElement message = new RbelElement(new byte[0], null);
+    message.addFacet(
+        RbelTcpIpMessageFacet.builder()
+            .sender(
+                RbelSocketAddressFacet.buildRbelSocketAddressFacet(
+                    message, RbelSocketAddress.create("127.0.0.1", clientPort)))
+            .receiver(
+                RbelSocketAddressFacet.buildRbelSocketAddressFacet(message, server))
+            .build());
+    return message;
+  }
+
+  private RbelKey ephemeralKey(String name, RbelElement source) {
+    return keyManager.addEphemeralKey(new RbelKey(mockKey(), name, 0), source).orElseThrow();
+  }
+
+  @Test
+  void keysShouldBeIndexedByPrecedenceNamePrefixTypeAndHash() {
+    final RbelKey jwkKey = keyManager.addKey("vau_jwk", mockKey(), 200).orElseThrow();
+    final RbelKey aesKey =
+        keyManager
+            .addKey("vau_aes", new SecretKeySpec(new byte[] {1, 2, 3, 4}, "AES"), 110)
+            .orElseThrow();
+    final RbelKey x5cKey = keyManager.addKey("other_x5c", mockKey(), 100).orElseThrow();
+
+    assertThat(keyManager.getAllKeys()).containsExactly(x5cKey, aesKey, jwkKey);
+    assertThat(keyManager.findKeysByNamePrefix("vau_")).containsExactly(aesKey, jwkKey);
+    assertThat(keyManager.findKeysOfType(SecretKey.class)).containsExactly(aesKey);
+    assertThat(keyManager.findKeyByHash(aesKey.getHash())).contains(aesKey);
+    assertThat(keyManager.findKeyByName("vau_jwk")).contains(jwkKey);
+    assertThat(keyManager.addKey("duplicate", aesKey.getKey(), 0)).isEmpty();
+  }
+
+  @Test
+  void keysOfTheSameConnectionShouldBeTriedFirst() {
+    final RbelElement session = messageOnConnection(1000);
+    final List<RbelKey> candidates = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      candidates.add(ephemeralKey("handshake_" + i, messageOnConnection(2000 + i)));
+    }
+    final RbelKey sessionKey = ephemeralKey("handshake_session", session);
+    candidates.add(sessionKey);
+
+    final List<RbelKey> ordered =
+        keyManager.orderForSession("handshake", messageOnConnection(1000), candidates);
+
+    assertThat(ordered).hasSize(candidates.size()).startsWith(sessionKey);
+    assertThat(keyManager.findKeysByNamePrefix("handshake_")).hasSize(1001);
+  }
+
+  @Test
+  void connectionRecordedByHostnameAndByOtherIpShouldShareItsKeys() {
+    final List<RbelKey> candidates =
+        List.of(
+            keyManager.addKey("first", mockKey(), 0).orElseThrow(),
+            keyManager.addKey("second", mockKey(), 0).orElseThrow());
+    final RbelSocketAddress server = RbelSocketAddress.create("backend/10.0.0.2", 443);
+    final RbelKey sessionKey = ephemeralKey("session", messageOnConnection(1000, server));
+    final RbelElement sameConnection =
+        messageOnConnection(1000, RbelSocketAddress.create("BACKEND/10.0.0.9", 443));
+
+    keyManager.rememberSuccessfulKey(
+        "purpose", messageOnConnection(1000, server), candidates.get(1));
+
+    assertThat(
+            keyManager.orderForSession(
+                "purpose",
+                sameConnection,
+                List.of(candidates.get(0), candidates.get(1), sessionKey)))
+        .containsExactly(candidates.get(1), sessionKey, candidates.get(0));
+  }
+
+  @Test
+  void lastSuccessfulKeyShouldBeTriedFirst() {
+    final List<RbelKey> candidates =
+        List.of(
+            keyManager.addKey("first", mockKey(), 0).orElseThrow(),
+            keyManager.addKey("second", mockKey(), 0).orElseThrow(),
+            keyManager.addKey("third", mockKey(), 0).orElseThrow());
+    final RbelElement message = messageOnConnection(1000);
+
+    assertThat(keyManager.orderForSession("purpose", message, candidates))
+        .containsExactlyElementsOf(candidates);
+
+    keyManager.rememberSuccessfulKey("purpose", message, candidates.get(2));
+
+    assertThat(keyManager.orderForSession("purpose", messageOnConnection(1000), candidates))
+        .containsExactly(candidates.get(2), candidates.get(0), candidates.get(1));
+    assertThat(keyManager.orderForSession("other purpose", message, candidates))
+        .containsExactlyElementsOf(candidates);
+    assertThat(keyManager.orderForSession("purpose", messageOnConnection(1001), candidates))
+        .containsExactlyElementsOf(candidates);
+  }
+
+  @Test
+  void leastRecentlyUsedEphemeralKeysShouldBeEvicted() {
+    keyManager.setMaxEphemeralKeys(2);
+    final RbelElement message = messageOnConnection(1000);
+    final RbelKey first = ephemeralKey("first", message);
+    ephemeralKey("second", message);
+    keyManager.rememberSuccessfulKey("purpose", message, first);
+    ephemeralKey("third", message);
+
+    assertThat(keyManager.getEphemeralKeyCount()).isEqualTo(2);
+    assertThat(keyManager.getAllKeys().map(RbelKey::getKeyName)).containsExactly("first", "third");
+    assertThat(keyManager.findKeyByName("second")).isEmpty();
+  }
+
+  @Test
+  void expiredEphemeralKeysShouldBeEvicted() {
+    final Instant start = Instant.parse("2025-01-01T00:00:00Z");
+    keyManager.setClock(Clock.fixed(start, ZoneOffset.UTC));
+    keyManager.setEphemeralKeyTimeToLive(Duration.ofMinutes(1));
+    final RbelKey staticKey = keyManager.addKey("static", mockKey(), 0).orElseThrow();
+    final RbelKey expiredKey = ephemeralKey("expired", messageOnConnection(1000));
+    final RbelElement message = messageOnConnection(1000);
+    keyManager.rememberSuccessfulKey("purpose", message, expiredKey);
+
+    keyManager.setClock(Clock.fixed(start.plusSeconds(61), ZoneOffset.UTC));
+    final RbelKey freshKey = ephemeralKey("fresh", messageOnConnection(1000));
+
+    assertThat(keyManager.getAllKeys()).containsExactly(staticKey, freshKey);
+    assertThat(keyManager.orderForSession("purpose", message, List.of(staticKey, freshKey)))
+        .containsExactly(freshKey, staticKey);
+  }
+
   @Test
   void shouldFindPrivateKeyIfPresent() {
     RbelKey publicKey = RbelKey.builder().keyName("publicKey").key(mockKey()).build();
@@ -21,6 +21,7 @@
 package de.gematik.rbellogger.renderer;
 
 import static de.gematik.rbellogger.TestUtils.readCurlFromFileWithCorrectedLineBreaks;
+import static j2html.TagCreator.div;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import de.gematik.rbellogger.RbelConverter;
@@ -29,20 +30,27 @@ import de.gematik.rbellogger.configuration.RbelConfiguration;
 import de.gematik.rbellogger.data.RbelElement;
 import de.gematik.rbellogger.data.RbelMessageMetadata;
 import de.gematik.rbellogger.data.core.RbelBinaryFacet;
+import de.gematik.rbellogger.data.core.RbelFacet;
 import de.gematik.rbellogger.data.core.RbelNoteFacet;
 import de.gematik.rbellogger.data.core.RbelTcpIpMessageFacet;
 import de.gematik.rbellogger.facets.timing.RbelMessageTimingFacet;
 import de.gematik.rbellogger.util.RbelSocketAddress;
 import de.gematik.rbellogger.util.RbelValueShader;
 import de.gematik.test.tiger.common.config.TigerGlobalConfiguration;
+import j2html.tags.ContainerTag;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
@@ -358,6 +366,84 @@ class RbelHtmlRendererTest {
     assertThat(render).contains("/png;base64,iVBORw0K");
   }
 
+  @Test
+  void parallelRenderingShouldWriteMessagesInOrder() throws IOException {
+    final String curlMessage =
+        readCurlFromFileWithCorrectedLineBreaks(
+            "src/test/resources/sampleMessages/jwtMessage.curl");
+    final List<RbelElement> messages = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      messages.addAll(
+          wrapHttpMessage(RBEL_CONVERTER.convertElement(curlMessage, null), ZonedDateTime.now()));
+    }
+    final RbelHtmlRenderer renderer = new RbelHtmlRenderer();
+    renderer.setRenderingThreads(4);
+
+    final StringWriter writer = new StringWriter();
+    renderer.doRender(messages, writer);
+    final String render = writer.toString();
+
+    assertThat(countOccurrences(render, "createMenuEntry("))
+        .isEqualTo(
+            countOccurrences(renderer.getEmptyPage(false), "createMenuEntry(") + messages.size());
+    assertThat(render).doesNotContain("rbel-messages-").doesNotContain("rbel-menu-");
+    int previousPosition = -1;
+    for (RbelElement message : messages) {
+      final int position = render.indexOf("name=\"" + message.getUuid() + "\"");
+      assertThat(position).isGreaterThan(previousPosition);
+      previousPosition = position;
+    }
+  }
+
+  @Test
+  void facetRenderersShouldOnlyBeAskedForElementsCarryingTheirFacets() throws IOException {
+    final AtomicInteger renderingChecks = new AtomicInteger();
+    RbelHtmlRenderer.registerFacetRenderer(
+        new RenderedFacetTestRenderer("second-test-renderer", 2, renderingChecks));
+    RbelHtmlRenderer.registerFacetRenderer(
+        new RenderedFacetTestRenderer("first-test-renderer", 1, renderingChecks));
+    final RbelElement convertedMessage =
+        RBEL_CONVERTER.convertElement(
+            readCurlFromFileWithCorrectedLineBreaks(
+                "src/test/resources/sampleMessages/jwtMessage.curl"),
+            null);
+    final List<RbelElement> messages = wrapHttpMessage(convertedMessage, ZonedDateTime.now());
+
+    RbelHtmlRenderer.render(messages);
+    assertThat(renderingChecks).hasValue(0);
+
+    convertedMessage.findElement("$.body").orElseThrow().addFacet(new RenderedTestFacet());
+    final String render = RbelHtmlRenderer.render(messages);
+
+    assertThat(renderingChecks.get()).isPositive();
+    assertThat(render.indexOf("first-test-renderer"))
+        .isPositive()
+        .isLessThan(render.indexOf("second-test-renderer"));
+  }
+
+  private static class RenderedTestFacet implements RbelFacet {}
+
+  private record RenderedFacetTestRenderer(String text, int order, AtomicInteger checks)
+      implements RbelHtmlFacetRenderer {
+
+    @Override
+    public boolean checkForRendering(RbelElement element) {
+      checks.incrementAndGet();
+      return element.hasFacet(RenderedTestFacet.class);
+    }
+
+    @Override
+    public Set<Class<? extends RbelFacet>> getRenderedFacets() {
+      return Set.of(RenderedTestFacet.class);
+    }
+
+    @Override
+    public ContainerTag performRendering(
+        RbelElement element, Optional<String> key, RbelHtmlRenderingToolkit renderingToolkit) {
+      return div(text);
+    }
+  }
+
   private List<RbelElement> wrapHttpMessage(
       RbelElement convertedMessage, ZonedDateTime... transmissionTime) {
     convertedMessage.addFacet(
@@ -0,0 +1,111 @@
+/*
+ *
+ * Copyright 2021-2025 gematik GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ */
+package de.gematik.rbellogger.util;
+
+import static de.gematik.rbellogger.TestUtils.readCurlFromFileWithCorrectedLineBreaks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.rbellogger.RbelConverter;
+import de.gematik.rbellogger.RbelLogger;
+import de.gematik.rbellogger.data.RbelElement;
+import de.gematik.rbellogger.data.RbelMessageMetadata;
+import de.gematik.rbellogger.exceptions.RbelPathException;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledRbelPathTest {
+
+  private static final RbelConverter RBEL_CONVERTER = RbelLogger.build().getRbelConverter();
+  private static RbelElement jwtMessage;
+  private static RbelElement xmlMessage;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    jwtMessage = extractMessage("rbelPath.curl");
+    xmlMessage = extractMessage("xmlMessage.curl");
+  }
+
+  private static RbelElement extractMessage(String fileName) throws IOException {
+    final String curlMessage =
+        readCurlFromFileWithCorrectedLineBreaks("src/test/resources/sampleMessages/" + fileName);
+
+    return RBEL_CONVERTER.parseMessage(curlMessage.getBytes(), new RbelMessageMetadata());
+  }
+
+  @Test
+  void compilingTwice_shouldReturnCachedInstance() {
+    final CompiledRbelPath first = CompiledRbelPath.compile("$.body.header.kid");
+    final long hitsBefore = CompiledRbelPath.getCacheHitCount();
+
+    assertThat(CompiledRbelPath.compile("$.body.header.kid")).isSameAs(first);
+    assertThat(CompiledRbelPath.getCacheHitCount()).isGreaterThan(hitsBefore);
+  }
+
+  @Test
+  void compiledPath_shouldBeParsedIntoSelectorNodes() {
+    final CompiledRbelPath compiled =
+        CompiledRbelPath.compile("$.body..kid.*.[?(key=='Body')].['a'|'b'].[0]");
+
+    assertThat(compiled.getSteps())
+        .extracting(CompiledRbelPath.Step::selector)
+        .hasExactlyElementsOfTypes(
+            CompiledRbelPath.NameSelector.class,
+            CompiledRbelPath.RecursiveDescentSelector.class,
+            CompiledRbelPath.NameSelector.class,
+            CompiledRbelPath.WildcardSelector.class,
+            CompiledRbelPath.SelfSelector.class,
+            CompiledRbelPath.SelfSelector.class,
+            CompiledRbelPath.SelfSelector.class);
+    assertThat(compiled.getSteps().get(4).filter())
+        .isInstanceOf(CompiledRbelPath.JexlFilter.class);
+    assertThat(compiled.getSteps().get(5).filter())
+        .isInstanceOf(CompiledRbelPath.NamedAlternativesFilter.class);
+    assertThat(compiled.getSteps().get(6).filter())
+        .isInstanceOf(CompiledRbelPath.IndexFilter.class);
+  }
+
+  @Test
+  void compiledPath_shouldBeExecutableAgainstDifferentTargets() {
+    final CompiledRbelPath compiled = CompiledRbelPath.compile("$.body.header.kid");
+
+    assertThat(compiled.execute(jwtMessage))
+        .isEqualTo(jwtMessage.findRbelPathMembers("$.body.header.kid"));
+    assertThat(compiled.execute(jwtMessage)).hasSize(1);
+    assertThat(compiled.execute(xmlMessage)).isEmpty();
+  }
+
+  @Test
+  void invalidFunctionalExpression_shouldOnlyFailWhenApplied() {
+    final CompiledRbelPath compiled = CompiledRbelPath.compile("$.body.[foobar]");
+
+    assertThat(CompiledRbelPath.compile("$.nonExistingNode.[foobar]").execute(jwtMessage))
+        .isEmpty();
+    assertThatThrownBy(() -> compiled.execute(jwtMessage)).isInstanceOf(RbelPathException.class);
+  }
+
+  @Test
+  void pathNotStartingWithDollar_shouldFailOnCompilation() {
+    assertThatThrownBy(() -> CompiledRbelPath.compile("body.header"))
+        .isInstanceOf(RbelPathException.class);
+  }
+}
@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import de.gematik.rbellogger.RbelConversionExecutor;
 import de.gematik.rbellogger.RbelConversionPhase;
 import de.gematik.rbellogger.RbelConverterPlugin;
+import de.gematik.rbellogger.converter.PluginApplicability;
 import de.gematik.rbellogger.data.RbelElement;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -55,8 +56,70 @@ class ConverterPluginMapTest {
         .containsExactly(plugin4, plugin2, plugin3, plugin5);
   }
 
+  @Test
+  void candidatesShouldOnlyContainApplicablePluginsInExecutionOrder() {
+    ConverterPluginMap map = new ConverterPluginMap();
+    val anyContent = generatePlugin(0, RbelConversionPhase.CONTENT_PARSING);
+    val xmlOnly =
+        generatePlugin(
+            10,
+            RbelConversionPhase.CONTENT_PARSING,
+            PluginApplicability.startingWithAfterWhitespace('<'));
+    val binaryOnly =
+        generatePlugin(
+            5,
+            RbelConversionPhase.CONTENT_PARSING,
+            PluginApplicability.startingInRange(0x80, 0xFF));
+
+    map.put(anyContent);
+    map.put(xmlOnly);
+    map.put(binaryOnly);
+    val plugins = map.get(RbelConversionPhase.CONTENT_PARSING);
+
+    assertThat(plugins.candidatesFor(RbelContent.of("<a/>".getBytes())))
+        .containsExactly(xmlOnly, anyContent);
+    assertThat(plugins.candidatesFor(RbelContent.of("  <a/>".getBytes())))
+        .containsExactly(xmlOnly, anyContent);
+    assertThat(plugins.candidatesFor(RbelContent.of(new byte[] {(byte) 0xA1, 0x01})))
+        .containsExactly(binaryOnly, anyContent);
+    assertThat(plugins.candidatesFor(RbelContent.of("{}".getBytes())))
+        .containsExactly(anyContent);
+    assertThat(plugins.candidatesFor(RbelContent.of(new byte[0]))).containsExactly(anyContent);
+    assertThat(plugins.pluginCount()).isEqualTo(3);
+  }
+
+  @Test
+  void candidatesShouldReflectAddedAndRemovedPlugins() {
+    ConverterPluginMap map = new ConverterPluginMap();
+    val anyContent = generatePlugin(0, RbelConversionPhase.CONTENT_PARSING);
+    map.put(anyContent);
+    val plugins = map.get(RbelConversionPhase.CONTENT_PARSING);
+    val content = RbelContent.of("<a/>".getBytes());
+    assertThat(plugins.candidatesFor(content)).containsExactly(anyContent);
+
+    val xmlOnly =
+        generatePlugin(
+            0, RbelConversionPhase.CONTENT_PARSING, PluginApplicability.startingWith('<'));
+    map.put(xmlOnly);
+    assertThat(plugins.candidatesFor(content)).containsExactly(anyContent, xmlOnly);
+
+    map.remove(anyContent);
+    assertThat(plugins.candidatesFor(content)).containsExactly(xmlOnly);
+    assertThat(plugins.pluginCount()).isEqualTo(1);
+  }
+
   private static RbelConverterPlugin generatePlugin(int priority, RbelConversionPhase phase) {
+    return generatePlugin(priority, phase, PluginApplicability.ANY_CONTENT);
+  }
+
+  private static RbelConverterPlugin generatePlugin(
+      int priority, RbelConversionPhase phase, PluginApplicability applicability) {
     return new RbelConverterPlugin() {
+      @Override
+      public PluginApplicability getApplicability() {
+        return applicability;
+      }
+
       @Override
       public RbelConversionPhase getPhase() {
         return phase;
@@ -80,6 +80,35 @@ class RbelContentTest {
     assertArrayEquals(bytes.toByteArray(3, 6), secondChunk);
   }
 
+  @Test
+  void appendRange() {
+    RbelContentBase bytes = RbelContent.builder().chunkSize(10).build();
+    byte[] input = "0123456789ABCDEF".getBytes();
+
+    bytes.append(input, 2, 12);
+
+    assertEquals(12, bytes.size());
+    assertNotNull(bytes.getChunks());
+    assertEquals(2, bytes.getChunks().size());
+    assertNotSame(input, bytes.getChunks().get(0));
+    assertArrayEquals(Arrays.copyOfRange(input, 2, 14), bytes.toByteArray());
+    assertThrows(IndexOutOfBoundsException.class, () -> bytes.append(input, 10, 7));
+  }
+
+  @Test
+  void wrap() {
+    byte[] input = "0123456789".repeat(2000).getBytes();
+
+    RbelContent wrapped = RbelContent.wrap(input);
+
+    assertEquals(input.length, wrapped.size());
+    assertEquals(input.length, wrapped.getChunkSize());
+    assertEquals(1, wrapped.getBaseContent().getChunks().size());
+    assertSame(input, wrapped.getBaseContent().getChunks().get(0));
+    assertArrayEquals(Arrays.copyOfRange(input, 8190, 8200), wrapped.toByteArray(8190, 8200));
+    assertEquals(0, RbelContent.wrap(new byte[0]).size());
+  }
+
   @Test
   void inputStream() throws IOException {
     RbelContentBase bytes = RbelContent.builder().chunkSize(10).build();